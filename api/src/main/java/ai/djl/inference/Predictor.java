@@ -174,13 +174,13 @@ public class Predictor<I, O> implements AutoCloseable {
             }
 
             timestamp = System.nanoTime();
-            NDList inputBatch = processInputs(context, inputs);
+            NDList inputBatch = translator.processInputBatch(context, inputs);
             preprocessEnd(inputBatch);
 
             NDList result = predictInternal(context, inputBatch);
             predictEnd(result);
 
-            List<O> ret = processOutputs(context, result);
+            List<O> ret = translator.processOutputBatch(context, result);
             postProcessEnd(begin);
             return ret;
         } catch (TranslateException e) {
@@ -207,26 +207,6 @@ public class Predictor<I, O> implements AutoCloseable {
         }
     }
 
-    @SuppressWarnings("PMD.SignatureDeclareThrowsException")
-    private NDList processInputs(TranslatorContext ctx, List<I> inputs) throws Exception {
-        int batchSize = inputs.size();
-        NDList[] preprocessed = new NDList[batchSize];
-        for (int i = 0; i < batchSize; ++i) {
-            preprocessed[i] = translator.processInput(ctx, inputs.get(i));
-        }
-        return translator.getBatchifier().batchify(preprocessed);
-    }
-
-    @SuppressWarnings("PMD.SignatureDeclareThrowsException")
-    private List<O> processOutputs(TranslatorContext ctx, NDList list) throws Exception {
-        NDList[] unbatched = translator.getBatchifier().unbatchify(list);
-        List<O> outputs = new ArrayList<>(unbatched.length);
-        for (NDList output : unbatched) {
-            outputs.add(translator.processOutput(ctx, output));
-        }
-        return outputs;
-    }
-
     private void preprocessEnd(NDList list) {
         if (metrics != null) {
             waitToRead(list);
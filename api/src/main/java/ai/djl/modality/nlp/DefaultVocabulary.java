@@ -23,6 +23,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -30,6 +31,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /** The default implementation of Vocabulary. */
 public class DefaultVocabulary implements Vocabulary {
@@ -60,9 +62,13 @@ public class DefaultVocabulary implements Vocabulary {
         if (unknownToken != null) {
             reservedTokens.add(unknownToken);
         }
-        for (List<String> sentence : builder.sentences) {
-            for (String token : sentence) {
-                addToken(token);
+        if (builder.parallel && builder.sentences.size() > 1) {
+            countInParallel(builder.sentences);
+        } else {
+            for (List<String> sentence : builder.sentences) {
+                for (String token : sentence) {
+                    addToken(token);
+                }
             }
         }
         // Preserve order in vocab file, add reservedTokens after original vocab
@@ -99,6 +105,52 @@ public class DefaultVocabulary implements Vocabulary {
                 });
     }
 
+    /**
+     * Counts the tokens with one map per chunk of sentences, and merges the maps in order.
+     *
+     * <p>Each chunk keeps its tokens in the order of first occurrence, so merging the chunks in
+     * order assigns the same indices as the sequential counting.
+     *
+     * @param sentences the sentences to count the tokens of
+     */
+    private void countInParallel(List<List<String>> sentences) {
+        int numChunks = Math.min(sentences.size(), Runtime.getRuntime().availableProcessors() * 4);
+        int chunkSize = (sentences.size() + numChunks - 1) / numChunks;
+        List<Map<String, int[]>> counts =
+                IntStream.range(0, numChunks)
+                        .parallel()
+                        .mapToObj(
+                                i -> {
+                                    int from = Math.min(sentences.size(), i * chunkSize);
+                                    int to = Math.min(sentences.size(), from + chunkSize);
+                                    Map<String, int[]> map = new LinkedHashMap<>();
+                                    for (List<String> sentence : sentences.subList(from, to)) {
+                                        for (String token : sentence) {
+                                            map.computeIfAbsent(token, k -> new int[1])[0]++;
+                                        }
+                                    }
+                                    return map;
+                                })
+                        .collect(Collectors.toList());
+        for (Map<String, int[]> map : counts) {
+            for (Entry<String, int[]> entry : map.entrySet()) {
+                String token = entry.getKey();
+                TokenInfo info = tokens.get(token);
+                if (info == null) {
+                    info = new TokenInfo();
+                    info.index = tokens.size();
+                    tokens.put(token, info);
+                }
+                if (reservedTokens.contains(token)) {
+                    info.frequency = Integer.MAX_VALUE;
+                } else {
+                    long frequency = (long) info.frequency + entry.getValue()[0];
+                    info.frequency = (int) Math.min(frequency, Integer.MAX_VALUE);
+                }
+            }
+        }
+    }
+
     /**
      * Removes tokens from {@code tokens} based on the arguments.
      *
@@ -182,8 +234,9 @@ public class DefaultVocabulary implements Vocabulary {
     /** {@inheritDoc} */
     @Override
     public long getIndex(String token) {
-        if (tokens.containsKey(token)) {
-            return tokens.get(token).index;
+        TokenInfo info = tokens.get(token);
+        if (info != null) {
+            return info.index;
         }
 
         if (unknownToken != null) {
@@ -201,6 +254,15 @@ public class DefaultVocabulary implements Vocabulary {
         return tokens.size();
     }
 
+    /**
+     * Returns a read-only copy of this vocabulary optimized for lookups.
+     *
+     * @return a read-only copy of this vocabulary optimized for lookups
+     */
+    public FrozenVocabulary freeze() {
+        return new FrozenVocabulary(indexToToken, unknownToken);
+    }
+
     /**
      * Creates a new builder to build a {@code DefaultVocabulary}.
      *
@@ -218,6 +280,7 @@ public class DefaultVocabulary implements Vocabulary {
         int minFrequency = -1;
         int maxTokens = -1;
         String unknownToken;
+        boolean parallel;
 
         private Builder() {}
 
@@ -248,6 +311,20 @@ public class DefaultVocabulary implements Vocabulary {
             return this;
         }
 
+        /**
+         * Sets the optional parameter that specifies whether to count the tokens in parallel.
+         *
+         * <p>The sentences are split into chunks that are counted by multiple threads and merged in
+         * order afterwards, so the vocabulary built is the same as the one built sequentially.
+         *
+         * @param parallel true to count the tokens in parallel
+         * @return this {@code VocabularyBuilder}
+         */
+        public Builder optParallel(boolean parallel) {
+            this.parallel = parallel;
+            return this;
+        }
+
         /**
          * Sets the optional parameter that specifies the unknown token's string value with
          * "&gt;unk&lt;".
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.nlp;
+
+import java.util.List;
+
+/**
+ * {@code FrozenVocabulary} is a read-only {@link Vocabulary} optimized for lookups.
+ *
+ * <p>All the tokens are packed into a single char array. {@link #getIndex(String)} uses an
+ * open-addressing hash table of token indices with linear probing that compares the candidates
+ * against the packed chars, so a lookup allocates nothing. Since the hash is computed the same way
+ * as {@link String#hashCode()}, it is cached by the {@link String} itself, and {@link
+ * #getIndex(CharSequence, int, int)} can look up a sub-sequence without creating a new {@link
+ * String}.
+ *
+ * <p>A {@code FrozenVocabulary} is usually created with {@link DefaultVocabulary#freeze()}.
+ */
+public final class FrozenVocabulary implements Vocabulary {
+
+    private char[] chars;
+    private int[] offsets;
+    private int[] hashes;
+    private int[] table;
+    private int mask;
+    private long unknownIndex;
+    private String unknownToken;
+
+    /**
+     * Creates a {@code FrozenVocabulary} with the tokens in index order.
+     *
+     * @param indexToToken the tokens, the position of a token in the list is its index
+     * @param unknownToken the unknown token, or {@code null} if unknown tokens are not allowed
+     */
+    public FrozenVocabulary(List<String> indexToToken, String unknownToken) {
+        int size = indexToToken.size();
+        int numChars = 0;
+        for (String token : indexToToken) {
+            numChars += token.length();
+        }
+        chars = new char[numChars];
+        offsets = new int[size + 1];
+        hashes = new int[size];
+        for (int i = 0; i < size; ++i) {
+            String token = indexToToken.get(i);
+            token.getChars(0, token.length(), chars, offsets[i]);
+            offsets[i + 1] = offsets[i] + token.length();
+            hashes[i] = token.hashCode();
+        }
+
+        // keep load factor under 0.5 to make probing short
+        int capacity = Integer.highestOneBit(Math.max(size, 1) * 2 - 1) << 1;
+        table = new int[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < size; ++i) {
+            int pos = mix(hashes[i]) & mask;
+            while (table[pos] != 0) {
+                if (matches(table[pos] - 1, indexToToken.get(i), 0, indexToToken.get(i).length())) {
+                    // keep the first index of duplicated tokens
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            if (table[pos] == 0) {
+                table[pos] = i + 1;
+            }
+        }
+
+        this.unknownToken = unknownToken;
+        unknownIndex = unknownToken == null ? -1 : find(unknownToken, 0, unknownToken.length());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getToken(long index) {
+        if (index < 0 || index >= hashes.length) {
+            return unknownToken;
+        }
+        int i = (int) index;
+        return new String(chars, offsets[i], offsets[i + 1] - offsets[i]);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean contains(String token) {
+        return find(token, 0, token.length()) >= 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getIndex(String token) {
+        return getIndex(token, 0, token.length());
+    }
+
+    /**
+     * Returns the index of the token made of the chars of a sub-sequence.
+     *
+     * @param seq the sequence that contains the token
+     * @param start the start index of the token in the sequence, inclusive
+     * @param end the end index of the token in the sequence, exclusive
+     * @return the index of the token
+     */
+    public long getIndex(CharSequence seq, int start, int end) {
+        long index = find(seq, start, end);
+        if (index >= 0) {
+            return index;
+        }
+        if (unknownIndex >= 0) {
+            return unknownIndex;
+        }
+        throw new IllegalStateException(
+                "Unexpected token in getIndex. Define an unknownToken for the vocabulary to enable"
+                        + " support for unknown tokens.");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long size() {
+        return hashes.length;
+    }
+
+    private int find(CharSequence seq, int start, int end) {
+        int hash;
+        if (seq instanceof String && start == 0 && end == seq.length()) {
+            hash = seq.hashCode();
+        } else {
+            hash = 0;
+            for (int i = start; i < end; ++i) {
+                hash = 31 * hash + seq.charAt(i);
+            }
+        }
+        int pos = mix(hash) & mask;
+        int slot;
+        while ((slot = table[pos]) != 0) {
+            int index = slot - 1;
+            if (hashes[index] == hash && matches(index, seq, start, end)) {
+                return index;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return -1;
+    }
+
+    private boolean matches(int index, CharSequence seq, int start, int end) {
+        int offset = offsets[index];
+        int len = offsets[index + 1] - offset;
+        if (len != end - start) {
+            return false;
+        }
+        for (int i = 0; i < len; ++i) {
+            if (chars[offset + i] != seq.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
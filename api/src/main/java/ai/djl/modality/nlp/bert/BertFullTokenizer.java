@@ -21,6 +21,7 @@ import ai.djl.modality.nlp.preprocess.SimpleTokenizer;
 import ai.djl.modality.nlp.preprocess.TextCleaner;
 import ai.djl.modality.nlp.preprocess.TextProcessor;
 import ai.djl.modality.nlp.preprocess.UnicodeNormalizer;
+import ai.djl.util.BoundedCache;
 
 import java.text.Normalizer;
 import java.util.ArrayList;
@@ -42,6 +43,7 @@ public class BertFullTokenizer extends BertTokenizer {
     private Vocabulary vocabulary;
     private List<TextProcessor> basicBertPreprocessors;
     private WordpieceTokenizer wordpieceTokenizer;
+    private BoundedCache<String, List<String>> cache;
 
     /**
      * Creates an instance of {@code BertFullTokenizer}.
@@ -50,9 +52,23 @@ public class BertFullTokenizer extends BertTokenizer {
      * @param lowerCase whether to convert tokens to lowercase
      */
     public BertFullTokenizer(Vocabulary vocabulary, boolean lowerCase) {
+        this(vocabulary, lowerCase, 0);
+    }
+
+    /**
+     * Creates an instance of {@code BertFullTokenizer} that caches the tokens of repeated inputs.
+     *
+     * @param vocabulary the BERT vocabulary
+     * @param lowerCase whether to convert tokens to lowercase
+     * @param cacheSize the maximum number of inputs whose tokens are cached, 0 to disable the cache
+     */
+    public BertFullTokenizer(Vocabulary vocabulary, boolean lowerCase, int cacheSize) {
         this.vocabulary = vocabulary;
         basicBertPreprocessors = getPreprocessors(lowerCase);
         wordpieceTokenizer = new WordpieceTokenizer(vocabulary, "[UNK]", 200);
+        if (cacheSize > 0) {
+            cache = BoundedCache.<String, List<String>>builder().optMaxSize(cacheSize).build();
+        }
     }
 
     /**
@@ -64,14 +80,46 @@ public class BertFullTokenizer extends BertTokenizer {
         return vocabulary;
     }
 
-    /** {@inheritDoc} */
+    /**
+     * Returns the cache of the tokenized inputs.
+     *
+     * @return the cache of the tokenized inputs, or {@code null} if the cache is disabled
+     */
+    public BoundedCache<String, List<String>> getCache() {
+        return cache;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>When the cache is enabled, the returned list is a copy of the cached tokens, so callers
+     * can modify it.
+     */
     @Override
     public List<String> tokenize(String input) {
-        List<String> tokens = new ArrayList<>(Collections.singletonList(input));
-        for (TextProcessor processor : basicBertPreprocessors) {
-            tokens = processor.preprocess(tokens);
+        if (cache != null) {
+            List<String> cached =
+                    cache.get(
+                            input,
+                            k ->
+                                    Collections.unmodifiableList(
+                                            wordpieceTokenizer.preprocess(basicTokenize(k))));
+            return new ArrayList<>(cached);
         }
-        return wordpieceTokenizer.preprocess(tokens);
+        return wordpieceTokenizer.preprocess(basicTokenize(input));
+    }
+
+    /**
+     * Tokenizes the input text into the indices of the word pieces in the vocabulary.
+     *
+     * <p>This is equivalent to looking up every token returned by {@link #tokenize(String)} in the
+     * vocabulary, without creating the word piece strings.
+     *
+     * @param input the text to tokenize
+     * @return the indices of the word pieces in the vocabulary
+     */
+    public long[] tokenizeToIndices(String input) {
+        return wordpieceTokenizer.tokenizeToIndices(basicTokenize(input));
     }
 
     /** {@inheritDoc} */
@@ -80,6 +128,14 @@ public class BertFullTokenizer extends BertTokenizer {
         return String.join(" ", tokens).replace(" ##", "").trim();
     }
 
+    private List<String> basicTokenize(String input) {
+        List<String> tokens = new ArrayList<>(Collections.singletonList(input));
+        for (TextProcessor processor : basicBertPreprocessors) {
+            tokens = processor.preprocess(tokens);
+        }
+        return tokens;
+    }
+
     /**
      * Get a list of {@link TextProcessor}s to process input text for Bert models.
      *
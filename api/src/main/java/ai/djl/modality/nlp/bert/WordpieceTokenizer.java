@@ -16,6 +16,7 @@ import ai.djl.modality.nlp.Vocabulary;
 import ai.djl.modality.nlp.preprocess.SimpleTokenizer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -30,15 +31,25 @@ import java.util.List;
  * ["un", "##aff", "##able"]
  * </pre>
  *
+ * <p>The vocabulary is compiled into a trie with failure links and failure pops when the tokenizer
+ * is created (the LinMaxMatch algorithm), so each word is tokenized in a single pass over its chars
+ * without creating any intermediate string. Use {@link #tokenizeToIndices(List)} to get the indices
+ * of the word pieces directly.
+ *
  * <p>Reference implementation: <a
  * href="https://github.com/google-research/bert/blob/master/tokenization.py#L300">Google Research
- * Bert Tokenizer</a>
+ * Bert Tokenizer</a>, <a href="https://arxiv.org/abs/2012.15524">Fast WordPiece Tokenization</a>
  */
 public class WordpieceTokenizer extends SimpleTokenizer {
 
+    private static final String SUFFIX_PREFIX = "##";
+
     private String unknown;
     private int maxInputChars;
     private Vocabulary vocabulary;
+    private String[] tokens;
+    private long unknownIndex;
+    private Trie trie;
 
     /**
      * Creates an instance of {@code WordpieceTokenizer}.
@@ -51,57 +62,381 @@ public class WordpieceTokenizer extends SimpleTokenizer {
         this.unknown = unknown;
         this.maxInputChars = maxInputChars;
         this.vocabulary = vocabulary;
+        tokens = new String[Math.toIntExact(vocabulary.size())];
+        for (int i = 0; i < tokens.length; ++i) {
+            tokens[i] = vocabulary.getToken(i);
+        }
+        unknownIndex = vocabulary.contains(unknown) ? vocabulary.getIndex(unknown) : -1;
+        trie = new Trie(tokens);
     }
 
     /** {@inheritDoc} */
     @Override
     public List<String> tokenize(String sentence) {
-        StringBuilder sb = new StringBuilder();
-        List<String> subTokens = new ArrayList<>();
         List<String> outputTokens = new ArrayList<>();
+        List<String> subTokens = new ArrayList<>();
+        IdBuffer ids = new IdBuffer();
         for (String token : super.tokenize(sentence.trim())) {
-            char[] chars = token.toCharArray();
-            if (chars.length > maxInputChars) {
-                outputTokens.add(unknown);
+            if (token.isEmpty()) {
                 continue;
             }
-            boolean isBad = false;
-            int start = 0;
-            subTokens.clear();
-            String currentSubString = null;
-            while (start < chars.length) {
-                int end = chars.length;
-                while (start < end) {
-                    sb.setLength(0);
-                    sb.append(token, start, end);
-                    if (start > 0) {
-                        sb.insert(0, "##");
+            if (token.length() > maxInputChars) {
+                outputTokens.add(unknown);
+            } else if (token.startsWith(SUFFIX_PREFIX)) {
+                subTokens.clear();
+                if (greedyMatch(token, subTokens, sentence)) {
+                    outputTokens.addAll(subTokens);
+                } else {
+                    outputTokens.add(unknown);
+                }
+            } else {
+                ids.size = 0;
+                if (trie.match(token, ids)) {
+                    checkSubTokens(ids.size, sentence);
+                    for (int i = 0; i < ids.size; ++i) {
+                        outputTokens.add(tokens[ids.data[i]]);
                     }
-                    String subString = sb.toString();
-                    if (vocabulary.contains(subString)) {
-                        currentSubString = subString;
-                        break;
+                } else {
+                    outputTokens.add(unknown);
+                }
+            }
+        }
+        return outputTokens;
+    }
+
+    /**
+     * Tokenizes the input tokens into the indices of their word pieces in the vocabulary.
+     *
+     * <p>This is equivalent to looking up every token returned by {@link #preprocess(List)} in the
+     * vocabulary, without creating the word piece strings.
+     *
+     * @param inputs the tokens to tokenize
+     * @return the indices of the word pieces in the vocabulary
+     */
+    public long[] tokenizeToIndices(List<String> inputs) {
+        List<String> subTokens = new ArrayList<>();
+        IdBuffer ids = new IdBuffer();
+        for (String input : inputs) {
+            for (String token : super.tokenize(input.trim())) {
+                if (token.isEmpty()) {
+                    continue;
+                }
+                if (token.length() > maxInputChars) {
+                    ids.add(getUnknownIndex());
+                } else if (token.startsWith(SUFFIX_PREFIX)) {
+                    subTokens.clear();
+                    if (greedyMatch(token, subTokens, input)) {
+                        for (String subToken : subTokens) {
+                            ids.add(Math.toIntExact(vocabulary.getIndex(subToken)));
+                        }
+                    } else {
+                        ids.add(getUnknownIndex());
+                    }
+                } else {
+                    int mark = ids.size;
+                    if (trie.match(token, ids)) {
+                        checkSubTokens(ids.size - mark, input);
                     } else {
-                        currentSubString = null;
+                        ids.add(getUnknownIndex());
                     }
-                    end--;
                 }
-                if (currentSubString == null) {
-                    isBad = true;
+            }
+        }
+        long[] ret = new long[ids.size];
+        for (int i = 0; i < ret.length; ++i) {
+            ret[i] = ids.data[i];
+        }
+        return ret;
+    }
+
+    private void checkSubTokens(int numSubTokens, String sentence) {
+        if (numSubTokens > maxInputChars) {
+            throw new IllegalStateException("Too many subTokens for: '" + sentence + '\'');
+        }
+    }
+
+    private int getUnknownIndex() {
+        if (unknownIndex < 0) {
+            throw new IllegalStateException(
+                    "The unknown token " + unknown + " is not in the vocabulary.");
+        }
+        return (int) unknownIndex;
+    }
+
+    // Runs the reference greedy longest-match-first search, it is only used for the words starting
+    // with ##, since their first word piece cannot be told apart from a suffix word piece in the
+    // trie
+    private boolean greedyMatch(String token, List<String> subTokens, String sentence) {
+        StringBuilder sb = new StringBuilder();
+        int start = 0;
+        while (start < token.length()) {
+            int end = token.length();
+            String currentSubString = null;
+            while (start < end) {
+                sb.setLength(0);
+                if (start > 0) {
+                    sb.append(SUFFIX_PREFIX);
+                }
+                sb.append(token, start, end);
+                String subString = sb.toString();
+                if (vocabulary.contains(subString)) {
+                    currentSubString = subString;
                     break;
                 }
-                subTokens.add(currentSubString);
-                if (subTokens.size() > maxInputChars) {
-                    throw new IllegalStateException("Too many subTokens for: '" + sentence + '\'');
+                end--;
+            }
+            if (currentSubString == null) {
+                return false;
+            }
+            subTokens.add(currentSubString);
+            checkSubTokens(subTokens.size(), sentence);
+            start = end;
+        }
+        return true;
+    }
+
+    /** A growable int array of token indices. */
+    private static final class IdBuffer {
+
+        int[] data = new int[64];
+        int size;
+
+        void add(int id) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = id;
+        }
+
+        void addAll(int[] src, int from, int to) {
+            int len = to - from;
+            if (size + len > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + len));
+            }
+            System.arraycopy(src, from, data, size, len);
+            size += len;
+        }
+    }
+
+    /**
+     * The trie of the vocabulary with the LinMaxMatch failure links and failure pops.
+     *
+     * <p>For a node {@code u}, the failure pops are the tokens the greedy longest-match-first
+     * algorithm emits for {@code str(u)} before it gets stuck, and the failure link is the node of
+     * the {@code ##} prefixed remaining chars. When the next char cannot be matched, the matcher
+     * emits the failure pops and follows the failure link instead of backtracking.
+     */
+    private static final class Trie {
+
+        private static final int ROOT = 0;
+
+        private int numNodes;
+        private char[] labels;
+        private int[] tokenIds;
+        private int[] firstChild;
+        private int[] nextSibling;
+
+        private long[] edgeKeys;
+        private int[] edgeValues;
+        private int numEdges;
+
+        private int suffixRoot;
+        private int[] failLinks;
+        private int[] popStart;
+        private int[] popEnd;
+        private int[] pops;
+        private int numPops;
+
+        Trie(String[] tokens) {
+            labels = new char[1024];
+            tokenIds = new int[1024];
+            firstChild = new int[1024];
+            nextSibling = new int[1024];
+            edgeKeys = new long[2048];
+            edgeValues = new int[2048];
+            Arrays.fill(edgeKeys, -1);
+            newNode(ROOT, '\0');
+            for (int i = 0; i < tokens.length; ++i) {
+                String token = tokens[i];
+                if (token == null || token.isEmpty()) {
+                    continue;
+                }
+                int node = insert(token);
+                if (tokenIds[node] < 0) {
+                    tokenIds[node] = i;
                 }
-                start = end;
             }
-            if (isBad) {
-                outputTokens.add(unknown);
-            } else {
-                outputTokens.addAll(subTokens);
+            suffixRoot = insert(SUFFIX_PREFIX);
+
+            failLinks = new int[numNodes];
+            popStart = new int[numNodes];
+            popEnd = new int[numNodes];
+            pops = new int[numNodes];
+            Arrays.fill(failLinks, -1);
+            // The failure links of suffix nodes point to shorter suffix nodes, and the failure
+            // links of the other nodes all point into the suffix subtree, so the suffix subtree
+            // is processed first.
+            int[] queue = new int[numNodes];
+            int tail = breadthFirst(suffixRoot, queue, 0, -1);
+            breadthFirst(ROOT, queue, tail, suffixRoot);
+        }
+
+        boolean match(String word, IdBuffer out) {
+            int mark = out.size;
+            int node = ROOT;
+            for (int i = 0; i < word.length(); ++i) {
+                char c = word.charAt(i);
+                int next;
+                while ((next = getChild(node, c)) < 0) {
+                    if (failLinks[node] < 0) {
+                        out.size = mark;
+                        return false;
+                    }
+                    out.addAll(pops, popStart[node], popEnd[node]);
+                    node = failLinks[node];
+                }
+                node = next;
+            }
+            while (node != suffixRoot) {
+                if (failLinks[node] < 0) {
+                    out.size = mark;
+                    return false;
+                }
+                out.addAll(pops, popStart[node], popEnd[node]);
+                node = failLinks[node];
             }
+            return true;
+        }
+
+        private int breadthFirst(int start, int[] queue, int tail, int skip) {
+            int head = tail;
+            queue[tail++] = start;
+            while (head < tail) {
+                int parent = queue[head++];
+                for (int node = firstChild[parent]; node >= 0; node = nextSibling[node]) {
+                    if (node == skip) {
+                        continue;
+                    }
+                    queue[tail++] = node;
+                    popStart[node] = numPops;
+                    if (tokenIds[node] >= 0) {
+                        appendPops(tokenIds, node, node + 1);
+                        popEnd[node] = numPops;
+                        failLinks[node] = suffixRoot;
+                        continue;
+                    }
+
+                    char c = labels[node];
+                    appendPops(pops, popStart[parent], popEnd[parent]);
+                    int fail = failLinks[parent];
+                    int next = -1;
+                    while (fail >= 0) {
+                        next = getChild(fail, c);
+                        if (next >= 0) {
+                            break;
+                        }
+                        appendPops(pops, popStart[fail], popEnd[fail]);
+                        fail = failLinks[fail];
+                    }
+                    if (next < 0) {
+                        numPops = popStart[node];
+                    }
+                    popEnd[node] = numPops;
+                    failLinks[node] = next;
+                }
+            }
+            return tail;
+        }
+
+        private void appendPops(int[] src, int from, int to) {
+            int len = to - from;
+            if (numPops + len > pops.length) {
+                // src may be the old pops array, which still holds the same data
+                pops = Arrays.copyOf(pops, Math.max(pops.length * 2, numPops + len));
+            }
+            System.arraycopy(src, from, pops, numPops, len);
+            numPops += len;
+        }
+
+        private int insert(String token) {
+            int node = ROOT;
+            for (int i = 0; i < token.length(); ++i) {
+                char c = token.charAt(i);
+                int child = getChild(node, c);
+                if (child < 0) {
+                    child = numNodes;
+                    newNode(child, c);
+                    nextSibling[child] = firstChild[node];
+                    firstChild[node] = child;
+                    putChild(node, c, child);
+                }
+                node = child;
+            }
+            return node;
+        }
+
+        private void newNode(int node, char label) {
+            if (node == labels.length) {
+                int capacity = labels.length * 2;
+                labels = Arrays.copyOf(labels, capacity);
+                tokenIds = Arrays.copyOf(tokenIds, capacity);
+                firstChild = Arrays.copyOf(firstChild, capacity);
+                nextSibling = Arrays.copyOf(nextSibling, capacity);
+            }
+            labels[node] = label;
+            tokenIds[node] = -1;
+            firstChild[node] = -1;
+            nextSibling[node] = -1;
+            numNodes++;
+        }
+
+        private int getChild(int node, char c) {
+            long key = edgeKey(node, c);
+            int mask = edgeKeys.length - 1;
+            for (int pos = slot(key, mask); ; pos = (pos + 1) & mask) {
+                long k = edgeKeys[pos];
+                if (k == key) {
+                    return edgeValues[pos];
+                }
+                if (k < 0) {
+                    return -1;
+                }
+            }
+        }
+
+        private void putChild(int node, char c, int child) {
+            if (++numEdges * 2 > edgeKeys.length) {
+                long[] oldKeys = edgeKeys;
+                int[] oldValues = edgeValues;
+                edgeKeys = new long[oldKeys.length * 2];
+                edgeValues = new int[oldKeys.length * 2];
+                Arrays.fill(edgeKeys, -1);
+                for (int i = 0; i < oldKeys.length; ++i) {
+                    if (oldKeys[i] >= 0) {
+                        put(oldKeys[i], oldValues[i]);
+                    }
+                }
+            }
+            put(edgeKey(node, c), child);
+        }
+
+        private void put(long key, int value) {
+            int mask = edgeKeys.length - 1;
+            int pos = slot(key, mask);
+            while (edgeKeys[pos] >= 0) {
+                pos = (pos + 1) & mask;
+            }
+            edgeKeys[pos] = key;
+            edgeValues[pos] = value;
+        }
+
+        private static long edgeKey(int node, char c) {
+            return ((long) node << 16) | c;
+        }
+
+        private static int slot(long key, int mask) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h >>> 32) & mask;
         }
-        return outputTokens;
     }
 }
@@ -26,6 +26,9 @@ import ai.djl.util.PairList;
 
 import com.google.gson.JsonParseException;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * A {@link Translator} that can handle generic question answering {@link Input} and {@link Output}.
  */
@@ -57,30 +60,55 @@ public class QaServingTranslator implements Translator<Input, Output> {
     /** {@inheritDoc} */
     @Override
     public NDList processInput(TranslatorContext ctx, Input input) throws Exception {
+        return translator.processInput(ctx, toQaInput(input));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDList processInputBatch(TranslatorContext ctx, List<Input> inputs) throws Exception {
+        List<QAInput> qaInputs = new ArrayList<>(inputs.size());
+        for (Input input : inputs) {
+            qaInputs.add(toQaInput(input));
+        }
+        return translator.processInputBatch(ctx, qaInputs);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Output processOutput(TranslatorContext ctx, NDList list) throws Exception {
+        return toOutput(translator.processOutput(ctx, list));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Output> processOutputBatch(TranslatorContext ctx, NDList list) throws Exception {
+        List<String> ret = translator.processOutputBatch(ctx, list);
+        List<Output> outputs = new ArrayList<>(ret.size());
+        for (String item : ret) {
+            outputs.add(toOutput(item));
+        }
+        return outputs;
+    }
+
+    private static QAInput toQaInput(Input input) throws TranslateException {
         PairList<String, BytesSupplier> content = input.getContent();
-        QAInput qa;
         if (content.contains("question") && content.contains("paragraph")) {
             String question = input.getAsString("question");
             String paragraph = input.getAsString("paragraph");
-            qa = new QAInput(question, paragraph);
-        } else {
-            BytesSupplier data = input.getData();
-            if (data == null) {
-                throw new TranslateException("Input data is empty.");
-            }
-            try {
-                qa = JsonUtils.GSON.fromJson(data.getAsString(), QAInput.class);
-            } catch (JsonParseException e) {
-                throw new TranslateException("Input is not a valid json.", e);
-            }
+            return new QAInput(question, paragraph);
+        }
+        BytesSupplier data = input.getData();
+        if (data == null) {
+            throw new TranslateException("Input data is empty.");
+        }
+        try {
+            return JsonUtils.GSON.fromJson(data.getAsString(), QAInput.class);
+        } catch (JsonParseException e) {
+            throw new TranslateException("Input is not a valid json.", e);
         }
-        return translator.processInput(ctx, qa);
     }
 
-    /** {@inheritDoc} */
-    @Override
-    public Output processOutput(TranslatorContext ctx, NDList list) throws Exception {
-        String ret = translator.processOutput(ctx, list);
+    private static Output toOutput(String ret) {
         Output output = new Output();
         output.add(ret);
         return output;
@@ -20,6 +20,9 @@ import ai.djl.translate.Batchifier;
 import ai.djl.translate.Translator;
 import ai.djl.translate.TranslatorContext;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * A {@link Translator} that can handle generic text classification {@link Input} and {@link
  * Output}.
@@ -56,10 +59,34 @@ public class TextClassificationServingTranslator implements Translator<Input, Ou
         return translator.processInput(ctx, text);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public NDList processInputBatch(TranslatorContext ctx, List<Input> inputs) throws Exception {
+        List<String> texts = new ArrayList<>(inputs.size());
+        for (Input input : inputs) {
+            texts.add(input.getData().getAsString());
+        }
+        return translator.processInputBatch(ctx, texts);
+    }
+
     /** {@inheritDoc} */
     @Override
     public Output processOutput(TranslatorContext ctx, NDList list) throws Exception {
-        Classifications ret = translator.processOutput(ctx, list);
+        return toOutput(translator.processOutput(ctx, list));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Output> processOutputBatch(TranslatorContext ctx, NDList list) throws Exception {
+        List<Classifications> ret = translator.processOutputBatch(ctx, list);
+        List<Output> outputs = new ArrayList<>(ret.size());
+        for (Classifications item : ret) {
+            outputs.add(toOutput(item));
+        }
+        return outputs;
+    }
+
+    private static Output toOutput(Classifications ret) {
         Output output = new Output();
         output.add(ret);
         return output;
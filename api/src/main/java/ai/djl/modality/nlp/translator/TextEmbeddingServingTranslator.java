@@ -20,6 +20,9 @@ import ai.djl.translate.Translator;
 import ai.djl.translate.TranslatorContext;
 import ai.djl.util.JsonUtils;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /** A {@link Translator} that can handle generic text embedding {@link Input} and {@link Output}. */
 public class TextEmbeddingServingTranslator implements Translator<Input, Output> {
 
@@ -53,10 +56,34 @@ public class TextEmbeddingServingTranslator implements Translator<Input, Output>
         return translator.processInput(ctx, text);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public NDList processInputBatch(TranslatorContext ctx, List<Input> inputs) throws Exception {
+        List<String> texts = new ArrayList<>(inputs.size());
+        for (Input input : inputs) {
+            texts.add(input.getData().getAsString());
+        }
+        return translator.processInputBatch(ctx, texts);
+    }
+
     /** {@inheritDoc} */
     @Override
     public Output processOutput(TranslatorContext ctx, NDList list) throws Exception {
-        float[] ret = translator.processOutput(ctx, list);
+        return toOutput(translator.processOutput(ctx, list));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Output> processOutputBatch(TranslatorContext ctx, NDList list) throws Exception {
+        List<float[]> ret = translator.processOutputBatch(ctx, list);
+        List<Output> outputs = new ArrayList<>(ret.size());
+        for (float[] item : ret) {
+            outputs.add(toOutput(item));
+        }
+        return outputs;
+    }
+
+    private static Output toOutput(float[] ret) {
         Output output = new Output();
         output.add(JsonUtils.GSON_PRETTY.toJson(ret));
         return output;
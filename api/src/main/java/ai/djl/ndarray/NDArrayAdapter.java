@@ -20,6 +20,7 @@ import ai.djl.ndarray.types.Shape;
 import ai.djl.ndarray.types.SparseFormat;
 
 import java.nio.Buffer;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.function.Function;
@@ -1102,7 +1103,9 @@ public abstract class NDArrayAdapter implements NDArray {
     @Override
     public NDArrayEx getNDArrayInternal() {
         NDArray array = getAlternativeArray();
-        if (array instanceof NDArrayAdapter) {
+        // an adapter of another engine (e.g. JavaCpu) may provide its own NDArrayEx
+        if (array instanceof NDArrayAdapter
+                && array.getManager().getEngine() == manager.getEngine()) {
             throw new UnsupportedOperationException("Operation not supported.");
         }
         return array.getNDArrayInternal();
@@ -1134,10 +1137,20 @@ public abstract class NDArrayAdapter implements NDArray {
         if (alternativeManager == null) {
             throw new UnsupportedOperationException(UNSUPPORTED_MSG);
         }
+        if (alternativeArray != null
+                && (!alternativeArray.getShape().equals(getShape())
+                        || alternativeArray.getDataType() != getDataType())) {
+            alternativeArray.close();
+            alternativeArray = null;
+        }
         if (alternativeArray == null) {
             alternativeArray = alternativeManager.from(this);
         } else {
-            alternativeArray.set(getDataType().asDataType(toByteBuffer()));
+            // the cached copy is only updated when the data of this array has changed
+            ByteBuffer bb = toByteBuffer();
+            if (!bb.equals(alternativeArray.toByteBuffer())) {
+                alternativeArray.set(getDataType().asDataType(bb));
+            }
         }
         return alternativeArray;
     }
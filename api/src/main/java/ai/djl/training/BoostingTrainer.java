@@ -0,0 +1,192 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.training;
+
+import ai.djl.Model;
+import ai.djl.metric.Metrics;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.training.loss.L1Loss;
+import ai.djl.training.loss.Loss;
+import ai.djl.training.loss.SigmoidBinaryCrossEntropyLoss;
+import ai.djl.training.loss.SoftmaxCrossEntropyLoss;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@code BoostingTrainer} is the base of the trainers of the gradient boosting engines, such as
+ * XGBoost and LightGBM.
+ *
+ * <p>The boosting is configured with the parameters of the native library. Each boosting iteration
+ * is reported to the {@link ai.djl.training.listener.TrainingListener}s as an epoch, and its
+ * evaluation results are added to the {@link Metrics} of the trainer and are available through
+ * {@link #getTrainingResult()}.
+ */
+public abstract class BoostingTrainer extends Trainer {
+
+    protected Map<String, String> parameters;
+    protected int iteration;
+
+    private Map<String, Float> evaluations;
+
+    /**
+     * Creates an instance of {@code BoostingTrainer} with the given {@link Model} and {@link
+     * TrainingConfig}.
+     *
+     * @param model the model the trainer will train on
+     * @param trainingConfig the configuration used by the trainer
+     */
+    protected BoostingTrainer(Model model, TrainingConfig trainingConfig) {
+        super(model, trainingConfig);
+        parameters = new LinkedHashMap<>();
+        evaluations = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Sets a parameter of the native library, such as the learning rate or the number of threads.
+     *
+     * @param key the parameter name
+     * @param value the parameter value
+     */
+    public void setParameter(String key, Object value) {
+        parameters.put(key, String.valueOf(value));
+    }
+
+    /**
+     * Returns the number of boosting iterations completed.
+     *
+     * @return the number of boosting iterations completed
+     */
+    public int getIteration() {
+        return iteration;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The first metric of each dataset is reported as {@code train_loss} and {@code
+     * validate_loss}.
+     */
+    @Override
+    public TrainingResult getTrainingResult() {
+        TrainingResult result = super.getTrainingResult();
+        Map<String, Float> merged = new ConcurrentHashMap<>(result.getEvaluations());
+        merged.putAll(evaluations);
+        result.setEvaluations(merged);
+        result.setEpoch(iteration);
+        return result;
+    }
+
+    /**
+     * Records an evaluation result of the current iteration.
+     *
+     * @param dataset the dataset the metric is computed on, {@code train} or {@code validate}
+     * @param metric the metric name
+     * @param value the metric value
+     * @param first whether it is the first metric, which is also reported as the loss
+     */
+    protected void addEvaluation(String dataset, String metric, float value, boolean first) {
+        String key = dataset + '_' + metric;
+        evaluations.put(key, value);
+        if (first) {
+            evaluations.put(dataset + "_loss", value);
+        }
+        Metrics metrics = getMetrics();
+        if (metrics != null) {
+            metrics.addMetric(key, value);
+        }
+    }
+
+    /**
+     * Returns the objective of the native library that matches a loss.
+     *
+     * @param loss the loss of the {@link TrainingConfig}
+     * @param multiclass the objective for a {@link SoftmaxCrossEntropyLoss}
+     * @param binary the objective for a {@link SigmoidBinaryCrossEntropyLoss}
+     * @param l1 the objective for an {@link L1Loss}
+     * @param regression the objective for the other losses
+     * @return the objective that matches the loss
+     */
+    protected static String getObjective(
+            Loss loss, String multiclass, String binary, String l1, String regression) {
+        if (loss instanceof SoftmaxCrossEntropyLoss) {
+            return multiclass;
+        } else if (loss instanceof SigmoidBinaryCrossEntropyLoss) {
+            return binary;
+        } else if (loss instanceof L1Loss) {
+            return l1;
+        }
+        return regression;
+    }
+
+    /**
+     * Returns the number of features of a record.
+     *
+     * @param data the data of the record
+     * @return the number of features of the record
+     */
+    protected static int countFeatures(NDList data) {
+        long size = 0;
+        for (NDArray array : data) {
+            size += array.size();
+        }
+        return Math.toIntExact(size);
+    }
+
+    /**
+     * Copies the values of a numeric array into a float array.
+     *
+     * @param array the array to copy
+     * @param dst the destination
+     * @param pos the position of the first value in the destination
+     * @return the position after the last value copied
+     * @throws IllegalArgumentException if the data type of the array is not supported
+     */
+    protected static int copy(NDArray array, float[] dst, int pos) {
+        ByteBuffer bb = array.toByteBuffer();
+        int size = Math.toIntExact(array.size());
+        switch (array.getDataType()) {
+            case FLOAT32:
+                bb.asFloatBuffer().get(dst, pos, size);
+                break;
+            case FLOAT64:
+                DoubleBuffer db = bb.asDoubleBuffer();
+                for (int i = 0; i < size; ++i) {
+                    dst[pos + i] = (float) db.get(i);
+                }
+                break;
+            case INT32:
+                IntBuffer ib = bb.asIntBuffer();
+                for (int i = 0; i < size; ++i) {
+                    dst[pos + i] = ib.get(i);
+                }
+                break;
+            case INT64:
+                LongBuffer lb = bb.asLongBuffer();
+                for (int i = 0; i < size; ++i) {
+                    dst[pos + i] = lb.get(i);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException(
+                        "Boosting training does not support " + array.getDataType());
+        }
+        return pos + size;
+    }
+}
@@ -0,0 +1,423 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.training.dataset;
+
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.translate.Batchifier;
+import ai.djl.translate.Pipeline;
+import ai.djl.translate.TranslateException;
+import ai.djl.util.Progress;
+import ai.djl.util.Utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@code CachedDataset} is a {@link RandomAccessDataset} that wraps another {@link
+ * RandomAccessDataset} and caches the decoded records.
+ *
+ * <p>The first time a record is read, it is loaded from the wrapped dataset, transformed with the
+ * deterministic cache {@link Pipeline} (for example decoding and resizing) and stored in an LRU
+ * memory tier. The memory tier keeps the encoded records in direct buffers outside the java heap.
+ * When the memory budget is exhausted, the least recently used records are spilled to a local disk
+ * tier until the disk budget is exhausted as well. Subsequent reads of the same index are served
+ * from the cache and never touch the wrapped dataset again.
+ *
+ * <p>Random augmentations must not be part of the cache pipeline. They should be added to this
+ * dataset with {@link BaseBuilder#addTransform(ai.djl.translate.Transform)}, which is applied after
+ * the cache by the {@link DataIterable}:
+ *
+ * <pre>
+ *     CachedDataset dataset = new CachedDataset.Builder()
+ *                              .setDataset(imageFolder)
+ *                              .optCachePipeline(new Pipeline(new Resize(224, 224)))
+ *                              .addTransform(new RandomFlipLeftRight())
+ *                              .addTransform(new ToTensor())
+ *                              .optMemoryLimit(2L * 1024 * 1024 * 1024)
+ *                              .setSampling(32, true)
+ *                              .build();
+ * </pre>
+ *
+ * <p>Unless the builder sets its own pipelines, the pipelines of the wrapped dataset are applied
+ * after the cache the same way. As for any dataset, {@link #get(NDManager, long)} returns the
+ * records before these pipelines.
+ */
+public class CachedDataset extends RandomAccessDataset {
+
+    private RandomAccessDataset dataset;
+    private Pipeline cachePipeline;
+    private Pipeline cacheTargetPipeline;
+    private long memoryLimit;
+    private long diskLimit;
+    private Path cacheDir;
+
+    private LinkedHashMap<Long, ByteBuffer> memoryCache;
+    private Map<Long, Path> diskCache;
+    private long memoryUsage;
+    private long diskUsage;
+    private long cacheGeneration;
+    private final Object cacheDirLock = new Object();
+
+    /**
+     * Creates a new instance of {@code CachedDataset} with the given necessary configurations.
+     *
+     * @param builder a builder with the necessary configurations
+     */
+    public CachedDataset(Builder builder) {
+        super(builder);
+        dataset = builder.dataset;
+        cachePipeline = builder.cachePipeline;
+        cacheTargetPipeline = builder.cacheTargetPipeline;
+        memoryLimit = builder.memoryLimit;
+        diskLimit = builder.diskLimit;
+        cacheDir = builder.cacheDir;
+        memoryCache = new LinkedHashMap<>(16, 0.75f, true);
+        diskCache = new ConcurrentHashMap<>();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Record get(NDManager manager, long index) throws IOException {
+        byte[] cached = lookup(index);
+        if (cached != null) {
+            return decode(manager, cached);
+        }
+
+        Record record = dataset.get(manager, index);
+        NDList data = record.getData();
+        NDList labels = record.getLabels();
+        if (cachePipeline != null) {
+            data = cachePipeline.transform(data);
+        }
+        if (cacheTargetPipeline != null && labels != null) {
+            labels = cacheTargetPipeline.transform(labels);
+        }
+        store(index, encode(data, labels));
+        return new Record(data, labels);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected long availableSize() {
+        return dataset.size();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void prepare(Progress progress) throws IOException, TranslateException {
+        dataset.prepare(progress);
+    }
+
+    /**
+     * Returns the number of bytes currently held by the memory tier.
+     *
+     * @return the number of bytes currently held by the memory tier
+     */
+    public synchronized long getMemoryUsage() {
+        return memoryUsage;
+    }
+
+    /**
+     * Returns the number of bytes currently held by the disk tier.
+     *
+     * @return the number of bytes currently held by the disk tier
+     */
+    public synchronized long getDiskUsage() {
+        return diskUsage;
+    }
+
+    /**
+     * Returns the number of records currently cached in either tier.
+     *
+     * @return the number of records currently cached in either tier
+     */
+    public synchronized int getCachedSize() {
+        return memoryCache.size() + diskCache.size();
+    }
+
+    /** Removes all the cached records from both the memory and the disk tier. */
+    public synchronized void clearCache() {
+        memoryCache.clear();
+        memoryUsage = 0;
+        for (Path file : diskCache.values()) {
+            Utils.deleteQuietly(file);
+        }
+        diskCache.clear();
+        diskUsage = 0;
+        ++cacheGeneration;
+    }
+
+    private byte[] lookup(long index) throws IOException {
+        Path file;
+        synchronized (this) {
+            ByteBuffer buf = memoryCache.get(index);
+            if (buf != null) {
+                byte[] bytes = new byte[buf.capacity()];
+                buf.duplicate().get(bytes);
+                return bytes;
+            }
+            file = diskCache.get(index);
+        }
+        if (file == null) {
+            return null;
+        }
+        return Files.readAllBytes(file);
+    }
+
+    private void store(long index, byte[] bytes) throws IOException {
+        if (bytes.length > memoryLimit) {
+            spill(index, bytes);
+            return;
+        }
+        ByteBuffer buf = ByteBuffer.allocateDirect(bytes.length);
+        buf.put(bytes);
+        buf.flip();
+        List<Map.Entry<Long, byte[]>> evicted = new ArrayList<>();
+        synchronized (this) {
+            ByteBuffer prev = memoryCache.put(index, buf);
+            if (prev != null) {
+                memoryUsage -= prev.capacity();
+            }
+            memoryUsage += bytes.length;
+            Iterator<Map.Entry<Long, ByteBuffer>> it = memoryCache.entrySet().iterator();
+            while (memoryUsage > memoryLimit && it.hasNext()) {
+                Map.Entry<Long, ByteBuffer> eldest = it.next();
+                ByteBuffer evictedBuf = eldest.getValue();
+                it.remove();
+                memoryUsage -= evictedBuf.capacity();
+
+                byte[] spilled = new byte[evictedBuf.capacity()];
+                evictedBuf.duplicate().get(spilled);
+                evicted.add(new AbstractMap.SimpleEntry<>(eldest.getKey(), spilled));
+            }
+        }
+        // the disk I/O runs outside the lock, so readers of the memory tier are not blocked
+        for (Map.Entry<Long, byte[]> entry : evicted) {
+            spill(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void spill(long index, byte[] bytes) throws IOException {
+        long generation;
+        synchronized (this) {
+            if (diskCache.containsKey(index) || diskUsage + bytes.length > diskLimit) {
+                return;
+            }
+            // reserves the disk budget before writing
+            diskUsage += bytes.length;
+            generation = cacheGeneration;
+        }
+        Path file = null;
+        try {
+            file = Files.createTempFile(getCacheDirectory(), index + "-", ".ndlist");
+            Files.write(file, bytes);
+            file.toFile().deleteOnExit();
+        } finally {
+            synchronized (this) {
+                if (file != null
+                        && generation == cacheGeneration
+                        && !diskCache.containsKey(index)) {
+                    diskCache.put(index, file);
+                    file = null;
+                } else if (generation == cacheGeneration) {
+                    diskUsage -= bytes.length;
+                }
+            }
+            if (file != null) {
+                // the cache was cleared or the record was spilled by another thread meanwhile
+                Utils.deleteQuietly(file);
+            }
+        }
+    }
+
+    private Path getCacheDirectory() throws IOException {
+        synchronized (cacheDirLock) {
+            if (cacheDir == null) {
+                Path parent = Utils.getCacheDir();
+                Files.createDirectories(parent);
+                cacheDir = Files.createTempDirectory(parent, "dataset_cache");
+                cacheDir.toFile().deleteOnExit();
+            } else {
+                Files.createDirectories(cacheDir);
+            }
+            return cacheDir;
+        }
+    }
+
+    // the labels are omitted when they are null
+    private static byte[] encode(NDList data, NDList labels) {
+        byte[] encodedData = data.encode();
+        byte[] encodedLabels = labels == null ? new byte[0] : labels.encode();
+        ByteBuffer bb = ByteBuffer.allocate(4 + encodedData.length + encodedLabels.length);
+        bb.putInt(encodedData.length);
+        bb.put(encodedData);
+        bb.put(encodedLabels);
+        return bb.array();
+    }
+
+    private static Record decode(NDManager manager, byte[] bytes) {
+        ByteBuffer bb = ByteBuffer.wrap(bytes);
+        byte[] encodedData = new byte[bb.getInt()];
+        bb.get(encodedData);
+        byte[] encodedLabels = new byte[bb.remaining()];
+        bb.get(encodedLabels);
+        NDList data = NDList.decode(manager, encodedData);
+        NDList labels = encodedLabels.length == 0 ? null : NDList.decode(manager, encodedLabels);
+        return new Record(data, labels);
+    }
+
+    /** The Builder to construct a {@link CachedDataset}. */
+    public static final class Builder extends BaseBuilder<Builder> {
+
+        RandomAccessDataset dataset;
+        Pipeline cachePipeline;
+        Pipeline cacheTargetPipeline;
+        long memoryLimit = 1024L * 1024 * 1024;
+        long diskLimit = Long.MAX_VALUE;
+        Path cacheDir;
+        private boolean dataBatchifierSet;
+        private boolean labelBatchifierSet;
+
+        /** {@inheritDoc} */
+        @Override
+        protected Builder self() {
+            return this;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Builder optDataBatchifier(Batchifier dataBatchifier) {
+            dataBatchifierSet = true;
+            return super.optDataBatchifier(dataBatchifier);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Builder optLabelBatchifier(Batchifier labelBatchifier) {
+            labelBatchifierSet = true;
+            return super.optLabelBatchifier(labelBatchifier);
+        }
+
+        /**
+         * Sets the {@link RandomAccessDataset} to be cached.
+         *
+         * @param dataset the {@link RandomAccessDataset} to be cached
+         * @return this builder
+         */
+        public Builder setDataset(RandomAccessDataset dataset) {
+            this.dataset = dataset;
+            return this;
+        }
+
+        /**
+         * Sets the deterministic {@link Pipeline} to be applied on the data before caching.
+         *
+         * @param cachePipeline the deterministic {@link Pipeline} to be applied on the data
+         * @return this builder
+         */
+        public Builder optCachePipeline(Pipeline cachePipeline) {
+            this.cachePipeline = cachePipeline;
+            return this;
+        }
+
+        /**
+         * Sets the deterministic {@link Pipeline} to be applied on the labels before caching.
+         *
+         * @param cacheTargetPipeline the deterministic {@link Pipeline} to be applied on the labels
+         * @return this builder
+         */
+        public Builder optCacheTargetPipeline(Pipeline cacheTargetPipeline) {
+            this.cacheTargetPipeline = cacheTargetPipeline;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of bytes the off-heap memory tier can hold, default is 1 GiB.
+         *
+         * @param memoryLimit the maximum number of bytes of the memory tier
+         * @return this builder
+         */
+        public Builder optMemoryLimit(long memoryLimit) {
+            this.memoryLimit = memoryLimit;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of bytes the disk tier can hold, default is unlimited.
+         *
+         * <p>Set the limit to 0 to disable the disk tier.
+         *
+         * @param diskLimit the maximum number of bytes of the disk tier
+         * @return this builder
+         */
+        public Builder optDiskLimit(long diskLimit) {
+            this.diskLimit = diskLimit;
+            return this;
+        }
+
+        /**
+         * Sets the directory to store the disk tier, default is a temporary directory in the DJL
+         * cache directory.
+         *
+         * @param cacheDir the directory to store the disk tier
+         * @return this builder
+         */
+        public Builder optCacheDirectory(Path cacheDir) {
+            this.cacheDir = cacheDir;
+            return this;
+        }
+
+        /**
+         * Builds a new instance of {@code CachedDataset}.
+         *
+         * <p>The sampler, batchifiers, pipelines and device of the wrapped dataset are reused
+         * unless they are set explicitly on this builder.
+         *
+         * @return a new instance of {@code CachedDataset}
+         */
+        public CachedDataset build() {
+            if (dataset == null) {
+                throw new IllegalArgumentException("The dataset to cache must be set.");
+            }
+            if (sampler == null) {
+                sampler = dataset.sampler;
+            }
+            if (!dataBatchifierSet) {
+                dataBatchifier = dataset.dataBatchifier;
+            }
+            if (!labelBatchifierSet) {
+                labelBatchifier = dataset.labelBatchifier;
+            }
+            if (pipeline == null) {
+                pipeline = dataset.pipeline;
+            }
+            if (targetPipeline == null) {
+                targetPipeline = dataset.targetPipeline;
+            }
+            if (device == null) {
+                device = dataset.device;
+            }
+            return new CachedDataset(this);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.training.dataset;
+
+import ai.djl.util.RandomUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.LongToIntFunction;
+
+/**
+ * {@code TokenBudgetSampler} is a {@link Sampler} that forms variable sized batches of variable
+ * length samples under a maximum token budget.
+ *
+ * <p>The length of each sample is given by a length function. A batch is filled until the number of
+ * tokens after padding, {@code batchSize * maxLengthInBatch}, would exceed the token budget, so
+ * short samples are grouped into large batches and long samples into small ones. To minimize the
+ * amount of padding while keeping the sampling random across epochs, the sampler shuffles the
+ * indices, sorts them by length within windows of {@code sortWindow} samples, cuts the windows into
+ * batches and finally shuffles the batches.
+ *
+ * <p>Unlike the {@code FixedBucketSampler}, which only supports {@code TextDataset}, it works with
+ * any {@link RandomAccessDataset}. It is best paired with {@link
+ * ai.djl.translate.ConstantPaddingBatchifier}.
+ */
+public class TokenBudgetSampler implements Sampler {
+
+    private LongToIntFunction lengthFunction;
+    private int maxTokens;
+    private int maxBatchSize;
+    private int sortWindow;
+    private boolean shuffle;
+
+    private RandomAccessDataset lastDataset;
+    private int[] lengths;
+
+    /**
+     * Constructs a new instance of {@code TokenBudgetSampler}.
+     *
+     * @param lengthFunction the function that returns the length of the sample at an index
+     * @param maxTokens the maximum number of tokens, including padding, in a batch
+     * @param maxBatchSize the maximum number of samples in a batch, -1 for unlimited
+     * @param sortWindow the number of shuffled samples that are sorted by length together, -1 to
+     *     sort the whole dataset
+     * @param shuffle whether to shuffle data randomly while sampling
+     */
+    public TokenBudgetSampler(
+            LongToIntFunction lengthFunction,
+            int maxTokens,
+            int maxBatchSize,
+            int sortWindow,
+            boolean shuffle) {
+        if (maxTokens <= 0) {
+            throw new IllegalArgumentException("maxTokens must be positive: " + maxTokens);
+        }
+        this.lengthFunction = lengthFunction;
+        this.maxTokens = maxTokens;
+        this.maxBatchSize = maxBatchSize > 0 ? maxBatchSize : Integer.MAX_VALUE;
+        this.sortWindow = sortWindow;
+        this.shuffle = shuffle;
+    }
+
+    /**
+     * Constructs a new instance of {@code TokenBudgetSampler} without batch size limit.
+     *
+     * @param lengthFunction the function that returns the length of the sample at an index
+     * @param maxTokens the maximum number of tokens, including padding, in a batch
+     * @param shuffle whether to shuffle data randomly while sampling
+     */
+    public TokenBudgetSampler(LongToIntFunction lengthFunction, int maxTokens, boolean shuffle) {
+        this(lengthFunction, maxTokens, -1, 100 * 64, shuffle);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Iterator<List<Long>> sample(RandomAccessDataset dataset) {
+        int size = Math.toIntExact(dataset.size());
+        return new Iterate(createBatches(getLengths(dataset, size), size));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getBatchSize() {
+        return -1;
+    }
+
+    private synchronized int[] getLengths(RandomAccessDataset dataset, int size) {
+        if (dataset != lastDataset || lengths == null || lengths.length != size) {
+            lengths = new int[size];
+            for (int i = 0; i < size; ++i) {
+                lengths[i] = lengthFunction.applyAsInt(i);
+            }
+            lastDataset = dataset;
+        }
+        return lengths;
+    }
+
+    private List<long[]> createBatches(int[] lens, int size) {
+        List<Integer> indices = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            indices.add(i);
+        }
+        if (shuffle) {
+            Collections.shuffle(indices, RandomUtils.RANDOM);
+        }
+        int window = sortWindow > 0 ? sortWindow : size;
+        for (int from = 0; from < size; from += window) {
+            int to = Math.min(size, from + window);
+            indices.subList(from, to).sort((a, b) -> Integer.compare(lens[a], lens[b]));
+        }
+
+        List<long[]> batches = new ArrayList<>();
+        long[] buf = new long[Math.min(size, maxBatchSize)];
+        int count = 0;
+        int maxLength = 0;
+        for (int index : indices) {
+            int length = lens[index];
+            int newMax = Math.max(maxLength, length);
+            if (count > 0 && ((long) (count + 1) * newMax > maxTokens || count == maxBatchSize)) {
+                batches.add(Arrays.copyOf(buf, count));
+                count = 0;
+                newMax = length;
+            }
+            buf[count++] = index;
+            maxLength = newMax;
+        }
+        if (count > 0) {
+            batches.add(Arrays.copyOf(buf, count));
+        }
+        if (shuffle) {
+            Collections.shuffle(batches, RandomUtils.RANDOM);
+        }
+        return batches;
+    }
+
+    private static final class Iterate implements Iterator<List<Long>> {
+
+        private List<long[]> batches;
+        private int current;
+
+        Iterate(List<long[]> batches) {
+            this.batches = batches;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean hasNext() {
+            return current < batches.size();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public List<Long> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            long[] batch = batches.get(current++);
+            List<Long> ret = new ArrayList<>(batch.length);
+            for (long index : batch) {
+                ret.add(index);
+            }
+            return ret;
+        }
+    }
+}
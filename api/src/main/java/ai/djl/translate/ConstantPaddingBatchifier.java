@@ -0,0 +1,292 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.translate;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDArrays;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.index.NDIndex;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.util.Float16Utils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code ConstantPaddingBatchifier} is a {@link Batchifier} that pads elements with a constant
+ * value to reach the same length and stacks them.
+ *
+ * <p>Unlike {@link PaddingStackBatchifier}, which concatenates a padding array to every element
+ * before stacking, this batchifier computes the padded batch shape up front and copies every
+ * element directly into one pre-sized buffer, so each padded array of the batch is created with a
+ * single allocation.
+ */
+public final class ConstantPaddingBatchifier implements Batchifier {
+
+    private List<Integer> arraysToPad;
+    private List<Integer> dimsToPad;
+    private List<Number> paddingValues;
+    private List<Integer> paddingSizes;
+    private boolean includeValidLengths;
+
+    private ConstantPaddingBatchifier(Builder builder) {
+        arraysToPad = builder.arraysToPad;
+        dimsToPad = builder.dimsToPad;
+        paddingValues = builder.paddingValues;
+        paddingSizes = builder.paddingSizes;
+        includeValidLengths = builder.includeValidLengths;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDList batchify(NDList[] inputs) {
+        int numInputKinds = inputs[0].size();
+        NDList result = new NDList(numInputKinds);
+        NDList validLengths = new NDList(arraysToPad.size());
+        for (int i = 0; i < numInputKinds; i++) {
+            int padIndex = arraysToPad.indexOf(i);
+            if (padIndex < 0) {
+                NDList inputsOfKind = new NDList(inputs.length);
+                for (NDList input : inputs) {
+                    inputsOfKind.add(input.get(i));
+                }
+                NDArray stacked = NDArrays.stack(inputsOfKind);
+                stacked.setName(inputs[0].get(i).getName());
+                result.add(stacked);
+                continue;
+            }
+            long[] arrayValidLengths = new long[inputs.length];
+            result.add(pad(inputs, i, padIndex, arrayValidLengths));
+            validLengths.add(inputs[0].get(i).getManager().create(arrayValidLengths));
+        }
+        if (includeValidLengths) {
+            result.addAll(validLengths);
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDList[] unbatchify(NDList inputs) {
+        if (!includeValidLengths) {
+            return Batchifier.STACK.unbatchify(inputs);
+        }
+        NDList validLengths =
+                new NDList(inputs.subList(inputs.size() - arraysToPad.size(), inputs.size()));
+        inputs = new NDList(inputs.subList(0, inputs.size() - arraysToPad.size()));
+        NDList[] split = Batchifier.STACK.unbatchify(inputs);
+        for (int i = 0; i < split.length; i++) {
+            NDList arrays = split[i];
+            for (int j = 0; j < arraysToPad.size(); j++) {
+                long validLength = validLengths.get(j).getLong(i);
+                int arrayIndex = arraysToPad.get(j);
+                NDArray array = arrays.get(arrayIndex);
+                NDArray dePadded = array.get(NDIndex.sliceAxis(dimsToPad.get(j), 0, validLength));
+                dePadded.setName(array.getName());
+                arrays.set(arrayIndex, dePadded);
+            }
+        }
+        return split;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDList[] split(NDList list, int numOfSlices, boolean evenSplit) {
+        if (!includeValidLengths) {
+            return Batchifier.STACK.split(list, numOfSlices, evenSplit);
+        }
+        NDList validLengths =
+                new NDList(list.subList(list.size() - arraysToPad.size(), list.size()));
+        list = new NDList(list.subList(0, list.size() - arraysToPad.size()));
+        NDList[] split = Batchifier.STACK.split(list, numOfSlices, evenSplit);
+        long sliceSize = split[0].get(0).getShape().get(0);
+        long totalSize = list.get(0).getShape().get(0);
+        for (int i = 0; i < split.length; i++) {
+            NDList arrays = split[i];
+            for (int j = 0; j < arraysToPad.size(); j++) {
+                long min = i * sliceSize;
+                long max = Math.min((i + 1) * sliceSize, totalSize);
+                arrays.add(validLengths.get(j).get(NDIndex.sliceAxis(0, min, max)));
+            }
+        }
+        return split;
+    }
+
+    private NDArray pad(NDList[] inputs, int arrayIndex, int padIndex, long[] validLengths) {
+        int dim = dimsToPad.get(padIndex);
+        NDArray first = inputs[0].get(arrayIndex);
+        DataType dataType = first.getDataType();
+        Shape shape = first.getShape();
+
+        long maxSize = -1;
+        for (int j = 0; j < inputs.length; j++) {
+            NDArray array = inputs[j].get(arrayIndex);
+            Shape arrayShape = array.getShape();
+            if (array.getDataType() != dataType || arrayShape.dimension() != shape.dimension()) {
+                throw new IllegalArgumentException(
+                        "You cannot batch data with different input data types or ranks");
+            }
+            validLengths[j] = arrayShape.get(dim);
+            maxSize = Math.max(maxSize, validLengths[j]);
+        }
+        long paddingSize = paddingSizes.get(padIndex);
+        if (paddingSize != -1 && maxSize > paddingSize) {
+            throw new IllegalArgumentException(
+                    "The batchifier padding size is too small " + maxSize + " " + paddingSize);
+        }
+        maxSize = Math.max(maxSize, paddingSize);
+
+        // element shape is split in [outer, dim, inner], each outer row is copied at once
+        Shape padded = Shape.update(shape, dim, maxSize);
+        int outer = Math.toIntExact(shape.slice(0, dim).size());
+        int innerBytes = Math.toIntExact(shape.slice(dim + 1).size()) * dataType.getNumOfBytes();
+        int rowBytes = Math.toIntExact(maxSize) * innerBytes;
+        byte[] paddingRow = paddingRow(dataType, paddingValues.get(padIndex), rowBytes);
+
+        NDManager manager = first.getManager();
+        ByteBuffer bb = manager.allocateDirect(inputs.length * outer * rowBytes);
+        for (int j = 0; j < inputs.length; j++) {
+            NDArray array = inputs[j].get(arrayIndex);
+            Shape expected = Shape.update(shape, dim, validLengths[j]);
+            if (!array.getShape().equals(expected)) {
+                throw new IllegalArgumentException(
+                        "You cannot batch data with different input shapes"
+                                + array.getShape()
+                                + " vs "
+                                + expected);
+            }
+            ByteBuffer data = array.toByteBuffer();
+            int validBytes = Math.toIntExact(validLengths[j]) * innerBytes;
+            for (int k = 0; k < outer; k++) {
+                data.limit(data.position() + validBytes);
+                bb.put(data);
+                bb.put(paddingRow, validBytes, rowBytes - validBytes);
+            }
+        }
+        bb.rewind();
+        NDArray batch = manager.create(bb, new Shape(inputs.length).addAll(padded), dataType);
+        batch.setName(first.getName());
+        return batch;
+    }
+
+    private static byte[] paddingRow(DataType dataType, Number value, int rowBytes) {
+        ByteBuffer bb = ByteBuffer.allocate(rowBytes).order(ByteOrder.nativeOrder());
+        while (bb.hasRemaining()) {
+            switch (dataType) {
+                case FLOAT16:
+                    bb.putShort(Float16Utils.floatToHalf(value.floatValue()));
+                    break;
+                case FLOAT32:
+                    bb.putFloat(value.floatValue());
+                    break;
+                case FLOAT64:
+                    bb.putDouble(value.doubleValue());
+                    break;
+                case INT32:
+                    bb.putInt(value.intValue());
+                    break;
+                case INT64:
+                    bb.putLong(value.longValue());
+                    break;
+                case UINT8:
+                case INT8:
+                case BOOLEAN:
+                    bb.put(value.byteValue());
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported data type: " + dataType);
+            }
+        }
+        return bb.array();
+    }
+
+    /**
+     * Returns a {@link ConstantPaddingBatchifier.Builder}.
+     *
+     * @return a {@link ConstantPaddingBatchifier.Builder}
+     */
+    public static ConstantPaddingBatchifier.Builder builder() {
+        return new Builder();
+    }
+
+    /** Builder to build a {@link ConstantPaddingBatchifier}. */
+    public static final class Builder {
+
+        private List<Integer> arraysToPad;
+        private List<Integer> dimsToPad;
+        private List<Number> paddingValues;
+        private List<Integer> paddingSizes;
+        private boolean includeValidLengths;
+
+        private Builder() {
+            arraysToPad = new ArrayList<>();
+            dimsToPad = new ArrayList<>();
+            paddingValues = new ArrayList<>();
+            paddingSizes = new ArrayList<>();
+        }
+
+        /**
+         * Sets whether to include the valid lengths (length of non-padded data) for each array.
+         *
+         * @param includeValidLengths true to include valid lengths
+         * @return this builder
+         */
+        public Builder optIncludeValidLengths(boolean includeValidLengths) {
+            this.includeValidLengths = includeValidLengths;
+            return this;
+        }
+
+        /**
+         * Adds a new dimension to be padded in the input {@link NDList}.
+         *
+         * @param array which array in the {@link NDList} to pad
+         * @param dim which dimension in the (unbatched) array to pad
+         * @param value the constant value to pad with
+         * @return this builder
+         */
+        public Builder addPad(int array, int dim, Number value) {
+            return addPad(array, dim, value, -1);
+        }
+
+        /**
+         * Adds a new dimension to be padded in the input {@link NDList}.
+         *
+         * @param array which array in the {@link NDList} to pad
+         * @param dim which dimension in the (unbatched) array to pad
+         * @param value the constant value to pad with
+         * @param paddingSize the minimum padding size to use. All sequences to pad must be less
+         *     than this size
+         * @return this builder
+         */
+        public Builder addPad(int array, int dim, Number value, int paddingSize) {
+            arraysToPad.add(array);
+            dimsToPad.add(dim);
+            paddingValues.add(value);
+            paddingSizes.add(paddingSize);
+            return this;
+        }
+
+        /**
+         * Builds the {@link ConstantPaddingBatchifier}.
+         *
+         * @return the constructed {@link ConstantPaddingBatchifier}
+         */
+        public ConstantPaddingBatchifier build() {
+            return new ConstantPaddingBatchifier(this);
+        }
+    }
+}
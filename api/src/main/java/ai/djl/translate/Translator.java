@@ -13,6 +13,10 @@
 package ai.djl.translate;
 
 import ai.djl.inference.Predictor;
+import ai.djl.ndarray.NDList;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The {@code Translator} interface provides model pre-processing and postprocessing functionality.
@@ -23,7 +27,9 @@ import ai.djl.inference.Predictor;
  * be {@code Image} rather than {@code Image[]}. The {@link ai.djl.training.dataset.Record}s will
  * then be combined using a {@link Batchifier}. If it is easier in your use case to work with
  * batches directly or your model uses records instead of batches, you can use the {@link
- * NoBatchifyTranslator}.
+ * NoBatchifyTranslator}. A translator that can pre-process a whole batch at once more efficiently,
+ * for example with a batch tokenizer, can override {@link #processInputBatch(TranslatorContext,
+ * List)} and {@link #processOutputBatch(TranslatorContext, NDList)}.
  *
  * <p>The following is an example of processing an image and creating classification output:
  *
@@ -91,4 +97,47 @@ public interface Translator<I, O> extends PreProcessor<I>, PostProcessor<O> {
      */
     @SuppressWarnings("PMD.SignatureDeclareThrowsException")
     default void prepare(TranslatorContext ctx) throws Exception {}
+
+    /**
+     * Processes a batch of inputs and converts it to a batched {@link NDList}.
+     *
+     * <p>The {@link Predictor} calls this method instead of {@link #processInput(TranslatorContext,
+     * Object)} when the {@link Batchifier} is not {@code null}. The default implementation
+     * processes the inputs one by one and batchifies them with {@link #getBatchifier()}.
+     *
+     * @param ctx the toolkit for creating the input NDArray
+     * @param inputs the batch of input objects
+     * @return the batched {@link NDList} after pre-processing
+     * @throws Exception if an error occurs during processing input
+     */
+    @SuppressWarnings("PMD.SignatureDeclareThrowsException")
+    default NDList processInputBatch(TranslatorContext ctx, List<I> inputs) throws Exception {
+        NDList[] preprocessed = new NDList[inputs.size()];
+        for (int i = 0; i < preprocessed.length; ++i) {
+            preprocessed[i] = processInput(ctx, inputs.get(i));
+        }
+        return getBatchifier().batchify(preprocessed);
+    }
+
+    /**
+     * Processes the batched output {@link NDList} to the corresponding output objects.
+     *
+     * <p>The {@link Predictor} calls this method on the output of the batch created by {@link
+     * #processInputBatch(TranslatorContext, List)}. The default implementation unbatchifies the
+     * output with {@link #getBatchifier()} and processes the items one by one.
+     *
+     * @param ctx the toolkit used for post-processing
+     * @param list the batched output NDList after inference
+     * @return the output objects of the batch
+     * @throws Exception if an error occurs during processing output
+     */
+    @SuppressWarnings("PMD.SignatureDeclareThrowsException")
+    default List<O> processOutputBatch(TranslatorContext ctx, NDList list) throws Exception {
+        NDList[] unbatched = getBatchifier().unbatchify(list);
+        List<O> outputs = new ArrayList<>(unbatched.length);
+        for (NDList output : unbatched) {
+            outputs.add(processOutput(ctx, output));
+        }
+        return outputs;
+    }
 }
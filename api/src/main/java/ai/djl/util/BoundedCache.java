@@ -0,0 +1,441 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * {@code BoundedCache} is a concurrent cache bounded by the number of entries and optionally by the
+ * total weight of its values.
+ *
+ * <p>The cache follows the W-TinyLFU policy. It is split into segments, each guarded by its own
+ * lock and made of a small LRU admission window and a large LRU main area. New entries enter the
+ * window; when the window overflows, its eldest entry only replaces the eldest entry of the main
+ * area if it has been accessed more often recently. The access frequencies are estimated by a
+ * count-min sketch with 4-bit counters that are periodically halved, so the cache keeps frequently
+ * repeated entries while one-off entries are evicted quickly.
+ *
+ * <p>The hit and miss counts of the cache can be retrieved to monitor its effectiveness.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public final class BoundedCache<K, V> {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private Segment<K, V>[] segments;
+    private ToLongFunction<V> weigher;
+    private int segmentMask;
+
+    @SuppressWarnings("unchecked")
+    private BoundedCache(Builder<K, V> builder) {
+        int numSegments = Math.max(1, Math.min(MAX_SEGMENTS, builder.maxSize / 64));
+        numSegments = Integer.highestOneBit(numSegments);
+        segments = (Segment<K, V>[]) new Segment<?, ?>[numSegments];
+        segmentMask = numSegments - 1;
+        int segmentSize = Math.max(1, builder.maxSize / numSegments);
+        long segmentWeight =
+                builder.maxWeight < 0 ? Long.MAX_VALUE : builder.maxWeight / numSegments;
+        for (int i = 0; i < numSegments; ++i) {
+            segments[i] = new Segment<>(segmentSize, segmentWeight);
+        }
+        weigher = builder.weigher;
+    }
+
+    /**
+     * Creates a builder to build a {@code BoundedCache}.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     * @return a new builder
+     */
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Returns the value associated with the key, or {@code null} if it is not cached.
+     *
+     * @param key the key
+     * @return the cached value, or {@code null}
+     */
+    public V getIfPresent(K key) {
+        int hash = spread(key.hashCode());
+        return segmentFor(hash).get(key, hash);
+    }
+
+    /**
+     * Returns the value associated with the key, computing and caching it if absent.
+     *
+     * <p>The value is computed outside of the cache lock, so concurrent misses on the same key may
+     * compute the value more than once.
+     *
+     * @param key the key
+     * @param loader the function to compute the value on a cache miss
+     * @return the cached or computed value
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        int hash = spread(key.hashCode());
+        Segment<K, V> segment = segmentFor(hash);
+        V value = segment.get(key, hash);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value != null) {
+                segment.put(key, hash, value, weigher.applyAsLong(value));
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Associates the value with the key in the cache.
+     *
+     * <p>The entry may be evicted right away if it is not admitted by the eviction policy.
+     *
+     * @param key the key
+     * @param value the value
+     */
+    public void put(K key, V value) {
+        int hash = spread(key.hashCode());
+        segmentFor(hash).put(key, hash, value, weigher.applyAsLong(value));
+    }
+
+    /** Removes all the entries from the cache, the statistics are kept. */
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Returns the number of entries in the cache.
+     *
+     * @return the number of entries in the cache
+     */
+    public long size() {
+        long size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the total weight of the entries in the cache.
+     *
+     * @return the total weight of the entries in the cache
+     */
+    public long getWeight() {
+        long weight = 0;
+        for (Segment<K, V> segment : segments) {
+            weight += segment.getWeight();
+        }
+        return weight;
+    }
+
+    /**
+     * Returns the number of lookups that found a cached value.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        long count = 0;
+        for (Segment<K, V> segment : segments) {
+            count += segment.getHits();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of lookups that did not find a cached value.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        long count = 0;
+        for (Segment<K, V> segment : segments) {
+            count += segment.getMisses();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of entries that have been evicted or rejected by the cache.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        long count = 0;
+        for (Segment<K, V> segment : segments) {
+            count += segment.getEvictions();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the ratio of lookups that found a cached value, or 0 if there was no lookup.
+     *
+     * @return the cache hit rate
+     */
+    public double getHitRate() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    private Segment<K, V> segmentFor(int hash) {
+        return segments[(hash >>> 16) & segmentMask];
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 15);
+    }
+
+    private static final class Node<V> {
+
+        V value;
+        long weight;
+
+        Node(V value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Segment<K, V> {
+
+        private LinkedHashMap<K, Node<V>> window;
+        private LinkedHashMap<K, Node<V>> main;
+        private FrequencySketch sketch;
+        private int windowSize;
+        private int mainSize;
+        private long maxWeight;
+        private long weight;
+        private long hits;
+        private long misses;
+        private long evictions;
+
+        Segment(int maxSize, long maxWeight) {
+            windowSize = Math.max(1, maxSize / 100);
+            mainSize = Math.max(1, maxSize - windowSize);
+            this.maxWeight = maxWeight;
+            window = new LinkedHashMap<>(16, 0.75f, true);
+            main = new LinkedHashMap<>(16, 0.75f, true);
+            sketch = new FrequencySketch(maxSize);
+        }
+
+        synchronized V get(K key, int hash) {
+            sketch.increment(hash);
+            Node<V> node = window.get(key);
+            if (node == null) {
+                node = main.get(key);
+            }
+            if (node == null) {
+                ++misses;
+                return null;
+            }
+            ++hits;
+            return node.value;
+        }
+
+        synchronized void put(K key, int hash, V value, long valueWeight) {
+            if (valueWeight > maxWeight) {
+                ++evictions;
+                return;
+            }
+            Node<V> node = new Node<>(value, valueWeight);
+            Node<V> prev = main.containsKey(key) ? main.put(key, node) : window.put(key, node);
+            if (prev != null) {
+                weight -= prev.weight;
+            }
+            weight += valueWeight;
+
+            while (window.size() > windowSize) {
+                Iterator<Map.Entry<K, Node<V>>> it = window.entrySet().iterator();
+                Map.Entry<K, Node<V>> candidate = it.next();
+                it.remove();
+                admit(candidate.getKey(), candidate.getValue());
+            }
+            while (weight > maxWeight) {
+                Map<K, Node<V>> map = main.isEmpty() ? window : main;
+                Iterator<Map.Entry<K, Node<V>>> it = map.entrySet().iterator();
+                weight -= it.next().getValue().weight;
+                it.remove();
+                ++evictions;
+            }
+        }
+
+        private void admit(K key, Node<V> node) {
+            int frequency = sketch.frequency(spread(key.hashCode()));
+            while (main.size() >= mainSize || weight > maxWeight) {
+                Iterator<Map.Entry<K, Node<V>>> it = main.entrySet().iterator();
+                if (!it.hasNext()) {
+                    break;
+                }
+                Map.Entry<K, Node<V>> victim = it.next();
+                if (frequency <= sketch.frequency(spread(victim.getKey().hashCode()))) {
+                    // the candidate is not more popular than the victim, reject it
+                    weight -= node.weight;
+                    ++evictions;
+                    return;
+                }
+                weight -= victim.getValue().weight;
+                it.remove();
+                ++evictions;
+            }
+            main.put(key, node);
+        }
+
+        synchronized void clear() {
+            window.clear();
+            main.clear();
+            weight = 0;
+        }
+
+        synchronized int size() {
+            return window.size() + main.size();
+        }
+
+        synchronized long getWeight() {
+            return weight;
+        }
+
+        synchronized long getHits() {
+            return hits;
+        }
+
+        synchronized long getMisses() {
+            return misses;
+        }
+
+        synchronized long getEvictions() {
+            return evictions;
+        }
+    }
+
+    /** A count-min sketch of 4 rows of saturating 4-bit counters, stored one per byte. */
+    private static final class FrequencySketch {
+
+        private static final int[] SEEDS = {0x97CB3127, 0xB3A9D83B, 0xC5A2F0E3, 0x8F0BE6B5};
+
+        private byte[] table;
+        private int mask;
+        private int sampleSize;
+        private int additions;
+
+        FrequencySketch(int maxSize) {
+            int width = Integer.highestOneBit(Math.max(16, maxSize) * 2 - 1);
+            table = new byte[width * SEEDS.length];
+            mask = width - 1;
+            sampleSize = 10 * Math.max(16, maxSize);
+        }
+
+        int frequency(int hash) {
+            int min = Integer.MAX_VALUE;
+            for (int i = 0; i < SEEDS.length; ++i) {
+                min = Math.min(min, table[index(hash, i)]);
+            }
+            return min;
+        }
+
+        void increment(int hash) {
+            boolean added = false;
+            for (int i = 0; i < SEEDS.length; ++i) {
+                int index = index(hash, i);
+                if (table[index] < 15) {
+                    ++table[index];
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                // age the counters so that the sketch follows recent popularity
+                for (int i = 0; i < table.length; ++i) {
+                    table[i] >>= 1;
+                }
+                additions /= 2;
+            }
+        }
+
+        private int index(int hash, int row) {
+            int h = (hash ^ SEEDS[row]) * SEEDS[row];
+            h ^= h >>> 17;
+            return row * (mask + 1) + (h & mask);
+        }
+    }
+
+    /**
+     * The builder for a {@link BoundedCache}.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    public static final class Builder<K, V> {
+
+        int maxSize = 10000;
+        long maxWeight = -1;
+        ToLongFunction<V> weigher = v -> 1;
+
+        Builder() {}
+
+        /**
+         * Sets the maximum number of entries of the cache, default is 10000.
+         *
+         * @param maxSize the maximum number of entries of the cache
+         * @return this builder
+         */
+        public Builder<K, V> optMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum total weight of the values, default is unlimited.
+         *
+         * @param maxWeight the maximum total weight of the values, -1 for unlimited
+         * @return this builder
+         */
+        public Builder<K, V> optMaxWeight(long maxWeight) {
+            this.maxWeight = maxWeight;
+            return this;
+        }
+
+        /**
+         * Sets the function to compute the weight of a value, for example its size in bytes.
+         *
+         * @param weigher the function to compute the weight of a value
+         * @return this builder
+         */
+        public Builder<K, V> optWeigher(ToLongFunction<V> weigher) {
+            this.weigher = weigher;
+            return this;
+        }
+
+        /**
+         * Builds a new {@link BoundedCache}.
+         *
+         * @return a new {@link BoundedCache}
+         */
+        public BoundedCache<K, V> build() {
+            if (maxSize <= 0) {
+                throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+            }
+            return new BoundedCache<>(this);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.nlp;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class VocabularyTest {
+
+    @Test
+    public void testParallelBuild() {
+        List<List<String>> sentences = new ArrayList<>();
+        for (int i = 0; i < 1000; ++i) {
+            sentences.add(Arrays.asList("token" + (i % 37), "token" + (i % 11), "common"));
+        }
+        for (int minFrequency : new int[] {-1, 30}) {
+            DefaultVocabulary expected =
+                    DefaultVocabulary.builder()
+                            .addAll(sentences)
+                            .optMinFrequency(minFrequency)
+                            .optUnknownToken()
+                            .build();
+            DefaultVocabulary actual =
+                    DefaultVocabulary.builder()
+                            .addAll(sentences)
+                            .optMinFrequency(minFrequency)
+                            .optUnknownToken()
+                            .optParallel(true)
+                            .build();
+            Assert.assertEquals(actual.size(), expected.size());
+            for (long i = 0; i < expected.size(); ++i) {
+                Assert.assertEquals(actual.getToken(i), expected.getToken(i));
+            }
+        }
+    }
+
+    @Test
+    public void testFrozenVocabulary() {
+        DefaultVocabulary vocabulary =
+                DefaultVocabulary.builder()
+                        .add(Arrays.asList("hello", "world", "hello", "##ing", "a", ""))
+                        .optUnknownToken()
+                        .build();
+        FrozenVocabulary frozen = vocabulary.freeze();
+        Assert.assertEquals(frozen.size(), vocabulary.size());
+        for (long i = 0; i < vocabulary.size(); ++i) {
+            String token = vocabulary.getToken(i);
+            Assert.assertEquals(frozen.getToken(i), token);
+            Assert.assertEquals(frozen.getIndex(token), vocabulary.getIndex(token));
+            Assert.assertTrue(frozen.contains(token));
+        }
+        Assert.assertFalse(frozen.contains("missing"));
+        Assert.assertEquals(frozen.getIndex("missing"), vocabulary.getIndex("<unk>"));
+        Assert.assertEquals(frozen.getToken(100), "<unk>");
+        Assert.assertEquals(frozen.getIndex("say hello!", 4, 9), vocabulary.getIndex("hello"));
+
+        FrozenVocabulary strict = new FrozenVocabulary(Arrays.asList("a", "b"), null);
+        Assert.assertThrows(IllegalStateException.class, () -> strict.getIndex("c"));
+    }
+}
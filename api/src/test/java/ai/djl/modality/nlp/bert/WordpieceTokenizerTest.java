@@ -0,0 +1,113 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.nlp.bert;
+
+import ai.djl.modality.nlp.DefaultVocabulary;
+import ai.djl.modality.nlp.Vocabulary;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class WordpieceTokenizerTest {
+
+    private static final List<String> TOKENS =
+            Arrays.asList(
+                    "[UNK]", "a", "ab", "abcd", "abcdx", "b", "c", "cd", "#", "##b", "##bc", "##c",
+                    "##cd", "##cdy", "##d", "##z", "un", "##aff", "##able");
+
+    @Test
+    public void testTokenize() {
+        Vocabulary vocabulary =
+                DefaultVocabulary.builder().add(TOKENS).optUnknownToken("[UNK]").build();
+        WordpieceTokenizer tokenizer = new WordpieceTokenizer(vocabulary, "[UNK]", 20);
+        Assert.assertEquals(
+                tokenizer.tokenize("unaffable abcdz x"),
+                Arrays.asList("un", "##aff", "##able", "abcd", "##z", "[UNK]"));
+        Assert.assertEquals(
+                tokenizer.tokenizeToIndices(Collections.singletonList("abcdy abcb")),
+                new long[] {0, 2, 11, 9});
+
+        // compare with the reference greedy longest-match-first algorithm
+        Random random = new Random(0);
+        char[] alphabet = {'a', 'b', 'c', 'd', 'x', 'y', 'z', '#'};
+        for (int i = 0; i < 2000; ++i) {
+            char[] chars = new char[1 + random.nextInt(8)];
+            for (int j = 0; j < chars.length; ++j) {
+                chars[j] = alphabet[random.nextInt(alphabet.length)];
+            }
+            String word = new String(chars);
+            List<String> expected = greedy(vocabulary, word);
+            Assert.assertEquals(tokenizer.tokenize(word), expected, word);
+
+            long[] indices = tokenizer.tokenizeToIndices(Collections.singletonList(word));
+            Assert.assertEquals(indices.length, expected.size(), word);
+            for (int j = 0; j < indices.length; ++j) {
+                Assert.assertEquals(vocabulary.getToken(indices[j]), expected.get(j), word);
+            }
+        }
+    }
+
+    @Test
+    public void testBertFullTokenizer() {
+        Vocabulary vocabulary =
+                DefaultVocabulary.builder()
+                        .add(Arrays.asList("[UNK]", "hello", ",", "world", "##s", "!"))
+                        .optUnknownToken("[UNK]")
+                        .build();
+        BertFullTokenizer tokenizer = new BertFullTokenizer(vocabulary, true);
+        String text = "Hello, Worlds! Bye";
+        Assert.assertEquals(
+                tokenizer.tokenize(text),
+                Arrays.asList("hello", ",", "world", "##s", "!", "[UNK]"));
+        Assert.assertEquals(tokenizer.tokenizeToIndices(text), new long[] {1, 2, 3, 4, 5, 0});
+
+        BertFullTokenizer cached = new BertFullTokenizer(vocabulary, true, 10);
+        List<String> tokens = cached.tokenize(text);
+        Assert.assertEquals(tokens, tokenizer.tokenize(text));
+        Assert.assertEquals(cached.tokenize(text), tokens);
+        Assert.assertEquals(cached.getCache().getHitCount(), 1);
+
+        // the cached tokens must not be shared with the callers that modify the list
+        BertToken token = cached.encode(text, text);
+        Assert.assertEquals(token.getTokens(), tokenizer.encode(text, text).getTokens());
+        Assert.assertEquals(cached.tokenize(text), tokens);
+    }
+
+    private static List<String> greedy(Vocabulary vocabulary, String word) {
+        List<String> ret = new ArrayList<>();
+        int start = 0;
+        while (start < word.length()) {
+            String match = null;
+            int end = word.length();
+            for (; end > start; --end) {
+                String candidate = (start > 0 ? "##" : "") + word.substring(start, end);
+                if (vocabulary.contains(candidate)) {
+                    match = candidate;
+                    break;
+                }
+            }
+            if (match == null) {
+                return Collections.singletonList("[UNK]");
+            }
+            ret.add(match);
+            start = end;
+        }
+        return ret;
+    }
+}
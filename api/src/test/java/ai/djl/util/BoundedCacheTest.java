@@ -0,0 +1,99 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+public class BoundedCacheTest {
+
+    @Test
+    public void testGet() {
+        BoundedCache<String, Integer> cache =
+                BoundedCache.<String, Integer>builder().optMaxSize(10).build();
+        AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 3; ++i) {
+            int value =
+                    cache.get(
+                            "hello",
+                            k -> {
+                                loads.incrementAndGet();
+                                return k.length();
+                            });
+            Assert.assertEquals(value, 5);
+        }
+        Assert.assertEquals(loads.get(), 1);
+        Assert.assertEquals(cache.size(), 1);
+        Assert.assertEquals(cache.getHitCount(), 2);
+        Assert.assertEquals(cache.getMissCount(), 1);
+        Assert.assertEquals(cache.getHitRate(), 2.0 / 3, 1e-9);
+        Assert.assertNull(cache.getIfPresent("world"));
+
+        cache.clear();
+        Assert.assertEquals(cache.size(), 0);
+        Assert.assertNull(cache.getIfPresent("hello"));
+    }
+
+    @Test
+    public void testBounds() {
+        BoundedCache<Integer, Integer> cache =
+                BoundedCache.<Integer, Integer>builder().optMaxSize(100).build();
+        for (int i = 0; i < 1000; ++i) {
+            cache.put(i, i);
+            Assert.assertTrue(cache.size() <= 100);
+        }
+        Assert.assertTrue(cache.getEvictionCount() >= 900);
+
+        BoundedCache<Integer, int[]> weighted =
+                BoundedCache.<Integer, int[]>builder()
+                        .optMaxSize(1000)
+                        .optMaxWeight(400)
+                        .optWeigher(v -> v.length * 4L)
+                        .build();
+        for (int i = 0; i < 100; ++i) {
+            weighted.put(i, new int[10]);
+            Assert.assertTrue(weighted.getWeight() <= 400);
+        }
+        weighted.put(-1, new int[1000]);
+        Assert.assertNull(weighted.getIfPresent(-1));
+    }
+
+    @Test
+    public void testFrequentEntriesSurvive() {
+        BoundedCache<Integer, Integer> cache =
+                BoundedCache.<Integer, Integer>builder().optMaxSize(100).build();
+        // a small set of hot keys interleaved with a scan of one-off keys
+        for (int i = 0; i < 10000; ++i) {
+            int key = i % 2 == 0 ? i % 50 : 1000 + i;
+            cache.get(key, k -> k);
+        }
+        for (int key = 0; key < 50; key += 2) {
+            Assert.assertNotNull(cache.getIfPresent(key));
+        }
+        Assert.assertTrue(cache.getHitRate() > 0.45);
+    }
+
+    @Test
+    public void testConcurrentAccess() {
+        BoundedCache<Integer, Integer> cache =
+                BoundedCache.<Integer, Integer>builder().optMaxSize(1000).build();
+        IntStream.range(0, 100000)
+                .parallel()
+                .forEach(i -> Assert.assertEquals(cache.get(i % 2000, k -> k * 2), i % 2000 * 2));
+        Assert.assertTrue(cache.size() <= 1000);
+        Assert.assertEquals(cache.getHitCount() + cache.getMissCount(), 100000);
+    }
+}
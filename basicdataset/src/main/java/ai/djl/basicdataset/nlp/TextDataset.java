@@ -126,8 +126,7 @@ public abstract class TextDataset extends RandomAccessDataset {
         if (samples == null) {
             samples = new ArrayList<>();
             for (int i = 0; i < size(); i++) {
-                List<String> text = getProcessedText(i, true);
-                samples.add(new Sample(i, text.size()));
+                samples.add(new Sample(i, sourceTextData.getTextLength(i)));
             }
             samples.sort(Comparator.comparingInt(o -> o.sentenceLength));
         }
@@ -16,6 +16,7 @@ import ai.djl.basicdataset.tabular.utils.DynamicBuffer;
 import ai.djl.basicdataset.tabular.utils.Feature;
 import ai.djl.basicdataset.tabular.utils.Featurizers;
 import ai.djl.basicdataset.tabular.utils.PreparedFeaturizer;
+import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.Shape;
@@ -105,22 +106,71 @@ public abstract class TabularDataset extends RandomAccessDataset {
         return new NDList(manager.create(buf, new Shape(bb.getLength())));
     }
 
-    /** Prepares the {@link ai.djl.basicdataset.tabular.utils.PreparedFeaturizer}s. */
+    /**
+     * Returns the designated features (either data or label features) of all the rows.
+     *
+     * <p>Unlike {@link #getRowFeatures(NDManager, long, List)}, the features are encoded column by
+     * column with {@link ai.djl.basicdataset.tabular.utils.Featurizer#featurize(List)}, and the
+     * columns are processed in parallel.
+     *
+     * @param manager the manager used to create the array
+     * @param selected the features to pull from the rows
+     * @return an {@link NDArray} of shape (size, encoded feature size)
+     */
+    public NDArray getAllRowFeatures(NDManager manager, List<Feature> selected) {
+        int rows = Math.toIntExact(size());
+        float[][] columns =
+                selected.parallelStream()
+                        .map(f -> f.getFeaturizer().featurize(getColumn(f.getName(), rows)))
+                        .toArray(float[][]::new);
+        int[] widths = new int[columns.length];
+        int width = 0;
+        for (int i = 0; i < columns.length; ++i) {
+            widths[i] = rows == 0 ? 0 : columns[i].length / rows;
+            if (widths[i] * rows != columns[i].length) {
+                throw new IllegalArgumentException(
+                        "Feature " + selected.get(i).getName() + " has variable encoded size.");
+            }
+            width += widths[i];
+        }
+
+        float[] matrix = new float[rows * width];
+        int offset = 0;
+        for (int i = 0; i < columns.length; ++i) {
+            for (int row = 0; row < rows; ++row) {
+                System.arraycopy(
+                        columns[i], row * widths[i], matrix, row * width + offset, widths[i]);
+            }
+            offset += widths[i];
+        }
+        return manager.create(matrix, new Shape(rows, width));
+    }
+
+    /**
+     * Prepares the {@link ai.djl.basicdataset.tabular.utils.PreparedFeaturizer}s.
+     *
+     * <p>The columns are prepared in parallel.
+     */
     protected void prepareFeaturizers() {
         int availableSize = Math.toIntExact(availableSize());
         List<Feature> featuresToPrepare = new ArrayList<>(features.size() + labels.size());
         featuresToPrepare.addAll(features);
         featuresToPrepare.addAll(labels);
-        for (Feature feature : featuresToPrepare) {
-            if (feature.getFeaturizer() instanceof PreparedFeaturizer) {
-                PreparedFeaturizer featurizer = (PreparedFeaturizer) feature.getFeaturizer();
-                List<String> inputs = new ArrayList<>(Math.toIntExact(availableSize));
-                for (int i = 0; i < availableSize; i++) {
-                    inputs.add(getCell(i, feature.getName()));
-                }
-                featurizer.prepare(inputs);
-            }
+        featuresToPrepare.parallelStream()
+                .filter(f -> f.getFeaturizer() instanceof PreparedFeaturizer)
+                .forEach(
+                        f -> {
+                            PreparedFeaturizer featurizer = (PreparedFeaturizer) f.getFeaturizer();
+                            featurizer.prepare(getColumn(f.getName(), availableSize));
+                        });
+    }
+
+    private List<String> getColumn(String featureName, int rows) {
+        List<String> inputs = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            inputs.add(getCell(i, featureName));
         }
+        return inputs;
     }
 
     /**
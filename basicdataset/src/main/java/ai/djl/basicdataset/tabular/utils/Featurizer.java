@@ -12,6 +12,9 @@
  */
 package ai.djl.basicdataset.tabular.utils;
 
+import java.nio.FloatBuffer;
+import java.util.List;
+
 /** An interface that convert String to numeric data. */
 public interface Featurizer {
 
@@ -22,4 +25,26 @@ public interface Featurizer {
      * @param input the string input
      */
     void featurize(DynamicBuffer buf, String input);
+
+    /**
+     * Featurizes a whole column of inputs at once.
+     *
+     * <p>Every input must be encoded into the same number of values, the values of all the inputs
+     * are concatenated in order. The default implementation calls {@link #featurize(DynamicBuffer,
+     * String)} for each input, featurizers should override it when the column can be processed in
+     * bulk.
+     *
+     * @param inputs the column of string inputs
+     * @return the encoded values of all the inputs
+     */
+    default float[] featurize(List<String> inputs) {
+        DynamicBuffer buf = new DynamicBuffer();
+        for (String input : inputs) {
+            featurize(buf, input);
+        }
+        FloatBuffer fb = buf.getBuffer();
+        float[] ret = new float[buf.getLength()];
+        fb.get(ret);
+        return ret;
+    }
 }
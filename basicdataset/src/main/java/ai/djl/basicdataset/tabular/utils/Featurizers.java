@@ -99,6 +99,14 @@ public final class Featurizers {
         return new EpochDayFeaturizer(datePattern);
     }
 
+    private static float[] parse(List<String> inputs) {
+        float[] values = new float[inputs.size()];
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = Float.parseFloat(inputs.get(i));
+        }
+        return values;
+    }
+
     private static final class NumericFeaturizer implements Featurizer {
 
         /** {@inheritDoc} */
@@ -106,6 +114,12 @@ public final class Featurizers {
         public void featurize(DynamicBuffer buf, String input) {
             buf.put(Float.parseFloat(input));
         }
+
+        /** {@inheritDoc} */
+        @Override
+        public float[] featurize(List<String> inputs) {
+            return parse(inputs);
+        }
     }
 
     private static final class NormalizedNumericFeaturizer implements PreparedFeaturizer {
@@ -122,25 +136,30 @@ public final class Featurizers {
 
         /** {@inheritDoc} */
         @Override
-        public void prepare(List<String> inputs) {
-            calculateMean(inputs);
-            calculateStd(inputs);
-        }
-
-        private void calculateMean(List<String> inputs) {
-            double sum = 0;
-            for (String input : inputs) {
-                sum += Float.parseFloat(input);
+        public float[] featurize(List<String> inputs) {
+            float[] values = parse(inputs);
+            for (int i = 0; i < values.length; ++i) {
+                values[i] = (values[i] - mean) / std;
             }
-            mean = (float) (sum / inputs.size());
+            return values;
         }
 
-        private void calculateStd(List<String> inputs) {
+        /** {@inheritDoc} */
+        @Override
+        public void prepare(List<String> inputs) {
+            // parse the column only once for both mean and std
+            float[] values = parse(inputs);
             double sum = 0;
-            for (String input : inputs) {
-                sum += Math.pow(Float.parseFloat(input) - mean, 2);
+            for (float value : values) {
+                sum += value;
             }
-            std = (float) Math.sqrt(sum / inputs.size());
+            mean = (float) (sum / values.length);
+            sum = 0;
+            for (float value : values) {
+                double diff = value - mean;
+                sum += diff * diff;
+            }
+            std = (float) Math.sqrt(sum / values.length);
         }
     }
 
@@ -154,10 +173,22 @@ public final class Featurizers {
         /** {@inheritDoc} */
         @Override
         public void featurize(DynamicBuffer buf, String input) {
+            int index = map.get(input);
             for (int i = 0; i < map.size(); ++i) {
-                buf.put(i == map.get(input) ? 1 : 0);
+                buf.put(i == index ? 1 : 0);
             }
         }
+
+        /** {@inheritDoc} */
+        @Override
+        public float[] featurize(List<String> inputs) {
+            int width = map.size();
+            float[] values = new float[inputs.size() * width];
+            for (int i = 0; i < inputs.size(); ++i) {
+                values[i * width + map.get(inputs.get(i))] = 1;
+            }
+            return values;
+        }
     }
 
     private static final class PreparedOneHotStringFeaturizer extends OneHotStringFeaturizer
@@ -210,6 +241,26 @@ public final class Featurizers {
             map.put(input, value);
             buf.put(value);
         }
+
+        /** {@inheritDoc} */
+        @Override
+        public float[] featurize(List<String> inputs) {
+            float[] values = new float[inputs.size()];
+            for (int i = 0; i < values.length; ++i) {
+                String input = inputs.get(i);
+                Integer index = map.get(input);
+                if (index == null) {
+                    if (!autoMap) {
+                        throw new IllegalArgumentException(
+                                "Value: " + input + " not found in the map.");
+                    }
+                    index = map.size();
+                    map.put(input, index);
+                }
+                values[i] = index;
+            }
+            return values;
+        }
     }
 
     /**
@@ -218,7 +269,7 @@ public final class Featurizers {
      */
     private static final class EpochDayFeaturizer implements Featurizer {
 
-        String datePattern;
+        DateTimeFormatter formatter;
 
         /**
          * Constructs a {@link EpochDayFeaturizer}.
@@ -226,7 +277,7 @@ public final class Featurizers {
          * @param datePattern the pattern that dates are found in the data table column
          */
         EpochDayFeaturizer(String datePattern) {
-            this.datePattern = datePattern;
+            formatter = DateTimeFormatter.ofPattern(datePattern);
         }
 
         /**
@@ -239,9 +290,19 @@ public final class Featurizers {
          */
         @Override
         public void featurize(DynamicBuffer buf, String input) {
-            LocalDate ld = LocalDate.parse(input, DateTimeFormatter.ofPattern(datePattern));
+            LocalDate ld = LocalDate.parse(input, formatter);
             long day = ld.toEpochDay();
             buf.put(day);
         }
+
+        /** {@inheritDoc} */
+        @Override
+        public float[] featurize(List<String> inputs) {
+            float[] values = new float[inputs.size()];
+            for (int i = 0; i < values.length; ++i) {
+                values[i] = LocalDate.parse(inputs.get(i), formatter).toEpochDay();
+            }
+            return values;
+        }
     }
 }
@@ -27,6 +27,9 @@ import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDManager;
 import ai.djl.nn.AbstractBlock;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -42,6 +45,7 @@ import java.util.Locale;
 public class TextData {
 
     private List<NDArray> textEmbeddingList;
+    private TokenIdStore tokenIdStore;
     private List<String> rawText;
     private List<TextProcessor> textProcessors;
     private List<String> reservedTokens;
@@ -49,6 +53,7 @@ public class TextData {
     private Vocabulary vocabulary;
     private String unknownToken;
     private int embeddingSize;
+    private Path memoryMapDirectory;
     private int size;
 
     /**
@@ -63,6 +68,7 @@ public class TextData {
         this.embeddingSize = config.embeddingSize;
         this.unknownToken = config.unknownToken;
         this.reservedTokens = config.reservedTokens;
+        this.memoryMapDirectory = config.memoryMapDirectory;
     }
 
     /**
@@ -87,6 +93,10 @@ public class TextData {
     /**
      * Preprocess the textData into {@link NDArray} by providing the data from the dataset.
      *
+     * <p>When the {@link TextEmbedding} is trainable, only the token indices are kept in a compact
+     * {@link TokenIdStore}, and the {@link NDArray}s are created when {@link
+     * #getEmbedding(NDManager, long)} is called.
+     *
      * @param manager the
      * @param newTextData the data from the dataset
      * @throws EmbeddingException if there is an error while embedding input
@@ -106,6 +116,7 @@ public class TextData {
             DefaultVocabulary.Builder vocabularyBuilder = DefaultVocabulary.builder();
             vocabularyBuilder
                     .optMinFrequency(3)
+                    .optParallel(true)
                     .optReservedTokens(reservedTokens)
                     .optUnknownToken(unknownToken);
             for (List<String> tokens : textData) {
@@ -120,20 +131,43 @@ public class TextData {
                             new TrainableWordEmbedding(vocabulary, embeddingSize));
         }
         size = textData.size();
-        textEmbeddingList = new ArrayList<>();
+        Vocabulary lookup = vocabulary;
+        if (vocabulary instanceof DefaultVocabulary) {
+            lookup = ((DefaultVocabulary) vocabulary).freeze();
+        }
+        boolean compact = textEmbedding instanceof AbstractBlock;
+        TokenIdStore.Builder storeBuilder = compact ? TokenIdStore.builder() : null;
+        textEmbeddingList = compact ? null : new ArrayList<>();
         for (int i = 0; i < size; i++) {
             List<String> tokenizedTextDatum = textData.get(i);
             for (int j = 0; j < tokenizedTextDatum.size(); j++) {
                 tokenizedTextDatum.set(
-                        j, vocabulary.getToken(vocabulary.getIndex(tokenizedTextDatum.get(j))));
+                        j, lookup.getToken(lookup.getIndex(tokenizedTextDatum.get(j))));
             }
-            textData.set(i, tokenizedTextDatum);
-            if (textEmbedding instanceof AbstractBlock) {
-                textEmbeddingList.add(
-                        manager.create(textEmbedding.preprocessTextToEmbed(tokenizedTextDatum)));
+            if (compact) {
+                storeBuilder.add(textEmbedding.preprocessTextToEmbed(tokenizedTextDatum));
             } else {
                 textEmbeddingList.add(textEmbedding.embedText(manager, tokenizedTextDatum));
             }
+            // release the tokens as soon as they are consumed
+            textData.set(i, null);
+        }
+        if (compact) {
+            tokenIdStore = buildTokenIdStore(storeBuilder);
+        }
+    }
+
+    private TokenIdStore buildTokenIdStore(TokenIdStore.Builder builder) throws EmbeddingException {
+        if (memoryMapDirectory == null) {
+            return builder.build();
+        }
+        try {
+            Files.createDirectories(memoryMapDirectory);
+            Path file = Files.createTempFile(memoryMapDirectory, "tokens", ".bin");
+            file.toFile().deleteOnExit();
+            return builder.build(file);
+        } catch (IOException e) {
+            throw new EmbeddingException("Failed to memory-map the token indices", e);
         }
     }
 
@@ -194,6 +228,9 @@ public class TextData {
      * @return the {@link NDArray} containing the text embedding
      */
     public NDArray getEmbedding(NDManager manager, long index) {
+        if (tokenIdStore != null) {
+            return tokenIdStore.toNDArray(manager, Math.toIntExact(index));
+        }
         NDArray embedding = textEmbeddingList.get(Math.toIntExact(index)).duplicate();
         embedding.attach(manager);
         return embedding;
@@ -223,6 +260,19 @@ public class TextData {
         return tokens;
     }
 
+    /**
+     * Returns the number of tokens of the textual input after preprocessing.
+     *
+     * @param index the index of the text input
+     * @return the number of tokens
+     */
+    public int getTextLength(long index) {
+        if (tokenIdStore != null) {
+            return tokenIdStore.getLength(Math.toIntExact(index));
+        }
+        return getProcessedText(index).size();
+    }
+
     /**
      * Returns the size of the data.
      *
@@ -244,6 +294,7 @@ public class TextData {
         private Integer embeddingSize;
         private String unknownToken;
         private List<String> reservedTokens;
+        private Path memoryMapDirectory;
 
         /**
          * Sets the {@link TextProcessor}s to use for the text data.
@@ -311,6 +362,21 @@ public class TextData {
             return this;
         }
 
+        /**
+         * Sets the directory to memory-map the token indices from.
+         *
+         * <p>By default, the token indices of a trainable {@link TextEmbedding} are kept in a
+         * compact pool on the java heap. If the directory is set, the pool is written to a
+         * temporary file in the directory and memory-mapped instead.
+         *
+         * @param memoryMapDirectory the directory to hold the memory-mapped token indices
+         * @return this configuration
+         */
+        public Configuration setMemoryMapDirectory(Path memoryMapDirectory) {
+            this.memoryMapDirectory = memoryMapDirectory;
+            return this;
+        }
+
         /**
          * Updates this {@link Configuration} with the non-null values from another configuration.
          *
@@ -324,6 +390,10 @@ public class TextData {
             embeddingSize = other.embeddingSize != null ? other.embeddingSize : embeddingSize;
             unknownToken = other.unknownToken != null ? other.unknownToken : unknownToken;
             reservedTokens = other.reservedTokens != null ? other.reservedTokens : reservedTokens;
+            memoryMapDirectory =
+                    other.memoryMapDirectory != null
+                            ? other.memoryMapDirectory
+                            : memoryMapDirectory;
             return this;
         }
     }
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.basicdataset.utils;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDManager;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * {@code TokenIdStore} is a compact storage for the token ids of a text corpus.
+ *
+ * <p>All the token ids are kept in a single flat int pool, and the sentences are delimited by an
+ * offsets array. Compared to one {@link NDArray} per sentence, it holds no native resources, so the
+ * corpus size is not bound by the number of native handles a {@link NDManager} can track. The
+ * {@link NDArray}s are only created when a sentence is read, usually by the batch manager. The pool
+ * can optionally be written to a file and memory-mapped to keep it off the java heap.
+ */
+public final class TokenIdStore {
+
+    private IntBuffer ids;
+    private int[] offsets;
+
+    private TokenIdStore(IntBuffer ids, int[] offsets) {
+        this.ids = ids;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Creates a builder to build a {@code TokenIdStore}.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the number of sentences in the store.
+     *
+     * @return the number of sentences in the store
+     */
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Returns the number of tokens of the sentence at the given index.
+     *
+     * @param index the index of the sentence
+     * @return the number of tokens of the sentence
+     */
+    public int getLength(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    /**
+     * Returns the token ids of the sentence at the given index.
+     *
+     * @param index the index of the sentence
+     * @return the token ids of the sentence
+     */
+    public long[] getIds(int index) {
+        int from = offsets[index];
+        long[] ret = new long[offsets[index + 1] - from];
+        for (int i = 0; i < ret.length; ++i) {
+            ret[i] = ids.get(from + i);
+        }
+        return ret;
+    }
+
+    /**
+     * Creates an {@link NDArray} with the token ids of the sentence at the given index.
+     *
+     * @param manager the manager to create the array
+     * @param index the index of the sentence
+     * @return an int64 {@link NDArray} with the token ids of the sentence
+     */
+    public NDArray toNDArray(NDManager manager, int index) {
+        return manager.create(getIds(index));
+    }
+
+    /** The builder for a {@link TokenIdStore}. */
+    public static final class Builder {
+
+        private int[] ids;
+        private int[] offsets;
+        private int numTokens;
+        private int size;
+
+        Builder() {
+            ids = new int[1024];
+            offsets = new int[64];
+        }
+
+        /**
+         * Appends the token ids of a sentence.
+         *
+         * @param tokenIds the token ids of a sentence
+         * @return this builder
+         */
+        public Builder add(long[] tokenIds) {
+            if (numTokens + tokenIds.length > ids.length) {
+                int capacity = Math.max(ids.length * 2, numTokens + tokenIds.length);
+                ids = Arrays.copyOf(ids, capacity);
+            }
+            for (long id : tokenIds) {
+                ids[numTokens++] = Math.toIntExact(id);
+            }
+            if (size + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[++size] = numTokens;
+            return this;
+        }
+
+        /**
+         * Builds a {@link TokenIdStore} that keeps the token ids on the java heap.
+         *
+         * @return a new {@link TokenIdStore}
+         */
+        public TokenIdStore build() {
+            return new TokenIdStore(
+                    IntBuffer.wrap(Arrays.copyOf(ids, numTokens)),
+                    Arrays.copyOf(offsets, size + 1));
+        }
+
+        /**
+         * Builds a {@link TokenIdStore} that memory-maps the token ids from the given file.
+         *
+         * @param file the file to write the token ids into, it is overwritten if it exists
+         * @return a new {@link TokenIdStore}
+         * @throws IOException if failed to write or map the file
+         */
+        public TokenIdStore build(Path file) throws IOException {
+            long bytes = numTokens * 4L;
+            try (FileChannel fc =
+                    FileChannel.open(
+                            file,
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.TRUNCATE_EXISTING,
+                            StandardOpenOption.READ,
+                            StandardOpenOption.WRITE)) {
+                MappedByteBuffer mbb = fc.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+                mbb.order(ByteOrder.nativeOrder()).asIntBuffer().put(ids, 0, numTokens);
+                mbb.force();
+                IntBuffer mapped = mbb.order(ByteOrder.nativeOrder()).asIntBuffer();
+                return new TokenIdStore(
+                        mapped.asReadOnlyBuffer(), Arrays.copyOf(offsets, size + 1));
+            }
+        }
+    }
+}
@@ -14,6 +14,11 @@ package ai.djl.basicdataset;
 
 import ai.djl.Device;
 import ai.djl.basicdataset.tabular.utils.DynamicBuffer;
+import ai.djl.basicdataset.tabular.utils.Featurizer;
+import ai.djl.basicdataset.tabular.utils.Featurizers;
+import ai.djl.basicdataset.tabular.utils.PreparedFeaturizer;
+import ai.djl.basicdataset.utils.TextData;
+import ai.djl.modality.nlp.embedding.EmbeddingException;
 import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.NDManager;
@@ -26,6 +31,9 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.nio.FloatBuffer;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
 
 public class DatasetUtilsTest {
@@ -193,4 +201,63 @@ public class DatasetUtilsTest {
         Assert.assertEquals(buf.limit(), 257);
         Assert.assertEquals(buf.get(256), 256f);
     }
+
+    @Test
+    public void testTextData() throws EmbeddingException {
+        List<String> sentences =
+                Arrays.asList("Hello world.", "hello", "Hello world, hello!", "world");
+        for (boolean mmap : new boolean[] {false, true}) {
+            TextData.Configuration config = TextData.getDefaultConfiguration();
+            if (mmap) {
+                config.setMemoryMapDirectory(Paths.get("build/tmp/tokens"));
+            }
+            TextData textData = new TextData(config);
+            try (NDManager manager = NDManager.newBaseManager()) {
+                textData.preprocess(manager, sentences);
+                Assert.assertEquals(textData.getSize(), 4);
+                Assert.assertEquals(textData.getTextLength(0), 3);
+                Assert.assertEquals(textData.getTextLength(2), 5);
+
+                long hello = textData.getVocabulary().getIndex("hello");
+                long unknown = textData.getVocabulary().getIndex("<unk>");
+                NDArray embedding = textData.getEmbedding(manager, 2);
+                Assert.assertEquals(embedding.getShape(), new Shape(5));
+                Assert.assertEquals(embedding.getLong(0), hello);
+                Assert.assertEquals(embedding.getLong(2), unknown);
+                Assert.assertEquals(embedding.getLong(3), hello);
+            }
+        }
+    }
+
+    @Test
+    public void testBulkFeaturizers() {
+        List<String> numbers = Arrays.asList("1", "2.5", "-3", "4");
+        List<String> strings = Arrays.asList("b", "a", "c", "a");
+        List<String> dates = Arrays.asList("2022-01-01", "1970-01-02", "2000-02-29", "1970-01-01");
+
+        Featurizer numeric = Featurizers.getNumericFeaturizer();
+        assertBulk(numeric, numbers);
+
+        PreparedFeaturizer normalized = (PreparedFeaturizer) Featurizers.getNumericFeaturizer(true);
+        normalized.prepare(numbers);
+        assertBulk(normalized, numbers);
+
+        PreparedFeaturizer oneHot = (PreparedFeaturizer) Featurizers.getStringFeaturizer(true);
+        oneHot.prepare(strings);
+        assertBulk(oneHot, strings);
+        Assert.assertEquals(oneHot.featurize(strings).length, 12);
+
+        assertBulk(Featurizers.getStringFeaturizer(false), strings);
+        assertBulk(Featurizers.getEpochDayFeaturizer("yyyy-MM-dd"), dates);
+    }
+
+    private static void assertBulk(Featurizer featurizer, List<String> inputs) {
+        DynamicBuffer buf = new DynamicBuffer();
+        for (String input : inputs) {
+            featurizer.featurize(buf, input);
+        }
+        float[] expected = new float[buf.getLength()];
+        buf.getBuffer().get(expected);
+        Assert.assertEquals(featurizer.featurize(inputs), expected);
+    }
 }
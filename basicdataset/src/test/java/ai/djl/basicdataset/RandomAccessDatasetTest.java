@@ -16,16 +16,21 @@ import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.DataType;
 import ai.djl.training.dataset.ArrayDataset;
+import ai.djl.training.dataset.Batch;
 import ai.djl.training.dataset.BatchSampler;
+import ai.djl.training.dataset.CachedDataset;
 import ai.djl.training.dataset.RandomAccessDataset;
 import ai.djl.training.dataset.Record;
 import ai.djl.training.dataset.SequenceSampler;
+import ai.djl.translate.Pipeline;
 import ai.djl.translate.TranslateException;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -82,4 +87,70 @@ public class RandomAccessDatasetTest {
             Assert.assertEquals(record.getData().head().getLong(), 24);
         }
     }
+
+    @Test
+    public void testCachedDataset() throws IOException, TranslateException {
+        try (NDManager manager = NDManager.newBaseManager()) {
+            NDArray data = manager.arange(0, 20, 1, DataType.INT64);
+            NDArray labels = manager.arange(20, 40, 1, DataType.INT64);
+            ArrayDataset dataset =
+                    new ArrayDataset.Builder()
+                            .setData(data)
+                            .optLabels(labels)
+                            .setSampling(new BatchSampler(new SequenceSampler(), 1, false))
+                            .build();
+
+            Path cacheDir = Paths.get("build/tmp/dataset_cache");
+            CachedDataset cached =
+                    new CachedDataset.Builder()
+                            .setDataset(dataset)
+                            .optMemoryLimit(500)
+                            .optCacheDirectory(cacheDir)
+                            .build();
+            Assert.assertEquals(cached.size(), 20);
+
+            for (int epoch = 0; epoch < 2; ++epoch) {
+                for (long i = 0; i < cached.size(); ++i) {
+                    Record record = cached.get(manager, i);
+                    Assert.assertEquals(record.getData().head().getLong(), i);
+                    Assert.assertEquals(record.getLabels().head().getLong(), i + 20);
+                }
+            }
+            Assert.assertEquals(cached.getCachedSize(), 20);
+            Assert.assertTrue(cached.getMemoryUsage() <= 500);
+            Assert.assertTrue(cached.getDiskUsage() > 0);
+
+            cached.clearCache();
+            Assert.assertEquals(cached.getCachedSize(), 0);
+            Assert.assertEquals(cached.getDiskUsage(), 0);
+        }
+    }
+
+    @Test
+    public void testCachedDatasetPipeline() throws IOException, TranslateException {
+        try (NDManager manager = NDManager.newBaseManager()) {
+            NDArray data = manager.arange(0, 8, 1, DataType.INT64);
+            ArrayDataset dataset =
+                    new ArrayDataset.Builder()
+                            .setData(data)
+                            .optPipeline(new Pipeline(array -> array.add(100)))
+                            .setSampling(new BatchSampler(new SequenceSampler(), 4, false))
+                            .build();
+            CachedDataset cached = new CachedDataset.Builder().setDataset(dataset).build();
+
+            // the pipeline of the wrapped dataset runs after the cache, on misses and hits
+            for (int epoch = 0; epoch < 2; ++epoch) {
+                long expected = 100;
+                for (Batch batch : cached.getData(manager)) {
+                    for (long value : batch.getData().head().toLongArray()) {
+                        Assert.assertEquals(value, expected++);
+                    }
+                    batch.close();
+                }
+                Assert.assertEquals(expected, 108);
+            }
+            Assert.assertEquals(cached.getCachedSize(), 8);
+            Assert.assertEquals(cached.get(manager, 3).getData().head().getLong(), 3);
+        }
+    }
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.basicdataset;
+
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.training.dataset.ArrayDataset;
+import ai.djl.training.dataset.TokenBudgetSampler;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+public class TokenBudgetSamplerTest {
+
+    @Test
+    public void testTokenBudgetSampler() {
+        try (NDManager manager = NDManager.newBaseManager()) {
+            ArrayDataset dataset =
+                    new ArrayDataset.Builder()
+                            .setData(manager.arange(0, 100, 1, DataType.INT64))
+                            .setSampling(1, false)
+                            .build();
+
+            for (boolean shuffle : new boolean[] {false, true}) {
+                TokenBudgetSampler sampler =
+                        new TokenBudgetSampler(i -> (int) (i % 17) + 1, 64, 8, 50, shuffle);
+                Assert.assertEquals(sampler.getBatchSize(), -1);
+
+                Iterator<List<Long>> iterator = sampler.sample(dataset);
+                Set<Long> indicesSet = new HashSet<>();
+                long count = 0;
+                while (iterator.hasNext()) {
+                    List<Long> indices = iterator.next();
+                    Assert.assertTrue(indices.size() <= 8);
+                    int maxLength =
+                            indices.stream().mapToInt(i -> (int) (i % 17) + 1).max().orElse(0);
+                    Assert.assertTrue(indices.size() * maxLength <= 64);
+                    indicesSet.addAll(indices);
+                    count += indices.size();
+                }
+                Assert.assertEquals(count, dataset.size());
+                Assert.assertEquals(indicesSet.size(), dataset.size());
+            }
+        }
+    }
+}
@@ -56,6 +56,9 @@ public final class DlrEngine extends Engine {
             if (engine.getRank() < getRank()) {
                 // alternativeEngine should not have the same rank as DLR
                 alternativeEngine = engine;
+            } else if (Engine.hasEngine("JavaCpu")) {
+                // fall back to the pure Java engine when no full engine is available
+                alternativeEngine = Engine.getEngine("JavaCpu");
             }
             initialized = true;
         }
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.javacpu.engine;
+
+/**
+ * The element-wise binary operators of the JavaCpu engine.
+ *
+ * <p>The hot arithmetic operators override the bulk loops with plain counted loops over float
+ * arrays, which the JIT compiler unrolls and compiles to SIMD instructions.
+ */
+enum BinaryOp {
+    ADD {
+        @Override
+        double apply(double a, double b) {
+            return a + b;
+        }
+
+        @Override
+        void apply(float[] x, int xo, float[] y, int yo, float[] out, int oo, int len) {
+            for (int i = 0; i < len; ++i) {
+                out[oo + i] = x[xo + i] + y[yo + i];
+            }
+        }
+
+        @Override
+        void apply(float[] x, float y, float[] out, int from, int to) {
+            for (int i = from; i < to; ++i) {
+                out[i] = x[i] + y;
+            }
+        }
+    },
+    SUB {
+        @Override
+        double apply(double a, double b) {
+            return a - b;
+        }
+
+        @Override
+        void apply(float[] x, int xo, float[] y, int yo, float[] out, int oo, int len) {
+            for (int i = 0; i < len; ++i) {
+                out[oo + i] = x[xo + i] - y[yo + i];
+            }
+        }
+
+        @Override
+        void apply(float[] x, float y, float[] out, int from, int to) {
+            for (int i = from; i < to; ++i) {
+                out[i] = x[i] - y;
+            }
+        }
+    },
+    MUL {
+        @Override
+        double apply(double a, double b) {
+            return a * b;
+        }
+
+        @Override
+        void apply(float[] x, int xo, float[] y, int yo, float[] out, int oo, int len) {
+            for (int i = 0; i < len; ++i) {
+                out[oo + i] = x[xo + i] * y[yo + i];
+            }
+        }
+
+        @Override
+        void apply(float[] x, float y, float[] out, int from, int to) {
+            for (int i = from; i < to; ++i) {
+                out[i] = x[i] * y;
+            }
+        }
+    },
+    DIV {
+        @Override
+        double apply(double a, double b) {
+            return a / b;
+        }
+
+        @Override
+        void apply(float[] x, int xo, float[] y, int yo, float[] out, int oo, int len) {
+            for (int i = 0; i < len; ++i) {
+                out[oo + i] = x[xo + i] / y[yo + i];
+            }
+        }
+
+        @Override
+        void apply(float[] x, float y, float[] out, int from, int to) {
+            for (int i = from; i < to; ++i) {
+                out[i] = x[i] / y;
+            }
+        }
+    },
+    MOD {
+        @Override
+        double apply(double a, double b) {
+            // the sign of the result follows the divisor, same as numpy
+            double r = a % b;
+            return r != 0 && (r < 0) != (b < 0) ? r + b : r;
+        }
+    },
+    POW {
+        @Override
+        double apply(double a, double b) {
+            return Math.pow(a, b);
+        }
+    },
+    MAXIMUM {
+        @Override
+        double apply(double a, double b) {
+            return Math.max(a, b);
+        }
+
+        @Override
+        void apply(float[] x, int xo, float[] y, int yo, float[] out, int oo, int len) {
+            for (int i = 0; i < len; ++i) {
+                out[oo + i] = Math.max(x[xo + i], y[yo + i]);
+            }
+        }
+
+        @Override
+        void apply(float[] x, float y, float[] out, int from, int to) {
+            for (int i = from; i < to; ++i) {
+                out[i] = Math.max(x[i], y);
+            }
+        }
+    },
+    MINIMUM {
+        @Override
+        double apply(double a, double b) {
+            return Math.min(a, b);
+        }
+
+        @Override
+        void apply(float[] x, int xo, float[] y, int yo, float[] out, int oo, int len) {
+            for (int i = 0; i < len; ++i) {
+                out[oo + i] = Math.min(x[xo + i], y[yo + i]);
+            }
+        }
+
+        @Override
+        void apply(float[] x, float y, float[] out, int from, int to) {
+            for (int i = from; i < to; ++i) {
+                out[i] = Math.min(x[i], y);
+            }
+        }
+    },
+    LEAKY_RELU {
+        @Override
+        double apply(double a, double alpha) {
+            return a > 0 ? a : a * alpha;
+        }
+    },
+    ELU {
+        @Override
+        double apply(double a, double alpha) {
+            return a > 0 ? a : alpha * (Math.exp(a) - 1);
+        }
+    },
+    EQ(true) {
+        @Override
+        double apply(double a, double b) {
+            return a == b ? 1 : 0;
+        }
+    },
+    NEQ(true) {
+        @Override
+        double apply(double a, double b) {
+            return a != b ? 1 : 0;
+        }
+    },
+    GT(true) {
+        @Override
+        double apply(double a, double b) {
+            return a > b ? 1 : 0;
+        }
+    },
+    GTE(true) {
+        @Override
+        double apply(double a, double b) {
+            return a >= b ? 1 : 0;
+        }
+    },
+    LT(true) {
+        @Override
+        double apply(double a, double b) {
+            return a < b ? 1 : 0;
+        }
+    },
+    LTE(true) {
+        @Override
+        double apply(double a, double b) {
+            return a <= b ? 1 : 0;
+        }
+    },
+    AND(true) {
+        @Override
+        double apply(double a, double b) {
+            return a != 0 && b != 0 ? 1 : 0;
+        }
+    },
+    OR(true) {
+        @Override
+        double apply(double a, double b) {
+            return a != 0 || b != 0 ? 1 : 0;
+        }
+    },
+    XOR(true) {
+        @Override
+        double apply(double a, double b) {
+            return (a != 0) != (b != 0) ? 1 : 0;
+        }
+    };
+
+    private boolean predicate;
+
+    BinaryOp() {
+        this(false);
+    }
+
+    BinaryOp(boolean predicate) {
+        this.predicate = predicate;
+    }
+
+    /**
+     * Returns whether the operator returns a boolean.
+     *
+     * @return whether the operator returns a boolean
+     */
+    boolean isPredicate() {
+        return predicate;
+    }
+
+    /**
+     * Applies the operator to two values.
+     *
+     * @param a the left operand
+     * @param b the right operand
+     * @return the result
+     */
+    abstract double apply(double a, double b);
+
+    /**
+     * Applies the operator to two runs of values.
+     *
+     * @param x the left operands
+     * @param xo the offset of the left operands
+     * @param y the right operands
+     * @param yo the offset of the right operands
+     * @param out the results
+     * @param oo the offset of the results
+     * @param len the number of values
+     */
+    void apply(float[] x, int xo, float[] y, int yo, float[] out, int oo, int len) {
+        for (int i = 0; i < len; ++i) {
+            out[oo + i] = (float) apply(x[xo + i], (double) y[yo + i]);
+        }
+    }
+
+    /**
+     * Applies the operator to a range of values and a scalar.
+     *
+     * @param x the left operands
+     * @param y the right operand
+     * @param out the results
+     * @param from the first index
+     * @param to the end index, exclusive
+     */
+    void apply(float[] x, float y, float[] out, int from, int to) {
+        for (int i = from; i < to; ++i) {
+            out[i] = (float) apply(x[i], (double) y);
+        }
+    }
+}
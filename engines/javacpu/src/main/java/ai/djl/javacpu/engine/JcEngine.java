@@ -0,0 +1,121 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.javacpu.engine;
+
+import ai.djl.Device;
+import ai.djl.Model;
+import ai.djl.engine.Engine;
+import ai.djl.ndarray.NDManager;
+import ai.djl.nn.SymbolBlock;
+import ai.djl.training.GradientCollector;
+import ai.djl.util.RandomUtils;
+
+/**
+ * The {@code JcEngine} is a pure Java implementation of the {@link Engine} for the NDArray
+ * operations on CPU.
+ *
+ * <p>The engine cannot load models. It is meant to be the alternative engine of the hybrid engines
+ * (OnnxRuntime, XGBoost, LightGBM, TFLite, TensorRT, DLR and PaddlePaddle) when no full engine is
+ * available, so the pre and post processing can run without a native deep learning engine. The
+ * engine has the highest rank, it never becomes the default engine while another engine is
+ * available.
+ *
+ * <p>To get an instance of the {@code JcEngine} when it is not the default Engine, call {@link
+ * Engine#getEngine(String)} with the Engine name "JavaCpu".
+ */
+public final class JcEngine extends Engine {
+
+    public static final String ENGINE_NAME = "JavaCpu";
+    static final int RANK = 20;
+
+    private static final String ENGINE_VERSION = "0.20.0";
+
+    private JcEngine() {}
+
+    static Engine newInstance() {
+        return new JcEngine();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Engine getAlternativeEngine() {
+        return null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getEngineName() {
+        return ENGINE_NAME;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRank() {
+        return RANK;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getVersion() {
+        return ENGINE_VERSION;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasCapability(String capability) {
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SymbolBlock newSymbolBlock(NDManager manager) {
+        throw new UnsupportedOperationException("JavaCpu does not support symbol block");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Model newModel(String name, Device device) {
+        throw new UnsupportedOperationException("JavaCpu does not support loading model");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDManager newBaseManager() {
+        return newBaseManager(null);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDManager newBaseManager(Device device) {
+        return JcNDManager.getSystemManager().newSubManager(device);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public GradientCollector newGradientCollector() {
+        throw new UnsupportedOperationException("Not supported for JavaCpu");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setRandomSeed(int seed) {
+        super.setRandomSeed(seed);
+        RandomUtils.RANDOM.setSeed(seed);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return getEngineName() + ':' + getVersion() + ", capabilities: []";
+    }
+}
@@ -0,0 +1,1652 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.javacpu.engine;
+
+import ai.djl.ndarray.BaseNDManager;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDArrayAdapter;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.index.NDIndex;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * {@code JcNDArray} is the JavaCpu implementation of {@link NDArray}.
+ *
+ * <p>The data is kept in a direct buffer in native byte order. Float32 arrays are computed with
+ * float loops the JIT compiler vectorizes, the other data types are computed in double precision.
+ * The operations on large arrays are split over the common fork join pool. {@code reshape}, {@code
+ * expandDims}, {@code squeeze} and {@code flatten} return views sharing the data of this array.
+ * {@code set(Buffer)} overwrites the data in place, unless views share it.
+ */
+public class JcNDArray extends NDArrayAdapter {
+
+    private ByteBuffer data;
+    private boolean shared;
+    private JcNDArrayEx ex;
+
+    JcNDArray(NDManager manager, ByteBuffer data, Shape shape, DataType dataType) {
+        super(manager, null, shape, dataType, UUID.randomUUID().toString());
+        this.data = data;
+        manager.attachInternal(uid, this);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void attach(NDManager manager) {
+        super.attach(manager);
+        // JavaCpu has no alternative engine to delegate to
+        alternativeManager = null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ByteBuffer toByteBuffer() {
+        ByteBuffer bb = data.duplicate().order(ByteOrder.nativeOrder());
+        bb.rewind();
+        return bb;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void intern(NDArray replaced) {
+        JcNDArray array = (JcNDArray) replaced;
+        data = array.data;
+        shared = true;
+        array.shared = true;
+        shape = array.shape;
+        dataType = array.dataType;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void returnResource(NDManager manager) {
+        detach();
+        this.manager = manager;
+        manager.attachUncappedInternal(getUid(), this);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void detach() {
+        manager.detachInternal(getUid());
+        manager = JcNDManager.getSystemManager();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray toType(DataType dataType, boolean copy) {
+        if (dataType == this.dataType) {
+            return copy ? duplicate() : this;
+        }
+        ByteBuffer bb;
+        if (dataType == DataType.FLOAT32) {
+            bb = JcUtils.fromFloats(JcUtils.toFloats(data, this.dataType));
+        } else if (!dataType.isFloating() && !this.dataType.isFloating()) {
+            bb = JcUtils.fromLongs(JcUtils.toLongs(data, this.dataType), dataType);
+        } else {
+            bb = JcUtils.fromDoubles(JcUtils.toDoubles(data, this.dataType), dataType);
+        }
+        return create(bb, shape, dataType);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray duplicate() {
+        ByteBuffer bb = JcUtils.allocate(shape.size(), dataType);
+        bb.put(toByteBuffer());
+        bb.rewind();
+        NDArray array = create(bb, shape, dataType);
+        array.setName(getName());
+        return array;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void copyTo(NDArray array) {
+        if (!shape.equals(array.getShape())) {
+            throw new IllegalArgumentException(
+                    "shape are diff. Required: " + array.getShape() + ", Actual " + shape);
+        }
+        array.set(toByteBuffer());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray get(NDIndex index) {
+        return get(manager, index);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void set(Buffer buffer) {
+        int size = Math.toIntExact(shape.size());
+        BaseNDManager.validateBuffer(buffer, dataType, size);
+        if (shared) {
+            // the views keep the previous data
+            data = JcUtils.allocate(size, dataType);
+            shared = false;
+        }
+        BaseNDManager.copyBuffer(buffer, data.duplicate().order(ByteOrder.nativeOrder()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void set(NDIndex index, NDArray value) {
+        getNDArrayInternal().getIndexer(manager).set(this, index, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void set(NDIndex index, Number value) {
+        getNDArrayInternal().getIndexer(manager).set(this, index, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void set(NDIndex index, Function<NDArray, NDArray> function) {
+        try (NDArray array = get(index);
+                NDArray value = function.apply(array)) {
+            set(index, value);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void set(NDArray index, Number value) {
+        try (NDArray array = scalar(value)) {
+            inPlace(array.getNDArrayInternal().where(index, this));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setScalar(NDIndex index, Number value) {
+        getNDArrayInternal().getIndexer(manager).setScalar(this, index, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray gather(NDArray index, int axis) {
+        int rank = shape.dimension();
+        int ax = normalizeAxis(axis, rank);
+        Shape indexShape = index.getShape();
+        if (indexShape.dimension() != rank) {
+            throw new IllegalArgumentException(
+                    "The index must have the same rank as the array: " + indexShape);
+        }
+        long[] idx = JcUtils.toLongs(index.toByteBuffer(), index.getDataType());
+        long[] strides = JcUtils.strides(shape.getShape());
+        long[] srcStrides = strides.clone();
+        srcStrides[ax] = 0;
+        int[] offsets = JcUtils.offsets(indexShape.getShape(), srcStrides, 0);
+        long len = shape.get(ax);
+        for (int i = 0; i < offsets.length; ++i) {
+            offsets[i] += (int) (wrapIndex(idx[i], len) * strides[ax]);
+        }
+        return gatherElements(offsets, indexShape, manager);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray take(NDManager manager, NDArray index) {
+        long[] idx = JcUtils.toLongs(index.toByteBuffer(), index.getDataType());
+        long size = shape.size();
+        int[] offsets = new int[idx.length];
+        for (int i = 0; i < idx.length; ++i) {
+            offsets[i] = (int) wrapIndex(idx[i], size);
+        }
+        return gatherElements(offsets, index.getShape(), manager);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray booleanMask(NDArray index, int axis) {
+        int rank = shape.dimension();
+        int ax = normalizeAxis(axis, rank);
+        int maskRank = index.getShape().dimension();
+        long[] dims = shape.getShape();
+        long outer = shape.slice(0, ax).size();
+        long len = shape.slice(ax, ax + maskRank).size();
+        long inner = shape.slice(ax + maskRank).size();
+        if (index.size() != len) {
+            throw new IllegalArgumentException(
+                    "The mask shape " + index.getShape() + " does not match " + shape);
+        }
+        double[] mask = JcUtils.toDoubles(index.toByteBuffer(), index.getDataType());
+        int[] selected = IntStream.range(0, mask.length).filter(i -> mask[i] != 0).toArray();
+        long[] outDims = new long[rank - maskRank + 1];
+        System.arraycopy(dims, 0, outDims, 0, ax);
+        outDims[ax] = selected.length;
+        System.arraycopy(dims, ax + maskRank, outDims, ax + 1, rank - ax - maskRank);
+        Shape outShape = new Shape(outDims);
+        int elemSize = dataType.getNumOfBytes();
+        ByteBuffer bb = JcUtils.allocate(outShape.size(), dataType);
+        int pos = 0;
+        for (long o = 0; o < outer; ++o) {
+            for (int s : selected) {
+                long src = (o * len + s) * inner;
+                JcUtils.copy(data, (int) src, bb, pos, (int) inner, elemSize);
+                pos += (int) inner;
+            }
+        }
+        return create(bb, outShape, dataType);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray eq(Number n) {
+        return binary(n, BinaryOp.EQ, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray eq(NDArray other) {
+        return binary(other, BinaryOp.EQ, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray neq(Number n) {
+        return binary(n, BinaryOp.NEQ, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray neq(NDArray other) {
+        return binary(other, BinaryOp.NEQ, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray gt(Number n) {
+        return binary(n, BinaryOp.GT, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray gt(NDArray other) {
+        return binary(other, BinaryOp.GT, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray gte(Number n) {
+        return binary(n, BinaryOp.GTE, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray gte(NDArray other) {
+        return binary(other, BinaryOp.GTE, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray lt(Number n) {
+        return binary(n, BinaryOp.LT, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray lt(NDArray other) {
+        return binary(other, BinaryOp.LT, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray lte(Number n) {
+        return binary(n, BinaryOp.LTE, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray lte(NDArray other) {
+        return binary(other, BinaryOp.LTE, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray add(Number n) {
+        return binary(n, BinaryOp.ADD, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray add(NDArray other) {
+        return binary(other, BinaryOp.ADD, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray sub(Number n) {
+        return binary(n, BinaryOp.SUB, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray sub(NDArray other) {
+        return binary(other, BinaryOp.SUB, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray mul(Number n) {
+        return binary(n, BinaryOp.MUL, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray mul(NDArray other) {
+        return binary(other, BinaryOp.MUL, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray div(Number n) {
+        return binary(n, BinaryOp.DIV, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray div(NDArray other) {
+        return binary(other, BinaryOp.DIV, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray mod(Number n) {
+        return binary(n, BinaryOp.MOD, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray mod(NDArray other) {
+        return binary(other, BinaryOp.MOD, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray pow(Number n) {
+        return binary(n, BinaryOp.POW, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray pow(NDArray other) {
+        return binary(other, BinaryOp.POW, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray addi(Number n) {
+        return inPlace(add(n));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray addi(NDArray other) {
+        return inPlace(add(other));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray subi(Number n) {
+        return inPlace(sub(n));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray subi(NDArray other) {
+        return inPlace(sub(other));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray muli(Number n) {
+        return inPlace(mul(n));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray muli(NDArray other) {
+        return inPlace(mul(other));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray divi(Number n) {
+        return inPlace(div(n));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray divi(NDArray other) {
+        return inPlace(div(other));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray modi(Number n) {
+        return inPlace(mod(n));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray modi(NDArray other) {
+        return inPlace(mod(other));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray powi(Number n) {
+        return inPlace(pow(n));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray powi(NDArray other) {
+        return inPlace(pow(other));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray sign() {
+        return unary(UnaryOp.SIGN);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray signi() {
+        return inPlace(sign());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray maximum(Number n) {
+        return binary(n, BinaryOp.MAXIMUM, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray maximum(NDArray other) {
+        return binary(other, BinaryOp.MAXIMUM, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray minimum(Number n) {
+        return binary(n, BinaryOp.MINIMUM, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray minimum(NDArray other) {
+        return binary(other, BinaryOp.MINIMUM, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray neg() {
+        return unary(UnaryOp.NEG);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray negi() {
+        return inPlace(neg());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray abs() {
+        return unary(UnaryOp.ABS);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray square() {
+        return unary(UnaryOp.SQUARE);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray sqrt() {
+        return unary(UnaryOp.SQRT);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray cbrt() {
+        return unary(UnaryOp.CBRT);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray floor() {
+        return unary(UnaryOp.FLOOR);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray ceil() {
+        return unary(UnaryOp.CEIL);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray round() {
+        return unary(UnaryOp.ROUND);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray trunc() {
+        return unary(UnaryOp.TRUNC);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray exp() {
+        return unary(UnaryOp.EXP);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray log() {
+        return unary(UnaryOp.LOG);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray log10() {
+        return unary(UnaryOp.LOG10);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray log2() {
+        return unary(UnaryOp.LOG2);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray sin() {
+        return unary(UnaryOp.SIN);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray cos() {
+        return unary(UnaryOp.COS);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray tan() {
+        return unary(UnaryOp.TAN);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray asin() {
+        return unary(UnaryOp.ASIN);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray acos() {
+        return unary(UnaryOp.ACOS);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray atan() {
+        return unary(UnaryOp.ATAN);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray sinh() {
+        return unary(UnaryOp.SINH);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray cosh() {
+        return unary(UnaryOp.COSH);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray tanh() {
+        return unary(UnaryOp.TANH);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray asinh() {
+        return unary(UnaryOp.ASINH);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray acosh() {
+        return unary(UnaryOp.ACOSH);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray atanh() {
+        return unary(UnaryOp.ATANH);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray toDegrees() {
+        return unary(UnaryOp.TO_DEGREES);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray toRadians() {
+        return unary(UnaryOp.TO_RADIANS);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray max() {
+        return reduce(Reduction.MAX, allAxes(), false, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray max(int[] axes, boolean keepDims) {
+        return reduce(Reduction.MAX, axes, keepDims, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray min() {
+        return reduce(Reduction.MIN, allAxes(), false, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray min(int[] axes, boolean keepDims) {
+        return reduce(Reduction.MIN, axes, keepDims, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray sum() {
+        return reduce(Reduction.SUM, allAxes(), false, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray sum(int[] axes, boolean keepDims) {
+        return reduce(Reduction.SUM, axes, keepDims, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray prod() {
+        return reduce(Reduction.PROD, allAxes(), false, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray prod(int[] axes, boolean keepDims) {
+        return reduce(Reduction.PROD, axes, keepDims, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray mean() {
+        return reduce(Reduction.SUM, allAxes(), false, true);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray mean(int[] axes, boolean keepDims) {
+        return reduce(Reduction.SUM, axes, keepDims, true);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray normalize(double p, long dim, double eps) {
+        int[] axes = {(int) dim};
+        try (NDArray abs = abs();
+                NDArray pow = abs.pow(p);
+                NDArray sum = pow.sum(axes, true);
+                NDArray norm = sum.pow(1 / p);
+                NDArray clamped = norm.maximum(eps)) {
+            return div(clamped);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDList split(long sections, int axis) {
+        int ax = normalizeAxis(axis, shape.dimension());
+        long len = shape.get(ax);
+        if (len % sections != 0) {
+            throw new IllegalArgumentException("array split does not result in an equal division");
+        }
+        long step = len / sections;
+        long[] indices = new long[(int) sections - 1];
+        for (int i = 0; i < indices.length; ++i) {
+            indices[i] = step * (i + 1);
+        }
+        return split(indices, ax);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDList split(long[] indices, int axis) {
+        int ax = normalizeAxis(axis, shape.dimension());
+        long len = shape.get(ax);
+        NDList list = new NDList(indices.length + 1);
+        long begin = 0;
+        for (int i = 0; i <= indices.length; ++i) {
+            long end = i < indices.length ? Math.min(indices[i], len) : len;
+            list.add(slice(ax, begin, Math.max(begin, end)));
+            begin = Math.max(begin, end);
+        }
+        return list;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray flatten() {
+        return reshape(new Shape(shape.size()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray reshape(Shape shape) {
+        long[] dims = shape.getShape().clone();
+        long size = this.shape.size();
+        int unknown = -1;
+        long known = 1;
+        for (int i = 0; i < dims.length; ++i) {
+            if (dims[i] == -1) {
+                if (unknown != -1) {
+                    throw new IllegalArgumentException("Only one dimension can be -1: " + shape);
+                }
+                unknown = i;
+            } else {
+                known *= dims[i];
+            }
+        }
+        if (unknown != -1 && known != 0) {
+            dims[unknown] = size / known;
+            known *= dims[unknown];
+        }
+        if (known != size) {
+            throw new IllegalArgumentException(
+                    "Cannot reshape array of shape " + this.shape + " into " + shape);
+        }
+        return view(new Shape(dims));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray expandDims(int axis) {
+        int rank = shape.dimension();
+        int ax = normalizeAxis(axis, rank + 1);
+        long[] dims = new long[rank + 1];
+        long[] src = shape.getShape();
+        System.arraycopy(src, 0, dims, 0, ax);
+        dims[ax] = 1;
+        System.arraycopy(src, ax, dims, ax + 1, rank - ax);
+        return view(new Shape(dims));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray squeeze(int[] axes) {
+        int rank = shape.dimension();
+        boolean[] remove = new boolean[rank];
+        for (int axis : axes) {
+            int ax = normalizeAxis(axis, rank);
+            if (shape.get(ax) != 1) {
+                throw new IllegalArgumentException(
+                        "Cannot squeeze the axis " + axis + " of shape " + shape);
+            }
+            remove[ax] = true;
+        }
+        long[] dims =
+                IntStream.range(0, rank).filter(i -> !remove[i]).mapToLong(shape::get).toArray();
+        return view(new Shape(dims));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray logicalAnd(NDArray other) {
+        return binary(other, BinaryOp.AND, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray logicalOr(NDArray other) {
+        return binary(other, BinaryOp.OR, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray logicalXor(NDArray other) {
+        return binary(other, BinaryOp.XOR, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray logicalNot() {
+        return unary(UnaryOp.LOGICAL_NOT);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray argSort(int axis, boolean ascending) {
+        int rank = shape.dimension();
+        int ax = normalizeAxis(axis, rank);
+        int len = (int) shape.get(ax);
+        int inner = (int) shape.slice(ax + 1).size();
+        int outer = (int) shape.slice(0, ax).size();
+        double[] x = JcUtils.toDoubles(data, dataType);
+        long[] out = new long[x.length];
+        JcUtils.parallelFor(
+                outer * inner,
+                (long) len * 16,
+                (from, to) -> {
+                    Integer[] indices = new Integer[len];
+                    double[] line = new double[len];
+                    for (int r = from; r < to; ++r) {
+                        int base = r / inner * len * inner + r % inner;
+                        for (int k = 0; k < len; ++k) {
+                            indices[k] = k;
+                            line[k] = x[base + k * inner];
+                        }
+                        Comparator<Integer> cmp = (a, b) -> Double.compare(line[a], line[b]);
+                        Arrays.sort(indices, ascending ? cmp : cmp.reversed());
+                        for (int k = 0; k < len; ++k) {
+                            out[base + k * inner] = indices[k];
+                        }
+                    }
+                });
+        return create(JcUtils.fromLongs(out), shape, DataType.INT64);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray sort() {
+        return sort(-1);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray sort(int axis) {
+        try (NDArray indices = argSort(axis, true)) {
+            return gather(indices, axis);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray softmax(int axis) {
+        return softmaxInternal(axis, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray logSoftmax(int axis) {
+        return softmaxInternal(axis, true);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray cumSum() {
+        try (NDArray flat = flatten()) {
+            return flat.cumSum(0);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray cumSum(int axis) {
+        int ax = normalizeAxis(axis, shape.dimension());
+        int len = (int) shape.get(ax);
+        int inner = (int) shape.slice(ax + 1).size();
+        double[] x = JcUtils.toDoubles(data, dataType);
+        for (int base = 0; base < x.length; base += len * inner) {
+            for (int k = 1; k < len; ++k) {
+                int row = base + k * inner;
+                for (int i = 0; i < inner; ++i) {
+                    x[row + i] += x[row - inner + i];
+                }
+            }
+        }
+        return create(JcUtils.fromDoubles(x, dataType), shape, dataType);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray isInfinite() {
+        return unary(UnaryOp.IS_INFINITE);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray isNaN() {
+        return unary(UnaryOp.IS_NAN);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray dot(NDArray other) {
+        if (shape.isScalar() || other.getShape().isScalar()) {
+            return mul(other);
+        }
+        return matMul(other);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray matMul(NDArray other) {
+        Shape otherShape = other.getShape();
+        if (shape.dimension() == 1 && otherShape.dimension() == 1) {
+            try (NDArray row = expandDims(0);
+                    NDArray product = ((JcNDArray) row).matMul(other)) {
+                return product.reshape(new Shape());
+            }
+        }
+        DataType type = promote(dataType, other.getDataType());
+        boolean vectorLeft = shape.dimension() == 1;
+        boolean vectorRight = otherShape.dimension() == 1;
+        Shape a = vectorLeft ? new Shape(1, shape.get(0)) : shape;
+        Shape b = vectorRight ? new Shape(otherShape.get(0), 1) : otherShape;
+        int m = (int) a.get(a.dimension() - 2);
+        int k = (int) a.get(a.dimension() - 1);
+        int n = (int) b.get(b.dimension() - 1);
+        if (b.get(b.dimension() - 2) != k) {
+            throw new IllegalArgumentException(
+                    "Cannot multiply matrices of shape " + shape + " and " + otherShape);
+        }
+        Shape aBatch = a.slice(0, a.dimension() - 2);
+        Shape bBatch = b.slice(0, b.dimension() - 2);
+        Shape batch = JcUtils.broadcastShape(aBatch, bBatch);
+        int[] aIdx = JcUtils.offsets(batch.getShape(), JcUtils.broadcastStrides(aBatch, batch), 0);
+        int[] bIdx = JcUtils.offsets(batch.getShape(), JcUtils.broadcastStrides(bBatch, batch), 0);
+        int batchSize = aIdx.length;
+
+        ByteBuffer otherData = dataOf(other);
+        ByteBuffer bb;
+        if (type == DataType.FLOAT32) {
+            float[] x = JcUtils.toFloats(data, dataType);
+            float[] y = JcUtils.toFloats(otherData, other.getDataType());
+            float[] out = new float[batchSize * m * n];
+            JcUtils.parallelFor(
+                    batchSize * m,
+                    (long) k * n,
+                    (from, to) -> {
+                        for (int r = from; r < to; ++r) {
+                            int bi = r / m;
+                            int i = r % m;
+                            matMulRow(
+                                    x,
+                                    aIdx[bi] * m * k + i * k,
+                                    y,
+                                    bIdx[bi] * k * n,
+                                    out,
+                                    r * n,
+                                    k,
+                                    n);
+                        }
+                    });
+            bb = JcUtils.fromFloats(out);
+        } else {
+            double[] x = JcUtils.toDoubles(data, dataType);
+            double[] y = JcUtils.toDoubles(otherData, other.getDataType());
+            double[] out = new double[batchSize * m * n];
+            for (int r = 0; r < batchSize * m; ++r) {
+                int aOff = aIdx[r / m] * m * k + r % m * k;
+                int bOff = bIdx[r / m] * k * n;
+                for (int p = 0; p < k; ++p) {
+                    double av = x[aOff + p];
+                    for (int j = 0; j < n; ++j) {
+                        out[r * n + j] += av * y[bOff + p * n + j];
+                    }
+                }
+            }
+            bb = JcUtils.fromDoubles(out, type);
+        }
+        Shape outShape = batch.addAll(new Shape(m, n));
+        if (vectorLeft || vectorRight) {
+            // drop the dimensions of the vector operands
+            int rank = outShape.dimension();
+            long[] dims =
+                    IntStream.range(0, rank)
+                            .filter(
+                                    i ->
+                                            !(vectorLeft && i == rank - 2
+                                                    || vectorRight && i == rank - 1))
+                            .mapToLong(outShape::get)
+                            .toArray();
+            outShape = new Shape(dims);
+        }
+        return create(bb, outShape, type);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray clip(Number min, Number max) {
+        try (NDArray lower = maximum(min)) {
+            return lower.minimum(max);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray flip(int... axes) {
+        long[] dims = shape.getShape();
+        long[] strides = JcUtils.strides(dims);
+        long offset = 0;
+        for (int axis : axes) {
+            int ax = normalizeAxis(axis, dims.length);
+            offset += (dims[ax] - 1) * strides[ax];
+            strides[ax] = -strides[ax];
+        }
+        return copyStrided(dims, strides, offset);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray transpose() {
+        int rank = shape.dimension();
+        return transpose(IntStream.range(0, rank).map(i -> rank - 1 - i).toArray());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray transpose(int... axes) {
+        int rank = shape.dimension();
+        if (axes.length != rank) {
+            throw new IllegalArgumentException(
+                    "The axes " + Arrays.toString(axes) + " do not match the shape " + shape);
+        }
+        long[] dims = shape.getShape();
+        long[] strides = JcUtils.strides(dims);
+        long[] outDims = new long[rank];
+        long[] srcStrides = new long[rank];
+        for (int i = 0; i < rank; ++i) {
+            int ax = normalizeAxis(axes[i], rank);
+            outDims[i] = dims[ax];
+            srcStrides[i] = strides[ax];
+        }
+        return copyStrided(outDims, srcStrides, 0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray broadcast(Shape shape) {
+        Shape target = JcUtils.broadcastShape(this.shape, shape);
+        if (!target.equals(shape)) {
+            throw new IllegalArgumentException(
+                    "Cannot broadcast shape " + this.shape + " to " + shape);
+        }
+        return copyStrided(shape.getShape(), JcUtils.broadcastStrides(this.shape, shape), 0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray argMax() {
+        try (NDArray flat = flatten()) {
+            return flat.argMax(0);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray argMax(int axis) {
+        return argReduce(axis, true);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray argMin() {
+        try (NDArray flat = flatten()) {
+            return flat.argMin(0);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray argMin(int axis) {
+        return argReduce(axis, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray norm(boolean keepDims) {
+        return norm(2, allAxes(), keepDims);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray norm(int ord, int[] axes, boolean keepDims) {
+        if (ord == 1) {
+            try (NDArray abs = abs()) {
+                return abs.sum(axes, keepDims);
+            }
+        } else if (ord == 2) {
+            try (NDArray square = square();
+                    NDArray sum = square.sum(axes, keepDims)) {
+                return sum.sqrt();
+            }
+        }
+        throw new UnsupportedOperationException("Only L1 and L2 norms are supported");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray oneHot(int depth, float onValue, float offValue, DataType dataType) {
+        long[] idx = JcUtils.toLongs(data, this.dataType);
+        double[] out = new double[idx.length * depth];
+        Arrays.fill(out, offValue);
+        for (int i = 0; i < idx.length; ++i) {
+            if (idx[i] >= 0 && idx[i] < depth) {
+                out[i * depth + (int) idx[i]] = onValue;
+            }
+        }
+        return create(JcUtils.fromDoubles(out, dataType), shape.add(depth), dataType);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public JcNDArrayEx getNDArrayInternal() {
+        if (ex == null) {
+            ex = new JcNDArrayEx(this);
+        }
+        return ex;
+    }
+
+    NDArray binary(Number n, BinaryOp op, boolean reverse) {
+        DataType resultType = op.isPredicate() ? DataType.BOOLEAN : dataType;
+        int size = Math.toIntExact(shape.size());
+        ByteBuffer bb;
+        if (dataType == DataType.FLOAT32) {
+            float[] x = JcUtils.toFloats(data, dataType);
+            float[] out = new float[size];
+            float y = n.floatValue();
+            JcUtils.parallelFor(
+                    size,
+                    1,
+                    (from, to) -> {
+                        if (reverse) {
+                            for (int i = from; i < to; ++i) {
+                                out[i] = (float) op.apply(y, x[i]);
+                            }
+                        } else {
+                            op.apply(x, y, out, from, to);
+                        }
+                    });
+            bb = JcUtils.fromFloats(out, resultType);
+        } else {
+            double[] x = JcUtils.toDoubles(data, dataType);
+            double y = n.doubleValue();
+            for (int i = 0; i < size; ++i) {
+                x[i] = reverse ? op.apply(y, x[i]) : op.apply(x[i], y);
+            }
+            bb = JcUtils.fromDoubles(x, resultType);
+        }
+        return create(bb, shape, resultType);
+    }
+
+    NDArray binary(NDArray other, BinaryOp op, boolean reverse) {
+        if (reverse) {
+            return broadcastBinary(
+                    dataOf(other),
+                    other.getShape(),
+                    other.getDataType(),
+                    data,
+                    shape,
+                    dataType,
+                    op);
+        }
+        return broadcastBinary(
+                data, shape, dataType, dataOf(other), other.getShape(), other.getDataType(), op);
+    }
+
+    NDArray unary(UnaryOp op) {
+        DataType resultType;
+        switch (op.getKind()) {
+            case PREDICATE:
+                resultType = DataType.BOOLEAN;
+                break;
+            case FLOATING:
+                resultType = dataType.isFloating() ? dataType : DataType.FLOAT32;
+                break;
+            case SAME:
+            default:
+                resultType = dataType;
+                break;
+        }
+        int size = Math.toIntExact(shape.size());
+        ByteBuffer bb;
+        if (dataType == DataType.FLOAT32 || resultType == DataType.FLOAT32) {
+            float[] x = JcUtils.toFloats(data, dataType);
+            float[] out = new float[size];
+            JcUtils.parallelFor(size, 1, (from, to) -> op.apply(x, out, from, to));
+            bb = JcUtils.fromFloats(out, resultType);
+        } else {
+            double[] x = JcUtils.toDoubles(data, dataType);
+            for (int i = 0; i < size; ++i) {
+                x[i] = op.apply(x[i]);
+            }
+            bb = JcUtils.fromDoubles(x, resultType);
+        }
+        return create(bb, shape, resultType);
+    }
+
+    NDArray inPlace(NDArray result) {
+        try (NDArray converted = result.toType(dataType, false)) {
+            if (!converted.getShape().equals(shape)) {
+                throw new IllegalArgumentException(
+                        "Cannot update array of shape "
+                                + shape
+                                + " in place with "
+                                + converted.getShape());
+            }
+            // write into the existing buffer, the views of this array see the update
+            ByteBuffer bb = data.duplicate();
+            bb.rewind();
+            bb.put(converted.toByteBuffer());
+        } finally {
+            result.close();
+        }
+        return this;
+    }
+
+    NDArray slice(int axis, long begin, long end) {
+        long[] dims = shape.getShape().clone();
+        long[] strides = JcUtils.strides(dims);
+        dims[axis] = end - begin;
+        return copyStrided(dims, strides, begin * strides[axis]);
+    }
+
+    JcNDArray create(ByteBuffer bb, Shape shape, DataType dataType) {
+        return new JcNDArray(manager, bb, shape, dataType);
+    }
+
+    static ByteBuffer dataOf(NDArray array) {
+        if (array instanceof JcNDArray) {
+            return ((JcNDArray) array).data;
+        }
+        return array.toByteBuffer();
+    }
+
+    static DataType promote(DataType a, DataType b) {
+        if (a == b) {
+            return a;
+        }
+        return precision(a) >= precision(b) ? a : b;
+    }
+
+    static int normalizeAxis(int axis, int rank) {
+        int ax = axis < 0 ? axis + rank : axis;
+        if (ax < 0 || ax >= Math.max(rank, 1)) {
+            throw new IllegalArgumentException("Invalid axis " + axis + " for rank " + rank);
+        }
+        return ax;
+    }
+
+    private NDArray scalar(Number value) {
+        double[] values = {value.doubleValue()};
+        return create(JcUtils.fromDoubles(values, dataType), new Shape(), dataType);
+    }
+
+    private NDArray view(Shape shape) {
+        JcNDArray array = create(data, shape, dataType);
+        array.shared = true;
+        shared = true;
+        return array;
+    }
+
+    private NDArray copyStrided(long[] dims, long[] srcStrides, long offset) {
+        ByteBuffer bb = JcUtils.allocate(new Shape(dims).size(), dataType);
+        JcUtils.stridedCopy(
+                data,
+                offset,
+                srcStrides,
+                bb,
+                0,
+                JcUtils.strides(dims),
+                dims,
+                dataType.getNumOfBytes());
+        return create(bb, new Shape(dims), dataType);
+    }
+
+    private NDArray gatherElements(int[] offsets, Shape outShape, NDManager manager) {
+        ByteBuffer bb = JcUtils.allocate(offsets.length, dataType);
+        JcUtils.gather(data, offsets, bb, dataType.getNumOfBytes());
+        return new JcNDArray(manager, bb, outShape, dataType);
+    }
+
+    private NDArray reduce(Reduction op, int[] axes, boolean keepDims, boolean mean) {
+        int rank = shape.dimension();
+        boolean[] reduced = new boolean[rank];
+        for (int axis : axes) {
+            reduced[normalizeAxis(axis, rank)] = true;
+        }
+        long[] dims = shape.getShape().clone();
+        long count = 1;
+        DataType resultType = mean && !dataType.isFloating() ? DataType.FLOAT32 : dataType;
+        ByteBuffer bb;
+        if (dataType == DataType.FLOAT32) {
+            float[] x = JcUtils.toFloats(data, dataType);
+            for (int ax = rank - 1; ax >= 0; --ax) {
+                if (reduced[ax]) {
+                    x = op.reduce(x, dims, ax);
+                    count *= dims[ax];
+                    dims[ax] = 1;
+                }
+            }
+            if (mean) {
+                BinaryOp.MUL.apply(x, 1f / count, x, 0, x.length);
+            }
+            bb = JcUtils.fromFloats(x);
+        } else {
+            double[] x = JcUtils.toDoubles(data, dataType);
+            for (int ax = rank - 1; ax >= 0; --ax) {
+                if (reduced[ax]) {
+                    x = op.reduce(x, dims, ax);
+                    count *= dims[ax];
+                    dims[ax] = 1;
+                }
+            }
+            if (mean) {
+                for (int i = 0; i < x.length; ++i) {
+                    x[i] /= count;
+                }
+            }
+            bb = JcUtils.fromDoubles(x, resultType);
+        }
+        long[] outDims = dims;
+        if (!keepDims) {
+            outDims =
+                    IntStream.range(0, rank)
+                            .filter(i -> !reduced[i])
+                            .mapToLong(i -> dims[i])
+                            .toArray();
+        }
+        return create(bb, new Shape(outDims), resultType);
+    }
+
+    private NDArray argReduce(int axis, boolean max) {
+        if (shape.size() == 0) {
+            throw new IllegalArgumentException("attempt to get argMax/argMin of an empty NDArray");
+        }
+        int rank = shape.dimension();
+        int ax = normalizeAxis(axis, rank);
+        int len = rank == 0 ? 1 : (int) shape.get(ax);
+        int inner = rank == 0 ? 1 : (int) shape.slice(ax + 1).size();
+        double[] x = JcUtils.toDoubles(data, dataType);
+        int outer = x.length / (len * inner);
+        long[] out = new long[outer * inner];
+        for (int o = 0; o < outer; ++o) {
+            for (int i = 0; i < inner; ++i) {
+                int base = o * len * inner + i;
+                double best = x[base];
+                int index = 0;
+                for (int k = 1; k < len; ++k) {
+                    double v = x[base + k * inner];
+                    if (max ? v > best : v < best) {
+                        best = v;
+                        index = k;
+                    }
+                }
+                out[o * inner + i] = index;
+            }
+        }
+        long[] outDims = new long[Math.max(rank - 1, 0)];
+        for (int i = 0, j = 0; i < rank; ++i) {
+            if (i != ax) {
+                outDims[j++] = shape.get(i);
+            }
+        }
+        return create(JcUtils.fromLongs(out), new Shape(outDims), DataType.INT64);
+    }
+
+    private NDArray softmaxInternal(int axis, boolean log) {
+        int ax = normalizeAxis(axis, shape.dimension());
+        int len = (int) shape.get(ax);
+        int inner = (int) shape.slice(ax + 1).size();
+        int size = Math.toIntExact(shape.size());
+        int lines = len == 0 ? 0 : size / len;
+        DataType resultType = dataType.isFloating() ? dataType : DataType.FLOAT32;
+        if (dataType != DataType.FLOAT64) {
+            float[] x = JcUtils.toFloats(data, dataType);
+            JcUtils.parallelFor(
+                    lines,
+                    len,
+                    (from, to) -> {
+                        for (int r = from; r < to; ++r) {
+                            int base = r / inner * len * inner + r % inner;
+                            float max = Float.NEGATIVE_INFINITY;
+                            for (int k = 0; k < len; ++k) {
+                                max = Math.max(max, x[base + k * inner]);
+                            }
+                            double sum = 0;
+                            for (int k = 0; k < len; ++k) {
+                                int pos = base + k * inner;
+                                float v = x[pos] - max;
+                                float e = (float) Math.exp(v);
+                                sum += e;
+                                x[pos] = log ? v : e;
+                            }
+                            if (log) {
+                                float logSum = (float) Math.log(sum);
+                                for (int k = 0; k < len; ++k) {
+                                    x[base + k * inner] -= logSum;
+                                }
+                            } else {
+                                float scale = (float) (1 / sum);
+                                for (int k = 0; k < len; ++k) {
+                                    x[base + k * inner] *= scale;
+                                }
+                            }
+                        }
+                    });
+            return create(JcUtils.fromFloats(x, resultType), shape, resultType);
+        }
+        double[] x = JcUtils.toDoubles(data, dataType);
+        for (int r = 0; r < lines; ++r) {
+            int base = r / inner * len * inner + r % inner;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int k = 0; k < len; ++k) {
+                max = Math.max(max, x[base + k * inner]);
+            }
+            double sum = 0;
+            for (int k = 0; k < len; ++k) {
+                int pos = base + k * inner;
+                double e = Math.exp(x[pos] - max);
+                sum += e;
+                x[pos] = log ? x[pos] - max : e;
+            }
+            double logSum = Math.log(sum);
+            for (int k = 0; k < len; ++k) {
+                int pos = base + k * inner;
+                x[pos] = log ? x[pos] - logSum : x[pos] / sum;
+            }
+        }
+        return create(JcUtils.fromDoubles(x, resultType), shape, resultType);
+    }
+
+    private int[] allAxes() {
+        return IntStream.range(0, shape.dimension()).toArray();
+    }
+
+    private NDArray broadcastBinary(
+            ByteBuffer xData,
+            Shape xShape,
+            DataType xType,
+            ByteBuffer yData,
+            Shape yShape,
+            DataType yType,
+            BinaryOp op) {
+        DataType type = promote(xType, yType);
+        DataType resultType = op.isPredicate() ? DataType.BOOLEAN : type;
+        Shape outShape = JcUtils.broadcastShape(xShape, yShape);
+        int size = Math.toIntExact(outShape.size());
+        ByteBuffer bb;
+        if (type == DataType.FLOAT32) {
+            float[] x = JcUtils.toFloats(xData, xType);
+            float[] y = JcUtils.toFloats(yData, yType);
+            if (x.length == 1 && size > 1) {
+                float v = x[0];
+                x = new float[size];
+                Arrays.fill(x, v);
+                xShape = outShape;
+            }
+            float[] out = new float[size];
+            float[] a = x;
+            if (a.length == size && y.length == size) {
+                JcUtils.parallelFor(
+                        size, 1, (from, to) -> op.apply(a, from, y, from, out, from, to - from));
+            } else if (y.length == 1) {
+                JcUtils.parallelFor(size, 1, (from, to) -> op.apply(a, y[0], out, from, to));
+            } else if (a.length == size && isSuffix(yShape, outShape)) {
+                // row broadcast, such as adding a bias, the inner loop stays contiguous
+                int len = y.length;
+                JcUtils.parallelFor(
+                        size / len,
+                        len,
+                        (from, to) -> {
+                            for (int r = from; r < to; ++r) {
+                                op.apply(a, r * len, y, 0, out, r * len, len);
+                            }
+                        });
+            } else {
+                long[] dims = outShape.getShape();
+                int[] xi = JcUtils.offsets(dims, JcUtils.broadcastStrides(xShape, outShape), 0);
+                int[] yi = JcUtils.offsets(dims, JcUtils.broadcastStrides(yShape, outShape), 0);
+                JcUtils.parallelFor(
+                        size,
+                        1,
+                        (from, to) -> {
+                            for (int i = from; i < to; ++i) {
+                                out[i] = (float) op.apply(a[xi[i]], (double) y[yi[i]]);
+                            }
+                        });
+            }
+            bb = JcUtils.fromFloats(out, resultType);
+        } else {
+            double[] x = JcUtils.toDoubles(xData, xType);
+            double[] y = JcUtils.toDoubles(yData, yType);
+            double[] out = new double[size];
+            if (x.length == size && y.length == size) {
+                for (int i = 0; i < size; ++i) {
+                    out[i] = op.apply(x[i], y[i]);
+                }
+            } else {
+                long[] dims = outShape.getShape();
+                int[] xi = JcUtils.offsets(dims, JcUtils.broadcastStrides(xShape, outShape), 0);
+                int[] yi = JcUtils.offsets(dims, JcUtils.broadcastStrides(yShape, outShape), 0);
+                for (int i = 0; i < size; ++i) {
+                    out[i] = op.apply(x[xi[i]], y[yi[i]]);
+                }
+            }
+            bb = JcUtils.fromDoubles(out, resultType);
+        }
+        return create(bb, outShape, resultType);
+    }
+
+    private static void matMulRow(
+            float[] x, int xo, float[] y, int yo, float[] out, int oo, int k, int n) {
+        if (n == 1) {
+            float sum = 0;
+            for (int p = 0; p < k; ++p) {
+                sum += x[xo + p] * y[yo + p];
+            }
+            out[oo] = sum;
+            return;
+        }
+        for (int p = 0; p < k; ++p) {
+            float av = x[xo + p];
+            if (av == 0) {
+                continue;
+            }
+            int row = yo + p * n;
+            for (int j = 0; j < n; ++j) {
+                out[oo + j] += av * y[row + j];
+            }
+        }
+    }
+
+    private static boolean isSuffix(Shape shape, Shape target) {
+        int rank = shape.dimension();
+        int offset = target.dimension() - rank;
+        int i = 0;
+        while (i < rank && shape.get(i) == 1) {
+            ++i;
+        }
+        for (; i < rank; ++i) {
+            if (shape.get(i) != target.get(offset + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long wrapIndex(long index, long len) {
+        long ret = index < 0 ? index + len : index;
+        if (ret < 0 || ret >= len) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds " + len);
+        }
+        return ret;
+    }
+
+    private static int precision(DataType type) {
+        switch (type) {
+            case BOOLEAN:
+                return 0;
+            case UINT8:
+                return 1;
+            case INT8:
+                return 2;
+            case INT32:
+                return 3;
+            case INT64:
+                return 4;
+            case FLOAT16:
+                return 5;
+            case FLOAT32:
+                return 6;
+            case FLOAT64:
+                return 7;
+            default:
+                throw new UnsupportedOperationException("Unsupported data type: " + type);
+        }
+    }
+}
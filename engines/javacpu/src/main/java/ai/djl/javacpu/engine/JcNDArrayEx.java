@@ -0,0 +1,632 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.javacpu.engine;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.index.NDArrayIndexer;
+import ai.djl.ndarray.internal.NDArrayEx;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.ndarray.types.SparseFormat;
+import ai.djl.nn.recurrent.RNN;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/** {@code JcNDArrayEx} is the JavaCpu implementation of the {@link NDArrayEx}. */
+public class JcNDArrayEx implements NDArrayEx {
+
+    private JcNDArray array;
+
+    /**
+     * Constructs a {@code JcNDArrayEx} given a {@link NDArray}.
+     *
+     * @param array the array
+     */
+    JcNDArrayEx(JcNDArray array) {
+        this.array = array;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray rdiv(Number n) {
+        return array.binary(n, BinaryOp.DIV, true);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray rdiv(NDArray b) {
+        return array.binary(b, BinaryOp.DIV, true);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray rdivi(Number n) {
+        return array.inPlace(rdiv(n));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray rdivi(NDArray b) {
+        return array.inPlace(rdiv(b));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray rsub(Number n) {
+        return array.binary(n, BinaryOp.SUB, true);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray rsub(NDArray b) {
+        return array.binary(b, BinaryOp.SUB, true);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray rsubi(Number n) {
+        return array.inPlace(rsub(n));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray rsubi(NDArray b) {
+        return array.inPlace(rsub(b));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray rmod(Number n) {
+        return array.binary(n, BinaryOp.MOD, true);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray rmod(NDArray b) {
+        return array.binary(b, BinaryOp.MOD, true);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray rmodi(Number n) {
+        return array.inPlace(rmod(n));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray rmodi(NDArray b) {
+        return array.inPlace(rmod(b));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray rpow(Number n) {
+        return array.binary(n, BinaryOp.POW, true);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray rpowi(Number n) {
+        return array.inPlace(rpow(n));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray relu() {
+        return array.unary(UnaryOp.RELU);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray sigmoid() {
+        return array.unary(UnaryOp.SIGMOID);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray tanh() {
+        return array.unary(UnaryOp.TANH);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray softPlus() {
+        return array.unary(UnaryOp.SOFT_PLUS);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray softSign() {
+        return array.unary(UnaryOp.SOFT_SIGN);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray leakyRelu(float alpha) {
+        return array.binary(alpha, BinaryOp.LEAKY_RELU, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray elu(float alpha) {
+        return array.binary(alpha, BinaryOp.ELU, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray selu() {
+        return array.unary(UnaryOp.SELU);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray gelu() {
+        return array.unary(UnaryOp.GELU);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray maxPool(Shape kernelShape, Shape stride, Shape padding, boolean ceilMode) {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray globalMaxPool() {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray avgPool(
+            Shape kernelShape,
+            Shape stride,
+            Shape padding,
+            boolean ceilMode,
+            boolean countIncludePad) {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray globalAvgPool() {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray lpPool(
+            float normType, Shape kernelShape, Shape stride, Shape padding, boolean ceilMode) {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray globalLpPool(float normType) {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void adadeltaUpdate(
+            NDList inputs,
+            NDList weights,
+            float weightDecay,
+            float rescaleGrad,
+            float clipGrad,
+            float rho,
+            float epsilon) {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void adagradUpdate(
+            NDList inputs,
+            NDList weights,
+            float learningRate,
+            float weightDecay,
+            float rescaleGrad,
+            float clipGrad,
+            float epsilon) {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void adamUpdate(
+            NDList inputs,
+            NDList weights,
+            float learningRate,
+            float weightDecay,
+            float rescaleGrad,
+            float clipGrad,
+            float beta1,
+            float beta2,
+            float epsilon,
+            boolean lazyUpdate) {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void nagUpdate(
+            NDList inputs,
+            NDList weights,
+            float learningRate,
+            float weightDecay,
+            float rescaleGrad,
+            float clipGrad,
+            float momentum) {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void rmspropUpdate(
+            NDList inputs,
+            NDList weights,
+            float learningRate,
+            float weightDecay,
+            float rescaleGrad,
+            float clipGrad,
+            float rho,
+            float momentum,
+            float epsilon,
+            boolean centered) {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sgdUpdate(
+            NDList inputs,
+            NDList weights,
+            float learningRate,
+            float weightDecay,
+            float rescaleGrad,
+            float clipGrad,
+            float momentum,
+            boolean lazyUpdate) {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDList convolution(
+            NDArray input,
+            NDArray weight,
+            NDArray bias,
+            Shape stride,
+            Shape padding,
+            Shape dilation,
+            int groups) {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDList deconvolution(
+            NDArray input,
+            NDArray weight,
+            NDArray bias,
+            Shape stride,
+            Shape padding,
+            Shape outPadding,
+            Shape dilation,
+            int groups) {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDList linear(NDArray input, NDArray weight, NDArray bias) {
+        try (NDArray transposed = weight.transpose()) {
+            NDArray ret = input.matMul(transposed);
+            if (bias != null) {
+                ret.addi(bias);
+            }
+            return new NDList(ret);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDList embedding(NDArray input, NDArray weight, SparseFormat sparse) {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDList prelu(NDArray input, NDArray alpha) {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDList dropout(NDArray input, float rate, boolean training) {
+        if (training) {
+            throw new UnsupportedOperationException("Not implemented");
+        }
+        return new NDList(input.duplicate());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDList layerNorm(
+            NDArray input, Shape normalizedShape, NDArray gamma, NDArray beta, float eps) {
+        int rank = input.getShape().dimension();
+        int[] axes = IntStream.range(rank - normalizedShape.dimension(), rank).toArray();
+        try (NDArray mean = input.mean(axes, true);
+                NDArray centered = input.sub(mean);
+                NDArray square = centered.square();
+                NDArray var = square.mean(axes, true);
+                NDArray shifted = var.add(eps);
+                NDArray std = shifted.sqrt()) {
+            NDArray ret = centered.div(std);
+            if (gamma != null) {
+                ret.muli(gamma);
+            }
+            if (beta != null) {
+                ret.addi(beta);
+            }
+            return new NDList(ret);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDList batchNorm(
+            NDArray input,
+            NDArray runningMean,
+            NDArray runningVar,
+            NDArray gamma,
+            NDArray beta,
+            int axis,
+            float momentum,
+            float eps,
+            boolean training) {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDList rnn(
+            NDArray input,
+            NDArray state,
+            NDList params,
+            boolean hasBiases,
+            int numLayers,
+            RNN.Activation activation,
+            double dropRate,
+            boolean train,
+            boolean bidirectional,
+            boolean batchFirst) {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDList gru(
+            NDArray input,
+            NDArray state,
+            NDList params,
+            boolean hasBiases,
+            int numLayers,
+            double dropRate,
+            boolean training,
+            boolean bidirectional,
+            boolean batchFirst) {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDList lstm(
+            NDArray input,
+            NDList states,
+            NDList params,
+            boolean hasBiases,
+            int numLayers,
+            double dropRate,
+            boolean training,
+            boolean bidirectional,
+            boolean batchFirst) {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray resize(int width, int height, int interpolation) {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray randomFlipLeftRight() {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray randomFlipTopBottom() {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray randomBrightness(float brightness) {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray randomHue(float hue) {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray randomColorJitter(
+            float brightness, float contrast, float saturation, float hue) {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArrayIndexer getIndexer(NDManager manager) {
+        return new JcNDArrayIndexer(manager == null ? array.getManager() : manager);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray where(NDArray condition, NDArray other) {
+        DataType type = JcNDArray.promote(array.getDataType(), other.getDataType());
+        Shape shape = array.getShape();
+        Shape outShape =
+                JcUtils.broadcastShape(
+                        JcUtils.broadcastShape(condition.getShape(), shape), other.getShape());
+        long[] dims = outShape.getShape();
+        int[] ci =
+                JcUtils.offsets(dims, JcUtils.broadcastStrides(condition.getShape(), outShape), 0);
+        int[] ai = JcUtils.offsets(dims, JcUtils.broadcastStrides(shape, outShape), 0);
+        int[] bi = JcUtils.offsets(dims, JcUtils.broadcastStrides(other.getShape(), outShape), 0);
+        double[] c = JcUtils.toDoubles(JcNDArray.dataOf(condition), condition.getDataType());
+        ByteBuffer bb;
+        if (type == DataType.FLOAT32) {
+            float[] a = JcUtils.toFloats(JcNDArray.dataOf(array), array.getDataType());
+            float[] b = JcUtils.toFloats(JcNDArray.dataOf(other), other.getDataType());
+            float[] out = new float[ci.length];
+            for (int i = 0; i < out.length; ++i) {
+                out[i] = c[ci[i]] != 0 ? a[ai[i]] : b[bi[i]];
+            }
+            bb = JcUtils.fromFloats(out);
+        } else {
+            double[] a = JcUtils.toDoubles(JcNDArray.dataOf(array), array.getDataType());
+            double[] b = JcUtils.toDoubles(JcNDArray.dataOf(other), other.getDataType());
+            double[] out = new double[ci.length];
+            for (int i = 0; i < out.length; ++i) {
+                out[i] = c[ci[i]] != 0 ? a[ai[i]] : b[bi[i]];
+            }
+            bb = JcUtils.fromDoubles(out, type);
+        }
+        return array.create(bb, outShape, type);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray stack(NDList arrays, int axis) {
+        int ax = JcNDArray.normalizeAxis(axis, array.getShape().dimension() + 1);
+        NDList expanded = new NDList(arrays.size());
+        for (NDArray a : arrays) {
+            expanded.add(a.expandDims(ax));
+        }
+        try (NDArray head = array.expandDims(ax)) {
+            return head.getNDArrayInternal().concat(expanded, ax);
+        } finally {
+            expanded.close();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray concat(NDList arrays, int axis) {
+        Shape shape = array.getShape();
+        DataType type = array.getDataType();
+        int rank = shape.dimension();
+        int ax = JcNDArray.normalizeAxis(axis, rank);
+        NDList all = new NDList(arrays.size() + 1);
+        all.add(array);
+        all.addAll(arrays);
+
+        long total = 0;
+        ByteBuffer[] sources = new ByteBuffer[all.size()];
+        for (int i = 0; i < sources.length; ++i) {
+            NDArray a = all.get(i);
+            Shape s = a.getShape();
+            if (s.dimension() != rank
+                    || !s.slice(0, ax).equals(shape.slice(0, ax))
+                    || !s.slice(ax + 1).equals(shape.slice(ax + 1))) {
+                throw new IllegalArgumentException(
+                        "Cannot concat shape " + s + " with " + shape + " along axis " + axis);
+            }
+            total += s.get(ax);
+            ByteBuffer src = JcNDArray.dataOf(a);
+            if (a.getDataType() != type) {
+                src = JcUtils.fromDoubles(JcUtils.toDoubles(src, a.getDataType()), type);
+            }
+            sources[i] = src;
+        }
+        long outer = shape.slice(0, ax).size();
+        long inner = shape.slice(ax + 1).size();
+        long[] dims = shape.getShape().clone();
+        dims[ax] = total;
+        int elemSize = type.getNumOfBytes();
+        ByteBuffer bb = JcUtils.allocate(outer * total * inner, type);
+        int pos = 0;
+        for (long o = 0; o < outer; ++o) {
+            for (int i = 0; i < sources.length; ++i) {
+                int run = (int) (all.get(i).getShape().get(ax) * inner);
+                JcUtils.copy(sources[i], (int) (o * run), bb, pos, run, elemSize);
+                pos += run;
+            }
+        }
+        return array.create(bb, new Shape(dims), type);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDList multiBoxTarget(
+            NDList inputs,
+            float iouThreshold,
+            float ignoreLabel,
+            float negativeMiningRatio,
+            float negativeMiningThreshold,
+            int minNegativeSamples) {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDList multiBoxPrior(
+            List<Float> sizes,
+            List<Float> ratios,
+            List<Float> steps,
+            List<Float> offsets,
+            boolean clip) {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDList multiBoxDetection(
+            NDList inputs,
+            boolean clip,
+            float threshold,
+            int backgroundId,
+            float nmsThreshold,
+            boolean forceSuppress,
+            int nmsTopK) {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public JcNDArray getArray() {
+        return array;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.javacpu.engine;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.index.NDArrayIndexer;
+import ai.djl.ndarray.index.full.NDIndexFullPick;
+import ai.djl.ndarray.index.full.NDIndexFullSlice;
+import ai.djl.ndarray.index.full.NDIndexFullTake;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The {@link NDArrayIndexer} used by the {@link JcNDArray}.
+ *
+ * <p>The indexer also accepts the arrays of other engines, their data is read in place and the
+ * results are created on the manager of the indexer.
+ */
+public class JcNDArrayIndexer extends NDArrayIndexer {
+
+    private NDManager manager;
+
+    JcNDArrayIndexer(NDManager manager) {
+        this.manager = manager;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray get(NDArray array, NDIndexFullPick fullPick) {
+        try (JcNDArray view = view(array)) {
+            return view.gather(fullPick.getIndices(), fullPick.getAxis());
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray get(NDArray array, NDIndexFullTake fullTake) {
+        try (JcNDArray view = view(array)) {
+            return view.take(manager, fullTake.getIndices());
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray get(NDArray array, NDIndexFullSlice fullSlice) {
+        DataType dataType = array.getDataType();
+        long[] strides = JcUtils.strides(array.getShape().getShape());
+        long offset = offset(fullSlice, strides);
+        long[] srcStrides = stepStrides(fullSlice, strides);
+        long[] dims = fullSlice.getShape().getShape();
+        ByteBuffer bb = JcUtils.allocate(fullSlice.getShape().size(), dataType);
+        JcUtils.stridedCopy(
+                JcNDArray.dataOf(array),
+                offset,
+                srcStrides,
+                bb,
+                0,
+                JcUtils.strides(dims),
+                dims,
+                dataType.getNumOfBytes());
+        return new JcNDArray(manager, bb, fullSlice.getSqueezedShape(), dataType);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void set(NDArray array, NDIndexFullSlice fullSlice, NDArray value) {
+        DataType dataType = array.getDataType();
+        ByteBuffer src = JcNDArray.dataOf(value);
+        if (value.getDataType() != dataType) {
+            src = JcUtils.fromDoubles(JcUtils.toDoubles(src, value.getDataType()), dataType);
+        }
+        Shape target = fullSlice.getShape();
+        Shape valueShape = value.getShape();
+        long[] valueStrides;
+        if (valueShape.dimension() > fullSlice.getSqueezedShape().dimension()) {
+            valueStrides = JcUtils.broadcastStrides(valueShape, target);
+        } else {
+            // the value matches the squeezed shape, the squeezed axes are read with stride 0
+            long[] squeezed = JcUtils.broadcastStrides(valueShape, fullSlice.getSqueezedShape());
+            int[] toSqueeze = fullSlice.getToSqueeze();
+            valueStrides = new long[target.dimension()];
+            for (int i = 0, j = 0; i < valueStrides.length; ++i) {
+                final int axis = i;
+                if (Arrays.stream(toSqueeze).noneMatch(a -> a == axis)) {
+                    valueStrides[i] = squeezed[j++];
+                }
+            }
+        }
+        setSlice(array, fullSlice, src, valueStrides);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void set(NDArray array, NDIndexFullSlice fullSlice, Number value) {
+        DataType dataType = array.getDataType();
+        ByteBuffer src = JcUtils.fromDoubles(new double[] {value.doubleValue()}, dataType);
+        setSlice(array, fullSlice, src, new long[fullSlice.getShape().dimension()]);
+    }
+
+    private void setSlice(
+            NDArray array, NDIndexFullSlice fullSlice, ByteBuffer src, long[] srcStrides) {
+        long[] strides = JcUtils.strides(array.getShape().getShape());
+        ByteBuffer dst;
+        if (array instanceof JcNDArray) {
+            // update the data in place, the views of the array see the update
+            dst = JcNDArray.dataOf(array);
+        } else {
+            ByteBuffer data = array.toByteBuffer();
+            dst = ByteBuffer.allocateDirect(data.remaining()).order(data.order());
+            dst.put(data);
+            dst.rewind();
+        }
+        JcUtils.stridedCopy(
+                src,
+                0,
+                srcStrides,
+                dst,
+                offset(fullSlice, strides),
+                stepStrides(fullSlice, strides),
+                fullSlice.getShape().getShape(),
+                array.getDataType().getNumOfBytes());
+        if (!(array instanceof JcNDArray)) {
+            array.set(dst);
+        }
+    }
+
+    // wraps the data of the array without copying it
+    private JcNDArray view(NDArray array) {
+        return new JcNDArray(
+                manager, JcNDArray.dataOf(array), array.getShape(), array.getDataType());
+    }
+
+    private static long offset(NDIndexFullSlice fullSlice, long[] strides) {
+        long[] min = fullSlice.getMin();
+        long offset = 0;
+        for (int i = 0; i < strides.length; ++i) {
+            offset += min[i] * strides[i];
+        }
+        return offset;
+    }
+
+    private static long[] stepStrides(NDIndexFullSlice fullSlice, long[] strides) {
+        long[] step = fullSlice.getStep();
+        long[] ret = new long[strides.length];
+        for (int i = 0; i < strides.length; ++i) {
+            ret[i] = strides[i] * step[i];
+        }
+        return ret;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.javacpu.engine;
+
+import ai.djl.Device;
+import ai.djl.engine.Engine;
+import ai.djl.ndarray.BaseNDManager;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.util.RandomUtils;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/** {@code JcNDManager} is the JavaCpu implementation of {@link NDManager}. */
+public class JcNDManager extends BaseNDManager {
+
+    private static final JcNDManager SYSTEM_MANAGER = new SystemManager();
+
+    private JcNDManager(NDManager parent, Device device) {
+        super(parent, device);
+    }
+
+    static JcNDManager getSystemManager() {
+        return SYSTEM_MANAGER;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ByteBuffer allocateDirect(int capacity) {
+        return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public JcNDArray from(NDArray array) {
+        if (array == null || array instanceof JcNDArray) {
+            return (JcNDArray) array;
+        }
+        return create(array.toByteBuffer(), array.getShape(), array.getDataType());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public JcNDArray create(Buffer data, Shape shape, DataType dataType) {
+        if (dataType == DataType.STRING) {
+            throw new IllegalArgumentException("JavaCpu engine does not support String tensor.");
+        }
+        int size = Math.toIntExact(shape.size());
+        BaseNDManager.validateBuffer(data, dataType, size);
+        ByteBuffer bb = JcUtils.allocate(size, dataType);
+        BaseNDManager.copyBuffer(data, bb);
+        return new JcNDArray(this, bb, shape, dataType);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray create(Shape shape, DataType dataType) {
+        return zeros(shape, dataType);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray zeros(Shape shape, DataType dataType) {
+        return new JcNDArray(this, JcUtils.allocate(shape.size(), dataType), shape, dataType);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray full(Shape shape, float value, DataType dataType) {
+        double[] values = new double[Math.toIntExact(shape.size())];
+        Arrays.fill(values, value);
+        return new JcNDArray(this, JcUtils.fromDoubles(values, dataType), shape, dataType);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray arange(float start, float stop, float step, DataType dataType) {
+        if (step == 0) {
+            throw new IllegalArgumentException("step must not be 0");
+        }
+        int size = Math.max(0, (int) Math.ceil((stop - start) / step));
+        double[] values = new double[size];
+        for (int i = 0; i < size; ++i) {
+            values[i] = start + (double) i * step;
+        }
+        return new JcNDArray(
+                this, JcUtils.fromDoubles(values, dataType), new Shape(size), dataType);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray eye(int rows, int cols, int k, DataType dataType) {
+        double[] values = new double[rows * cols];
+        for (int i = 0; i < rows; ++i) {
+            int j = i + k;
+            if (j >= 0 && j < cols) {
+                values[i * cols + j] = 1;
+            }
+        }
+        return new JcNDArray(
+                this, JcUtils.fromDoubles(values, dataType), new Shape(rows, cols), dataType);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray linspace(float start, float stop, int num, boolean endpoint) {
+        if (num < 0) {
+            throw new IllegalArgumentException("Num argument must be non-negative");
+        }
+        float[] values = new float[num];
+        int div = endpoint ? num - 1 : num;
+        double step = div > 0 ? ((double) stop - start) / div : 0;
+        for (int i = 0; i < num; ++i) {
+            values[i] = (float) (start + i * step);
+        }
+        if (endpoint && num > 1) {
+            values[num - 1] = stop;
+        }
+        return new JcNDArray(this, JcUtils.fromFloats(values), new Shape(num), DataType.FLOAT32);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray randomInteger(long low, long high, Shape shape, DataType dataType) {
+        long[] values = new long[Math.toIntExact(shape.size())];
+        long range = high - low;
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = low + (long) (RandomUtils.RANDOM.nextDouble() * range);
+        }
+        return new JcNDArray(this, JcUtils.fromLongs(values, dataType), shape, dataType);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray randomUniform(float low, float high, Shape shape, DataType dataType) {
+        double[] values = new double[Math.toIntExact(shape.size())];
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = low + RandomUtils.RANDOM.nextDouble() * (high - low);
+        }
+        return new JcNDArray(this, JcUtils.fromDoubles(values, dataType), shape, dataType);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray randomNormal(float loc, float scale, Shape shape, DataType dataType) {
+        double[] values = new double[Math.toIntExact(shape.size())];
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = loc + RandomUtils.RANDOM.nextGaussian() * scale;
+        }
+        return new JcNDArray(this, JcUtils.fromDoubles(values, dataType), shape, dataType);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDManager newSubManager(Device device) {
+        JcNDManager manager = new JcNDManager(this, device);
+        attachInternal(manager.uid, manager);
+        return manager;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Engine getEngine() {
+        return Engine.getEngine(JcEngine.ENGINE_NAME);
+    }
+
+    /** The SystemManager is the root {@link JcNDManager} of which all others are children. */
+    private static final class SystemManager extends JcNDManager implements SystemNDManager {
+
+        SystemManager() {
+            super(null, null);
+        }
+    }
+}
@@ -0,0 +1,445 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.javacpu.engine;
+
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.util.Float16Utils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.stream.IntStream;
+
+/** A class containing utilities to read, write and move the data of {@link JcNDArray}. */
+final class JcUtils {
+
+    /** The number of elements below which an operation runs on the calling thread. */
+    static final int PARALLEL_THRESHOLD =
+            Integer.getInteger("ai.djl.javacpu.parallel_threshold", 32768);
+
+    private JcUtils() {}
+
+    static ByteBuffer allocate(long size, DataType dataType) {
+        long bytes = size * dataType.getNumOfBytes();
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("JavaCpu NDArray cannot exceed 2GB: " + bytes);
+        }
+        return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+    }
+
+    static float[] toFloats(ByteBuffer data, DataType dataType) {
+        if (dataType == DataType.FLOAT32) {
+            ByteBuffer bb = data.duplicate().order(ByteOrder.nativeOrder());
+            bb.rewind();
+            float[] ret = new float[bb.remaining() / 4];
+            bb.asFloatBuffer().get(ret);
+            return ret;
+        }
+        double[] values = toDoubles(data, dataType);
+        float[] ret = new float[values.length];
+        for (int i = 0; i < ret.length; ++i) {
+            ret[i] = (float) values[i];
+        }
+        return ret;
+    }
+
+    static double[] toDoubles(ByteBuffer data, DataType dataType) {
+        ByteBuffer bb = data.duplicate().order(ByteOrder.nativeOrder());
+        bb.rewind();
+        int size = bb.remaining() / dataType.getNumOfBytes();
+        double[] ret = new double[size];
+        switch (dataType) {
+            case FLOAT32:
+                for (int i = 0; i < size; ++i) {
+                    ret[i] = bb.getFloat(i * 4);
+                }
+                break;
+            case FLOAT64:
+                bb.asDoubleBuffer().get(ret);
+                break;
+            case FLOAT16:
+                for (int i = 0; i < size; ++i) {
+                    ret[i] = Float16Utils.halfToFloat(bb.getShort(i * 2));
+                }
+                break;
+            case INT32:
+                for (int i = 0; i < size; ++i) {
+                    ret[i] = bb.getInt(i * 4);
+                }
+                break;
+            case INT64:
+                for (int i = 0; i < size; ++i) {
+                    ret[i] = bb.getLong(i * 8);
+                }
+                break;
+            case UINT8:
+                for (int i = 0; i < size; ++i) {
+                    ret[i] = bb.get(i) & 0xff;
+                }
+                break;
+            case INT8:
+            case BOOLEAN:
+                for (int i = 0; i < size; ++i) {
+                    ret[i] = bb.get(i);
+                }
+                break;
+            default:
+                throw new UnsupportedOperationException("Unsupported data type: " + dataType);
+        }
+        return ret;
+    }
+
+    static long[] toLongs(ByteBuffer data, DataType dataType) {
+        if (dataType == DataType.INT64) {
+            ByteBuffer bb = data.duplicate().order(ByteOrder.nativeOrder());
+            bb.rewind();
+            long[] ret = new long[bb.remaining() / 8];
+            bb.asLongBuffer().get(ret);
+            return ret;
+        }
+        double[] values = toDoubles(data, dataType);
+        long[] ret = new long[values.length];
+        for (int i = 0; i < ret.length; ++i) {
+            ret[i] = (long) values[i];
+        }
+        return ret;
+    }
+
+    static ByteBuffer fromFloats(float[] values) {
+        ByteBuffer bb = allocate(values.length, DataType.FLOAT32);
+        bb.asFloatBuffer().put(values);
+        return bb;
+    }
+
+    static ByteBuffer fromFloats(float[] values, DataType dataType) {
+        if (dataType == DataType.FLOAT32) {
+            return fromFloats(values);
+        }
+        double[] converted = new double[values.length];
+        for (int i = 0; i < values.length; ++i) {
+            converted[i] = values[i];
+        }
+        return fromDoubles(converted, dataType);
+    }
+
+    static ByteBuffer fromDoubles(double[] values, DataType dataType) {
+        ByteBuffer bb = allocate(values.length, dataType);
+        switch (dataType) {
+            case FLOAT32:
+                for (int i = 0; i < values.length; ++i) {
+                    bb.putFloat(i * 4, (float) values[i]);
+                }
+                break;
+            case FLOAT64:
+                bb.asDoubleBuffer().put(values);
+                break;
+            case FLOAT16:
+                for (int i = 0; i < values.length; ++i) {
+                    bb.putShort(i * 2, Float16Utils.floatToHalf((float) values[i]));
+                }
+                break;
+            case INT32:
+                for (int i = 0; i < values.length; ++i) {
+                    bb.putInt(i * 4, (int) values[i]);
+                }
+                break;
+            case INT64:
+                for (int i = 0; i < values.length; ++i) {
+                    bb.putLong(i * 8, (long) values[i]);
+                }
+                break;
+            case UINT8:
+            case INT8:
+                for (int i = 0; i < values.length; ++i) {
+                    bb.put(i, (byte) (int) values[i]);
+                }
+                break;
+            case BOOLEAN:
+                for (int i = 0; i < values.length; ++i) {
+                    bb.put(i, values[i] != 0 ? (byte) 1 : 0);
+                }
+                break;
+            default:
+                throw new UnsupportedOperationException("Unsupported data type: " + dataType);
+        }
+        return bb;
+    }
+
+    static ByteBuffer fromLongs(long[] values) {
+        ByteBuffer bb = allocate(values.length, DataType.INT64);
+        bb.asLongBuffer().put(values);
+        return bb;
+    }
+
+    static ByteBuffer fromLongs(long[] values, DataType dataType) {
+        if (dataType == DataType.INT64) {
+            return fromLongs(values);
+        }
+        ByteBuffer bb = allocate(values.length, dataType);
+        for (int i = 0; i < values.length; ++i) {
+            switch (dataType) {
+                case INT32:
+                    bb.putInt(i * 4, (int) values[i]);
+                    break;
+                case UINT8:
+                case INT8:
+                    bb.put(i, (byte) values[i]);
+                    break;
+                case BOOLEAN:
+                    bb.put(i, values[i] != 0 ? (byte) 1 : 0);
+                    break;
+                default:
+                    throw new UnsupportedOperationException("Unsupported data type: " + dataType);
+            }
+        }
+        return bb;
+    }
+
+    /**
+     * Runs the task over {@code [0, size)}, split in chunks over the common fork join pool if the
+     * work is large enough.
+     *
+     * @param size the number of items
+     * @param cost the approximate number of elements processed per item
+     * @param task the task to run on a range of items
+     */
+    static void parallelFor(int size, long cost, RangeTask task) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        if (threads <= 1 || size <= 1 || size * cost < PARALLEL_THRESHOLD) {
+            task.run(0, size);
+            return;
+        }
+        int chunks = (int) Math.min(size, Math.min(threads * 4L, size * cost / 8192 + 1));
+        IntStream.range(0, chunks)
+                .parallel()
+                .forEach(
+                        c -> {
+                            int from = (int) ((long) size * c / chunks);
+                            int to = (int) ((long) size * (c + 1) / chunks);
+                            task.run(from, to);
+                        });
+    }
+
+    static long[] strides(long[] dims) {
+        long[] ret = new long[dims.length];
+        long stride = 1;
+        for (int i = dims.length - 1; i >= 0; --i) {
+            ret[i] = stride;
+            stride *= dims[i];
+        }
+        return ret;
+    }
+
+    static Shape broadcastShape(Shape a, Shape b) {
+        int dim = Math.max(a.dimension(), b.dimension());
+        long[] ret = new long[dim];
+        for (int i = 0; i < dim; ++i) {
+            int ai = a.dimension() - dim + i;
+            int bi = b.dimension() - dim + i;
+            long x = ai < 0 ? 1 : a.get(ai);
+            long y = bi < 0 ? 1 : b.get(bi);
+            if (x != y && x != 1 && y != 1) {
+                throw new IllegalArgumentException(
+                        "Shapes " + a + " and " + b + " cannot be broadcast together");
+            }
+            ret[i] = x == 1 ? y : x;
+        }
+        return new Shape(ret);
+    }
+
+    // Returns the strides of an array of the shape broadcast to the target shape, the broadcast
+    // dimensions have a stride of 0.
+    static long[] broadcastStrides(Shape shape, Shape target) {
+        int dim = target.dimension();
+        long[] ret = new long[dim];
+        long[] strides = strides(shape.getShape());
+        for (int i = 0; i < dim; ++i) {
+            int si = shape.dimension() - dim + i;
+            if (si >= 0 && shape.get(si) != 1) {
+                ret[i] = strides[si];
+            }
+        }
+        return ret;
+    }
+
+    // Returns the index in the source array of each element of an array of the target shape, read
+    // with the source strides from the source offset.
+    static int[] offsets(long[] dims, long[] strides, long offset) {
+        int size = Math.toIntExact(new Shape(dims).size());
+        int[] ret = new int[size];
+        if (size == 0) {
+            return ret;
+        }
+        int rank = dims.length;
+        if (rank == 0) {
+            ret[0] = (int) offset;
+            return ret;
+        }
+        long[] index = new long[rank];
+        int inner = (int) dims[rank - 1];
+        long innerStride = strides[rank - 1];
+        long base = offset;
+        for (int i = 0; i < size; i += inner) {
+            long pos = base;
+            for (int j = 0; j < inner; ++j) {
+                ret[i + j] = (int) pos;
+                pos += innerStride;
+            }
+            for (int d = rank - 2; d >= 0; --d) {
+                base += strides[d];
+                if (++index[d] < dims[d]) {
+                    break;
+                }
+                base -= strides[d] * dims[d];
+                index[d] = 0;
+            }
+        }
+        return ret;
+    }
+
+    // Copies the elements of the shape from the source to the destination, each read and written
+    // with their own strides and offsets in elements.
+    static void stridedCopy(
+            ByteBuffer src,
+            long srcOffset,
+            long[] srcStrides,
+            ByteBuffer dst,
+            long dstOffset,
+            long[] dstStrides,
+            long[] dims,
+            int elemSize) {
+        long size = new Shape(dims).size();
+        if (size == 0) {
+            return;
+        }
+        int rank = dims.length;
+        if (rank == 0) {
+            copyRun(src, (int) srcOffset, 1, dst, (int) dstOffset, 1, 1, elemSize);
+            return;
+        }
+        int inner = (int) dims[rank - 1];
+        int srcInner = (int) srcStrides[rank - 1];
+        int dstInner = (int) dstStrides[rank - 1];
+        long[] index = new long[rank];
+        long s = srcOffset;
+        long d = dstOffset;
+        for (long i = 0; i < size; i += inner) {
+            copyRun(src, (int) s, srcInner, dst, (int) d, dstInner, inner, elemSize);
+            for (int k = rank - 2; k >= 0; --k) {
+                s += srcStrides[k];
+                d += dstStrides[k];
+                if (++index[k] < dims[k]) {
+                    break;
+                }
+                s -= srcStrides[k] * dims[k];
+                d -= dstStrides[k] * dims[k];
+                index[k] = 0;
+            }
+        }
+    }
+
+    // Copies a contiguous run of elements from the source to the destination.
+    static void copy(
+            ByteBuffer src, int srcPos, ByteBuffer dst, int dstPos, int count, int elemSize) {
+        copyRun(src, srcPos, 1, dst, dstPos, 1, count, elemSize);
+    }
+
+    // Copies the elements at the indices from the source to the destination contiguously.
+    static void gather(ByteBuffer src, int[] indices, ByteBuffer dst, int elemSize) {
+        switch (elemSize) {
+            case 1:
+                for (int i = 0; i < indices.length; ++i) {
+                    dst.put(i, src.get(indices[i]));
+                }
+                break;
+            case 2:
+                for (int i = 0; i < indices.length; ++i) {
+                    dst.putShort(i * 2, src.getShort(indices[i] * 2));
+                }
+                break;
+            case 4:
+                for (int i = 0; i < indices.length; ++i) {
+                    dst.putInt(i * 4, src.getInt(indices[i] * 4));
+                }
+                break;
+            case 8:
+                for (int i = 0; i < indices.length; ++i) {
+                    dst.putLong(i * 8, src.getLong(indices[i] * 8));
+                }
+                break;
+            default:
+                throw new AssertionError("Unsupported element size: " + elemSize);
+        }
+    }
+
+    private static void copyRun(
+            ByteBuffer src,
+            int srcPos,
+            int srcStride,
+            ByteBuffer dst,
+            int dstPos,
+            int dstStride,
+            int count,
+            int elemSize) {
+        if (srcStride == 1 && dstStride == 1) {
+            // contiguous run, a single bulk copy
+            ByteBuffer from = src.duplicate();
+            from.limit((srcPos + count) * elemSize).position(srcPos * elemSize);
+            ByteBuffer to = dst.duplicate();
+            to.position(dstPos * elemSize);
+            to.put(from);
+            return;
+        }
+        switch (elemSize) {
+            case 1:
+                for (int i = 0; i < count; ++i) {
+                    dst.put(dstPos + i * dstStride, src.get(srcPos + i * srcStride));
+                }
+                break;
+            case 2:
+                for (int i = 0; i < count; ++i) {
+                    dst.putShort(
+                            (dstPos + i * dstStride) * 2,
+                            src.getShort((srcPos + i * srcStride) * 2));
+                }
+                break;
+            case 4:
+                for (int i = 0; i < count; ++i) {
+                    dst.putInt(
+                            (dstPos + i * dstStride) * 4, src.getInt((srcPos + i * srcStride) * 4));
+                }
+                break;
+            case 8:
+                for (int i = 0; i < count; ++i) {
+                    dst.putLong(
+                            (dstPos + i * dstStride) * 8,
+                            src.getLong((srcPos + i * srcStride) * 8));
+                }
+                break;
+            default:
+                throw new AssertionError("Unsupported element size: " + elemSize);
+        }
+    }
+
+    /** A task run on a range of items. */
+    interface RangeTask {
+
+        /**
+         * Runs the task on the items of {@code [from, to)}.
+         *
+         * @param from the first item
+         * @param to the end of the range, exclusive
+         */
+        void run(int from, int to);
+    }
+}
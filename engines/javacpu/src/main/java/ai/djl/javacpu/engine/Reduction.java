@@ -0,0 +1,188 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.javacpu.engine;
+
+/**
+ * The reductions of the JavaCpu engine.
+ *
+ * <p>A reduction along an axis that is not the last one accumulates whole rows, which keeps the
+ * inner loop contiguous and vectorized.
+ */
+enum Reduction {
+    SUM(0) {
+        @Override
+        double apply(double a, double b) {
+            return a + b;
+        }
+
+        @Override
+        void accumulate(float[] acc, int ao, float[] x, int xo, int len) {
+            for (int i = 0; i < len; ++i) {
+                acc[ao + i] += x[xo + i];
+            }
+        }
+    },
+    PROD(1) {
+        @Override
+        double apply(double a, double b) {
+            return a * b;
+        }
+
+        @Override
+        void accumulate(float[] acc, int ao, float[] x, int xo, int len) {
+            for (int i = 0; i < len; ++i) {
+                acc[ao + i] *= x[xo + i];
+            }
+        }
+    },
+    MAX(Double.NEGATIVE_INFINITY) {
+        @Override
+        double apply(double a, double b) {
+            return Math.max(a, b);
+        }
+
+        @Override
+        void accumulate(float[] acc, int ao, float[] x, int xo, int len) {
+            for (int i = 0; i < len; ++i) {
+                acc[ao + i] = Math.max(acc[ao + i], x[xo + i]);
+            }
+        }
+    },
+    MIN(Double.POSITIVE_INFINITY) {
+        @Override
+        double apply(double a, double b) {
+            return Math.min(a, b);
+        }
+
+        @Override
+        void accumulate(float[] acc, int ao, float[] x, int xo, int len) {
+            for (int i = 0; i < len; ++i) {
+                acc[ao + i] = Math.min(acc[ao + i], x[xo + i]);
+            }
+        }
+    };
+
+    private double identity;
+
+    Reduction(double identity) {
+        this.identity = identity;
+    }
+
+    /**
+     * Returns the identity of the reduction.
+     *
+     * @return the identity of the reduction
+     */
+    double getIdentity() {
+        return identity;
+    }
+
+    /**
+     * Combines two values.
+     *
+     * @param a the accumulated value
+     * @param b the value to combine
+     * @return the combined value
+     */
+    abstract double apply(double a, double b);
+
+    /**
+     * Combines a run of values into a run of accumulated values.
+     *
+     * @param acc the accumulated values
+     * @param ao the offset of the accumulated values
+     * @param x the values to combine
+     * @param xo the offset of the values to combine
+     * @param len the number of values
+     */
+    abstract void accumulate(float[] acc, int ao, float[] x, int xo, int len);
+
+    /**
+     * Reduces the values along an axis of a float array.
+     *
+     * @param x the values in row-major order
+     * @param dims the shape of the values
+     * @param axis the axis to reduce
+     * @return the reduced values, with the axis of size 1
+     */
+    float[] reduce(float[] x, long[] dims, int axis) {
+        int len = (int) dims[axis];
+        int inner = 1;
+        for (int i = axis + 1; i < dims.length; ++i) {
+            inner *= (int) dims[i];
+        }
+        int outer = 1;
+        for (int i = 0; i < axis; ++i) {
+            outer *= (int) dims[i];
+        }
+        float[] out = new float[outer * inner];
+        int innerSize = inner;
+        JcUtils.parallelFor(
+                outer,
+                (long) len * inner,
+                (from, to) -> {
+                    for (int o = from; o < to; ++o) {
+                        int base = o * len * innerSize;
+                        int ao = o * innerSize;
+                        if (len == 0) {
+                            for (int i = 0; i < innerSize; ++i) {
+                                out[ao + i] = (float) identity;
+                            }
+                        } else if (innerSize == 1) {
+                            double acc = x[base];
+                            for (int k = 1; k < len; ++k) {
+                                acc = apply(acc, x[base + k]);
+                            }
+                            out[ao] = (float) acc;
+                        } else {
+                            System.arraycopy(x, base, out, ao, innerSize);
+                            for (int k = 1; k < len; ++k) {
+                                accumulate(out, ao, x, base + k * innerSize, innerSize);
+                            }
+                        }
+                    }
+                });
+        return out;
+    }
+
+    /**
+     * Reduces the values along an axis of a double array.
+     *
+     * @param x the values in row-major order
+     * @param dims the shape of the values
+     * @param axis the axis to reduce
+     * @return the reduced values, with the axis of size 1
+     */
+    double[] reduce(double[] x, long[] dims, int axis) {
+        int len = (int) dims[axis];
+        int inner = 1;
+        for (int i = axis + 1; i < dims.length; ++i) {
+            inner *= (int) dims[i];
+        }
+        int outer = 1;
+        for (int i = 0; i < axis; ++i) {
+            outer *= (int) dims[i];
+        }
+        double[] out = new double[outer * inner];
+        for (int o = 0; o < outer; ++o) {
+            for (int i = 0; i < inner; ++i) {
+                double acc = identity;
+                for (int k = 0; k < len; ++k) {
+                    acc = apply(acc, x[(o * len + k) * inner + i]);
+                }
+                out[o * inner + i] = acc;
+            }
+        }
+        return out;
+    }
+}
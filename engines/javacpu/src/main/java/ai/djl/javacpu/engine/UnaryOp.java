@@ -0,0 +1,317 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.javacpu.engine;
+
+/** The element-wise unary operators of the JavaCpu engine. */
+enum UnaryOp {
+    NEG(Kind.SAME) {
+        @Override
+        double apply(double a) {
+            return -a;
+        }
+
+        @Override
+        void apply(float[] x, float[] out, int from, int to) {
+            for (int i = from; i < to; ++i) {
+                out[i] = -x[i];
+            }
+        }
+    },
+    ABS(Kind.SAME) {
+        @Override
+        double apply(double a) {
+            return Math.abs(a);
+        }
+
+        @Override
+        void apply(float[] x, float[] out, int from, int to) {
+            for (int i = from; i < to; ++i) {
+                out[i] = Math.abs(x[i]);
+            }
+        }
+    },
+    SQUARE(Kind.SAME) {
+        @Override
+        double apply(double a) {
+            return a * a;
+        }
+
+        @Override
+        void apply(float[] x, float[] out, int from, int to) {
+            for (int i = from; i < to; ++i) {
+                out[i] = x[i] * x[i];
+            }
+        }
+    },
+    RELU(Kind.SAME) {
+        @Override
+        double apply(double a) {
+            return a > 0 ? a : 0;
+        }
+
+        @Override
+        void apply(float[] x, float[] out, int from, int to) {
+            for (int i = from; i < to; ++i) {
+                out[i] = Math.max(x[i], 0f);
+            }
+        }
+    },
+    SIGN(Kind.SAME) {
+        @Override
+        double apply(double a) {
+            return Math.signum(a);
+        }
+    },
+    FLOOR(Kind.SAME) {
+        @Override
+        double apply(double a) {
+            return Math.floor(a);
+        }
+    },
+    CEIL(Kind.SAME) {
+        @Override
+        double apply(double a) {
+            return Math.ceil(a);
+        }
+    },
+    ROUND(Kind.SAME) {
+        @Override
+        double apply(double a) {
+            return Math.rint(a);
+        }
+    },
+    TRUNC(Kind.SAME) {
+        @Override
+        double apply(double a) {
+            return a < 0 ? Math.ceil(a) : Math.floor(a);
+        }
+    },
+    SQRT(Kind.FLOATING) {
+        @Override
+        double apply(double a) {
+            return Math.sqrt(a);
+        }
+    },
+    CBRT(Kind.FLOATING) {
+        @Override
+        double apply(double a) {
+            return Math.cbrt(a);
+        }
+    },
+    EXP(Kind.FLOATING) {
+        @Override
+        double apply(double a) {
+            return Math.exp(a);
+        }
+    },
+    LOG(Kind.FLOATING) {
+        @Override
+        double apply(double a) {
+            return Math.log(a);
+        }
+    },
+    LOG10(Kind.FLOATING) {
+        @Override
+        double apply(double a) {
+            return Math.log10(a);
+        }
+    },
+    LOG2(Kind.FLOATING) {
+        @Override
+        double apply(double a) {
+            return Math.log(a) / Math.log(2);
+        }
+    },
+    SIN(Kind.FLOATING) {
+        @Override
+        double apply(double a) {
+            return Math.sin(a);
+        }
+    },
+    COS(Kind.FLOATING) {
+        @Override
+        double apply(double a) {
+            return Math.cos(a);
+        }
+    },
+    TAN(Kind.FLOATING) {
+        @Override
+        double apply(double a) {
+            return Math.tan(a);
+        }
+    },
+    ASIN(Kind.FLOATING) {
+        @Override
+        double apply(double a) {
+            return Math.asin(a);
+        }
+    },
+    ACOS(Kind.FLOATING) {
+        @Override
+        double apply(double a) {
+            return Math.acos(a);
+        }
+    },
+    ATAN(Kind.FLOATING) {
+        @Override
+        double apply(double a) {
+            return Math.atan(a);
+        }
+    },
+    SINH(Kind.FLOATING) {
+        @Override
+        double apply(double a) {
+            return Math.sinh(a);
+        }
+    },
+    COSH(Kind.FLOATING) {
+        @Override
+        double apply(double a) {
+            return Math.cosh(a);
+        }
+    },
+    TANH(Kind.FLOATING) {
+        @Override
+        double apply(double a) {
+            return Math.tanh(a);
+        }
+    },
+    ASINH(Kind.FLOATING) {
+        @Override
+        double apply(double a) {
+            return Math.log(a + Math.sqrt(a * a + 1));
+        }
+    },
+    ACOSH(Kind.FLOATING) {
+        @Override
+        double apply(double a) {
+            return Math.log(a + Math.sqrt(a * a - 1));
+        }
+    },
+    ATANH(Kind.FLOATING) {
+        @Override
+        double apply(double a) {
+            return 0.5 * Math.log((1 + a) / (1 - a));
+        }
+    },
+    TO_DEGREES(Kind.FLOATING) {
+        @Override
+        double apply(double a) {
+            return Math.toDegrees(a);
+        }
+    },
+    TO_RADIANS(Kind.FLOATING) {
+        @Override
+        double apply(double a) {
+            return Math.toRadians(a);
+        }
+    },
+    SIGMOID(Kind.FLOATING) {
+        @Override
+        double apply(double a) {
+            return 1 / (1 + Math.exp(-a));
+        }
+    },
+    SOFT_PLUS(Kind.FLOATING) {
+        @Override
+        double apply(double a) {
+            // log(1 + exp(a)) without overflow for large a
+            return Math.max(a, 0) + Math.log1p(Math.exp(-Math.abs(a)));
+        }
+    },
+    SOFT_SIGN(Kind.FLOATING) {
+        @Override
+        double apply(double a) {
+            return a / (1 + Math.abs(a));
+        }
+    },
+    SELU(Kind.FLOATING) {
+        @Override
+        double apply(double a) {
+            double alpha = 1.6732632423543772848170429916717;
+            double scale = 1.0507009873554804934193349852946;
+            return scale * (a > 0 ? a : alpha * (Math.exp(a) - 1));
+        }
+    },
+    GELU(Kind.FLOATING) {
+        @Override
+        double apply(double a) {
+            return 0.5 * a * (1 + Math.tanh(0.7978845608028654 * (a + 0.044715 * a * a * a)));
+        }
+    },
+    IS_NAN(Kind.PREDICATE) {
+        @Override
+        double apply(double a) {
+            return Double.isNaN(a) ? 1 : 0;
+        }
+    },
+    IS_INFINITE(Kind.PREDICATE) {
+        @Override
+        double apply(double a) {
+            return Double.isInfinite(a) ? 1 : 0;
+        }
+    },
+    LOGICAL_NOT(Kind.PREDICATE) {
+        @Override
+        double apply(double a) {
+            return a == 0 ? 1 : 0;
+        }
+    };
+
+    private Kind kind;
+
+    UnaryOp(Kind kind) {
+        this.kind = kind;
+    }
+
+    /**
+     * Returns the kind of the result of the operator.
+     *
+     * @return the kind of the result of the operator
+     */
+    Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Applies the operator to a value.
+     *
+     * @param a the operand
+     * @return the result
+     */
+    abstract double apply(double a);
+
+    /**
+     * Applies the operator to a range of values.
+     *
+     * @param x the operands
+     * @param out the results
+     * @param from the first index
+     * @param to the end index, exclusive
+     */
+    void apply(float[] x, float[] out, int from, int to) {
+        for (int i = from; i < to; ++i) {
+            out[i] = (float) apply(x[i]);
+        }
+    }
+
+    /** The kinds of result of an operator. */
+    enum Kind {
+        /** The result has the data type of the operand. */
+        SAME,
+        /** The result is floating point, integer operands are promoted to float32. */
+        FLOATING,
+        /** The result is boolean. */
+        PREDICATE
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.javacpu.engine;
+
+import ai.djl.engine.Engine;
+import ai.djl.ndarray.BaseNDManager;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDArrayAdapter;
+import ai.djl.ndarray.NDArrays;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.index.NDIndex;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class JcNDArrayTest {
+
+    @Test
+    public void testArithmetic() {
+        try (NDManager manager = Engine.getEngine("JavaCpu").newBaseManager()) {
+            NDArray a = manager.create(new float[] {1f, 2f, 3f, 4f, 5f, 6f}, new Shape(2, 3));
+            NDArray b = manager.create(new float[] {10f, 20f, 30f});
+            Assert.assertEquals(
+                    a.add(b).toFloatArray(), new float[] {11f, 22f, 33f, 14f, 25f, 36f});
+            Assert.assertEquals(a.mul(2).toFloatArray(), new float[] {2f, 4f, 6f, 8f, 10f, 12f});
+            Assert.assertEquals(
+                    a.getNDArrayInternal().rsub(1).toFloatArray(),
+                    new float[] {0f, -1f, -2f, -3f, -4f, -5f});
+            Assert.assertEquals(
+                    a.gt(3).toBooleanArray(),
+                    new boolean[] {false, false, false, true, true, true});
+
+            NDArray c = manager.create(new int[] {-7, 7});
+            Assert.assertEquals(c.mod(3).toIntArray(), new int[] {2, 1});
+            Assert.assertEquals(c.mul(2).getDataType(), DataType.INT32);
+
+            a.subi(1);
+            Assert.assertEquals(a.toFloatArray(), new float[] {0f, 1f, 2f, 3f, 4f, 5f});
+        }
+    }
+
+    @Test
+    public void testReduction() {
+        try (NDManager manager = Engine.getEngine("JavaCpu").newBaseManager()) {
+            NDArray a = manager.create(new float[] {1f, 2f, 3f, 4f, 5f, 6f}, new Shape(2, 3));
+            Assert.assertEquals(a.sum().getFloat(), 21f);
+            Assert.assertEquals(a.sum(new int[] {0}).toFloatArray(), new float[] {5f, 7f, 9f});
+            Assert.assertEquals(a.max(new int[] {1}, true).getShape(), new Shape(2, 1));
+            Assert.assertEquals(a.mean(new int[] {1}).toFloatArray(), new float[] {2f, 5f});
+            Assert.assertEquals(a.argMax(1).toLongArray(), new long[] {2, 2});
+
+            float[] softmax = a.softmax(1).toFloatArray();
+            Assert.assertEquals(softmax[0] + softmax[1] + softmax[2], 1f, 1e-6f);
+            Assert.assertTrue(softmax[2] > softmax[1]);
+        }
+    }
+
+    @Test
+    public void testMatMul() {
+        try (NDManager manager = Engine.getEngine("JavaCpu").newBaseManager()) {
+            NDArray a = manager.create(new float[] {1f, 2f, 3f, 4f, 5f, 6f}, new Shape(2, 3));
+            NDArray b = manager.create(new float[] {1f, 0f, 0f, 1f, 1f, 1f}, new Shape(3, 2));
+            NDArray c = a.matMul(b);
+            Assert.assertEquals(c.getShape(), new Shape(2, 2));
+            Assert.assertEquals(c.toFloatArray(), new float[] {4f, 5f, 10f, 11f});
+            Assert.assertEquals(a.transpose().getShape(), new Shape(3, 2));
+            Assert.assertEquals(a.transpose().toFloatArray(), new float[] {1f, 4f, 2f, 5f, 3f, 6f});
+        }
+    }
+
+    @Test
+    public void testIndexing() {
+        try (NDManager manager = Engine.getEngine("JavaCpu").newBaseManager()) {
+            NDArray a = manager.arange(12f).reshape(3, 4);
+            Assert.assertEquals(a.get(1).toFloatArray(), new float[] {4f, 5f, 6f, 7f});
+            Assert.assertEquals(
+                    a.get(":, 1::2").toFloatArray(), new float[] {1f, 3f, 5f, 7f, 9f, 11f});
+            Assert.assertEquals(a.get("-1, 2").getFloat(), 10f);
+
+            a.set(new NDIndex("0"), 0);
+            a.set(new NDIndex(":, 3"), manager.create(new float[] {-1f, -2f, -3f}));
+            Assert.assertEquals(
+                    a.toFloatArray(),
+                    new float[] {0f, 0f, 0f, -1f, 4f, 5f, 6f, -2f, 8f, 9f, 10f, -3f});
+
+            NDArray index = manager.create(new long[] {2, 0, 1}, new Shape(3, 1));
+            Assert.assertEquals(
+                    a.get(new NDIndex().addAllDim().addPickDim(index)).toFloatArray(),
+                    new float[] {0f, 4f, 9f});
+        }
+    }
+
+    @Test
+    public void testConcat() {
+        try (NDManager manager = Engine.getEngine("JavaCpu").newBaseManager()) {
+            NDArray a = manager.create(new float[] {1f, 2f}, new Shape(1, 2));
+            NDArray b = manager.create(new float[] {3f, 4f, 5f, 6f}, new Shape(2, 2));
+            NDArray c = NDArrays.concat(new NDList(a, b));
+            Assert.assertEquals(c.getShape(), new Shape(3, 2));
+            Assert.assertEquals(c.toFloatArray(), new float[] {1f, 2f, 3f, 4f, 5f, 6f});
+
+            NDArray d = NDArrays.stack(new NDList(a, a), 1);
+            Assert.assertEquals(d.getShape(), new Shape(1, 2, 2));
+            Assert.assertEquals(d.toFloatArray(), new float[] {1f, 2f, 1f, 2f});
+        }
+    }
+
+    @Test
+    public void testParallel() {
+        int size = JcUtils.PARALLEL_THRESHOLD * 4 + 3;
+        AtomicIntegerArray visits = new AtomicIntegerArray(size);
+        JcUtils.parallelFor(
+                size,
+                1,
+                (from, to) -> {
+                    for (int i = from; i < to; ++i) {
+                        visits.incrementAndGet(i);
+                    }
+                });
+        for (int i = 0; i < size; ++i) {
+            Assert.assertEquals(visits.get(i), 1);
+        }
+
+        float[] values = new float[size];
+        float[] doubled = new float[size];
+        for (int i = 0; i < size; ++i) {
+            values[i] = i % 100;
+            doubled[i] = values[i] * 2;
+        }
+        try (NDManager manager = Engine.getEngine("JavaCpu").newBaseManager()) {
+            NDArray a = manager.create(values);
+            Assert.assertEquals(a.add(a).toFloatArray(), doubled);
+            Assert.assertEquals(a.mul(2).toFloatArray(), doubled);
+            Assert.assertEquals(
+                    a.gte(50).toType(DataType.INT64, false).sum().getLong(),
+                    size / 100 * 50L + Math.max(0, size % 100 - 50));
+
+            NDArray b = manager.ones(new Shape(256, 256));
+            NDArray c = b.matMul(b);
+            Assert.assertEquals(c.getShape(), new Shape(256, 256));
+            Assert.assertEquals(c.sum().getFloat(), 256f * 256 * 256);
+        }
+    }
+
+    @Test
+    public void testHybridFallback() {
+        try (NDManager manager = Engine.getEngine("JavaCpu").newBaseManager()) {
+            // set overwrites the data in place
+            NDArray b = manager.create(new float[] {1f, 2f});
+            ByteBuffer data = JcNDArray.dataOf(b);
+            b.set(new float[] {3f, 4f});
+            Assert.assertSame(JcNDArray.dataOf(b), data);
+            Assert.assertEquals(b.toFloatArray(), new float[] {3f, 4f});
+
+            NDArray a = new HybridArray(manager, new float[] {1f, 2f, 3f, 4f});
+            Assert.assertEquals(a.add(1).toFloatArray(), new float[] {2f, 3f, 4f, 5f});
+            NDArray view = a.reshape(2, 2);
+            ByteBuffer cached = JcNDArray.dataOf(view);
+
+            // the alternative copy is reused while the array is unchanged
+            Assert.assertEquals(a.mul(2).toFloatArray(), new float[] {2f, 4f, 6f, 8f});
+            Assert.assertSame(JcNDArray.dataOf(a.reshape(4)), cached);
+
+            // and refreshed once it changes, the earlier views keep the previous data
+            a.set(new float[] {5f, 6f, 7f, 8f});
+            Assert.assertEquals(a.add(1).toFloatArray(), new float[] {6f, 7f, 8f, 9f});
+            Assert.assertNotSame(JcNDArray.dataOf(a.reshape(4)), cached);
+            Assert.assertEquals(view.toFloatArray(), new float[] {1f, 2f, 3f, 4f});
+            a.close();
+        }
+    }
+
+    /** An array of another engine that runs all its operations on JavaCpu. */
+    private static final class HybridArray extends NDArrayAdapter {
+
+        private ByteBuffer data;
+
+        HybridArray(NDManager manager, float[] values) {
+            super(
+                    manager,
+                    manager,
+                    new Shape(values.length),
+                    DataType.FLOAT32,
+                    UUID.randomUUID().toString());
+            data = JcUtils.fromFloats(values);
+            manager.attachInternal(uid, this);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void set(Buffer buffer) {
+            ByteBuffer bb = JcUtils.allocate(shape.size(), dataType);
+            BaseNDManager.copyBuffer(buffer, bb);
+            data = bb;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void intern(NDArray replaced) {
+            data = ((HybridArray) replaced).data;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void detach() {
+            manager.detachInternal(getUid());
+            manager = JcNDManager.getSystemManager();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public ByteBuffer toByteBuffer() {
+            data.rewind();
+            return data;
+        }
+    }
+}
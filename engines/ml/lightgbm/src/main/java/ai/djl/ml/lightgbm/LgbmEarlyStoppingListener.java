@@ -0,0 +1,77 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.ml.lightgbm;
+
+import ai.djl.training.Trainer;
+import ai.djl.training.listener.TrainingListenerAdapter;
+
+/**
+ * {@code LgbmEarlyStoppingListener} stops an {@link LgbmTrainer} when the validation metric has not
+ * improved for a number of boosting iterations.
+ *
+ * <p>The trained model keeps the iterations up to the best validation result.
+ */
+public class LgbmEarlyStoppingListener extends TrainingListenerAdapter {
+
+    private int patience;
+    private Float best;
+    private int bestIteration;
+
+    /**
+     * Constructs a {@code LgbmEarlyStoppingListener}.
+     *
+     * @param patience the number of iterations without improvement before the training stops
+     */
+    public LgbmEarlyStoppingListener(int patience) {
+        this.patience = patience;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onTrainingBegin(Trainer trainer) {
+        best = null;
+        bestIteration = 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onEpoch(Trainer trainer) {
+        if (!(trainer instanceof LgbmTrainer)) {
+            return;
+        }
+        LgbmTrainer lgbmTrainer = (LgbmTrainer) trainer;
+        Float value = lgbmTrainer.getTrainingResult().getValidateLoss();
+        if (value == null) {
+            return;
+        }
+        int iteration = lgbmTrainer.getIteration();
+        if (iteration == 1) {
+            // a new fit() call with the same trainer
+            best = null;
+        }
+        boolean improved;
+        if (best == null) {
+            improved = true;
+        } else if (lgbmTrainer.isHigherBetter()) {
+            improved = value > best;
+        } else {
+            improved = value < best;
+        }
+        if (improved) {
+            best = value;
+            bestIteration = iteration;
+        } else if (iteration - bestIteration >= patience) {
+            lgbmTrainer.stopTraining(bestIteration);
+        }
+    }
+}
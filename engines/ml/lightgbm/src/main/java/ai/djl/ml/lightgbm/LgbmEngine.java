@@ -59,6 +59,9 @@ public final class LgbmEngine extends Engine {
             if (engine.getRank() < getRank()) {
                 // alternativeEngine should not have the same rank as OnnxRuntime
                 alternativeEngine = engine;
+            } else if (Engine.hasEngine("JavaCpu")) {
+                // fall back to the pure Java engine when no full engine is available
+                alternativeEngine = Engine.getEngine("JavaCpu");
             }
             initialized = true;
         }
@@ -17,6 +17,7 @@ import ai.djl.Model;
 import ai.djl.ml.lightgbm.jni.JniUtils;
 import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.DataType;
+import ai.djl.training.TrainingConfig;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -57,6 +58,45 @@ public class LgbmModel extends BaseModel {
         block = JniUtils.loadModel((LgbmNDManager) manager, modelFile.toAbsolutePath().toString());
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The returned {@link LgbmTrainer} builds the boosted trees with {@link LgbmTrainer#fit(int,
+     * ai.djl.training.dataset.RandomAccessDataset, ai.djl.training.dataset.RandomAccessDataset)}.
+     */
+    @Override
+    public LgbmTrainer newTrainer(TrainingConfig trainingConfig) {
+        if (block != null) {
+            throw new UnsupportedOperationException(
+                    "LightGBM can only train a model that has not been loaded");
+        }
+        return new LgbmTrainer(this, trainingConfig);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The model is saved in the LightGBM text format as {@code <modelName>.txt}, which can be
+     * read back with {@link #load(Path, String, Map)}.
+     */
+    @Override
+    public void save(Path modelPath, String newModelName) throws IOException {
+        if (block == null) {
+            throw new IllegalStateException("Model has not been trained or loaded yet.");
+        }
+        if (newModelName == null || newModelName.isEmpty()) {
+            newModelName = modelName;
+        }
+        Files.createDirectories(modelPath);
+        LgbmSymbolBlock symbolBlock = (LgbmSymbolBlock) block;
+        Path modelFile = modelPath.resolve(newModelName + ".txt");
+        JniUtils.saveModel(
+                symbolBlock.getHandle(),
+                symbolBlock.getIterations(),
+                modelFile.toAbsolutePath().toString());
+        modelDir = modelPath.toAbsolutePath();
+    }
+
     private Path findModelFile(String prefix) {
         if (Files.isRegularFile(modelDir)) {
             Path file = modelDir;
@@ -101,6 +101,15 @@ public class LgbmSymbolBlock extends AbstractSymbolBlock implements AutoCloseabl
         return pointer;
     }
 
+    /**
+     * Returns the number of boosting iterations used for inference.
+     *
+     * @return the number of boosting iterations used for inference
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
     /** {@inheritDoc} */
     @Override
     public ParameterList getDirectParameters() {
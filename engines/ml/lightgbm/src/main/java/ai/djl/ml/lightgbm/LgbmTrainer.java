@@ -0,0 +1,362 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.ml.lightgbm;
+
+import ai.djl.Model;
+import ai.djl.ml.lightgbm.jni.JniUtils;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.training.BoostingTrainer;
+import ai.djl.training.TrainingConfig;
+import ai.djl.training.dataset.RandomAccessDataset;
+import ai.djl.training.dataset.Record;
+import ai.djl.translate.TranslateException;
+
+import com.microsoft.ml.lightgbm.SWIGTYPE_p_float;
+import com.microsoft.ml.lightgbm.SWIGTYPE_p_p_void;
+import com.microsoft.ml.lightgbm.lightgbmlib;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntToLongFunction;
+
+/**
+ * {@code LgbmTrainer} trains a LightGBM model from DJL datasets.
+ *
+ * <p>The records of the {@link RandomAccessDataset} are streamed into a native LightGBM dataset a
+ * chunk at a time, so the full feature matrix is never materialized on the Java heap. The feature
+ * bins are computed from an evenly spaced sample of the training data, and the validation data
+ * shares the bins of the training data.
+ *
+ * <p>Each boosting iteration is reported to the {@link ai.djl.training.listener.TrainingListener}s
+ * as an epoch, and the LightGBM evaluation results are available through {@link
+ * #getTrainingResult()}. Use the {@link LgbmEarlyStoppingListener} to stop boosting when the
+ * validation metric stops improving.
+ */
+public class LgbmTrainer extends BoostingTrainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LgbmTrainer.class);
+
+    private static final int CHUNK_SIZE = 4096;
+    private static final int DEFAULT_SAMPLE_SIZE = 200000;
+
+    private List<String> metricNames;
+    private int numFeatures;
+    private int bestIteration;
+    private boolean stopped;
+
+    /**
+     * Creates an instance of {@code LgbmTrainer} with the given {@link LgbmModel} and {@link
+     * TrainingConfig}.
+     *
+     * <p>The LightGBM objective is derived from the loss of the {@link TrainingConfig}, and can be
+     * overridden with {@link #setParameter(String, Object)}. See <a
+     * href="https://lightgbm.readthedocs.io/en/latest/Parameters.html">LightGBM parameters</a> for
+     * the full list.
+     *
+     * @param model the model the trainer will train on
+     * @param trainingConfig the configuration used by the trainer
+     */
+    public LgbmTrainer(Model model, TrainingConfig trainingConfig) {
+        super(model, trainingConfig);
+        String objective =
+                getObjective(
+                        trainingConfig.getLossFunction(),
+                        "multiclass",
+                        "binary",
+                        "regression_l1",
+                        "regression");
+        parameters.put("objective", objective);
+        parameters.put("num_threads", String.valueOf(Runtime.getRuntime().availableProcessors()));
+        parameters.put("is_provide_training_metric", "true");
+        parameters.put("verbosity", "-1");
+    }
+
+    /**
+     * Trains the model for up to the given number of boosting iterations.
+     *
+     * <p>The trained model replaces the block of the {@link LgbmModel} and can be saved with {@link
+     * Model#save(Path, String)}.
+     *
+     * @param numIterations the maximum number of boosting iterations
+     * @param trainDataset the training dataset
+     * @param validateDataset the validation dataset, can be {@code null}
+     * @throws IOException if the datasets fail to read the records
+     * @throws TranslateException if the datasets fail to prepare
+     */
+    public void fit(
+            int numIterations,
+            RandomAccessDataset trainDataset,
+            RandomAccessDataset validateDataset)
+            throws IOException, TranslateException {
+        String params = getParameterString();
+        metricNames = getMetricNames();
+        iteration = 0;
+        bestIteration = 0;
+        stopped = false;
+
+        SWIGTYPE_p_p_void train = null;
+        SWIGTYPE_p_p_void validate = null;
+        SWIGTYPE_p_p_void booster = null;
+        try {
+            train = createDataset(trainDataset, null, params);
+            booster = JniUtils.createBooster(train, params);
+            if (validateDataset != null) {
+                validate = createDataset(validateDataset, train, params);
+                JniUtils.addValidData(booster, validate);
+            }
+            while (iteration < numIterations && !stopped) {
+                boolean finished = JniUtils.updateOneIter(booster);
+                ++iteration;
+                updateEvaluations(booster, validate != null);
+                notifyListeners(listener -> listener.onEpoch(this));
+                if (finished) {
+                    // no split can improve the model anymore
+                    break;
+                }
+            }
+            setBlock(booster, stopped ? bestIteration : iteration);
+        } finally {
+            if (booster != null) {
+                JniUtils.freeModel(booster);
+            }
+            if (validate != null) {
+                JniUtils.freeDataset(validate);
+            }
+            if (train != null) {
+                JniUtils.freeDataset(train);
+            }
+        }
+    }
+
+    /**
+     * Stops the training after the current iteration.
+     *
+     * @param best the number of iterations to keep in the trained model
+     */
+    public void stopTraining(int best) {
+        logger.debug("Stop training at iteration {}, best iteration: {}", iteration, best);
+        bestIteration = best;
+        stopped = true;
+    }
+
+    /**
+     * Returns whether a higher value of the first evaluation metric is better.
+     *
+     * @return whether a higher value of the first evaluation metric is better
+     */
+    public boolean isHigherBetter() {
+        if (metricNames == null || metricNames.isEmpty()) {
+            return false;
+        }
+        String metric = metricNames.get(0);
+        return metric.startsWith("auc")
+                || metric.startsWith("ndcg")
+                || metric.startsWith("map")
+                || metric.startsWith("average_precision");
+    }
+
+    private void setBlock(SWIGTYPE_p_p_void booster, int iterations) throws IOException {
+        // reload the model so that it no longer references the native training datasets
+        Path file = Files.createTempFile("lightgbm", ".txt");
+        try {
+            JniUtils.saveModel(booster, iterations, file.toAbsolutePath().toString());
+            Model model = getModel();
+            LgbmSymbolBlock previous = (LgbmSymbolBlock) model.getBlock();
+            if (previous != null) {
+                previous.close();
+            }
+            LgbmNDManager manager = (LgbmNDManager) model.getNDManager();
+            model.setBlock(JniUtils.loadModel(manager, file.toAbsolutePath().toString()));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private SWIGTYPE_p_p_void createDataset(
+            RandomAccessDataset dataset, SWIGTYPE_p_p_void reference, String params)
+            throws IOException, TranslateException {
+        dataset.prepare();
+        int rows = Math.toIntExact(dataset.size());
+        if (rows == 0) {
+            throw new IllegalArgumentException("Cannot train LightGBM with an empty dataset");
+        }
+        int cols = countFeatures(dataset);
+        if (reference == null) {
+            numFeatures = cols;
+        } else if (cols != numFeatures) {
+            throw new IllegalArgumentException(
+                    "The validation dataset has "
+                            + cols
+                            + " features, but the training dataset has "
+                            + numFeatures);
+        }
+
+        SWIGTYPE_p_p_void ret;
+        if (reference == null) {
+            // the bins are copied from the sampled dataset, which can be released right away
+            SWIGTYPE_p_p_void sampled = createReference(dataset, rows, params);
+            try {
+                ret = JniUtils.datasetFromReference(sampled, rows);
+            } finally {
+                JniUtils.freeDataset(sampled);
+            }
+        } else {
+            ret = JniUtils.datasetFromReference(reference, rows);
+        }
+
+        int chunkRows = Math.min(rows, CHUNK_SIZE);
+        SWIGTYPE_p_float data = lightgbmlib.new_floatArray((long) chunkRows * numFeatures);
+        SWIGTYPE_p_float labels = lightgbmlib.new_floatArray(rows);
+        try {
+            for (int start = 0; start < rows; start += chunkRows) {
+                int count = Math.min(chunkRows, rows - start);
+                readRows(dataset, i -> i, start, count, data, labels);
+                JniUtils.datasetPushRows(ret, data, count, numFeatures, start);
+            }
+            JniUtils.datasetSetLabels(ret, labels, rows);
+            return ret;
+        } catch (IOException | RuntimeException e) {
+            JniUtils.freeDataset(ret);
+            throw e;
+        } finally {
+            lightgbmlib.delete_floatArray(data);
+            lightgbmlib.delete_floatArray(labels);
+        }
+    }
+
+    private SWIGTYPE_p_p_void createReference(RandomAccessDataset dataset, int rows, String params)
+            throws IOException {
+        int sampleSize = DEFAULT_SAMPLE_SIZE;
+        String value = parameters.get("bin_construct_sample_cnt");
+        if (value != null) {
+            sampleSize = Integer.parseInt(value);
+        }
+        int sampleRows = Math.min(rows, sampleSize);
+        SWIGTYPE_p_float sample = lightgbmlib.new_floatArray((long) sampleRows * numFeatures);
+        try {
+            for (int start = 0; start < sampleRows; start += CHUNK_SIZE) {
+                int count = Math.min(CHUNK_SIZE, sampleRows - start);
+                readRows(dataset, i -> (long) i * rows / sampleRows, start, count, sample, null);
+            }
+            return JniUtils.datasetFromSample(sample, sampleRows, numFeatures, params);
+        } finally {
+            lightgbmlib.delete_floatArray(sample);
+        }
+    }
+
+    // reads the records [start, start + count) into the native buffers, when labels are read the
+    // data buffer only holds the current chunk, otherwise it holds all the rows
+    private void readRows(
+            RandomAccessDataset dataset,
+            IntToLongFunction indexer,
+            int start,
+            int count,
+            SWIGTYPE_p_float data,
+            SWIGTYPE_p_float labels)
+            throws IOException {
+        int offset = labels == null ? start * numFeatures : 0;
+        float[] row = new float[numFeatures];
+        try (NDManager manager = getManager().newSubManager()) {
+            for (int i = 0; i < count; ++i) {
+                Record record = dataset.get(manager, indexer.applyAsLong(start + i));
+                NDList features = record.getData();
+                if (countFeatures(features) != numFeatures) {
+                    throw new IllegalArgumentException(
+                            "All the records must have " + numFeatures + " features");
+                }
+                int pos = 0;
+                for (NDArray array : features) {
+                    pos = copy(array, row, pos);
+                }
+                int base = offset + i * numFeatures;
+                for (int j = 0; j < numFeatures; ++j) {
+                    lightgbmlib.floatArray_setitem(data, base + j, row[j]);
+                }
+                if (labels != null) {
+                    NDArray label = record.getLabels().head();
+                    if (label.size() != 1) {
+                        throw new IllegalArgumentException(
+                                "LightGBM expects a single label per record, but got "
+                                        + label.getShape());
+                    }
+                    copy(label, row, 0);
+                    lightgbmlib.floatArray_setitem(labels, start + i, row[0]);
+                }
+                record.getData().close();
+                record.getLabels().close();
+            }
+        }
+    }
+
+    private int countFeatures(RandomAccessDataset dataset) throws IOException {
+        try (NDManager manager = getManager().newSubManager()) {
+            return countFeatures(dataset.get(manager, 0).getData());
+        }
+    }
+
+    private void updateEvaluations(SWIGTYPE_p_p_void booster, boolean validate) {
+        putEvaluations("train", JniUtils.getEval(booster, 0));
+        if (validate) {
+            putEvaluations("validate", JniUtils.getEval(booster, 1));
+        }
+    }
+
+    private void putEvaluations(String prefix, double[] values) {
+        for (int i = 0; i < values.length; ++i) {
+            String name = i < metricNames.size() ? metricNames.get(i) : "metric" + i;
+            addEvaluation(prefix, name, (float) values[i], i == 0);
+        }
+    }
+
+    private String getParameterString() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, String> entry : parameters.entrySet()) {
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            sb.append(entry.getKey()).append('=').append(entry.getValue());
+        }
+        return sb.toString();
+    }
+
+    private List<String> getMetricNames() {
+        String metric = parameters.get("metric");
+        if (metric != null && !metric.isEmpty()) {
+            return new ArrayList<>(Arrays.asList(metric.split(",")));
+        }
+        String objective = parameters.get("objective");
+        switch (objective) {
+            case "regression":
+                return Collections.singletonList("l2");
+            case "regression_l1":
+                return Collections.singletonList("l1");
+            case "binary":
+                return Collections.singletonList("binary_logloss");
+            case "multiclass":
+                return Collections.singletonList("multi_logloss");
+            default:
+                return Collections.singletonList(objective);
+        }
+    }
+}
@@ -22,10 +22,12 @@ import ai.djl.ndarray.types.DataType;
 import ai.djl.util.Pair;
 
 import com.microsoft.ml.lightgbm.SWIGTYPE_p_double;
+import com.microsoft.ml.lightgbm.SWIGTYPE_p_float;
 import com.microsoft.ml.lightgbm.SWIGTYPE_p_int;
 import com.microsoft.ml.lightgbm.SWIGTYPE_p_long_long;
 import com.microsoft.ml.lightgbm.SWIGTYPE_p_p_void;
 import com.microsoft.ml.lightgbm.lightgbmlib;
+import com.microsoft.ml.lightgbm.lightgbmlibConstants;
 import com.microsoft.ml.lightgbm.lightgbmlibJNI;
 
 import java.nio.ByteBuffer;
@@ -54,6 +56,72 @@ public final class JniUtils {
         return new LgbmSymbolBlock(manager, iterations, handle);
     }
 
+    public static SWIGTYPE_p_p_void createBooster(SWIGTYPE_p_p_void train, String parameters) {
+        SWIGTYPE_p_p_void handle = lightgbmlib.new_voidpp();
+        int result =
+                lightgbmlib.LGBM_BoosterCreate(lightgbmlib.voidpp_value(train), parameters, handle);
+        checkCall(result);
+        return handle;
+    }
+
+    public static void addValidData(SWIGTYPE_p_p_void booster, SWIGTYPE_p_p_void dataset) {
+        int result =
+                lightgbmlib.LGBM_BoosterAddValidData(
+                        lightgbmlib.voidpp_value(booster), lightgbmlib.voidpp_value(dataset));
+        checkCall(result);
+    }
+
+    public static boolean updateOneIter(SWIGTYPE_p_p_void booster) {
+        SWIGTYPE_p_int isFinished = lightgbmlib.new_intp();
+        try {
+            int result =
+                    lightgbmlib.LGBM_BoosterUpdateOneIter(
+                            lightgbmlib.voidpp_value(booster), isFinished);
+            checkCall(result);
+            return lightgbmlib.intp_value(isFinished) != 0;
+        } finally {
+            lightgbmlib.delete_intp(isFinished);
+        }
+    }
+
+    public static double[] getEval(SWIGTYPE_p_p_void booster, int dataIndex) {
+        SWIGTYPE_p_int outLength = lightgbmlib.new_intp();
+        SWIGTYPE_p_double outResults = null;
+        try {
+            int result =
+                    lightgbmlib.LGBM_BoosterGetEvalCounts(
+                            lightgbmlib.voidpp_value(booster), outLength);
+            checkCall(result);
+            int count = lightgbmlib.intp_value(outLength);
+            outResults = lightgbmlib.new_doubleArray(Math.max(count, 1));
+            result =
+                    lightgbmlib.LGBM_BoosterGetEval(
+                            lightgbmlib.voidpp_value(booster), dataIndex, outLength, outResults);
+            checkCall(result);
+            double[] ret = new double[lightgbmlib.intp_value(outLength)];
+            for (int i = 0; i < ret.length; ++i) {
+                ret[i] = lightgbmlib.doubleArray_getitem(outResults, i);
+            }
+            return ret;
+        } finally {
+            lightgbmlib.delete_intp(outLength);
+            if (outResults != null) {
+                lightgbmlib.delete_doubleArray(outResults);
+            }
+        }
+    }
+
+    public static void saveModel(SWIGTYPE_p_p_void booster, int iterations, String path) {
+        int result =
+                lightgbmlib.LGBM_BoosterSaveModel(
+                        lightgbmlib.voidpp_value(booster),
+                        0,
+                        iterations,
+                        lightgbmlibConstants.C_API_FEATURE_IMPORTANCE_SPLIT,
+                        path);
+        checkCall(result);
+    }
+
     public static void freeModel(SWIGTYPE_p_p_void handle) {
         int result = lightgbmlib.LGBM_BoosterFree(lightgbmlib.voidpp_value(handle));
         checkCall(result);
@@ -156,6 +224,57 @@ public final class JniUtils {
         return handle;
     }
 
+    public static SWIGTYPE_p_p_void datasetFromSample(
+            SWIGTYPE_p_float sample, int rows, int cols, String parameters) {
+        SWIGTYPE_p_p_void handle = lightgbmlib.new_voidpp();
+        int result =
+                lightgbmlib.LGBM_DatasetCreateFromMat(
+                        lightgbmlib.float_to_voidp_ptr(sample),
+                        lightgbmlibConstants.C_API_DTYPE_FLOAT32,
+                        rows,
+                        cols,
+                        1,
+                        parameters,
+                        null,
+                        handle);
+        checkCall(result);
+        return handle;
+    }
+
+    public static SWIGTYPE_p_p_void datasetFromReference(SWIGTYPE_p_p_void reference, long rows) {
+        SWIGTYPE_p_p_void handle = lightgbmlib.new_voidpp();
+        int result =
+                lightgbmlib.LGBM_DatasetCreateByReference(
+                        lightgbmlib.voidpp_value(reference), rows, handle);
+        checkCall(result);
+        return handle;
+    }
+
+    public static void datasetPushRows(
+            SWIGTYPE_p_p_void handle, SWIGTYPE_p_float data, int rows, int cols, int startRow) {
+        int result =
+                lightgbmlib.LGBM_DatasetPushRows(
+                        lightgbmlib.voidpp_value(handle),
+                        lightgbmlib.float_to_voidp_ptr(data),
+                        lightgbmlibConstants.C_API_DTYPE_FLOAT32,
+                        rows,
+                        cols,
+                        startRow);
+        checkCall(result);
+    }
+
+    public static void datasetSetLabels(
+            SWIGTYPE_p_p_void handle, SWIGTYPE_p_float labels, int rows) {
+        int result =
+                lightgbmlib.LGBM_DatasetSetField(
+                        lightgbmlib.voidpp_value(handle),
+                        "label",
+                        lightgbmlib.float_to_voidp_ptr(labels),
+                        rows,
+                        lightgbmlibConstants.C_API_DTYPE_FLOAT32);
+        checkCall(result);
+    }
+
     public static int datasetGetRows(SWIGTYPE_p_p_void handle) {
         SWIGTYPE_p_int outp = lightgbmlib.new_intp();
         try {
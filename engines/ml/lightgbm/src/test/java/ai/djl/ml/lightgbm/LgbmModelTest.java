@@ -13,6 +13,7 @@
 
 package ai.djl.ml.lightgbm;
 
+import ai.djl.Model;
 import ai.djl.ModelException;
 import ai.djl.inference.Predictor;
 import ai.djl.ndarray.NDArray;
@@ -22,7 +23,12 @@ import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
 import ai.djl.repository.zoo.Criteria;
 import ai.djl.repository.zoo.ZooModel;
+import ai.djl.testing.QuadraticDataset;
 import ai.djl.testing.TestRequirements;
+import ai.djl.training.DefaultTrainingConfig;
+import ai.djl.training.TrainingResult;
+import ai.djl.training.dataset.RandomAccessDataset;
+import ai.djl.training.loss.Loss;
 import ai.djl.training.util.DownloadUtils;
 import ai.djl.translate.TranslateException;
 
@@ -60,4 +66,43 @@ public class LgbmModelTest {
             }
         }
     }
+
+    @Test
+    public void testTrain() throws ModelException, IOException, TranslateException {
+        TestRequirements.notArm();
+        Path modelDir = Paths.get("build/trained");
+        RandomAccessDataset train = new QuadraticDataset(1000, 0);
+        RandomAccessDataset validate = new QuadraticDataset(200, 1000);
+
+        DefaultTrainingConfig config =
+                new DefaultTrainingConfig(Loss.l2Loss())
+                        .addTrainingListeners(new LgbmEarlyStoppingListener(5));
+        try (Model model = Model.newInstance("quadratic", "LightGBM");
+                LgbmTrainer trainer = (LgbmTrainer) model.newTrainer(config)) {
+            trainer.setParameter("learning_rate", 0.2);
+            trainer.setParameter("num_threads", 2);
+            trainer.fit(50, train, validate);
+
+            TrainingResult result = trainer.getTrainingResult();
+            Assert.assertTrue(result.getEpoch() > 0);
+            Assert.assertTrue(result.getValidateLoss() < 1f);
+            model.save(modelDir, "quadratic");
+        }
+
+        Criteria<NDList, NDList> criteria =
+                Criteria.builder()
+                        .setTypes(NDList.class, NDList.class)
+                        .optModelPath(modelDir)
+                        .optModelName("quadratic")
+                        .optEngine("LightGBM")
+                        .build();
+        try (ZooModel<NDList, NDList> model = criteria.loadModel();
+                Predictor<NDList, NDList> predictor = model.newPredictor();
+                NDManager manager = NDManager.newBaseManager()) {
+            NDArray array = manager.create(new float[] {0.5f, 0.5f}, new Shape(1, 2));
+            NDList output = predictor.predict(new NDList(array));
+            float prediction = output.singletonOrThrow().toFloatArray()[0];
+            Assert.assertEquals(prediction, 0.75f, 0.2f);
+        }
+    }
 }
@@ -16,6 +16,7 @@ import ai.djl.BaseModel;
 import ai.djl.Model;
 import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.DataType;
+import ai.djl.training.TrainingConfig;
 
 import ml.dmlc.xgboost4j.java.JniUtils;
 
@@ -69,7 +70,47 @@ public class XgbModel extends BaseModel {
                 ((XgbSymbolBlock) block)
                         .setTreeLimit(Integer.parseInt((String) options.get("TreeLimit")));
             }
+            if (options.containsKey("nthread")) {
+                ((XgbSymbolBlock) block)
+                        .setNumThreads(Integer.parseInt((String) options.get("nthread")));
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The returned {@link XgbTrainer} builds the boosted trees with {@link XgbTrainer#fit(int,
+     * ai.djl.training.dataset.RandomAccessDataset, ai.djl.training.dataset.RandomAccessDataset)}.
+     */
+    @Override
+    public XgbTrainer newTrainer(TrainingConfig trainingConfig) {
+        if (block != null) {
+            throw new UnsupportedOperationException(
+                    "XGBoost can only train a model that has not been loaded");
+        }
+        return new XgbTrainer(this, trainingConfig);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The model is saved in the XGBoost JSON format as {@code <modelName>.json}, which can be
+     * read back with {@link #load(Path, String, Map)}.
+     */
+    @Override
+    public void save(Path modelPath, String newModelName) throws IOException {
+        if (block == null) {
+            throw new IllegalStateException("Model has not been trained or loaded yet.");
+        }
+        if (newModelName == null || newModelName.isEmpty()) {
+            newModelName = modelName;
         }
+        Files.createDirectories(modelPath);
+        Path modelFile = modelPath.resolve(newModelName + ".json");
+        JniUtils.saveModel(
+                ((XgbSymbolBlock) block).getHandle(), modelFile.toAbsolutePath().toString());
+        modelDir = modelPath.toAbsolutePath();
     }
 
     private Path findModelFile(String prefix) {
@@ -39,6 +39,7 @@ public class XgbNDManager extends BaseNDManager {
     private static final XgbNDManager SYSTEM_MANAGER = new SystemManager();
 
     private float missingValue = Float.NaN;
+    private boolean records;
 
     private XgbNDManager(NDManager parent, Device device) {
         super(parent, device);
@@ -76,10 +77,25 @@ public class XgbNDManager extends BaseNDManager {
     @Override
     public NDManager newSubManager(Device device) {
         XgbNDManager manager = new XgbNDManager(this, device);
+        manager.records = records;
         attachInternal(manager.uid, manager);
         return manager;
     }
 
+    /**
+     * Creates a sub manager for the records that {@link XgbTrainer} reads from a dataset.
+     *
+     * <p>Its arrays keep a copy of the data in any shape and data type, and are only read back by
+     * the trainer. They are not DMatrix and cannot be used for inference.
+     *
+     * @return a sub manager for the records of a dataset
+     */
+    XgbNDManager newRecordManager() {
+        XgbNDManager manager = (XgbNDManager) newSubManager();
+        manager.records = true;
+        return manager;
+    }
+
     /** {@inheritDoc} */
     @Override
     public Engine getEngine() {
@@ -113,6 +129,13 @@ public class XgbNDManager extends BaseNDManager {
     /** {@inheritDoc} */
     @Override
     public NDArray create(Buffer data, Shape shape, DataType dataType) {
+        if (records) {
+            int size = Math.toIntExact(shape.size());
+            validateBuffer(data, dataType, size);
+            ByteBuffer bb = allocateDirect(size * dataType.getNumOfBytes());
+            copyBuffer(data, bb);
+            return new XgbNDArray(this, alternativeManager, bb, shape, dataType);
+        }
         if (shape.dimension() != 2) {
             if (data instanceof ByteBuffer) {
                 // output only NDArray
@@ -161,12 +184,45 @@ public class XgbNDManager extends BaseNDManager {
             throw new UnsupportedOperationException("Shape must be in two dimension");
         }
         int[] intIndices = Arrays.stream(indices).mapToInt(Math::toIntExact).toArray();
-        float[] data = new float[buffer.remaining()];
-        ((FloatBuffer) buffer).get(data);
-        long handle = JniUtils.createDMatrixCSR(indptr, intIndices, data);
+        FloatBuffer fb;
+        if (buffer instanceof ByteBuffer) {
+            fb = ((ByteBuffer) buffer).duplicate().order(ByteOrder.nativeOrder()).asFloatBuffer();
+        } else {
+            fb = (FloatBuffer) buffer;
+        }
+        float[] data = new float[fb.remaining()];
+        fb.get(data);
+        // pass the number of columns, trailing empty columns cannot be inferred from the indices
+        int numColumns = Math.toIntExact(shape.get(1));
+        long handle = JniUtils.createDMatrixCSR(indptr, intIndices, data, numColumns);
         return new XgbNDArray(this, alternativeManager, handle, shape, SparseFormat.CSR);
     }
 
+    /**
+     * Creates a DMatrix that reads the data of a dense float32 matrix.
+     *
+     * <p>A direct buffer is read in place, only a heap buffer is copied to a direct buffer first.
+     * The caller owns the returned handle and must free it.
+     *
+     * @param array the two dimension float32 array
+     * @return the DMatrix handle
+     */
+    long createDMatrix(NDArray array) {
+        Shape shape = array.getShape();
+        if (shape.dimension() != 2 || array.getDataType() != DataType.FLOAT32) {
+            throw new UnsupportedOperationException(
+                    "XgbNDArray only supports float32 and shape must be in two dimension.");
+        }
+        ByteBuffer bb = array.toByteBuffer();
+        if (!bb.isDirect()) {
+            ByteBuffer direct = allocateDirect(bb.remaining());
+            direct.put(bb);
+            direct.rewind();
+            bb = direct;
+        }
+        return JniUtils.createDMatrix(bb, shape, missingValue);
+    }
+
     /** The SystemManager is the root {@link XgbNDManager} of which all others are children. */
     private static final class SystemManager extends XgbNDManager implements SystemNDManager {
 
@@ -27,7 +27,13 @@ import ml.dmlc.xgboost4j.java.JniUtils;
 import java.nio.ByteBuffer;
 import java.util.concurrent.atomic.AtomicReference;
 
-/** {@code XgbSymbolBlock} is the XGBoost implementation of {@link SymbolBlock}. */
+/**
+ * {@code XgbSymbolBlock} is the XGBoost implementation of {@link SymbolBlock}.
+ *
+ * <p>The prediction is thread safe, one block can serve concurrent predictors. The input can be an
+ * {@link XgbNDArray} created once from a dense or CSR batch, its DMatrix is reused for every
+ * prediction. The arrays of other engines are read from their direct buffer without copying.
+ */
 public class XgbSymbolBlock extends AbstractSymbolBlock implements AutoCloseable {
 
     private AtomicReference<Long> handle;
@@ -62,18 +68,26 @@ public class XgbSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
             boolean training,
             PairList<String, Object> params) {
         NDArray array = inputs.singletonOrThrow();
-        try (XgbNDManager sub = (XgbNDManager) manager.newSubManager()) {
-            XgbNDArray xgbNDArray = sub.from(array);
-            // TODO: return DirectBuffer from JNI to avoid copy
-            float[] result = JniUtils.inference(this, xgbNDArray, treeLimit, mode);
-            ByteBuffer buf = manager.allocateDirect(result.length * 4);
-            buf.asFloatBuffer().put(result);
-            buf.rewind();
-
-            NDArray ret = manager.create(buf, new Shape(result.length), DataType.FLOAT32);
-            ret.attach(array.getManager());
-            return new NDList(ret);
+        float[] result;
+        if (array instanceof XgbNDArray) {
+            // the DMatrix (dense or CSR) of the array is reused for every prediction
+            result = JniUtils.inference(this, (XgbNDArray) array, treeLimit, mode);
+        } else {
+            // read the direct buffer of the input in place without an intermediate NDArray
+            long matrix = manager.createDMatrix(array);
+            try {
+                result = JniUtils.inference(this, matrix, treeLimit, mode);
+            } finally {
+                JniUtils.deleteDMatrix(matrix);
+            }
         }
+        ByteBuffer buf = manager.allocateDirect(result.length * 4);
+        buf.asFloatBuffer().put(result);
+        buf.rewind();
+
+        NDArray ret = manager.create(buf, new Shape(result.length), DataType.FLOAT32);
+        ret.attach(array.getManager());
+        return new NDList(ret);
     }
 
     /** {@inheritDoc} */
@@ -108,6 +122,10 @@ public class XgbSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
         this.treeLimit = treeLimit;
     }
 
+    void setNumThreads(int numThreads) {
+        JniUtils.setBoosterParam(getHandle(), "nthread", String.valueOf(numThreads));
+    }
+
     /** {@inheritDoc} */
     @Override
     public ParameterList getDirectParameters() {
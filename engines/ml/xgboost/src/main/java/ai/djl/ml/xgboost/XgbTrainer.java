@@ -0,0 +1,270 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.ml.xgboost;
+
+import ai.djl.Model;
+import ai.djl.metric.Metrics;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.training.BoostingTrainer;
+import ai.djl.training.TrainingConfig;
+import ai.djl.training.dataset.RandomAccessDataset;
+import ai.djl.training.dataset.Record;
+import ai.djl.translate.TranslateException;
+import ai.djl.util.Pair;
+
+import ml.dmlc.xgboost4j.java.JniUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * {@code XgbTrainer} trains an XGBoost model from DJL datasets.
+ *
+ * <p>The records of the {@link RandomAccessDataset} are fed to XGBoost through its data iterator a
+ * chunk at a time. The records are read with the XGBoost engine alone, no other engine is needed to
+ * batchify them. With {@link #setCacheDir(Path)}, XGBoost builds an external memory DMatrix that
+ * pages the data to disk, so the training data does not need to fit in memory.
+ *
+ * <p>Each boosting round is reported to the {@link ai.djl.training.listener.TrainingListener}s as
+ * an epoch. The evaluation results of the round are added to the {@link Metrics} of the trainer and
+ * are available through {@link #getTrainingResult()}.
+ */
+public class XgbTrainer extends BoostingTrainer {
+
+    private static final String[] EVAL_NAMES = {"train", "validate"};
+    private static final int CHUNK_SIZE = 4096;
+
+    private Path cacheDir;
+    private float missingValue = Float.NaN;
+
+    /**
+     * Creates an instance of {@code XgbTrainer} with the given {@link XgbModel} and {@link
+     * TrainingConfig}.
+     *
+     * <p>The XGBoost objective is derived from the loss of the {@link TrainingConfig}, and can be
+     * overridden with {@link #setParameter(String, Object)}. The trees are built with the
+     * multi-threaded {@code hist} method by default. See <a
+     * href="https://xgboost.readthedocs.io/en/stable/parameter.html">XGBoost parameters</a> for the
+     * full list.
+     *
+     * @param model the model the trainer will train on
+     * @param trainingConfig the configuration used by the trainer
+     */
+    public XgbTrainer(Model model, TrainingConfig trainingConfig) {
+        super(model, trainingConfig);
+        String objective =
+                getObjective(
+                        trainingConfig.getLossFunction(),
+                        "multi:softprob",
+                        "binary:logistic",
+                        "reg:absoluteerror",
+                        "reg:squarederror");
+        parameters.put("objective", objective);
+        parameters.put("tree_method", "hist");
+        parameters.put("nthread", String.valueOf(Runtime.getRuntime().availableProcessors()));
+        parameters.put("verbosity", "0");
+    }
+
+    /**
+     * Sets the directory of the external memory cache.
+     *
+     * <p>When set, the DMatrix pages are written to this directory while the dataset is read, and
+     * streamed from disk during the training.
+     *
+     * @param cacheDir the directory of the external memory cache, {@code null} to keep the data in
+     *     memory
+     */
+    public void setCacheDir(Path cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * Sets the value that marks a missing feature, {@code NaN} by default.
+     *
+     * @param missingValue the value that marks a missing feature
+     */
+    public void setMissingValue(float missingValue) {
+        this.missingValue = missingValue;
+    }
+
+    /**
+     * Trains the model for the given number of boosting rounds.
+     *
+     * <p>The trained model becomes the block of the {@link XgbModel} and can be saved with {@link
+     * Model#save(Path, String)}.
+     *
+     * @param numRounds the number of boosting rounds
+     * @param trainDataset the training dataset
+     * @param validateDataset the validation dataset, can be {@code null}
+     * @throws IOException if the datasets fail to read the records
+     * @throws TranslateException if the datasets fail to prepare
+     */
+    public void fit(
+            int numRounds, RandomAccessDataset trainDataset, RandomAccessDataset validateDataset)
+            throws IOException, TranslateException {
+        iteration = 0;
+        long[] matrices = new long[validateDataset == null ? 1 : 2];
+        XgbSymbolBlock block = null;
+        try {
+            matrices[0] = createDMatrix(trainDataset, EVAL_NAMES[0]);
+            if (validateDataset != null) {
+                matrices[1] = createDMatrix(validateDataset, EVAL_NAMES[1]);
+            }
+            Model model = getModel();
+            block = JniUtils.createBooster((XgbNDManager) model.getNDManager(), matrices);
+            long handle = block.getHandle();
+            for (Map.Entry<String, String> entry : parameters.entrySet()) {
+                JniUtils.setBoosterParam(handle, entry.getKey(), entry.getValue());
+            }
+
+            String[] names = new String[matrices.length];
+            System.arraycopy(EVAL_NAMES, 0, names, 0, names.length);
+            for (int i = 0; i < numRounds; ++i) {
+                JniUtils.updateOneIter(handle, i, matrices[0]);
+                String evalInfo = JniUtils.evalOneIter(handle, i, matrices, names);
+                iteration = i + 1;
+                updateEvaluations(evalInfo);
+                notifyListeners(listener -> listener.onEpoch(this));
+            }
+
+            XgbSymbolBlock previous = (XgbSymbolBlock) model.getBlock();
+            if (previous != null) {
+                previous.close();
+            }
+            model.setBlock(block);
+            block = null;
+        } finally {
+            if (block != null) {
+                block.close();
+            }
+            for (long matrix : matrices) {
+                if (matrix != 0) {
+                    JniUtils.deleteDMatrix(matrix);
+                }
+            }
+        }
+    }
+
+    private long createDMatrix(RandomAccessDataset dataset, String name)
+            throws IOException, TranslateException {
+        dataset.prepare();
+        if (dataset.size() == 0) {
+            throw new IllegalArgumentException("Cannot train XGBoost with an empty dataset");
+        }
+        String cacheInfo = null;
+        if (cacheDir != null) {
+            Files.createDirectories(cacheDir);
+            cacheInfo = cacheDir.resolve(name + ".cache").toAbsolutePath().toString();
+        }
+        XgbNDManager manager = ((XgbNDManager) getManager()).newRecordManager();
+        try {
+            return JniUtils.createDMatrix(
+                    new ChunkIterator(dataset, manager), missingValue, cacheInfo);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            manager.close();
+        }
+    }
+
+    // parses the evaluation result of a round: "[0]\ttrain-rmse:0.5\tvalidate-rmse:0.6"
+    private void updateEvaluations(String evalInfo) {
+        String[] tokens = evalInfo.split("\t");
+        String first = null;
+        for (int i = 1; i < tokens.length; ++i) {
+            int pos = tokens[i].lastIndexOf(':');
+            int dash = tokens[i].indexOf('-');
+            if (pos < 0 || dash < 0) {
+                continue;
+            }
+            String dataset = tokens[i].substring(0, dash);
+            String metric = tokens[i].substring(dash + 1, pos);
+            float value = Float.parseFloat(tokens[i].substring(pos + 1));
+            if (first == null) {
+                first = metric;
+            }
+            addEvaluation(dataset, metric, value, metric.equals(first));
+        }
+    }
+
+    /** Reads the records of a dataset into dense chunks of up to {@code CHUNK_SIZE} rows. */
+    private static final class ChunkIterator implements Iterator<Pair<float[], float[]>> {
+
+        private RandomAccessDataset dataset;
+        private XgbNDManager manager;
+        private long size;
+        private long index;
+        private int numFeatures = -1;
+
+        ChunkIterator(RandomAccessDataset dataset, XgbNDManager manager) {
+            this.dataset = dataset;
+            this.manager = manager;
+            size = dataset.size();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Pair<float[], float[]> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int rows = (int) Math.min(CHUNK_SIZE, size - index);
+            float[] data = null;
+            float[] labels = new float[rows];
+            try (NDManager chunk = manager.newSubManager()) {
+                for (int i = 0; i < rows; ++i) {
+                    Record record = dataset.get(chunk, index + i);
+                    NDList features = record.getData();
+                    int count = countFeatures(features);
+                    if (numFeatures < 0) {
+                        numFeatures = count;
+                    } else if (count != numFeatures) {
+                        throw new IllegalArgumentException(
+                                "All the records must have " + numFeatures + " features");
+                    }
+                    if (data == null) {
+                        data = new float[rows * numFeatures];
+                    }
+                    int pos = i * numFeatures;
+                    for (NDArray array : features) {
+                        pos = copy(array, data, pos);
+                    }
+                    NDArray label = record.getLabels().head();
+                    if (label.size() != 1) {
+                        throw new IllegalArgumentException(
+                                "XGBoost expects a single label per record, but got "
+                                        + label.getShape());
+                    }
+                    copy(label, labels, i);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            index += rows;
+            return new Pair<>(data, labels);
+        }
+    }
+}
@@ -17,11 +17,14 @@ import ai.djl.ml.xgboost.XgbNDArray;
 import ai.djl.ml.xgboost.XgbNDManager;
 import ai.djl.ml.xgboost.XgbSymbolBlock;
 import ai.djl.ndarray.types.Shape;
+import ai.djl.util.Pair;
 
 import com.sun.jna.Native;
 import com.sun.jna.PointerProxy;
 
 import java.nio.Buffer;
+import java.util.Arrays;
+import java.util.Iterator;
 
 /** DJL class that has access to XGBoost JNI. */
 @SuppressWarnings("MissingJavadocMethod")
@@ -67,9 +70,18 @@ public final class JniUtils {
         return handles[0];
     }
 
-    public static long createDMatrixCSR(long[] indptr, int[] indices, float[] array) {
+    public static long createDMatrix(
+            Iterator<Pair<float[], float[]>> chunks, float missing, String cacheInfo) {
         long[] handles = new long[1];
-        checkCall(XGBoostJNI.XGDMatrixCreateFromCSREx(indptr, indices, array, 0, handles));
+        Iterator<DataBatch> iterator = new DataBatchIterator(chunks, missing);
+        checkCall(XGBoostJNI.XGDMatrixCreateFromDataIter(iterator, cacheInfo, handles));
+        return handles[0];
+    }
+
+    public static long createDMatrixCSR(
+            long[] indptr, int[] indices, float[] array, int numColumns) {
+        long[] handles = new long[1];
+        checkCall(XGBoostJNI.XGDMatrixCreateFromCSREx(indptr, indices, array, numColumns, handles));
         return handles[0];
     }
 
@@ -79,13 +91,42 @@ public final class JniUtils {
 
     public static float[] inference(
             XgbSymbolBlock block, XgbNDArray array, int treeLimit, XgbSymbolBlock.Mode mode) {
+        return inference(block, array.getHandle(), treeLimit, mode);
+    }
+
+    public static float[] inference(
+            XgbSymbolBlock block, long matrixHandle, int treeLimit, XgbSymbolBlock.Mode mode) {
         float[][] output = new float[1][];
         checkCall(
                 XGBoostJNI.XGBoosterPredict(
-                        block.getHandle(), array.getHandle(), treeLimit, mode.getValue(), output));
+                        block.getHandle(), matrixHandle, mode.getValue(), treeLimit, output));
         return output[0];
     }
 
+    public static XgbSymbolBlock createBooster(XgbNDManager manager, long[] matrixHandles) {
+        return new XgbSymbolBlock(manager, createBoosterHandle(matrixHandles));
+    }
+
+    public static void updateOneIter(long handle, int iteration, long matrixHandle) {
+        checkCall(XGBoostJNI.XGBoosterUpdateOneIter(handle, iteration, matrixHandle));
+    }
+
+    public static String evalOneIter(
+            long handle, int iteration, long[] matrixHandles, String[] names) {
+        String[] evalInfo = new String[1];
+        checkCall(
+                XGBoostJNI.XGBoosterEvalOneIter(handle, iteration, matrixHandles, names, evalInfo));
+        return evalInfo[0];
+    }
+
+    public static void saveModel(long handle, String modelPath) {
+        checkCall(XGBoostJNI.XGBoosterSaveModel(handle, modelPath));
+    }
+
+    public static void setBoosterParam(long handle, String name, String value) {
+        checkCall(XGBoostJNI.XGBoosterSetParam(handle, name, value));
+    }
+
     public static void deleteModel(long handle) {
         checkCall(XGBoostJNI.XGBoosterFree(handle));
     }
@@ -95,4 +136,60 @@ public final class JniUtils {
         checkCall(XGBoostJNI.XGBoosterCreate(matrixHandles, handles));
         return handles[0];
     }
+
+    /** Converts the dense chunks of features and labels into the CSR batches of XGBoost. */
+    private static final class DataBatchIterator implements Iterator<DataBatch> {
+
+        private Iterator<Pair<float[], float[]>> chunks;
+        private float missing;
+
+        DataBatchIterator(Iterator<Pair<float[], float[]>> chunks, float missing) {
+            this.chunks = chunks;
+            this.missing = missing;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean hasNext() {
+            return chunks.hasNext();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public DataBatch next() {
+            Pair<float[], float[]> chunk = chunks.next();
+            float[] values = chunk.getKey();
+            float[] labels = chunk.getValue();
+            int rows = labels.length;
+            int cols = values.length / rows;
+
+            // only the present values are kept, the missing ones are implied by the CSR
+            long[] rowOffset = new long[rows + 1];
+            int[] featureIndex = new int[values.length];
+            float[] featureValue = new float[values.length];
+            int count = 0;
+            for (int i = 0; i < rows; ++i) {
+                for (int j = 0; j < cols; ++j) {
+                    float value = values[i * cols + j];
+                    if (!isMissing(value)) {
+                        featureIndex[count] = j;
+                        featureValue[count] = value;
+                        ++count;
+                    }
+                }
+                rowOffset[i + 1] = count;
+            }
+            return new DataBatch(
+                    rowOffset,
+                    null,
+                    labels,
+                    Arrays.copyOf(featureIndex, count),
+                    Arrays.copyOf(featureValue, count),
+                    cols);
+        }
+
+        private boolean isMissing(float value) {
+            return Float.isNaN(missing) ? Float.isNaN(value) : value == missing;
+        }
+    }
 }
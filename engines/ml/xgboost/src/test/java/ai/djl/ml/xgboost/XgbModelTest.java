@@ -23,7 +23,11 @@ import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
 import ai.djl.ndarray.types.SparseFormat;
+import ai.djl.testing.QuadraticDataset;
 import ai.djl.testing.TestRequirements;
+import ai.djl.training.DefaultTrainingConfig;
+import ai.djl.training.TrainingResult;
+import ai.djl.training.loss.Loss;
 import ai.djl.training.util.DownloadUtils;
 import ai.djl.translate.NoopTranslator;
 import ai.djl.translate.TranslateException;
@@ -86,6 +90,48 @@ public class XgbModelTest {
                 Assert.assertEquals(output.singletonOrThrow().getDataType(), DataType.FLOAT32);
                 Assert.assertEquals(output.singletonOrThrow().toFloatArray().length, 10);
             }
+
+            // reuse the DMatrix of a dense and a CSR batch
+            try (XgbNDManager manager = (XgbNDManager) model.getNDManager().newSubManager()) {
+                NDArray dense = manager.ones(new Shape(10, 13));
+                float[] expected = predictor.predict(new NDList(dense)).head().toFloatArray();
+                float[] actual = predictor.predict(new NDList(dense)).head().toFloatArray();
+                Assert.assertEquals(actual, expected);
+
+                long[] indptr = {0, 2, 3};
+                long[] indices = {0, 12, 5};
+                FloatBuffer fb = FloatBuffer.wrap(new float[] {1f, 2f, 3f});
+                NDArray csr = manager.createCSR(fb, indptr, indices, new Shape(2, 13));
+                Assert.assertEquals(predictor.predict(new NDList(csr)).head().size(), 2);
+            }
+        }
+    }
+
+    @Test
+    public void testTrain() throws MalformedModelException, IOException, TranslateException {
+        Path modelDir = Paths.get("build/trained");
+        DefaultTrainingConfig config = new DefaultTrainingConfig(Loss.l2Loss());
+        try (Model model = Model.newInstance("quadratic", "XGBoost");
+                XgbTrainer trainer = (XgbTrainer) model.newTrainer(config)) {
+            trainer.setParameter("max_depth", 4);
+            trainer.setParameter("nthread", 2);
+            trainer.setCacheDir(Paths.get("build/xgb-cache"));
+            trainer.fit(20, new QuadraticDataset(1000, 0), new QuadraticDataset(200, 1000));
+
+            TrainingResult result = trainer.getTrainingResult();
+            Assert.assertEquals(result.getEpoch(), 20);
+            Assert.assertTrue(result.getValidateLoss() < 0.1f);
+            model.save(modelDir, "quadratic");
+        }
+
+        try (Model model = Model.newInstance("quadratic", "XGBoost")) {
+            model.load(modelDir);
+            Predictor<NDList, NDList> predictor = model.newPredictor(new NoopTranslator());
+            try (XgbNDManager manager = (XgbNDManager) model.getNDManager().newSubManager()) {
+                NDArray array = manager.create(new float[] {0.5f, 0.5f}, new Shape(1, 2));
+                float[] output = predictor.predict(new NDList(array)).head().toFloatArray();
+                Assert.assertEquals(output[0], 0.75f, 0.2f);
+            }
         }
     }
 
@@ -16,6 +16,7 @@ import ai.djl.Device;
 import ai.djl.mxnet.jna.JnaUtils;
 import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
 import ai.djl.nn.Parameter;
 import ai.djl.training.ParameterStore;
@@ -28,8 +29,11 @@ import com.sun.jna.Pointer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The {@code CachedOp} is an internal helper that provides the core functionality to execute a
@@ -49,6 +53,8 @@ public class CachedOp extends NativeResource<Pointer> {
     private Map<String, Integer> dataIndicesMap;
     private List<Integer> paramIndices;
     private MxNDManager manager;
+    private Map<ParameterStore, Map<Device, MxNDArray[]>> bindings;
+    private Map<String, MxNDArray> placeholders;
 
     /**
      * Creates an instance of {@link CachedOp}.
@@ -76,6 +82,8 @@ public class CachedOp extends NativeResource<Pointer> {
         this.dataIndicesMap = dataIndices.toMap();
         // holds all parameter and data NDArray values, final inputs to CachedOp
         this.manager = manager;
+        placeholders = new ConcurrentHashMap<>();
+        bindings = Collections.synchronizedMap(new WeakHashMap<>());
         manager.attachInternal(getUid(), this);
     }
 
@@ -88,23 +96,13 @@ public class CachedOp extends NativeResource<Pointer> {
      * @return an {@link NDList}
      */
     public NDList forward(ParameterStore parameterStore, NDList data, boolean training) {
-        // reset the input data index at the beginning
-        MxNDArray[] allInputsNDArray = new MxNDArray[parameters.size()];
         // check device of input
         Device device = data.head().getDevice();
         // get the manager of the data
-
         MxNDManager inputManager = (MxNDManager) data.head().getManager();
 
         // fill allInputsNDArray with parameter values on correct device
-        for (int index : paramIndices) {
-            Parameter parameter = parameters.get(index);
-            MxNDArray value = (MxNDArray) parameterStore.getValue(parameter, device, training);
-            if (value == null) {
-                throw new NullPointerException("Failed to find parameter from parameterStore");
-            }
-            allInputsNDArray[index] = value;
-        }
+        MxNDArray[] allInputsNDArray = getParameters(parameterStore, device, training).clone();
 
         // fill allInputsNDArray with data values
         int index = 0;
@@ -129,8 +127,7 @@ public class CachedOp extends NativeResource<Pointer> {
                                     + batchSize
                                     + ") by default");
                 }
-                allInputsNDArray[pair.getValue()] =
-                        (MxNDArray) inputManager.create(new Shape(batchSize));
+                allInputsNDArray[pair.getValue()] = getPlaceholder(device, batchSize);
             }
         }
         MxNDArray[] result = JnaUtils.cachedOpInvoke(inputManager, getHandle(), allInputsNDArray);
@@ -144,10 +141,56 @@ public class CachedOp extends NativeResource<Pointer> {
         if (pointer != null) {
             manager.detachInternal(getUid());
             JnaUtils.freeCachedOp(pointer);
+            placeholders.values().forEach(NDArray::close);
+            placeholders.clear();
+            bindings.clear();
             manager = null;
         }
     }
 
+    // the parameter values are bound once per parameter store and device for inference, the
+    // binding is only copied when the store returns another value, e.g. for a replaced parameter
+    private MxNDArray[] getParameters(
+            ParameterStore parameterStore, Device device, boolean training) {
+        Map<Device, MxNDArray[]> byDevice = null;
+        MxNDArray[] values = null;
+        if (!training) {
+            // the bindings of a parameter store are dropped once the store is unreachable
+            byDevice = bindings.computeIfAbsent(parameterStore, k -> new ConcurrentHashMap<>());
+            values = byDevice.get(device);
+        }
+        boolean changed = values == null;
+        if (changed) {
+            values = new MxNDArray[parameters.size()];
+        }
+        for (int index : paramIndices) {
+            Parameter parameter = parameters.get(index);
+            MxNDArray value = (MxNDArray) parameterStore.getValue(parameter, device, training);
+            if (value == null) {
+                throw new NullPointerException("Failed to find parameter from parameterStore");
+            }
+            if (values[index] != value) {
+                if (!changed) {
+                    // the cached binding may be in use by another thread
+                    values = values.clone();
+                    changed = true;
+                }
+                values[index] = value;
+            }
+        }
+        if (byDevice != null && changed) {
+            byDevice.put(device, values);
+        }
+        return values;
+    }
+
+    // the placeholders of the missing inputs are never written, one is shared per batch size
+    private MxNDArray getPlaceholder(Device device, long batchSize) {
+        return placeholders.computeIfAbsent(
+                device.toString() + ':' + batchSize,
+                k -> (MxNDArray) manager.create(new Shape(batchSize), DataType.FLOAT32, device));
+    }
+
     private int indexOf(String inputName, int position) {
         if (inputName == null) {
             return dataIndices.valueAt(position);
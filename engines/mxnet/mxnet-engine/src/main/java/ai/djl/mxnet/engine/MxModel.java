@@ -80,6 +80,9 @@ public class MxModel extends BaseModel {
      * model.load(modelPath, "squeezenet", options);
      * </pre>
      *
+     * <p>The {@code MxStaticAlloc} and {@code MxStaticShape} options set the MXNet static memory
+     * planning of the model, see {@link MxSymbolBlock#setStaticMemory(boolean, boolean)}.
+     *
      * @param modelPath the directory of the model
      * @param prefix the model file name or path prefix
      * @param options load model options, see documentation for the specific engine
@@ -136,6 +139,18 @@ public class MxModel extends BaseModel {
         if (optimization != null) {
             ((MxSymbolBlock) block).optimizeFor(optimization);
         }
+        if (options != null && block instanceof MxSymbolBlock) {
+            MxSymbolBlock symbolBlock = (MxSymbolBlock) block;
+            String staticAlloc = (String) options.get("MxStaticAlloc");
+            String staticShape = (String) options.get("MxStaticShape");
+            symbolBlock.setStaticMemory(
+                    staticAlloc == null
+                            ? symbolBlock.isStaticAlloc()
+                            : Boolean.parseBoolean(staticAlloc),
+                    staticShape == null
+                            ? symbolBlock.isStaticShape()
+                            : Boolean.parseBoolean(staticShape));
+        }
     }
 
     /** {@inheritDoc} */
@@ -63,6 +63,8 @@ public class MxSymbolBlock extends AbstractSymbolBlock {
     private PairList<String, Shape> inputDescriptions;
     private PairList<String, Shape> outputDescriptions;
     private boolean first;
+    private boolean staticAlloc;
+    private boolean staticShape;
 
     /**
      * Constructs a {@code MxSymbolBlock} for a {@link Symbol}.
@@ -87,6 +89,8 @@ public class MxSymbolBlock extends AbstractSymbolBlock {
     public MxSymbolBlock(NDManager manager) {
         super(VERSION);
         this.manager = manager;
+        staticAlloc = Boolean.parseBoolean(System.getProperty("ai.djl.mxnet.static_alloc", "true"));
+        staticShape = Boolean.parseBoolean(System.getProperty("ai.djl.mxnet.static_shape", "true"));
     }
 
     /**
@@ -145,6 +149,43 @@ public class MxSymbolBlock extends AbstractSymbolBlock {
         symbol = newSymbol;
     }
 
+    /**
+     * Sets whether the {@link CachedOp} of the block uses MXNet static memory planning.
+     *
+     * <p>With {@code staticAlloc}, the memory of the graph is allocated once and reused by the
+     * following calls. With {@code staticShape}, the memory plan is also kept as long as the input
+     * shapes do not change. Both are enabled by default, or set with the {@code
+     * ai.djl.mxnet.static_alloc} and {@code ai.djl.mxnet.static_shape} system properties. They must
+     * be set before the first forward pass.
+     *
+     * @param staticAlloc whether to allocate the memory of the graph once
+     * @param staticShape whether to keep the memory plan for the same input shapes
+     */
+    public void setStaticMemory(boolean staticAlloc, boolean staticShape) {
+        this.staticAlloc = staticAlloc;
+        this.staticShape = staticShape;
+    }
+
+    /**
+     * Returns whether the {@link CachedOp} of the block allocates the memory of the graph once.
+     *
+     * @return whether the {@link CachedOp} of the block allocates the memory of the graph once
+     */
+    public boolean isStaticAlloc() {
+        return staticAlloc;
+    }
+
+    /**
+     * Returns whether the {@link CachedOp} of the block keeps the memory plan for the same input
+     * shapes.
+     *
+     * @return whether the {@link CachedOp} of the block keeps the memory plan for the same input
+     *     shapes
+     */
+    public boolean isStaticShape() {
+        return staticShape;
+    }
+
     /** {@inheritDoc} */
     @Override
     public PairList<String, Shape> describeInput() {
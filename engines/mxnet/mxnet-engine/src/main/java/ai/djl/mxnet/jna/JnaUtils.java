@@ -1887,14 +1887,8 @@ public final class JnaUtils {
         PointerByReference ref = REFS.acquire();
 
         // static_alloc and static_shape are enabled by default
-        String staticAlloc = "1";
-        String staticShape = "1";
-        if (!Boolean.parseBoolean(System.getProperty("ai.djl.mxnet.static_alloc", "true"))) {
-            staticAlloc = "0";
-        }
-        if (!Boolean.parseBoolean(System.getProperty("ai.djl.mxnet.static_shape", "true"))) {
-            staticShape = "0";
-        }
+        String staticAlloc = block.isStaticAlloc() ? "1" : "0";
+        String staticShape = block.isStaticShape() ? "1" : "0";
         String[] keys = {"data_indices", "param_indices", "static_alloc", "static_shape"};
         String[] values = {
             dataIndices.values().toString(), paramIndices.toString(), staticAlloc, staticShape
@@ -12,12 +12,14 @@
  */
 package ai.djl.mxnet.integration;
 
+import ai.djl.Device;
 import ai.djl.ModelException;
 import ai.djl.engine.Engine;
 import ai.djl.inference.Predictor;
 import ai.djl.modality.Classifications;
 import ai.djl.modality.cv.Image;
 import ai.djl.modality.cv.ImageFactory;
+import ai.djl.mxnet.engine.MxSymbolBlock;
 import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDArrays;
 import ai.djl.ndarray.NDList;
@@ -50,6 +52,8 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class MxSymbolBlockTest {
@@ -99,6 +103,85 @@ public class MxSymbolBlockTest {
         }
     }
 
+    @Test
+    public void testStaticMemory() throws IOException, ModelException {
+        Criteria<NDList, NDList> criteria =
+                Criteria.builder()
+                        .setTypes(NDList.class, NDList.class)
+                        .optArtifactId("ai.djl.mxnet:mlp")
+                        .optOption("MxStaticAlloc", "false")
+                        .optOption("MxStaticShape", "false")
+                        .build();
+        try (ZooModel<NDList, NDList> model = criteria.loadModel()) {
+            MxSymbolBlock block = (MxSymbolBlock) model.getBlock();
+            Assert.assertFalse(block.isStaticAlloc());
+            Assert.assertFalse(block.isStaticShape());
+
+            NDManager manager = model.getNDManager();
+            ParameterStore parameterStore = new ParameterStore(manager, false);
+            NDArray arr = manager.ones(new Shape(1, 28, 28));
+            NDArray expected = block.forward(parameterStore, new NDList(arr), false).head();
+            // a different batch size re-plans the memory without static shapes
+            NDArray batch = manager.ones(new Shape(2, 28, 28));
+            NDArray actual = block.forward(parameterStore, new NDList(batch), false).head();
+            Assert.assertEquals(actual.getShape(), new Shape(2, 10));
+            Assertions.assertAlmostEquals(actual.get(1).expandDims(0), expected);
+        }
+
+        criteria =
+                Criteria.builder()
+                        .setTypes(NDList.class, NDList.class)
+                        .optArtifactId("ai.djl.mxnet:mlp")
+                        .optOption("MxStaticAlloc", "true")
+                        .optOption("MxStaticShape", "true")
+                        .build();
+        try (ZooModel<NDList, NDList> model = criteria.loadModel()) {
+            MxSymbolBlock block = (MxSymbolBlock) model.getBlock();
+            Assert.assertTrue(block.isStaticAlloc());
+            Assert.assertTrue(block.isStaticShape());
+        }
+    }
+
+    @Test
+    public void testParameterStores() throws IOException, ModelException {
+        Criteria<NDList, NDList> criteria =
+                Criteria.builder()
+                        .setTypes(NDList.class, NDList.class)
+                        .optArtifactId("ai.djl.mxnet:mlp")
+                        .build();
+        try (ZooModel<NDList, NDList> model = criteria.loadModel()) {
+            NDManager manager = model.getNDManager();
+            Block block = model.getBlock();
+            NDArray arr = manager.ones(new Shape(1, 28, 28));
+
+            // the parameter stores of two predictors take turns on the same block
+            ParameterStore store1 = new ParameterStore(manager, false);
+            ParameterStore store2 = new ParameterStore(manager, false);
+            NDArray expected = block.forward(store1, new NDList(arr), false).head();
+            for (int i = 0; i < 3; ++i) {
+                NDArray out1 = block.forward(store1, new NDList(arr), false).head();
+                NDArray out2 = block.forward(store2, new NDList(arr), false).head();
+                Assertions.assertAlmostEquals(out1, expected);
+                Assertions.assertAlmostEquals(out2, expected);
+            }
+
+            // the binding is reused while the store returns the same values, refreshed otherwise
+            ZeroingStore store3 = new ZeroingStore(manager);
+            for (int i = 0; i < 2; ++i) {
+                NDArray out = block.forward(store3, new NDList(arr), false).head();
+                Assertions.assertAlmostEquals(out, expected);
+            }
+            store3.zeroed = true;
+            for (int i = 0; i < 2; ++i) {
+                NDArray out = block.forward(store3, new NDList(arr), false).head();
+                Assertions.assertAlmostEquals(out, out.zerosLike());
+            }
+            store3.zeroed = false;
+            NDArray out = block.forward(store3, new NDList(arr), false).head();
+            Assertions.assertAlmostEquals(out, expected);
+        }
+    }
+
     @Test
     public void trainWithNewParam() throws IOException, ModelException {
         if ("MXNet".equals(Engine.getDefaultEngineName())) {
@@ -235,4 +318,25 @@ public class MxSymbolBlockTest {
                         new NDList(grads.stream().map(NDArray::mean).toArray(NDArray[]::new)));
         return new Pair<>(pred.mean(), gradMean);
     }
+
+    /** A parameter store that can replace all its values with zeros. */
+    private static final class ZeroingStore extends ParameterStore {
+
+        private Map<String, NDArray> zeros = new ConcurrentHashMap<>();
+        private volatile boolean zeroed;
+
+        ZeroingStore(NDManager manager) {
+            super(manager, false);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public NDArray getValue(Parameter parameter, Device device, boolean training) {
+            NDArray value = super.getValue(parameter, device, training);
+            if (!zeroed || value == null) {
+                return value;
+            }
+            return zeros.computeIfAbsent(parameter.getId(), k -> value.zerosLike());
+        }
+    }
 }
@@ -31,6 +31,7 @@ import java.util.concurrent.atomic.AtomicReference;
 public class OrtNDArray extends NDArrayAdapter {
 
     private AtomicReference<OnnxTensor> tensor;
+    private ByteBuffer data;
 
     /**
      * Constructs an ONNX Runtime NDArray from a {@link OnnxTensor} (internal. Use {@link NDManager}
@@ -41,8 +42,27 @@ public class OrtNDArray extends NDArrayAdapter {
      * @param tensor the {@link OnnxTensor} to the ONNX Runtime
      */
     OrtNDArray(OrtNDManager manager, NDManager alternativeManager, OnnxTensor tensor) {
+        this(manager, alternativeManager, tensor, null);
+    }
+
+    /**
+     * Constructs an ONNX Runtime NDArray from a {@link OnnxTensor} that wraps a direct buffer
+     * (internal. Use {@link NDManager} instead).
+     *
+     * @param manager the manager to attach the new array to
+     * @param alternativeManager the alternative manager to execute unsupported operation
+     * @param tensor the {@link OnnxTensor} to the ONNX Runtime
+     * @param data the direct buffer the tensor reads from, or {@code null} if the data is owned by
+     *     the ONNX Runtime
+     */
+    OrtNDArray(
+            OrtNDManager manager,
+            NDManager alternativeManager,
+            OnnxTensor tensor,
+            ByteBuffer data) {
         super(manager, alternativeManager, null, null, UUID.randomUUID().toString());
         this.tensor = new AtomicReference<>(tensor);
+        this.data = data;
         manager.attachInternal(uid, this);
     }
 
@@ -78,6 +98,8 @@ public class OrtNDArray extends NDArrayAdapter {
     public void intern(NDArray replaced) {
         OrtNDArray arr = (OrtNDArray) replaced;
         OnnxTensor oldHandle = tensor.getAndSet(arr.tensor.getAndSet(null));
+        data = arr.data;
+        arr.data = null;
         if (oldHandle != null) {
             oldHandle.close();
         }
@@ -112,6 +134,12 @@ public class OrtNDArray extends NDArrayAdapter {
         if (getDataType() == DataType.STRING) {
             throw new IllegalArgumentException("Please use toStringArray() for String NDArray.");
         }
+        if (data != null) {
+            // the tensor wraps this buffer, no need to copy it out of the ONNX Runtime
+            ByteBuffer bb = data.duplicate().order(ByteOrder.nativeOrder());
+            bb.rewind();
+            return bb;
+        }
         return tensor.get().getByteBuffer().order(ByteOrder.nativeOrder());
     }
 
@@ -122,6 +150,7 @@ public class OrtNDArray extends NDArrayAdapter {
         if (ortTensor != null) {
             ortTensor.close();
         }
+        data = null;
         super.close();
     }
 }
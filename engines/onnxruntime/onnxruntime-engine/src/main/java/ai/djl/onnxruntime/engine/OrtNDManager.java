@@ -73,6 +73,14 @@ public class OrtNDManager extends BaseNDManager {
         }
         int size = Math.toIntExact(shape.size());
         BaseNDManager.validateBuffer(data, dataType, size);
+        if (data.isDirect()
+                && data instanceof ByteBuffer
+                && ((ByteBuffer) data).order() == ByteOrder.nativeOrder()) {
+            // the tensor wraps the direct buffer without copying, keep it to read the data back
+            ByteBuffer bb = ((ByteBuffer) data).slice().order(ByteOrder.nativeOrder());
+            OnnxTensor tensor = OrtUtils.toTensor(env, bb, shape, dataType);
+            return new OrtNDArray(this, alternativeManager, tensor, bb);
+        }
         OnnxTensor tensor = OrtUtils.toTensor(env, data, shape, dataType);
         return new OrtNDArray(this, alternativeManager, tensor);
     }
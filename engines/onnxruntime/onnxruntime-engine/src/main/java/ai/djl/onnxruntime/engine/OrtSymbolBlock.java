@@ -29,15 +29,18 @@ import ai.onnxruntime.OnnxMap;
 import ai.onnxruntime.OnnxSequence;
 import ai.onnxruntime.OnnxTensor;
 import ai.onnxruntime.OnnxValue;
+import ai.onnxruntime.OrtEnvironment;
 import ai.onnxruntime.OrtException;
 import ai.onnxruntime.OrtSession;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * {@code OrtSymbolBlock} is the ONNX Runtime implementation of {@link SymbolBlock}.
@@ -49,6 +52,9 @@ public class OrtSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
 
     private OrtSession session;
     private OrtNDManager manager;
+    private OrtEnvironment env;
+    private List<String> inputNames;
+    private Set<String> inputNameSet;
 
     /**
      * Constructs a {@code OrtSymbolBlock}.
@@ -62,6 +68,10 @@ public class OrtSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
     public OrtSymbolBlock(OrtSession session, OrtNDManager manager) {
         this.session = session;
         this.manager = manager;
+        env = ((OrtEngine) manager.getEngine()).getEnv();
+        // the input names never change, avoid querying and copying them for every forward
+        inputNames = new ArrayList<>(session.getInputNames());
+        inputNameSet = new HashSet<>(inputNames);
         manager.attachInternal(UUID.randomUUID().toString(), this);
     }
 
@@ -78,14 +88,14 @@ public class OrtSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
             NDList inputs,
             boolean training,
             PairList<String, Object> params) {
-        List<String> inputNames = new ArrayList<>(session.getInputNames());
         if (inputs.size() != inputNames.size()) {
             throw new IllegalArgumentException("Input mismatch, looking for: " + inputNames);
         }
 
-        Map<String, OnnxTensor> container = new ConcurrentHashMap<>();
-        // forward
-        try (OrtNDManager sub = (OrtNDManager) manager.newSubManager()) {
+        Map<String, OnnxTensor> container = new HashMap<>(inputNames.size() * 2);
+        // tensors created for this forward only, the inputs of other engines are bound in place
+        List<OnnxTensor> bound = new ArrayList<>(inputNames.size());
+        try {
             // If input data has name
             if (inputs.get(0).getName() != null) {
                 for (NDArray input : inputs) {
@@ -94,26 +104,29 @@ public class OrtSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
                         throw new IllegalArgumentException(
                                 "All or none of input tensors must have a name.");
                     }
-                    if (!inputNames.contains(name)) {
+                    if (!inputNameSet.contains(name)) {
                         throw new IllegalArgumentException("Invalid input tensor name: " + name);
                     }
-                    OrtNDArray ortNDArray = sub.from(input);
-                    container.put(name, ortNDArray.getTensor());
+                    container.put(name, bind(input, bound));
                 }
             } else {
                 // feed data in to match names
                 for (int i = 0; i < inputNames.size(); ++i) {
-                    OrtNDArray ortNDArray = sub.from(inputs.get(i));
-                    container.put(inputNames.get(i), ortNDArray.getTensor());
+                    container.put(inputNames.get(i), bind(inputs.get(i), bound));
                 }
             }
 
+            // forward
             OrtSession.Result results = session.run(container);
             NDList ret = evaluateOutput(results);
             ret.attach(inputs.head().getManager());
             return ret;
         } catch (OrtException e) {
             throw new EngineException(e);
+        } finally {
+            for (OnnxTensor tensor : bound) {
+                tensor.close();
+            }
         }
     }
 
@@ -121,12 +134,23 @@ public class OrtSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
     @Override
     public PairList<String, Shape> describeInput() {
         PairList<String, Shape> result = new PairList<>();
-        for (String name : session.getInputNames()) {
+        for (String name : inputNames) {
             result.add(name, null);
         }
         return result;
     }
 
+    private OnnxTensor bind(NDArray input, List<OnnxTensor> bound) {
+        if (input instanceof OrtNDArray) {
+            return ((OrtNDArray) input).getTensor();
+        }
+        // a direct buffer in native order is wrapped by the tensor without copying
+        OnnxTensor tensor =
+                OrtUtils.toTensor(env, input.toByteBuffer(), input.getShape(), input.getDataType());
+        bound.add(tensor);
+        return tensor;
+    }
+
     private NDList evaluateOutput(OrtSession.Result results) {
         NDList output = new NDList();
         for (Map.Entry<String, OnnxValue> r : results) {
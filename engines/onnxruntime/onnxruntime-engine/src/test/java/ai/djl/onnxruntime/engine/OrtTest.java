@@ -20,6 +20,7 @@ import ai.djl.modality.Classifications;
 import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
 import ai.djl.onnxruntime.zoo.tabular.softmax_regression.IrisFlower;
 import ai.djl.repository.zoo.Criteria;
@@ -35,6 +36,7 @@ import org.testng.annotations.Test;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
@@ -106,6 +108,13 @@ public class OrtTest {
             data = ones.toFloatArray();
             Assert.assertEquals(data[0], 1);
 
+            // direct buffers are bound to the tensor without copying
+            ByteBuffer bb = manager.allocateDirect(8);
+            bb.putFloat(1f).putFloat(2f).rewind();
+            NDArray wrapped = manager.create(bb, new Shape(2), DataType.FLOAT32);
+            bb.putFloat(0, 3f);
+            Assert.assertEquals(wrapped.toFloatArray(), new float[] {3f, 2f});
+
             float[] buf = {0f, 1f, 2f, 3f};
             NDArray array = manager.create(buf);
             Assert.assertEquals(array.toFloatArray(), buf);
@@ -54,6 +54,9 @@ public final class PpEngine extends Engine {
             if (engine.getRank() < getRank()) {
                 // alternativeEngine should not have the same rank as PaddlePaddle
                 alternativeEngine = engine;
+            } else if (Engine.hasEngine("JavaCpu")) {
+                // fall back to the pure Java engine when no full engine is available
+                alternativeEngine = Engine.getEngine("JavaCpu");
             }
             initialized = true;
         }
@@ -32,6 +32,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -104,6 +105,9 @@ public class PtModel extends BaseModel {
             // autograd. Also, the pretrained parameters usually should not be updated too much. It
             // is safe to freeze it. Users may unfreeze it and set their learning rate small.
             block.freezeParameters(!retrain);
+            // the warm-up runs on the loading thread, which must not take the budget of a worker
+            warmup(options);
+            setThreadBudget(options);
         } else {
             boolean hasParameter = true;
             if (options != null) {
@@ -134,6 +138,8 @@ public class PtModel extends BaseModel {
             mapLocation = Boolean.parseBoolean((String) options.get("mapLocation"));
         }
         load(modelStream, mapLocation);
+        warmup(options);
+        setThreadBudget(options);
     }
 
     /**
@@ -149,6 +155,34 @@ public class PtModel extends BaseModel {
         block = JniUtils.loadModule((PtNDManager) manager, modelStream, mapLocation, false);
     }
 
+    // limits the intra-op threads of each thread that runs the model, see ThreadBudget
+    private void setThreadBudget(Map<String, ?> options) {
+        if (options == null || !options.containsKey("numThreads")) {
+            return;
+        }
+        int numThreads = Integer.parseInt((String) options.get("numThreads"));
+        boolean pinning = Boolean.parseBoolean((String) options.get("pinThreads"));
+        ((PtSymbolBlock) block).setThreadBudget(new ThreadBudget(numThreads, pinning));
+    }
+
+    // compiles the TorchScript graphs for the warmupShapes buckets before the first request
+    private void warmup(Map<String, ?> options) {
+        if (options == null || !options.containsKey("warmupShapes")) {
+            return;
+        }
+        String type = (String) options.get("warmupDataType");
+        DataType warmupType =
+                type == null ? DataType.FLOAT32 : DataType.valueOf(type.toUpperCase(Locale.ROOT));
+        String iterations = (String) options.get("warmupIterations");
+        boolean padding = Boolean.parseBoolean((String) options.get("padToBucket"));
+        String shapes = (String) options.get("warmupShapes");
+        String padAxes = (String) options.get("padAxes");
+        ShapeBuckets buckets = ShapeBuckets.parse(shapes, warmupType, padding, padAxes);
+        PtSymbolBlock symbolBlock = (PtSymbolBlock) block;
+        buckets.warmup(symbolBlock, manager, iterations == null ? 3 : Integer.parseInt(iterations));
+        symbolBlock.setShapeBuckets(buckets);
+    }
+
     private Path findModelFile(String prefix) {
         if (Files.isRegularFile(modelDir)) {
             Path file = modelDir;
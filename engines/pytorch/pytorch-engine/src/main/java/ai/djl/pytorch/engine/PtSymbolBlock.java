@@ -23,6 +23,7 @@ import ai.djl.nn.ParameterList;
 import ai.djl.nn.SymbolBlock;
 import ai.djl.pytorch.jni.IValue;
 import ai.djl.pytorch.jni.IValueUtils;
+import ai.djl.pytorch.jni.InputBinding;
 import ai.djl.pytorch.jni.JniUtils;
 import ai.djl.training.ParameterStore;
 import ai.djl.util.PairList;
@@ -34,7 +35,9 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -56,6 +59,9 @@ public class PtSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
     private PairList<String, Shape> outputDescriptions;
     private boolean first;
     private Map<String, Parameter> parameters;
+    private ShapeBuckets shapeBuckets;
+    private ThreadBudget threadBudget;
+    private Map<List<String>, InputBinding> inputBindings;
 
     /**
      * Constructs a {@code PtSymbolBlock}.
@@ -83,6 +89,7 @@ public class PtSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
         // training mode is on by default
         isTrain = true;
         first = true;
+        inputBindings = new ConcurrentHashMap<>();
     }
 
     /** {@inheritDoc} */
@@ -114,6 +121,9 @@ public class PtSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
             boolean training,
             PairList<String, Object> params) {
         // TODO refactor the forward to not take ParameterStore
+        if (threadBudget != null) {
+            threadBudget.apply();
+        }
         if (isTrain != training) {
             isTrain = training;
             if (isTrain) {
@@ -122,6 +132,13 @@ public class PtSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
                 JniUtils.enableInferenceMode(this);
             }
         }
+        if (shapeBuckets != null && !training) {
+            return shapeBuckets.forward(inputs, list -> forwardModule(list, false));
+        }
+        return forwardModule(inputs, training);
+    }
+
+    private NDList forwardModule(NDList inputs, boolean training) {
         if (first) {
             synchronized (PtSymbolBlock.class) {
                 if (first) {
@@ -236,6 +253,45 @@ public class PtSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
         manager.attachInternal(uid, this);
     }
 
+    /**
+     * Returns the {@link InputBinding} for the names of the inputs.
+     *
+     * <p>The binding is computed once for each naming layout of the inputs.
+     *
+     * @param inputs the inputs of the forward pass
+     * @return the {@link InputBinding} for the names of the inputs
+     */
+    public InputBinding getInputBinding(NDList inputs) {
+        return inputBindings.computeIfAbsent(InputBinding.namesOf(inputs), InputBinding::of);
+    }
+
+    /**
+     * Returns the shape buckets the block is warmed up with.
+     *
+     * @return the shape buckets, {@code null} if the block is not warmed up
+     */
+    public ShapeBuckets getShapeBuckets() {
+        return shapeBuckets;
+    }
+
+    /**
+     * Sets the shape buckets the block is warmed up with.
+     *
+     * @param shapeBuckets the shape buckets
+     */
+    void setShapeBuckets(ShapeBuckets shapeBuckets) {
+        this.shapeBuckets = shapeBuckets;
+    }
+
+    /**
+     * Sets the intra-op thread budget applied to each thread that runs the block.
+     *
+     * @param threadBudget the thread budget
+     */
+    void setThreadBudget(ThreadBudget threadBudget) {
+        this.threadBudget = threadBudget;
+    }
+
     /**
      * Get the native PyTorch model pointer.
      *
@@ -0,0 +1,389 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.pytorch.engine;
+
+import ai.djl.metric.Dimension;
+import ai.djl.metric.Metric;
+import ai.djl.metric.Metrics;
+import ai.djl.metric.Unit;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDArrays;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.index.NDIndex;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.training.ParameterStore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * {@code ShapeBuckets} holds the input shape buckets a {@link PtSymbolBlock} is warmed up with.
+ *
+ * <p>The TorchScript profiling executor specializes and optimizes the graph for the input shapes it
+ * has seen, so the first calls with a new shape are slow. The buckets are run when the model is
+ * loaded, so that the graphs are compiled before the first request. With padding enabled, an input
+ * is padded with zeros on the pad axes up to the smallest bucket that can hold it, and the outputs
+ * are sliced back to the input size on the same axes, so only the bucket shapes ever reach the
+ * model. An output axis is sliced when it is a pad axis and its size is the padded size, the other
+ * output axes are returned as they are.
+ *
+ * <p>The buckets are configured with the model load options:
+ *
+ * <ul>
+ *   <li>warmupShapes: the buckets separated by {@code ;}, each bucket lists the shape of every
+ *       input, e.g. {@code (1,32),(1,32);(1,128),(1,128)}
+ *   <li>warmupDataType: the data type of the warm-up inputs, {@code float32} by default
+ *   <li>warmupIterations: the number of forward passes per bucket, 3 by default
+ *   <li>padToBucket: pads the inputs up to the nearest bucket, {@code false} by default
+ *   <li>padAxes: the axes that are padded and sliced back, separated by {@code ,}, by default the
+ *       axes on which the buckets differ, e.g. {@code 1} for {@code (1,32);(1,128)}
+ * </ul>
+ */
+public final class ShapeBuckets {
+
+    private static final Pattern SHAPE_PATTERN = Pattern.compile("\\(([^)]*)\\)");
+
+    private List<Bucket> buckets;
+    private DataType dataType;
+    private boolean padding;
+    private int[] padAxes;
+    private AtomicLong misses;
+
+    ShapeBuckets(List<Shape[]> shapes, DataType dataType, boolean padding, int[] padAxes) {
+        this.dataType = dataType;
+        this.padding = padding;
+        this.padAxes = padAxes == null ? differingAxes(shapes) : padAxes;
+        buckets =
+                shapes.stream()
+                        .map(Bucket::new)
+                        .sorted(Comparator.comparingLong(Bucket::size))
+                        .collect(Collectors.toList());
+        misses = new AtomicLong();
+    }
+
+    /**
+     * Parses the buckets from the {@code warmupShapes} option.
+     *
+     * @param value the buckets separated by {@code ;}, e.g. {@code (1,32),(1,32);(1,128),(1,128)}
+     * @param dataType the data type of the warm-up inputs
+     * @param padding whether to pad the inputs up to the nearest bucket
+     * @param padAxes the axes to pad separated by {@code ,}, or {@code null} for the axes on which
+     *     the buckets differ
+     * @return the {@code ShapeBuckets}
+     */
+    static ShapeBuckets parse(String value, DataType dataType, boolean padding, String padAxes) {
+        List<Shape[]> shapes = new ArrayList<>();
+        for (String bucket : value.split(";")) {
+            List<Shape> inputs = new ArrayList<>();
+            Matcher m = SHAPE_PATTERN.matcher(bucket);
+            while (m.find()) {
+                long[] dims =
+                        Arrays.stream(m.group(1).split(","))
+                                .map(String::trim)
+                                .filter(s -> !s.isEmpty())
+                                .mapToLong(Long::parseLong)
+                                .toArray();
+                inputs.add(new Shape(dims));
+            }
+            if (inputs.isEmpty()) {
+                throw new IllegalArgumentException("Invalid warmupShapes: " + value);
+            }
+            shapes.add(inputs.toArray(new Shape[0]));
+        }
+        int[] axes = null;
+        if (padAxes != null) {
+            axes =
+                    Arrays.stream(padAxes.split(","))
+                            .map(String::trim)
+                            .filter(s -> !s.isEmpty())
+                            .mapToInt(Integer::parseInt)
+                            .toArray();
+        }
+        return new ShapeBuckets(shapes, dataType, padding, axes);
+    }
+
+    /**
+     * Returns whether the inputs are padded up to the nearest bucket.
+     *
+     * @return whether the inputs are padded up to the nearest bucket
+     */
+    public boolean isPadding() {
+        return padding;
+    }
+
+    /**
+     * Returns the axes that are padded and sliced back.
+     *
+     * @return the axes that are padded and sliced back
+     */
+    public int[] getPadAxes() {
+        return padAxes.clone();
+    }
+
+    /**
+     * Returns the input shapes of the buckets, from the smallest to the largest.
+     *
+     * @return the input shapes of the buckets
+     */
+    public List<Shape[]> getShapes() {
+        return buckets.stream().map(b -> b.shapes).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the warm-up time and the hit count of each bucket, and the number of calls that did
+     * not fit any bucket.
+     *
+     * <p>The metrics are {@code WarmupTime} in microseconds and {@code BucketHit} with a {@code
+     * Bucket} dimension, and {@code BucketMiss}.
+     *
+     * @return the metrics of the buckets
+     */
+    public Metrics getMetrics() {
+        Metrics metrics = new Metrics();
+        for (Bucket bucket : buckets) {
+            Dimension dimension = new Dimension("Bucket", bucket.toString());
+            metrics.addMetric(
+                    new Metric("WarmupTime", bucket.warmupTime, Unit.MICROSECONDS, dimension));
+            metrics.addMetric(new Metric("BucketHit", bucket.hits.get(), Unit.COUNT, dimension));
+        }
+        metrics.addMetric("BucketMiss", misses.get(), Unit.COUNT);
+        return metrics;
+    }
+
+    /**
+     * Runs the forward pass of every bucket with zero inputs.
+     *
+     * @param block the block to warm up
+     * @param manager the manager to create the warm-up inputs
+     * @param iterations the number of forward passes per bucket
+     */
+    void warmup(PtSymbolBlock block, NDManager manager, int iterations) {
+        for (Bucket bucket : buckets) {
+            try (NDManager scope = manager.newSubManager()) {
+                NDList inputs = new NDList(bucket.shapes.length);
+                for (Shape shape : bucket.shapes) {
+                    inputs.add(scope.zeros(shape, dataType));
+                }
+                ParameterStore parameterStore = new ParameterStore(scope, false);
+                long begin = System.nanoTime();
+                for (int i = 0; i < iterations; ++i) {
+                    block.forward(parameterStore, inputs, false).close();
+                }
+                bucket.warmupTime = (System.nanoTime() - begin) / 1000;
+            }
+        }
+    }
+
+    /**
+     * Runs the forward function with the inputs padded to the nearest bucket.
+     *
+     * @param inputs the inputs
+     * @param forward the forward function of the block
+     * @return the outputs sliced back to the input size
+     */
+    NDList forward(NDList inputs, UnaryOperator<NDList> forward) {
+        Bucket bucket = find(inputs);
+        if (bucket == null) {
+            misses.incrementAndGet();
+            return forward.apply(inputs);
+        }
+        bucket.hits.incrementAndGet();
+        if (!padding || bucket.matches(inputs)) {
+            return forward.apply(inputs);
+        }
+
+        NDManager manager = inputs.head().getManager();
+        try (NDManager scope = manager.newSubManager()) {
+            NDList padded = new NDList(inputs.size());
+            for (int i = 0; i < inputs.size(); ++i) {
+                padded.add(pad(inputs.get(i), bucket.shapes[i], padAxes, scope));
+            }
+            NDList outputs = forward.apply(padded);
+            NDList ret = new NDList(outputs.size());
+            for (NDArray output : outputs) {
+                NDArray sliced = unpad(output, inputs, bucket, padAxes);
+                if (sliced != output) {
+                    output.close();
+                }
+                ret.add(sliced);
+            }
+            ret.attach(manager);
+            return ret;
+        }
+    }
+
+    // returns the smallest bucket that holds all the inputs
+    private Bucket find(NDList inputs) {
+        for (Bucket bucket : buckets) {
+            if (bucket.holds(inputs, padding ? padAxes : null)) {
+                return bucket;
+            }
+        }
+        return null;
+    }
+
+    // returns the axes on which the shapes of the buckets differ
+    private static int[] differingAxes(List<Shape[]> shapes) {
+        Shape[] first = shapes.get(0);
+        int dimension = Arrays.stream(first).mapToInt(Shape::dimension).max().orElse(0);
+        List<Integer> axes = new ArrayList<>();
+        for (int axis = 0; axis < dimension; ++axis) {
+            for (Shape[] bucket : shapes) {
+                if (differs(first, bucket, axis)) {
+                    axes.add(axis);
+                    break;
+                }
+            }
+        }
+        return axes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static boolean differs(Shape[] first, Shape[] other, int axis) {
+        for (int i = 0; i < first.length && i < other.length; ++i) {
+            boolean inFirst = axis < first[i].dimension();
+            boolean inOther = axis < other[i].dimension();
+            if (inFirst != inOther || (inFirst && first[i].get(axis) != other[i].get(axis))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean contains(int[] axes, int axis) {
+        for (int a : axes) {
+            if (a == axis) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static NDArray pad(NDArray array, Shape target, int[] padAxes, NDManager scope) {
+        Shape shape = array.getShape();
+        if (shape.equals(target)) {
+            return array;
+        }
+        NDArray result = array;
+        for (int axis : padAxes) {
+            if (axis >= target.dimension()) {
+                continue;
+            }
+            long dim = result.getShape().get(axis);
+            long missing = target.get(axis) - dim;
+            if (missing > 0) {
+                long[] dims = result.getShape().getShape().clone();
+                dims[axis] = missing;
+                NDArray zeros =
+                        scope.zeros(new Shape(dims), array.getDataType(), array.getDevice());
+                result = NDArrays.concat(new NDList(result, zeros), axis);
+                result.attach(scope);
+            }
+        }
+        return result;
+    }
+
+    // slices an output on the pad axes that were padded, the first padded input decides the size
+    private static NDArray unpad(NDArray output, NDList inputs, Bucket bucket, int[] padAxes) {
+        Shape shape = output.getShape();
+        NDIndex index = new NDIndex();
+        boolean sliced = false;
+        for (int axis = 0; axis < shape.dimension(); ++axis) {
+            long size = -1;
+            for (int i = 0; i < inputs.size() && contains(padAxes, axis); ++i) {
+                Shape target = bucket.shapes[i];
+                Shape actual = inputs.get(i).getShape();
+                if (axis < target.dimension()
+                        && target.get(axis) == shape.get(axis)
+                        && actual.get(axis) < target.get(axis)) {
+                    size = actual.get(axis);
+                    break;
+                }
+            }
+            if (size < 0) {
+                index.addAllDim();
+            } else {
+                index.addSliceDim(0, size);
+                sliced = true;
+            }
+        }
+        return sliced ? output.get(index) : output;
+    }
+
+    private static final class Bucket {
+
+        Shape[] shapes;
+        AtomicLong hits = new AtomicLong();
+        long warmupTime;
+
+        Bucket(Shape[] shapes) {
+            this.shapes = shapes;
+        }
+
+        long size() {
+            return Arrays.stream(shapes).mapToLong(Shape::size).sum();
+        }
+
+        // with pad axes, the other axes must match exactly since they are not padded
+        boolean holds(NDList inputs, int[] padAxes) {
+            if (inputs.size() != shapes.length) {
+                return false;
+            }
+            for (int i = 0; i < shapes.length; ++i) {
+                Shape shape = inputs.get(i).getShape();
+                if (shape.dimension() != shapes[i].dimension()) {
+                    return false;
+                }
+                for (int axis = 0; axis < shape.dimension(); ++axis) {
+                    long dim = shape.get(axis);
+                    long target = shapes[i].get(axis);
+                    if (dim > target
+                            || (padAxes != null && dim != target && !contains(padAxes, axis))) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        boolean matches(NDList inputs) {
+            for (int i = 0; i < shapes.length; ++i) {
+                if (!inputs.get(i).getShape().equals(shapes[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            // metric dimensions must not contain commas, e.g. 1x32_1x32
+            return Arrays.stream(shapes)
+                    .map(
+                            s ->
+                                    Arrays.stream(s.getShape())
+                                            .mapToObj(String::valueOf)
+                                            .collect(Collectors.joining("x")))
+                    .collect(Collectors.joining("_"));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.pytorch.engine;
+
+import ai.djl.pytorch.jni.JniUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The intra-op thread budget of a model, applied to each thread that runs the model.
+ *
+ * <p>The number of threads is set on the calling thread only, so N threads that run predictors of a
+ * model with a budget of M threads use N x M cores instead of each using all cores. With pinning
+ * enabled, each new thread is pinned to the next M cores, so that the workers do not share cores.
+ * The budget is set on the model after its warm-up, so the loading thread is neither limited nor
+ * pinned, only the threads that run predictions are.
+ *
+ * <p>A native library that predates the per-thread settings ignores the budget with a warning.
+ */
+final class ThreadBudget {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadBudget.class);
+
+    private static final ThreadLocal<Integer> THREADS = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+    private static final AtomicInteger NEXT_CORE = new AtomicInteger();
+
+    // cleared once the native library turns out to lack the per-thread settings
+    private static volatile boolean supported = true;
+
+    private int numThreads;
+    private boolean pinning;
+
+    ThreadBudget(int numThreads, boolean pinning) {
+        this.numThreads = numThreads;
+        this.pinning = pinning;
+    }
+
+    /** Applies the budget to the calling thread, if it is not applied already. */
+    void apply() {
+        Integer current = THREADS.get();
+        if (!supported || (current != null && current == numThreads)) {
+            return;
+        }
+        try {
+            applyNative();
+        } catch (UnsatisfiedLinkError e) {
+            logger.warn("The PyTorch native library does not support numThreads, ignored", e);
+            supported = false;
+        }
+    }
+
+    private void applyNative() {
+        if (pinning && PINNED.get() == null) {
+            int cores = Runtime.getRuntime().availableProcessors();
+            int start = NEXT_CORE.getAndAdd(numThreads);
+            int[] cpus = new int[Math.min(numThreads, cores)];
+            for (int i = 0; i < cpus.length; ++i) {
+                cpus[i] = (start + i) % cores;
+            }
+            JniUtils.setThreadAffinity(cpus);
+            PINNED.set(Boolean.TRUE);
+        }
+        JniUtils.setThreadLocalNumThreads(numThreads);
+        THREADS.set(numThreads);
+    }
+}
@@ -42,14 +42,7 @@ public final class IValueUtils {
      * @return the result {@link NDList}
      */
     public static NDList forward(PtSymbolBlock block, NDList inputs, boolean isTrain) {
-        IValue[] iValues = getInputs(inputs);
-        long[] iValueHandles = Arrays.stream(iValues).mapToLong(IValue::getHandle).toArray();
-        long result = PyTorchLibrary.LIB.moduleForward(block.getHandle(), iValueHandles, isTrain);
-        PtNDManager manager = (PtNDManager) inputs.get(0).getManager();
-        Arrays.stream(iValues).forEach(IValue::close);
-        try (IValue iValue = new IValue(result)) {
-            return iValue.toNDList(manager);
-        }
+        return block.getInputBinding(inputs).forward(block, inputs, isTrain);
     }
 
     /**
@@ -64,6 +57,18 @@ public final class IValueUtils {
         return new IValue(PyTorchLibrary.LIB.moduleForward(block.getHandle(), handles, false));
     }
 
+    // converts each argument to an IValue, used for inputs that are not only tensors
+    static NDList forwardIValues(PtSymbolBlock block, NDList inputs, boolean isTrain) {
+        IValue[] iValues = getInputs(inputs);
+        long[] iValueHandles = Arrays.stream(iValues).mapToLong(IValue::getHandle).toArray();
+        long result = PyTorchLibrary.LIB.moduleForward(block.getHandle(), iValueHandles, isTrain);
+        PtNDManager manager = (PtNDManager) inputs.get(0).getManager();
+        Arrays.stream(iValues).forEach(IValue::close);
+        try (IValue iValue = new IValue(result)) {
+            return iValue.toNDList(manager);
+        }
+    }
+
     private static int addToMap(
             Map<String, Integer> map, String key, List<PairList<String, PtNDArray>> list) {
         return map.computeIfAbsent(
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.pytorch.jni;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.pytorch.engine.PtNDArray;
+import ai.djl.pytorch.engine.PtNDManager;
+import ai.djl.pytorch.engine.PtSymbolBlock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code InputBinding} maps the arrays of an {@link NDList} to the arguments of a TorchScript
+ * module.
+ *
+ * <p>The input names decide the argument types the same way as {@link IValueUtils}: {@code
+ * name.key} is an entry of a {@code Dict[str, Tensor]}, {@code name[]} an element of a {@code
+ * List[Tensor]}, {@code name()} an element of a {@code Tuple} and any other name a {@code Tensor}.
+ * The binding is computed once for a naming layout. The forward pass then packs the tensor handles
+ * into one array, and builds the arguments, runs the module and unpacks the output tensors in a
+ * single native call. With a native library that predates this call, the arguments are converted to
+ * {@link IValue}s instead.
+ */
+public final class InputBinding {
+
+    private static final Logger logger = LoggerFactory.getLogger(InputBinding.class);
+
+    private static final int TENSOR = 0;
+    private static final int LIST = 1;
+    private static final int TUPLE = 2;
+    private static final int DICT = 3;
+
+    // cleared once the native library turns out to lack moduleForwardTensors
+    private static volatile boolean nativeForward = true;
+
+    private int[] order;
+    private int[] layout;
+    private String[] keys;
+
+    private InputBinding(int[] order, int[] layout, String[] keys) {
+        this.order = order;
+        this.layout = layout;
+        this.keys = keys;
+    }
+
+    /**
+     * Computes the binding for the names of the inputs.
+     *
+     * @param names the names of the inputs, the name can be {@code null}
+     * @return the binding for the names of the inputs
+     */
+    public static InputBinding of(List<String> names) {
+        // arguments by name in the order of their first input, unnamed inputs have no entry
+        Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        List<List<Integer>> arguments = new ArrayList<>();
+        List<Integer> kinds = new ArrayList<>();
+        List<String> dictKeys = new ArrayList<>();
+        for (int i = 0; i < names.size(); ++i) {
+            String name = names.get(i);
+            String group;
+            int kind;
+            if (name != null && name.contains(".")) {
+                group = name.substring(0, name.indexOf('.'));
+                kind = DICT;
+            } else if (name != null && isArgument(name, "[]")) {
+                group = name;
+                kind = LIST;
+            } else if (name != null && isArgument(name, "()")) {
+                group = name;
+                kind = TUPLE;
+            } else {
+                List<Integer> argument = new ArrayList<>(1);
+                argument.add(i);
+                arguments.add(argument);
+                kinds.add(TENSOR);
+                continue;
+            }
+            List<Integer> argument = groups.get(group);
+            if (argument == null) {
+                argument = new ArrayList<>();
+                groups.put(group, argument);
+                arguments.add(argument);
+                kinds.add(kind);
+            }
+            argument.add(i);
+        }
+
+        int[] order = new int[names.size()];
+        int[] layout = new int[arguments.size() * 2];
+        int index = 0;
+        for (int i = 0; i < arguments.size(); ++i) {
+            List<Integer> argument = arguments.get(i);
+            layout[i * 2] = kinds.get(i);
+            layout[i * 2 + 1] = argument.size();
+            for (int input : argument) {
+                order[index++] = input;
+                if (kinds.get(i) == DICT) {
+                    String name = names.get(input);
+                    dictKeys.add(name.substring(name.indexOf('.') + 1));
+                }
+            }
+        }
+        return new InputBinding(order, layout, dictKeys.toArray(new String[0]));
+    }
+
+    /**
+     * Runs the forward of the PyTorch module with the inputs.
+     *
+     * @param block the block that contains PyTorch module
+     * @param inputs the input {@link NDList}, the names must match this binding
+     * @param isTrain if running on training mode
+     * @return the result {@link NDList}
+     */
+    public NDList forward(PtSymbolBlock block, NDList inputs, boolean isTrain) {
+        if (!nativeForward) {
+            return IValueUtils.forwardIValues(block, inputs, isTrain);
+        }
+        long[] handles = new long[order.length];
+        for (int i = 0; i < order.length; ++i) {
+            PtNDArray array = (PtNDArray) inputs.get(order[i]);
+            if (array.getDataType() == DataType.STRING) {
+                // string arrays are converted to string IValues
+                return IValueUtils.forwardIValues(block, inputs, isTrain);
+            }
+            handles[i] = array.getHandle();
+        }
+        long[] iValueHandle = new long[1];
+        long[] results;
+        try {
+            results =
+                    PyTorchLibrary.LIB.moduleForwardTensors(
+                            block.getHandle(), handles, layout, keys, isTrain, iValueHandle);
+        } catch (UnsatisfiedLinkError e) {
+            logger.warn("moduleForwardTensors is not supported by the PyTorch native library", e);
+            nativeForward = false;
+            return IValueUtils.forwardIValues(block, inputs, isTrain);
+        }
+        PtNDManager manager = (PtNDManager) inputs.get(0).getManager();
+        return toNDList(results, iValueHandle[0], manager);
+    }
+
+    // the output tensors, or the output IValue when it is not made of tensors, lists and tuples
+    static NDList toNDList(long[] results, long iValueHandle, PtNDManager manager) {
+        if (results == null) {
+            try (IValue iValue = new IValue(iValueHandle)) {
+                return iValue.toNDList(manager);
+            }
+        }
+        NDList outputs = new NDList(results.length);
+        for (long handle : results) {
+            outputs.add(new PtNDArray(manager, handle));
+        }
+        return outputs;
+    }
+
+    int[] getOrder() {
+        return order;
+    }
+
+    int[] getLayout() {
+        return layout;
+    }
+
+    String[] getKeys() {
+        return keys;
+    }
+
+    /**
+     * Returns the names of the inputs as the key of a binding.
+     *
+     * @param inputs the inputs
+     * @return the names of the inputs
+     */
+    public static List<String> namesOf(NDList inputs) {
+        List<String> names = new ArrayList<>(inputs.size());
+        for (NDArray array : inputs) {
+            names.add(array.getName());
+        }
+        return names;
+    }
+
+    // matches the "\\w+\\[]" and "\\w+\\(\\)" names of IValueUtils without a regex
+    private static boolean isArgument(String name, String suffix) {
+        int length = name.length() - suffix.length();
+        if (length <= 0 || !name.endsWith(suffix)) {
+            return false;
+        }
+        for (int i = 0; i < length; ++i) {
+            char c = name.charAt(i);
+            boolean word =
+                    (c >= 'a' && c <= 'z')
+                            || (c >= 'A' && c <= 'Z')
+                            || (c >= '0' && c <= '9')
+                            || c == '_';
+            if (!word) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -106,6 +106,14 @@ public final class JniUtils {
         PyTorchLibrary.LIB.torchSetNumThreads(threads);
     }
 
+    public static void setThreadLocalNumThreads(int threads) {
+        PyTorchLibrary.LIB.torchSetThreadLocalNumThreads(threads);
+    }
+
+    public static void setThreadAffinity(int[] cpus) {
+        PyTorchLibrary.LIB.torchSetThreadAffinity(cpus);
+    }
+
     public static void setBenchmarkCuDNN(boolean enable) {
         PyTorchLibrary.LIB.torchSetBenchmarkCuDNN(enable);
     }
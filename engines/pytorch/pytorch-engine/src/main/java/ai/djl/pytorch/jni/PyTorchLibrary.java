@@ -36,6 +36,10 @@ final class PyTorchLibrary {
 
     native void torchSetNumThreads(int threads);
 
+    native void torchSetThreadLocalNumThreads(int threads);
+
+    native void torchSetThreadAffinity(int[] cpus);
+
     native void torchSetBenchmarkCuDNN(boolean enable);
 
     native void torchManualSeed(long seed);
@@ -505,6 +509,14 @@ final class PyTorchLibrary {
 
     native long moduleForward(long moduleHandle, long[] iValueHandles, boolean isTrain);
 
+    native long[] moduleForwardTensors(
+            long moduleHandle,
+            long[] tensorHandles,
+            int[] layout,
+            String[] keys,
+            boolean isTrain,
+            long[] iValueHandle);
+
     native void setGraphExecutorOptimize(boolean enabled);
 
     native void moduleWrite(long moduleHandle, OutputStream os, byte[] buffer, boolean writeSize);
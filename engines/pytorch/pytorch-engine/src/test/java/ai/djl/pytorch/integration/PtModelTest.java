@@ -15,11 +15,14 @@ package ai.djl.pytorch.integration;
 import ai.djl.Device;
 import ai.djl.Model;
 import ai.djl.ModelException;
+import ai.djl.engine.Engine;
 import ai.djl.inference.Predictor;
 import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.Shape;
 import ai.djl.pytorch.engine.PtModel;
+import ai.djl.pytorch.jni.JniUtils;
 import ai.djl.repository.zoo.Criteria;
 import ai.djl.repository.zoo.ZooModel;
 import ai.djl.training.util.ProgressBar;
@@ -27,11 +30,18 @@ import ai.djl.translate.NoopTranslator;
 import ai.djl.translate.TranslateException;
 
 import org.testng.Assert;
+import org.testng.SkipException;
 import org.testng.annotations.Test;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class PtModelTest {
 
@@ -57,4 +67,66 @@ public class PtModelTest {
             }
         }
     }
+
+    @Test
+    public void testThreadBudget()
+            throws IOException, ModelException, InterruptedException, ExecutionException {
+        Engine.getEngine("PyTorch");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // a native library without the per-thread settings ignores the budget
+            boolean supported =
+                    executor.submit(
+                                    () -> {
+                                        try {
+                                            JniUtils.setThreadLocalNumThreads(2);
+                                            return JniUtils.getNumThreads() == 2;
+                                        } catch (UnsatisfiedLinkError e) {
+                                            return false;
+                                        }
+                                    })
+                            .get();
+            if (!supported) {
+                throw new SkipException("The per-thread settings are not supported");
+            }
+
+            int before = JniUtils.getNumThreads();
+            int budget = before == 1 ? 2 : 1;
+            Criteria<NDList, NDList> criteria =
+                    Criteria.builder()
+                            .setTypes(NDList.class, NDList.class)
+                            .optModelUrls("djl://ai.djl.pytorch/resnet/0.0.1/traced_resnet18")
+                            .optOption("numThreads", String.valueOf(budget))
+                            .optOption("pinThreads", "true")
+                            .optOption("warmupShapes", "(1,3,224,224)")
+                            .optOption("warmupIterations", "1")
+                            .optProgress(new ProgressBar())
+                            .build();
+            try (ZooModel<NDList, NDList> model = criteria.loadModel()) {
+                // the warm-up does not apply the budget to the loading thread
+                Assert.assertEquals(JniUtils.getNumThreads(), before);
+
+                List<Future<Integer>> futures = new ArrayList<>();
+                for (int i = 0; i < 2; ++i) {
+                    futures.add(executor.submit(() -> predict(model)));
+                }
+                for (Future<Integer> future : futures) {
+                    Assert.assertEquals(future.get().intValue(), budget);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // returns the intra-op threads of the calling thread after the prediction
+    private static int predict(ZooModel<NDList, NDList> model) throws TranslateException {
+        try (Predictor<NDList, NDList> predictor = model.newPredictor();
+                NDManager manager = model.getNDManager().newSubManager()) {
+            NDArray array = manager.ones(new Shape(1, 3, 224, 224));
+            Shape shape = predictor.predict(new NDList(array)).singletonOrThrow().getShape();
+            Assert.assertEquals(shape, new Shape(1, 1000));
+            return JniUtils.getNumThreads();
+        }
+    }
 }
@@ -15,12 +15,14 @@ package ai.djl.pytorch.integration;
 
 import ai.djl.ModelException;
 import ai.djl.inference.Predictor;
+import ai.djl.metric.Metrics;
 import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.Shape;
 import ai.djl.pytorch.engine.PtNDArray;
 import ai.djl.pytorch.engine.PtNDManager;
 import ai.djl.pytorch.engine.PtSymbolBlock;
+import ai.djl.pytorch.engine.ShapeBuckets;
 import ai.djl.pytorch.jni.JniUtils;
 import ai.djl.repository.zoo.Criteria;
 import ai.djl.repository.zoo.ZooModel;
@@ -96,4 +98,34 @@ public class TorchScriptTest {
             }
         }
     }
+
+    @Test
+    public void testShapeBuckets() throws IOException, ModelException, TranslateException {
+        Criteria<NDList, NDList> criteria =
+                Criteria.builder()
+                        .setTypes(NDList.class, NDList.class)
+                        .optModelUrls("djl://ai.djl.pytorch/resnet/0.0.1/traced_resnet18")
+                        .optOption("warmupShapes", "(1,3,224,224);(1,3,112,112)")
+                        .optOption("warmupIterations", "1")
+                        .optOption("padToBucket", "true")
+                        .optProgress(new ProgressBar())
+                        .build();
+        try (ZooModel<NDList, NDList> model = criteria.loadModel();
+                Predictor<NDList, NDList> predictor = model.newPredictor()) {
+            ShapeBuckets buckets = ((PtSymbolBlock) model.getBlock()).getShapeBuckets();
+            Assert.assertEquals(buckets.getShapes().get(0)[0], new Shape(1, 3, 112, 112));
+            // the buckets differ on the spatial axes only
+            Assert.assertEquals(buckets.getPadAxes(), new int[] {2, 3});
+
+            NDManager manager = model.getNDManager();
+            NDList output = predictor.predict(new NDList(manager.ones(new Shape(1, 3, 100, 90))));
+            Assert.assertEquals(output.singletonOrThrow().getShape(), new Shape(1, 1000));
+            predictor.predict(new NDList(manager.ones(new Shape(1, 3, 300, 300))));
+
+            Metrics metrics = buckets.getMetrics();
+            Assert.assertEquals(metrics.getMetric("BucketHit").get(0).getValue(), 1d);
+            Assert.assertEquals(metrics.latestMetric("BucketMiss").getValue(), 1d);
+            Assert.assertEquals(metrics.getMetric("WarmupTime").size(), 2);
+        }
+    }
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.pytorch.jni;
+
+import ai.djl.ModelException;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.pytorch.engine.PtNDArray;
+import ai.djl.pytorch.engine.PtNDManager;
+import ai.djl.pytorch.engine.PtSymbolBlock;
+import ai.djl.repository.zoo.Criteria;
+import ai.djl.repository.zoo.ZooModel;
+import ai.djl.training.util.ProgressBar;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class InputBindingTest {
+
+    @Test
+    public void testList() {
+        InputBinding binding = InputBinding.of(Arrays.asList("input1[]", "input2", "input1[]"));
+        // (input1: List[Tensor], input2: Tensor)
+        Assert.assertEquals(binding.getLayout(), new int[] {1, 2, 0, 1});
+        Assert.assertEquals(binding.getOrder(), new int[] {0, 2, 1});
+        Assert.assertEquals(binding.getKeys().length, 0);
+    }
+
+    @Test
+    public void testTuple() {
+        InputBinding binding = InputBinding.of(Arrays.asList(null, "input1()", "input1()"));
+        // (Tensor, input1: Tuple)
+        Assert.assertEquals(binding.getLayout(), new int[] {0, 1, 2, 2});
+        Assert.assertEquals(binding.getOrder(), new int[] {0, 1, 2});
+        Assert.assertEquals(binding.getKeys().length, 0);
+    }
+
+    @Test
+    public void testDict() {
+        InputBinding binding =
+                InputBinding.of(
+                        Arrays.asList("input1.key1", "input2.key1", "input1.key2", "input3"));
+        // (input1: Dict[str, Tensor], input2: Dict[str, Tensor], input3: Tensor)
+        Assert.assertEquals(binding.getLayout(), new int[] {3, 2, 3, 1, 0, 1});
+        Assert.assertEquals(binding.getOrder(), new int[] {0, 2, 1, 3});
+        Assert.assertEquals(binding.getKeys(), new String[] {"key1", "key2", "key1"});
+    }
+
+    @Test
+    public void testNonTensorOutput() {
+        try (PtNDManager manager = (PtNDManager) NDManager.newBaseManager()) {
+            Map<String, PtNDArray> map = new LinkedHashMap<>();
+            map.put("a", (PtNDArray) manager.zeros(new Shape(1)));
+            map.put("b", (PtNDArray) manager.ones(new Shape(2)));
+            // the output IValue is owned and closed by toNDList
+            IValue dict = IValue.stringMapFrom(map);
+            NDList outputs = InputBinding.toNDList(null, dict.getHandle(), manager);
+            Assert.assertEquals(outputs.size(), 2);
+            Assert.assertEquals(outputs.get("b").getShape(), new Shape(2));
+        }
+    }
+
+    @Test
+    public void testForward() throws IOException, ModelException {
+        Criteria<NDList, NDList> criteria =
+                Criteria.builder()
+                        .setTypes(NDList.class, NDList.class)
+                        .optModelUrls("https://resources.djl.ai/test-models/dict_input.zip")
+                        .optProgress(new ProgressBar())
+                        .build();
+        try (ZooModel<NDList, NDList> model = criteria.loadModel();
+                NDManager manager = model.getNDManager().newSubManager()) {
+            PtSymbolBlock block = (PtSymbolBlock) model.getBlock();
+            NDArray array = manager.ones(new Shape(2, 2));
+            array.setName("input1.input");
+            NDList inputs = new NDList(array);
+
+            NDList expected = IValueUtils.forwardIValues(block, inputs, false);
+            NDList actual = block.getInputBinding(inputs).forward(block, inputs, false);
+            Assert.assertEquals(actual.singletonOrThrow(), expected.singletonOrThrow());
+        }
+    }
+}
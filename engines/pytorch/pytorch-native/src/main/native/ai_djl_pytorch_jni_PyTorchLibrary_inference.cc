@@ -236,6 +236,109 @@ JNIEXPORT jlong JNICALL Java_ai_djl_pytorch_jni_PyTorchLibrary_moduleForward(
   API_END_RETURN()
 }
 
+// flattens tensors, tensor lists and nested lists and tuples of tensors in order
+static bool FlattenTensors(const torch::IValue& value, std::vector<torch::Tensor>& tensors) {
+  if (value.isTensor()) {
+    tensors.emplace_back(value.toTensor());
+  } else if (value.isTensorList()) {
+    for (const torch::Tensor& tensor : value.toTensorList()) {
+      tensors.emplace_back(tensor);
+    }
+  } else if (value.isList()) {
+    for (const torch::IValue& element : value.toList()) {
+      if (!FlattenTensors(element, tensors)) {
+        return false;
+      }
+    }
+  } else if (value.isTuple()) {
+    for (const torch::IValue& element : value.toTuple()->elements()) {
+      if (!FlattenTensors(element, tensors)) {
+        return false;
+      }
+    }
+  } else {
+    return false;
+  }
+  return true;
+}
+
+JNIEXPORT jlongArray JNICALL Java_ai_djl_pytorch_jni_PyTorchLibrary_moduleForwardTensors(JNIEnv* env, jobject jthis,
+    jlong module_handle, jlongArray jtensor_ptrs, jintArray jlayout, jobjectArray jkeys, jboolean jis_train,
+    jlongArray jivalue_out) {
+  API_BEGIN()
+  auto* module_ptr = reinterpret_cast<torch::jit::script::Module*>(module_handle);
+  jlong* jptrs = env->GetLongArrayElements(jtensor_ptrs, JNI_FALSE);
+  std::vector<int32_t> layout = djl::utils::jni::GetVecFromJIntArray(env, jlayout);
+  std::vector<torch::IValue> inputs;
+  inputs.reserve(layout.size() / 2);
+  size_t index = 0;
+  jsize key_index = 0;
+  // the layout holds a (kind, count) pair for each argument of forward
+  for (size_t i = 0; i < layout.size(); i += 2) {
+    int32_t count = layout[i + 1];
+    switch (layout[i]) {
+      case 0:
+        inputs.emplace_back(*reinterpret_cast<torch::Tensor*>(jptrs[index++]));
+        break;
+      case 1: {
+        torch::List<torch::Tensor> list;
+        list.reserve(count);
+        for (int32_t j = 0; j < count; ++j) {
+          list.emplace_back(*reinterpret_cast<torch::Tensor*>(jptrs[index++]));
+        }
+        inputs.emplace_back(list);
+        break;
+      }
+      case 2: {
+        std::vector<torch::IValue> elements;
+        elements.reserve(count);
+        for (int32_t j = 0; j < count; ++j) {
+          elements.emplace_back(*reinterpret_cast<torch::Tensor*>(jptrs[index++]));
+        }
+        inputs.emplace_back(c10::ivalue::Tuple::create(std::move(elements)));
+        break;
+      }
+      default: {
+        torch::Dict<std::string, torch::Tensor> dict;
+        dict.reserve(count);
+        for (int32_t j = 0; j < count; ++j) {
+          auto jname = (jstring) env->GetObjectArrayElement(jkeys, key_index++);
+          dict.insert_or_assign(
+              djl::utils::jni::GetStringFromJString(env, jname), *reinterpret_cast<torch::Tensor*>(jptrs[index++]));
+          env->DeleteLocalRef(jname);
+        }
+        inputs.emplace_back(dict);
+        break;
+      }
+    }
+  }
+  env->ReleaseLongArrayElements(jtensor_ptrs, jptrs, djl::utils::jni::RELEASE_MODE);
+  torch::IValue output = [&]() {
+    if (jis_train) {
+      return module_ptr->forward(inputs);
+    }
+    // disable autograd
+    JITCallGuard guard;
+    return module_ptr->forward(inputs);
+  }();
+  std::vector<torch::Tensor> tensors;
+  if (!FlattenTensors(output, tensors)) {
+    // the caller converts other output types from the IValue
+    const auto* result_ptr = new torch::IValue(output);
+    jlong jresult = reinterpret_cast<uintptr_t>(result_ptr);
+    env->SetLongArrayRegion(jivalue_out, 0, 1, &jresult);
+    return nullptr;
+  }
+  std::vector<jlong> jresults(tensors.size());
+  for (size_t i = 0; i < tensors.size(); ++i) {
+    jresults[i] = reinterpret_cast<uintptr_t>(new torch::Tensor(tensors[i]));
+  }
+  jlongArray jarray = env->NewLongArray(jresults.size());
+  env->SetLongArrayRegion(jarray, 0, jresults.size(), jresults.data());
+  return jarray;
+  API_END_RETURN()
+}
+
 JNIEXPORT void JNICALL Java_ai_djl_pytorch_jni_PyTorchLibrary_torchDeleteModule(
     JNIEnv* env, jobject jthis, jlong jhandle) {
   API_BEGIN()
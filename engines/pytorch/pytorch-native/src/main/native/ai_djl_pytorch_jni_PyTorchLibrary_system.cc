@@ -35,6 +35,14 @@
 #include <caffe2/utils/threadpool/pthreadpool-cpp.h>
 #endif
 
+#include <ATen/Parallel.h>
+#if AT_PARALLEL_OPENMP
+#include <omp.h>
+#endif
+#if defined(__linux__) && !defined(__ANDROID__)
+#include <sched.h>
+#endif
+
 using namespace torch::autograd::profiler;
 
 // The file is the implementation for PyTorch system-wide operations
@@ -93,6 +101,42 @@ JNIEXPORT void JNICALL Java_ai_djl_pytorch_jni_PyTorchLibrary_torchSetNumThreads
   API_END()
 }
 
+JNIEXPORT void JNICALL Java_ai_djl_pytorch_jni_PyTorchLibrary_torchSetThreadLocalNumThreads(
+    JNIEnv* env, jobject jthis, jint jthreads) {
+  API_BEGIN()
+#if AT_PARALLEL_OPENMP
+  // the first parallel region of a thread resets it to the global setting, initialize it first
+  at::internal::lazy_init_num_threads();
+  // the OpenMP thread count of the calling thread, other threads keep their own setting
+  omp_set_num_threads(jthreads);
+#else
+  Log log(env);
+  log.info("Thread local intra-op threads require OpenMP, the global setting is used");
+#endif
+  API_END()
+}
+
+JNIEXPORT void JNICALL Java_ai_djl_pytorch_jni_PyTorchLibrary_torchSetThreadAffinity(
+    JNIEnv* env, jobject jthis, jintArray jcpus) {
+  API_BEGIN()
+#if defined(__linux__) && !defined(__ANDROID__)
+  std::vector<int32_t> cpus = djl::utils::jni::GetVecFromJIntArray(env, jcpus);
+  cpu_set_t cpu_set;
+  CPU_ZERO(&cpu_set);
+  for (int32_t cpu : cpus) {
+    CPU_SET(cpu, &cpu_set);
+  }
+  // the OpenMP workers started by the calling thread inherit its affinity
+  if (sched_setaffinity(0, sizeof(cpu_set), &cpu_set) != 0) {
+    env->ThrowNew(ENGINE_EXCEPTION_CLASS, "Failed to set the CPU affinity of the thread");
+  }
+#else
+  Log log(env);
+  log.info("CPU affinity is only supported on Linux");
+#endif
+  API_END()
+}
+
 JNIEXPORT void JNICALL Java_ai_djl_pytorch_jni_PyTorchLibrary_torchManualSeed(JNIEnv* env, jobject jthis, jlong jseed) {
   API_BEGIN()
   torch::manual_seed(jseed);
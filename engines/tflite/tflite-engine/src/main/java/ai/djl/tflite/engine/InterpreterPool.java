@@ -0,0 +1,205 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.tflite.engine;
+
+import org.tensorflow.lite.Interpreter;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+
+/**
+ * A pool of TFLite {@link Interpreter}s that share one model buffer.
+ *
+ * <p>A TFLite interpreter is not thread safe, the pool hands each caller an interpreter for
+ * exclusive use. Interpreters are created lazily up to the pool size, further callers wait for an
+ * interpreter to be released. The idle interpreters are kept by input shape, so a caller gets an
+ * interpreter whose tensors are already allocated for its input when possible.
+ *
+ * <p>Closing the pool closes the idle interpreters right away, the interpreters still in use are
+ * closed when they are released.
+ */
+final class InterpreterPool implements AutoCloseable {
+
+    private ByteBuffer model;
+    private Interpreter.Options options;
+    private int size;
+    private Semaphore permits;
+    private Map<String, Deque<Interpreter>> idle;
+    private List<Interpreter> interpreters;
+    private volatile boolean closed;
+
+    InterpreterPool(ByteBuffer model, Interpreter.Options options, int size) {
+        this.model = model;
+        this.options = options;
+        this.size = size;
+        permits = new Semaphore(size, true);
+        idle = new ConcurrentHashMap<>();
+        interpreters = new ArrayList<>();
+        // create the first interpreter eagerly to validate the model
+        Interpreter interpreter = newInterpreter();
+        idle.computeIfAbsent(keyOf(interpreter), k -> new ConcurrentLinkedDeque<>())
+                .offer(interpreter);
+    }
+
+    /**
+     * Returns an interpreter allocated for the input shapes, the caller has exclusive use of it
+     * until it is released.
+     *
+     * @param shapes the shapes of the inputs
+     * @return an interpreter allocated for the input shapes
+     */
+    Interpreter acquire(int[][] shapes) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an interpreter", e);
+        }
+        try {
+            if (closed) {
+                throw new IllegalStateException("The interpreter pool is closed");
+            }
+            String key = Arrays.deepToString(shapes);
+            Interpreter interpreter = poll(key);
+            if (interpreter == null) {
+                interpreter = newInterpreter();
+            }
+            allocate(interpreter, shapes);
+            return interpreter;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the interpreter to the pool.
+     *
+     * @param interpreter the interpreter returned by {@link #acquire(int[][])}
+     * @param shapes the input shapes the interpreter is allocated for
+     */
+    void release(Interpreter interpreter, int[][] shapes) {
+        synchronized (interpreters) {
+            if (closed) {
+                interpreters.remove(interpreter);
+                interpreter.close();
+            } else {
+                String key = Arrays.deepToString(shapes);
+                idle.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>())
+                        .offerFirst(interpreter);
+            }
+        }
+        permits.release();
+    }
+
+    /**
+     * Creates the interpreters for the input shapes ahead of time, one for each input shapes up to
+     * the pool size, with their tensors allocated.
+     *
+     * @param inputShapes the shapes of the inputs of each interpreter
+     */
+    void preallocate(List<int[][]> inputShapes) {
+        int count = Math.min(inputShapes.size(), size);
+        Interpreter[] acquired = new Interpreter[count];
+        try {
+            for (int i = 0; i < count; ++i) {
+                acquired[i] = acquire(inputShapes.get(i));
+            }
+        } finally {
+            for (int i = 0; i < count; ++i) {
+                if (acquired[i] != null) {
+                    release(acquired[i], inputShapes.get(i));
+                }
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        synchronized (interpreters) {
+            closed = true;
+            for (Deque<Interpreter> deque : idle.values()) {
+                for (Interpreter interpreter : deque) {
+                    interpreters.remove(interpreter);
+                    interpreter.close();
+                }
+            }
+            idle.clear();
+        }
+    }
+
+    private Interpreter poll(String key) {
+        Deque<Interpreter> deque = idle.get(key);
+        if (deque != null) {
+            Interpreter interpreter = deque.pollFirst();
+            if (interpreter != null) {
+                return interpreter;
+            }
+        }
+        // reuse an interpreter allocated for another shape before creating a new one
+        for (Deque<Interpreter> other : idle.values()) {
+            Interpreter interpreter = other.pollFirst();
+            if (interpreter != null) {
+                return interpreter;
+            }
+        }
+        return null;
+    }
+
+    private Interpreter newInterpreter() {
+        // every interpreter reads the same model buffer, the model is not copied
+        Interpreter interpreter = new Interpreter(model, options);
+        synchronized (interpreters) {
+            interpreters.add(interpreter);
+        }
+        return interpreter;
+    }
+
+    private static void allocate(Interpreter interpreter, int[][] shapes) {
+        boolean resized = false;
+        for (int i = 0; i < shapes.length; ++i) {
+            // an input of the same size is copied as is, e.g. an image without the batch axis
+            if (interpreter.getInputTensor(i).numElements() != numElements(shapes[i])) {
+                interpreter.resizeInput(i, shapes[i]);
+                resized = true;
+            }
+        }
+        if (resized) {
+            interpreter.allocateTensors();
+        }
+    }
+
+    private static int numElements(int[] shape) {
+        int size = 1;
+        for (int dim : shape) {
+            size *= dim;
+        }
+        return size;
+    }
+
+    private static String keyOf(Interpreter interpreter) {
+        int[][] shapes = new int[interpreter.getInputTensorCount()][];
+        for (int i = 0; i < shapes.length; ++i) {
+            shapes[i] = interpreter.getInputTensor(i).shape();
+        }
+        return Arrays.deepToString(shapes);
+    }
+}
@@ -25,18 +25,39 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * {@code TfLiteModel} is the TFLite implementation of {@link Model}.
  *
  * <p>TfLiteModel contains all the methods in Model to load and process a model. In addition, it
  * provides TFLite Specific functionality
+ *
+ * <p>The model file is memory-mapped once and shared by a pool of interpreters, the following
+ * options can be passed to {@link #load(Path, String, Map)}:
+ *
+ * <ul>
+ *   <li>poolSize: the maximum number of interpreters, that is the number of concurrent inferences,
+ *       the default is the number of processors. The interpreters are created on demand.
+ *   <li>numThreads: the number of threads of each interpreter.
+ *   <li>warmupShapes: the input shapes to allocate the tensors for ahead of time, separated by
+ *       {@code ;}, e.g. {@code (1,224,224,3);(8,224,224,3)}. An interpreter is created for each of
+ *       them, up to the pool size.
+ * </ul>
  */
 public class TfLiteModel extends BaseModel {
 
+    private static final Pattern SHAPE_PATTERN = Pattern.compile("\\(([^)]*)\\)");
+
     /**
      * Constructs a new Model on a given device.
      *
@@ -64,8 +85,11 @@ public class TfLiteModel extends BaseModel {
                 throw new FileNotFoundException("TFLite model file not found in: " + modelPath);
             }
         }
-        Interpreter interpreter = new Interpreter(modelFile.toFile());
-        setBlock(new TfLiteSymbolBlock(interpreter, getNDManager()));
+        ByteBuffer bb;
+        try (FileChannel fc = FileChannel.open(modelFile, StandardOpenOption.READ)) {
+            bb = fc.map(FileChannel.MapMode.READ_ONLY, 0, fc.size());
+        }
+        setBlock(new TfLiteSymbolBlock(newPool(bb, options), getNDManager()));
     }
 
     /** {@inheritDoc} */
@@ -80,8 +104,7 @@ public class TfLiteModel extends BaseModel {
         Engine engine = Engine.getEngine(TfLiteEngine.ENGINE_NAME);
         ByteBuffer bb = engine.newBaseManager().allocateDirect(buf.length);
         bb.put(buf);
-        Interpreter interpreter = new Interpreter(bb);
-        setBlock(new TfLiteSymbolBlock(interpreter, getNDManager()));
+        setBlock(new TfLiteSymbolBlock(newPool(bb, options), getNDManager()));
     }
 
     /** {@inheritDoc} */
@@ -90,6 +113,56 @@ public class TfLiteModel extends BaseModel {
         return (TfLiteNDManager) super.getNDManager();
     }
 
+    private static InterpreterPool newPool(ByteBuffer bb, Map<String, ?> options) {
+        Interpreter.Options interpreterOptions = new Interpreter.Options();
+        int poolSize = Runtime.getRuntime().availableProcessors();
+        String warmupShapes = null;
+        if (options != null) {
+            if (options.containsKey("numThreads")) {
+                interpreterOptions.setNumThreads(
+                        Integer.parseInt(options.get("numThreads").toString()));
+            }
+            if (options.containsKey("poolSize")) {
+                poolSize = Integer.parseInt(options.get("poolSize").toString());
+            }
+            if (options.containsKey("warmupShapes")) {
+                warmupShapes = options.get("warmupShapes").toString();
+            }
+        }
+        InterpreterPool pool = new InterpreterPool(bb, interpreterOptions, poolSize);
+        if (warmupShapes != null) {
+            try {
+                pool.preallocate(parseShapes(warmupShapes));
+            } catch (RuntimeException e) {
+                pool.close();
+                throw e;
+            }
+        }
+        return pool;
+    }
+
+    // parses the input shapes of each interpreter separated by ";", e.g. "(1,224,224,3);(4,...)"
+    private static List<int[][]> parseShapes(String value) {
+        List<int[][]> ret = new ArrayList<>();
+        for (String inputs : value.split(";")) {
+            List<int[]> shapes = new ArrayList<>();
+            Matcher m = SHAPE_PATTERN.matcher(inputs);
+            while (m.find()) {
+                shapes.add(
+                        Arrays.stream(m.group(1).split(","))
+                                .map(String::trim)
+                                .filter(s -> !s.isEmpty())
+                                .mapToInt(Integer::parseInt)
+                                .toArray());
+            }
+            if (shapes.isEmpty()) {
+                throw new IllegalArgumentException("Invalid warmupShapes: " + value);
+            }
+            ret.add(shapes.toArray(new int[0][]));
+        }
+        return ret;
+    }
+
     private Path findModelFile(String prefix) {
         if (Files.isRegularFile(modelDir)) {
             Path file = modelDir;
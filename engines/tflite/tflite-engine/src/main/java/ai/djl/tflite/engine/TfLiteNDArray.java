@@ -18,8 +18,6 @@ import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
 
-import org.tensorflow.lite.Tensor;
-
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.UUID;
@@ -27,20 +25,8 @@ import java.util.UUID;
 /** {@code TfLiteNDArray} is the TFLite implementation of {@link NDArray}. */
 public class TfLiteNDArray extends NDArrayAdapter {
 
-    private Tensor tensor; // this tensor was used in Interpreter, and should not be closed
     private ByteBuffer data;
 
-    TfLiteNDArray(NDManager manager, NDManager alternativeManager, Tensor tensor) {
-        super(
-                manager,
-                alternativeManager,
-                new Shape(Arrays.stream(tensor.shape()).mapToLong(i -> i).toArray()),
-                TfLiteDataType.fromTf(tensor.dataType()),
-                UUID.randomUUID().toString());
-        this.tensor = tensor;
-        manager.attachInternal(uid, this);
-    }
-
     TfLiteNDArray(
             NDManager manager,
             NDManager alternativeManager,
@@ -55,11 +41,7 @@ public class TfLiteNDArray extends NDArrayAdapter {
     /** {@inheritDoc} */
     @Override
     public void intern(NDArray replaced) {
-        if (tensor != null) {
-            tensor.close();
-        }
         this.data = ((TfLiteNDArray) replaced).data;
-        this.tensor = ((TfLiteNDArray) replaced).tensor;
     }
 
     /** {@inheritDoc} */
@@ -112,9 +94,6 @@ public class TfLiteNDArray extends NDArrayAdapter {
     /** {@inheritDoc} */
     @Override
     public ByteBuffer toByteBuffer() {
-        if (data == null) {
-            data = tensor.buffer();
-        }
         data.rewind();
         return data;
     }
@@ -122,14 +101,9 @@ public class TfLiteNDArray extends NDArrayAdapter {
     /** {@inheritDoc} */
     @Override
     public NDArray reshape(Shape shape) {
-        if (tensor != null) {
-            throw new UnsupportedOperationException("Not supported for TFLite");
-        } else {
-            if (Arrays.stream(shape.getShape()).anyMatch(n -> n < 0)) {
-                throw new UnsupportedOperationException(
-                        "Negative shape is not supported for TFLite");
-            }
-            return new TfLiteNDArray(manager, alternativeManager, data, shape, dataType);
+        if (Arrays.stream(shape.getShape()).anyMatch(n -> n < 0)) {
+            throw new UnsupportedOperationException("Negative shape is not supported for TFLite");
         }
+        return new TfLiteNDArray(manager, alternativeManager, data, shape, dataType);
     }
 }
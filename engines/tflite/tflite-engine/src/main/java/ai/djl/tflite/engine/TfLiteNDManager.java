@@ -25,6 +25,7 @@ import org.tensorflow.lite.Tensor;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.Arrays;
 
 /** {@code TfLiteNDManager} is the TFLite implementation of {@link NDManager}. */
 public class TfLiteNDManager extends BaseNDManager {
@@ -55,7 +56,14 @@ public class TfLiteNDManager extends BaseNDManager {
     }
 
     TfLiteNDArray createInternal(Tensor tensor) {
-        return new TfLiteNDArray(this, alternativeManager, tensor);
+        // copy the output, the tensor is overwritten once the interpreter is reused
+        ByteBuffer src = tensor.buffer();
+        ByteBuffer buf = allocateDirect(src.remaining());
+        buf.put(src);
+        buf.rewind();
+        Shape shape = new Shape(Arrays.stream(tensor.shape()).mapToLong(i -> i).toArray());
+        DataType dataType = TfLiteDataType.fromTf(tensor.dataType());
+        return new TfLiteNDArray(this, alternativeManager, buf, shape, dataType);
     }
 
     /** {@inheritDoc} */
@@ -23,6 +23,7 @@ import ai.djl.util.PairList;
 
 import org.tensorflow.lite.Interpreter;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -31,16 +32,19 @@ import java.util.concurrent.ConcurrentHashMap;
  *
  * <p>You can create a {@code TfLiteSymbolBlock} using {@link ai.djl.Model#load(java.nio.file.Path,
  * String)}.
+ *
+ * <p>The block is thread safe. Each forward call runs on an interpreter of the {@link
+ * InterpreterPool} of the model, so concurrent predictors run in parallel up to the pool size.
  */
 public class TfLiteSymbolBlock extends AbstractSymbolBlock implements AutoCloseable {
 
     private TfLiteNDManager manager;
-    private Interpreter interpreter;
+    private InterpreterPool pool;
 
     private static final Map<Integer, Object> EMPTY = new ConcurrentHashMap<>();
 
-    TfLiteSymbolBlock(Interpreter interpreter, TfLiteNDManager manager) {
-        this.interpreter = interpreter;
+    TfLiteSymbolBlock(InterpreterPool pool, TfLiteNDManager manager) {
+        this.pool = pool;
         this.manager = manager;
     }
 
@@ -52,21 +56,32 @@ public class TfLiteSymbolBlock extends AbstractSymbolBlock implements AutoClosea
             boolean training,
             PairList<String, Object> params) {
         Object[] intInput = inputs.stream().map(NDArray::toByteBuffer).toArray();
-        interpreter.runForMultipleInputsOutputs(intInput, EMPTY);
+        int[][] shapes = new int[inputs.size()][];
+        for (int i = 0; i < shapes.length; ++i) {
+            long[] shape = inputs.get(i).getShape().getShape();
+            shapes[i] = Arrays.stream(shape).mapToInt(Math::toIntExact).toArray();
+        }
+
+        Interpreter interpreter = pool.acquire(shapes);
+        try {
+            interpreter.runForMultipleInputsOutputs(intInput, EMPTY);
 
-        int outputSize = interpreter.getOutputTensorCount();
-        NDList result = new NDList(outputSize);
-        for (int i = 0; i < outputSize; i++) {
-            result.add(manager.createInternal(interpreter.getOutputTensor(i)));
+            int outputSize = interpreter.getOutputTensorCount();
+            NDList result = new NDList(outputSize);
+            for (int i = 0; i < outputSize; i++) {
+                result.add(manager.createInternal(interpreter.getOutputTensor(i)));
+            }
+            result.attach(inputs.head().getManager());
+            return result;
+        } finally {
+            pool.release(interpreter, shapes);
         }
-        result.attach(inputs.head().getManager());
-        return result;
     }
 
     /** {@inheritDoc} */
     @Override
     public void close() {
-        interpreter.close();
+        pool.close();
     }
 
     /** {@inheritDoc} */
@@ -30,11 +30,21 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class TfLiteTest {
 
     @Test
-    void testTflite() throws IOException, TranslateException, ModelException {
+    void testTflite()
+            throws IOException, TranslateException, ModelException, InterruptedException,
+                    ExecutionException {
         TestRequirements.notWindows();
         TestRequirements.notArm();
 
@@ -52,6 +62,27 @@ public class TfLiteTest {
             Classifications prediction = predictor.predict(image);
             Assert.assertEquals(prediction.best().getClassName(), "Sachertorte");
 
+            // concurrent predictors run on the interpreter pool of the model
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<String>> futures = new ArrayList<>();
+                for (int i = 0; i < 4; ++i) {
+                    futures.add(
+                            executor.submit(
+                                    () -> {
+                                        try (Predictor<Image, Classifications> p =
+                                                model.newPredictor()) {
+                                            return p.predict(image).best().getClassName();
+                                        }
+                                    }));
+                }
+                for (Future<String> future : futures) {
+                    Assert.assertEquals(future.get(), "Sachertorte");
+                }
+            } finally {
+                executor.shutdown();
+            }
+
             Path modelPath = model.getModelPath();
             Path modelFile = modelPath.resolve("aiyDish.tflite");
             Model m = Model.newInstance("aiyDish", "TFLite");
@@ -59,6 +90,14 @@ public class TfLiteTest {
                 m.load(is);
             }
             m.close();
+
+            // the interpreters of the warm-up shapes are allocated while loading
+            Map<String, String> options = new ConcurrentHashMap<>();
+            options.put("poolSize", "2");
+            options.put("warmupShapes", "(1,192,192,3);(2,192,192,3)");
+            try (Model warm = Model.newInstance("aiyDish", "TFLite")) {
+                warm.load(modelPath, "aiyDish", options);
+            }
         }
     }
 }
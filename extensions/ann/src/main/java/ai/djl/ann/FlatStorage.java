@@ -0,0 +1,121 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.ann;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+
+/** A {@link VectorStorage} that keeps the vectors as they are, with exact distances. */
+final class FlatStorage extends VectorStorage {
+
+    private ByteBuffer data;
+    private FloatBuffer floats;
+
+    FlatStorage(int dimension, Metric metric) {
+        super(dimension, metric);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    boolean isTrained() {
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    void train(FloatBuffer vectors, int count) {}
+
+    /** {@inheritDoc} */
+    @Override
+    void ensureCapacity(int capacity) {
+        long bytes = (long) capacity * dimension * Float.BYTES;
+        if (data == null || data.capacity() < bytes) {
+            data = grow(data, bytes);
+            floats = data.asFloatBuffer();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    void set(int id, float[] vector) {
+        int base = id * dimension;
+        for (int i = 0; i < dimension; ++i) {
+            floats.put(base + i, vector[i]);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    float distance(int a, int b) {
+        FloatBuffer buf = floats;
+        int baseA = a * dimension;
+        int baseB = b * dimension;
+        if (metric == Metric.L2) {
+            float sum = 0;
+            for (int i = 0; i < dimension; ++i) {
+                float d = buf.get(baseA + i) - buf.get(baseB + i);
+                sum += d * d;
+            }
+            return sum;
+        }
+        float dot = 0;
+        for (int i = 0; i < dimension; ++i) {
+            dot += buf.get(baseA + i) * buf.get(baseB + i);
+        }
+        return 1 - dot;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    Query newQuery(float[] vector) {
+        FloatBuffer buf = floats;
+        if (metric == Metric.L2) {
+            return id -> {
+                int base = id * dimension;
+                float sum = 0;
+                for (int i = 0; i < dimension; ++i) {
+                    float d = vector[i] - buf.get(base + i);
+                    sum += d * d;
+                }
+                return sum;
+            };
+        }
+        return id -> {
+            int base = id * dimension;
+            float dot = 0;
+            for (int i = 0; i < dimension; ++i) {
+                dot += vector[i] * buf.get(base + i);
+            }
+            return 1 - dot;
+        };
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    void save(FileChannel channel, int size) throws IOException {
+        if (size > 0) {
+            write(channel, data, (long) size * dimension * Float.BYTES);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    long load(FileChannel channel, long offset, int size) throws IOException {
+        long bytes = (long) size * dimension * Float.BYTES;
+        data = map(channel, offset, bytes);
+        floats = data.asFloatBuffer();
+        return offset + bytes;
+    }
+}
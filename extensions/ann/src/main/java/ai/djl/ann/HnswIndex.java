@@ -0,0 +1,944 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.ann;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * {@code HnswIndex} is an in-process approximate nearest neighbor index over float vectors, based
+ * on hierarchical navigable small world graphs.
+ *
+ * <p>The vectors are stored off-heap, optionally compressed with product quantization. Batches of
+ * vectors are inserted in parallel and batches of queries are searched in parallel, and the index
+ * can be saved to a file and memory-mapped back without copying the vectors. The ids of the vectors
+ * are assigned in the order they are added, starting from 0.
+ *
+ * <p>The vectors and the queries can be {@link NDArray}s, so that the output of a text embedding or
+ * an image feature extraction model is indexed and searched without leaving DJL:
+ *
+ * <pre>
+ *     HnswIndex index = HnswIndex.builder().setDimension(384).optMetric(Metric.COSINE).build();
+ *     index.add(embeddings); // shape (n, 384)
+ *     NDList neighbors = index.search(queries, 10); // ids and distances of shape (q, 10)
+ * </pre>
+ *
+ * <p>A single file section, the vectors or the graph, must not exceed 2GB. With {@link
+ * Builder#optNumThreads(int)}, the index owns a thread pool that is shut down by {@link #close()}.
+ */
+public final class HnswIndex implements AutoCloseable {
+
+    private static final int MAGIC = 0x414E4E31;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int NUM_LOCKS = 4096;
+
+    private int dimension;
+    private Metric metric;
+    private int m;
+    private int maxM0;
+    private int efConstruction;
+    private int efSearch;
+    private int numThreads;
+    private double levelMultiplier;
+    private VectorStorage storage;
+
+    private int size;
+    private int capacity;
+    private int[] levels;
+    private int[][] upperLinks;
+    private ByteBuffer baseLinks;
+    private IntBuffer baseLinkView;
+    private int entryPoint;
+    private int maxLevel;
+    private Object entryLock;
+    private Object[] locks;
+    private ReadWriteLock lock;
+    private Queue<Workspace> workspaces;
+    private ForkJoinPool pool;
+
+    HnswIndex(Builder builder) {
+        dimension = builder.dimension;
+        metric = builder.metric;
+        m = builder.m;
+        maxM0 = m * 2;
+        efConstruction = builder.efConstruction;
+        efSearch = builder.efSearch;
+        numThreads = builder.numThreads;
+        levelMultiplier = 1 / Math.log(m);
+        if (builder.numSubVectors > 0) {
+            storage = new PqStorage(dimension, metric, builder.numSubVectors, builder.numCentroids);
+        } else {
+            storage = new FlatStorage(dimension, metric);
+        }
+        levels = new int[0];
+        upperLinks = new int[0][];
+        entryPoint = -1;
+        maxLevel = -1;
+        entryLock = new Object();
+        locks = new Object[NUM_LOCKS];
+        for (int i = 0; i < NUM_LOCKS; ++i) {
+            locks[i] = new Object();
+        }
+        lock = new ReentrantReadWriteLock();
+        workspaces = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Creates a builder to build a {@code HnswIndex}.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Loads a saved index.
+     *
+     * <p>The vectors and the base layer of the graph are memory-mapped from the file. The index can
+     * still be searched and extended, the file is not modified.
+     *
+     * @param path the file of the index
+     * @return the index
+     * @throws IOException if failed to read the file
+     */
+    public static HnswIndex load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = VectorStorage.map(channel, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Invalid index file: " + path);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported index version: " + version);
+            }
+            Builder builder =
+                    builder()
+                            .optMetric(Metric.values()[header.getInt()])
+                            .setDimension(header.getInt())
+                            .optM(header.getInt())
+                            .optEfConstruction(header.getInt())
+                            .optEfSearch(header.getInt());
+            int size = header.getInt();
+            int entryPoint = header.getInt();
+            int maxLevel = header.getInt();
+            int numSubVectors = header.getInt();
+            int numCentroids = header.getInt();
+            if (numSubVectors > 0) {
+                builder.optProductQuantization(numSubVectors, numCentroids);
+            }
+            HnswIndex index = builder.build();
+            index.mapFrom(channel, size, entryPoint, maxLevel);
+            return index;
+        }
+    }
+
+    /**
+     * Returns the number of vectors in the index.
+     *
+     * @return the number of vectors in the index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the dimension of the vectors.
+     *
+     * @return the dimension of the vectors
+     */
+    public int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * Returns the distance metric.
+     *
+     * @return the distance metric
+     */
+    public Metric getMetric() {
+        return metric;
+    }
+
+    /**
+     * Sets the size of the dynamic candidate list of the searches, a larger one trades speed for
+     * recall.
+     *
+     * @param efSearch the size of the dynamic candidate list
+     */
+    public void setEfSearch(int efSearch) {
+        this.efSearch = efSearch;
+    }
+
+    /**
+     * Adds a vector to the index.
+     *
+     * @param vector the vector to add
+     * @return the id of the vector
+     */
+    public int add(float[] vector) {
+        return add(FloatBuffer.wrap(vector));
+    }
+
+    /**
+     * Adds vectors to the index.
+     *
+     * @param vectors the vectors to add
+     * @return the id of the first vector, the others follow in order
+     */
+    public int add(float[][] vectors) {
+        return add(flatten(vectors));
+    }
+
+    /**
+     * Adds vectors to the index.
+     *
+     * @param vectors the vectors of shape {@code (n, dimension)} or {@code (dimension)}
+     * @return the id of the first vector, the others follow in order
+     */
+    public int add(NDArray vectors) {
+        return add(toFloatBuffer(vectors));
+    }
+
+    /**
+     * Adds the vectors stored one after the other in the remaining of the buffer.
+     *
+     * <p>The vectors are inserted into the graph in parallel. The searches wait until the vectors
+     * are linked into the graph, so they never see a partially inserted vector. If the index uses
+     * product quantization, the quantizer is trained with the first vectors added.
+     *
+     * @param vectors the vectors to add
+     * @return the id of the first vector, the others follow in order
+     */
+    public int add(FloatBuffer vectors) {
+        int count = getCount(vectors);
+        FloatBuffer src = vectors.slice();
+        int start;
+        lock.writeLock().lock();
+        try {
+            start = size;
+            if (count == 0) {
+                return start;
+            }
+            if (!storage.isTrained()) {
+                storage.train(src, count);
+            }
+            ensureCapacity(start + count);
+            float[] vector = new float[dimension];
+            for (int i = 0; i < count; ++i) {
+                int id = start + i;
+                read(src, i, vector);
+                storage.set(id, vector);
+                int level = randomLevel(id);
+                levels[id] = level;
+                upperLinks[id] = level > 0 ? new int[level * (m + 1)] : null;
+            }
+            size += count;
+
+            // the searches are kept out until the new nodes are linked into the graph
+            parallelFor(
+                    count,
+                    i -> {
+                        Workspace ws = acquireWorkspace();
+                        read(src, i, ws.vector);
+                        insert(start + i, ws.vector, ws);
+                        workspaces.offer(ws);
+                    });
+        } finally {
+            lock.writeLock().unlock();
+        }
+        vectors.position(vectors.limit());
+        return start;
+    }
+
+    /**
+     * Searches the nearest neighbors of a vector.
+     *
+     * @param query the query vector
+     * @param k the number of neighbors to search
+     * @return the nearest neighbors
+     */
+    public SearchResult search(float[] query, int k) {
+        return search(FloatBuffer.wrap(query), k).get(0);
+    }
+
+    /**
+     * Searches the nearest neighbors of a batch of vectors.
+     *
+     * @param queries the query vectors
+     * @param k the number of neighbors to search
+     * @return the nearest neighbors of each query
+     */
+    public List<SearchResult> search(float[][] queries, int k) {
+        return search(flatten(queries), k);
+    }
+
+    /**
+     * Searches the nearest neighbors of the vectors stored one after the other in the remaining of
+     * the buffer, the queries are searched in parallel.
+     *
+     * @param queries the query vectors
+     * @param k the number of neighbors to search
+     * @return the nearest neighbors of each query
+     */
+    public List<SearchResult> search(FloatBuffer queries, int k) {
+        int count = getCount(queries);
+        FloatBuffer src = queries.slice();
+        SearchResult[] results = new SearchResult[count];
+        lock.readLock().lock();
+        try {
+            parallelFor(
+                    count,
+                    i -> {
+                        float[] query = new float[dimension];
+                        read(src, i, query);
+                        Workspace ws = acquireWorkspace();
+                        results[i] = searchKnn(query, k, ws);
+                        workspaces.offer(ws);
+                    });
+        } finally {
+            lock.readLock().unlock();
+        }
+        queries.position(queries.limit());
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Searches the nearest neighbors of a batch of vectors.
+     *
+     * <p>The ids of the neighbors are returned as an {@code int64} array and their distances as a
+     * {@code float32} array, both of shape {@code (q, k)}, or {@code (k)} for a single query. If
+     * fewer than {@code k} neighbors are found, the ids are padded with -1 and the distances with
+     * infinity.
+     *
+     * @param queries the query vectors of shape {@code (q, dimension)} or {@code (dimension)}
+     * @param k the number of neighbors to search
+     * @return the ids and the distances of the nearest neighbors
+     */
+    public NDList search(NDArray queries, int k) {
+        List<SearchResult> results = search(toFloatBuffer(queries), k);
+        long[] ids = new long[results.size() * k];
+        float[] distances = new float[ids.length];
+        Arrays.fill(ids, -1);
+        Arrays.fill(distances, Float.POSITIVE_INFINITY);
+        for (int i = 0; i < results.size(); ++i) {
+            SearchResult result = results.get(i);
+            int[] resultIds = result.getIds();
+            for (int j = 0; j < resultIds.length; ++j) {
+                ids[i * k + j] = resultIds[j];
+            }
+            System.arraycopy(result.getDistances(), 0, distances, i * k, result.size());
+        }
+        Shape shape =
+                queries.getShape().dimension() == 1 ? new Shape(k) : new Shape(results.size(), k);
+        NDManager manager = queries.getManager();
+        return new NDList(manager.create(ids, shape), manager.create(distances, shape));
+    }
+
+    /**
+     * Saves the index to a file.
+     *
+     * @param path the file to save to
+     * @throws IOException if failed to write the file
+     */
+    public void save(Path path) throws IOException {
+        lock.writeLock().lock();
+        try (FileChannel channel =
+                FileChannel.open(
+                        path,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(metric.ordinal()).putInt(dimension);
+            header.putInt(m).putInt(efConstruction).putInt(efSearch);
+            header.putInt(size).putInt(entryPoint).putInt(maxLevel);
+            if (storage instanceof PqStorage) {
+                PqStorage pq = (PqStorage) storage;
+                header.putInt(pq.getNumSubVectors()).putInt(pq.getNumCentroids());
+            }
+            VectorStorage.write(channel, header, HEADER_SIZE);
+
+            ByteBuffer buf = ByteBuffer.allocate(size * Integer.BYTES);
+            buf.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().put(levels, 0, size);
+            VectorStorage.write(channel, buf, buf.capacity());
+
+            storage.save(channel, size);
+            if (size > 0) {
+                long bytes = (long) size * (maxM0 + 1) * Integer.BYTES;
+                VectorStorage.write(channel, baseLinks, bytes);
+            }
+
+            buf = ByteBuffer.allocate(getUpperLinkCount(size) * Integer.BYTES);
+            IntBuffer ib = buf.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            for (int i = 0; i < size; ++i) {
+                if (levels[i] > 0) {
+                    ib.put(upperLinks[i]);
+                }
+            }
+            VectorStorage.write(channel, buf, buf.capacity());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void close() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    private void mapFrom(FileChannel channel, int size, int entryPoint, int maxLevel)
+            throws IOException {
+        long offset = HEADER_SIZE;
+        levels = new int[size];
+        VectorStorage.map(channel, offset, (long) size * Integer.BYTES).asIntBuffer().get(levels);
+        offset += (long) size * Integer.BYTES;
+
+        offset = storage.load(channel, offset, size);
+        long bytes = (long) size * (maxM0 + 1) * Integer.BYTES;
+        baseLinks = VectorStorage.map(channel, offset, bytes);
+        baseLinkView = baseLinks.asIntBuffer();
+        offset += bytes;
+
+        IntBuffer ib =
+                VectorStorage.map(channel, offset, getUpperLinkCount(size) * Integer.BYTES)
+                        .asIntBuffer();
+        upperLinks = new int[size][];
+        for (int i = 0; i < size; ++i) {
+            if (levels[i] > 0) {
+                upperLinks[i] = new int[levels[i] * (m + 1)];
+                ib.get(upperLinks[i]);
+            }
+        }
+        this.size = size;
+        capacity = size;
+        this.entryPoint = entryPoint;
+        this.maxLevel = maxLevel;
+    }
+
+    private void insert(int id, float[] vector, Workspace ws) {
+        int level = levels[id];
+        int ep;
+        int top;
+        synchronized (entryLock) {
+            if (entryPoint < 0) {
+                entryPoint = id;
+                maxLevel = level;
+                return;
+            }
+            ep = entryPoint;
+            top = maxLevel;
+        }
+
+        VectorStorage.Query query = storage.newQuery(vector);
+        ws.distance = query.distance(ep);
+        for (int l = top; l > level; --l) {
+            ep = searchGreedy(query, ep, l, ws);
+        }
+        for (int l = Math.min(level, top); l >= 0; --l) {
+            NeighborQueue results = searchLayer(query, ep, efConstruction, l, ws);
+            NeighborQueue selection = ws.selection;
+            while (!results.isEmpty()) {
+                selection.push(results.topId(), results.topDistance());
+                results.pop();
+            }
+            ep = selection.topId();
+            ws.distance = selection.topDistance();
+            int count = selectNeighbors(selection, m, ws.selected);
+            synchronized (lockOf(id)) {
+                writeLinks(id, l, ws.selected, count);
+            }
+            for (int i = 0; i < count; ++i) {
+                addLink(ws.selected[i], id, l, ws);
+            }
+        }
+
+        if (level > top) {
+            synchronized (entryLock) {
+                if (level > maxLevel) {
+                    entryPoint = id;
+                    maxLevel = level;
+                }
+            }
+        }
+    }
+
+    private SearchResult searchKnn(float[] vector, int k, Workspace ws) {
+        int ep;
+        int top;
+        synchronized (entryLock) {
+            ep = entryPoint;
+            top = maxLevel;
+        }
+        if (ep < 0 || k <= 0) {
+            return new SearchResult(new int[0], new float[0]);
+        }
+        VectorStorage.Query query = storage.newQuery(vector);
+        ws.distance = query.distance(ep);
+        for (int l = top; l > 0; --l) {
+            ep = searchGreedy(query, ep, l, ws);
+        }
+        NeighborQueue results = searchLayer(query, ep, Math.max(efSearch, k), 0, ws);
+        while (results.size() > k) {
+            results.pop();
+        }
+        int[] ids = new int[results.size()];
+        float[] distances = new float[ids.length];
+        for (int i = ids.length - 1; i >= 0; --i) {
+            ids[i] = results.topId();
+            distances[i] = results.topDistance();
+            results.pop();
+        }
+        return new SearchResult(ids, distances);
+    }
+
+    private int searchGreedy(VectorStorage.Query query, int ep, int level, Workspace ws) {
+        int[] neighbors = ws.neighbors;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            int count = getNeighbors(ep, level, neighbors);
+            for (int i = 0; i < count; ++i) {
+                float d = query.distance(neighbors[i]);
+                if (d < ws.distance) {
+                    ws.distance = d;
+                    ep = neighbors[i];
+                    changed = true;
+                }
+            }
+        }
+        return ep;
+    }
+
+    private NeighborQueue searchLayer(
+            VectorStorage.Query query, int ep, int ef, int level, Workspace ws) {
+        int[] visited = ws.visit(capacity);
+        int tag = ws.tag;
+        NeighborQueue candidates = ws.candidates;
+        NeighborQueue results = ws.results;
+        candidates.clear();
+        results.clear();
+        visited[ep] = tag;
+        candidates.push(ep, ws.distance);
+        results.push(ep, ws.distance);
+
+        int[] neighbors = ws.neighbors;
+        while (!candidates.isEmpty()) {
+            int c = candidates.topId();
+            if (candidates.topDistance() > results.topDistance() && results.size() >= ef) {
+                break;
+            }
+            candidates.pop();
+            int count = getNeighbors(c, level, neighbors);
+            for (int i = 0; i < count; ++i) {
+                int n = neighbors[i];
+                if (visited[n] == tag) {
+                    continue;
+                }
+                visited[n] = tag;
+                float d = query.distance(n);
+                if (results.size() < ef || d < results.topDistance()) {
+                    candidates.push(n, d);
+                    results.push(n, d);
+                    if (results.size() > ef) {
+                        results.pop();
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private int selectNeighbors(NeighborQueue candidates, int maxCount, int[] selected) {
+        // the heuristic of the HNSW paper: a candidate is kept only if it is closer to the node
+        // than
+        // to the neighbors already selected, which keeps the graph navigable across clusters
+        int count = 0;
+        while (!candidates.isEmpty() && count < maxCount) {
+            int candidate = candidates.topId();
+            float distance = candidates.topDistance();
+            candidates.pop();
+            boolean keep = true;
+            for (int i = 0; i < count; ++i) {
+                if (storage.distance(candidate, selected[i]) < distance) {
+                    keep = false;
+                    break;
+                }
+            }
+            if (keep) {
+                selected[count++] = candidate;
+            }
+        }
+        candidates.clear();
+        return count;
+    }
+
+    private void addLink(int node, int id, int level, Workspace ws) {
+        int maxCount = level == 0 ? maxM0 : m;
+        int[] links = ws.pruned;
+        synchronized (lockOf(node)) {
+            int count = readLinks(node, level, links);
+            if (count < maxCount) {
+                links[count++] = id;
+                writeLinks(node, level, links, count);
+                return;
+            }
+            NeighborQueue selection = ws.selection;
+            selection.push(id, storage.distance(node, id));
+            for (int i = 0; i < count; ++i) {
+                selection.push(links[i], storage.distance(node, links[i]));
+            }
+            count = selectNeighbors(selection, maxCount, links);
+            writeLinks(node, level, links, count);
+        }
+    }
+
+    private int getNeighbors(int id, int level, int[] neighbors) {
+        synchronized (lockOf(id)) {
+            return readLinks(id, level, neighbors);
+        }
+    }
+
+    private int readLinks(int id, int level, int[] links) {
+        if (level == 0) {
+            IntBuffer buf = baseLinkView;
+            int base = id * (maxM0 + 1);
+            int count = buf.get(base);
+            for (int i = 0; i < count; ++i) {
+                links[i] = buf.get(base + 1 + i);
+            }
+            return count;
+        }
+        int[] buf = upperLinks[id];
+        int base = (level - 1) * (m + 1);
+        int count = buf[base];
+        System.arraycopy(buf, base + 1, links, 0, count);
+        return count;
+    }
+
+    private void writeLinks(int id, int level, int[] links, int count) {
+        if (level == 0) {
+            IntBuffer buf = baseLinkView;
+            int base = id * (maxM0 + 1);
+            buf.put(base, count);
+            for (int i = 0; i < count; ++i) {
+                buf.put(base + 1 + i, links[i]);
+            }
+            return;
+        }
+        int[] buf = upperLinks[id];
+        int base = (level - 1) * (m + 1);
+        buf[base] = count;
+        System.arraycopy(links, 0, buf, base + 1, count);
+    }
+
+    private Object lockOf(int id) {
+        return locks[id & (NUM_LOCKS - 1)];
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= capacity) {
+            return;
+        }
+        int newCapacity = Math.max(required, Math.max(1024, capacity + (capacity >> 1)));
+        storage.ensureCapacity(newCapacity);
+        long bytes = (long) newCapacity * (maxM0 + 1) * Integer.BYTES;
+        baseLinks = VectorStorage.grow(baseLinks, bytes);
+        baseLinkView = baseLinks.asIntBuffer();
+        levels = Arrays.copyOf(levels, newCapacity);
+        upperLinks = Arrays.copyOf(upperLinks, newCapacity);
+        capacity = newCapacity;
+    }
+
+    private int randomLevel(int id) {
+        // a hash of the id, so that the graph does not depend on the insertion threads
+        long z = (id + 1L) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        double r = ((z >>> 11) + 1) * 0x1.0p-53;
+        return (int) (-Math.log(r) * levelMultiplier);
+    }
+
+    private int getUpperLinkCount(int count) {
+        int ret = 0;
+        for (int i = 0; i < count; ++i) {
+            ret += levels[i] * (m + 1);
+        }
+        return ret;
+    }
+
+    // the workspaces are pooled by the index rather than held by thread locals, so that they are
+    // released with the index
+    private Workspace acquireWorkspace() {
+        Workspace ws = workspaces.poll();
+        return ws == null ? new Workspace(dimension, maxM0) : ws;
+    }
+
+    private void parallelFor(int count, IntConsumer task) {
+        if (count == 1 || numThreads == 1) {
+            for (int i = 0; i < count; ++i) {
+                task.accept(i);
+            }
+            return;
+        }
+        if (numThreads <= 0) {
+            IntStream.range(0, count).parallel().forEach(task);
+            return;
+        }
+        try {
+            getPool().submit(() -> IntStream.range(0, count).parallel().forEach(task)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // the pool is created on the first parallel call and reused until the index is closed
+    private synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(numThreads);
+        }
+        return pool;
+    }
+
+    private int getCount(FloatBuffer vectors) {
+        if (vectors.remaining() % dimension != 0) {
+            throw new IllegalArgumentException(
+                    "The vectors are not of dimension " + dimension + ": " + vectors.remaining());
+        }
+        return vectors.remaining() / dimension;
+    }
+
+    private void read(FloatBuffer src, int index, float[] vector) {
+        int base = index * dimension;
+        for (int i = 0; i < dimension; ++i) {
+            vector[i] = src.get(base + i);
+        }
+        if (metric == Metric.COSINE) {
+            VectorStorage.normalize(vector);
+        }
+    }
+
+    private FloatBuffer flatten(float[][] vectors) {
+        float[] data = new float[vectors.length * dimension];
+        for (int i = 0; i < vectors.length; ++i) {
+            if (vectors[i].length != dimension) {
+                throw new IllegalArgumentException(
+                        "The vectors are not of dimension " + dimension + ": " + vectors[i].length);
+            }
+            System.arraycopy(vectors[i], 0, data, i * dimension, dimension);
+        }
+        return FloatBuffer.wrap(data);
+    }
+
+    private FloatBuffer toFloatBuffer(NDArray array) {
+        if (array.getShape().tail() != dimension) {
+            throw new IllegalArgumentException(
+                    "The vectors are not of dimension " + dimension + ": " + array.getShape());
+        }
+        if (array.getDataType() != DataType.FLOAT32) {
+            array = array.toType(DataType.FLOAT32, false);
+        }
+        return array.toByteBuffer().asFloatBuffer();
+    }
+
+    /** The buffers of an insertion or a search, reused across the calls. */
+    private static final class Workspace {
+
+        int[] visited = new int[0];
+        int tag;
+        float distance;
+        float[] vector;
+        int[] neighbors;
+        int[] selected;
+        int[] pruned;
+        NeighborQueue candidates = new NeighborQueue(64, false);
+        NeighborQueue results = new NeighborQueue(64, true);
+        NeighborQueue selection = new NeighborQueue(64, false);
+
+        Workspace(int dimension, int maxM0) {
+            vector = new float[dimension];
+            neighbors = new int[maxM0 + 1];
+            selected = new int[maxM0 + 1];
+            pruned = new int[maxM0 + 1];
+        }
+
+        int[] visit(int capacity) {
+            if (visited.length < capacity) {
+                visited = new int[capacity];
+                tag = 0;
+            }
+            if (++tag == 0) {
+                Arrays.fill(visited, 0);
+                tag = 1;
+            }
+            return visited;
+        }
+    }
+
+    /** The Builder to construct a {@link HnswIndex}. */
+    public static final class Builder {
+
+        int dimension;
+        Metric metric = Metric.L2;
+        int m = 16;
+        int efConstruction = 200;
+        int efSearch = 50;
+        int numSubVectors;
+        int numCentroids = 256;
+        int numThreads;
+
+        Builder() {}
+
+        /**
+         * Sets the dimension of the vectors.
+         *
+         * @param dimension the dimension of the vectors
+         * @return this builder
+         */
+        public Builder setDimension(int dimension) {
+            this.dimension = dimension;
+            return this;
+        }
+
+        /**
+         * Sets the distance metric, defaults to {@link Metric#L2}.
+         *
+         * @param metric the distance metric
+         * @return this builder
+         */
+        public Builder optMetric(Metric metric) {
+            this.metric = metric;
+            return this;
+        }
+
+        /**
+         * Sets the number of links of a node per layer, twice as many on the base layer, defaults
+         * to 16.
+         *
+         * @param m the number of links of a node per layer
+         * @return this builder
+         */
+        public Builder optM(int m) {
+            this.m = m;
+            return this;
+        }
+
+        /**
+         * Sets the size of the dynamic candidate list of the insertions, defaults to 200.
+         *
+         * @param efConstruction the size of the dynamic candidate list of the insertions
+         * @return this builder
+         */
+        public Builder optEfConstruction(int efConstruction) {
+            this.efConstruction = efConstruction;
+            return this;
+        }
+
+        /**
+         * Sets the size of the dynamic candidate list of the searches, defaults to 50.
+         *
+         * @param efSearch the size of the dynamic candidate list of the searches
+         * @return this builder
+         */
+        public Builder optEfSearch(int efSearch) {
+            this.efSearch = efSearch;
+            return this;
+        }
+
+        /**
+         * Compresses the vectors with product quantization.
+         *
+         * <p>Each vector is stored in {@code numSubVectors} bytes instead of {@code dimension * 4},
+         * at the cost of approximate distances. The quantizer is trained with the first batch of
+         * vectors added, which must contain at least {@code numCentroids} vectors.
+         *
+         * @param numSubVectors the number of sub-vectors, must divide the dimension
+         * @param numCentroids the number of centroids per sub-vector, at most 256
+         * @return this builder
+         */
+        public Builder optProductQuantization(int numSubVectors, int numCentroids) {
+            this.numSubVectors = numSubVectors;
+            this.numCentroids = numCentroids;
+            return this;
+        }
+
+        /**
+         * Sets the number of threads to insert and search batches, defaults to the common fork-join
+         * pool.
+         *
+         * <p>The threads are created on the first parallel call and stopped by {@link
+         * HnswIndex#close()}.
+         *
+         * @param numThreads the number of threads
+         * @return this builder
+         */
+        public Builder optNumThreads(int numThreads) {
+            this.numThreads = numThreads;
+            return this;
+        }
+
+        /**
+         * Builds the {@link HnswIndex}.
+         *
+         * @return the {@link HnswIndex}
+         */
+        public HnswIndex build() {
+            if (dimension <= 0) {
+                throw new IllegalArgumentException("The dimension of the vectors is required.");
+            }
+            if (m < 2) {
+                throw new IllegalArgumentException("The number of links must be at least 2.");
+            }
+            return new HnswIndex(this);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.ann;
+
+import java.util.Locale;
+
+/** The distance metrics supported by the {@link HnswIndex}. */
+public enum Metric {
+    /** The squared euclidean distance. */
+    L2,
+    /** One minus the inner product, for vectors that are already normalized. */
+    INNER_PRODUCT,
+    /** One minus the cosine similarity, the vectors are normalized when added. */
+    COSINE;
+
+    /**
+     * Converts a {@code String} to a {@code Metric}.
+     *
+     * @param value the {@code String} to convert
+     * @return the {@code Metric}
+     */
+    public static Metric fromValue(String value) {
+        return valueOf(value.toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.ann;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * A {@link VectorStorage} that compresses the vectors with product quantization.
+ *
+ * <p>Each vector is split into sub-vectors, and each sub-vector is stored as the one byte index of
+ * its nearest centroid in a codebook trained with k-means. The distances from a query are computed
+ * with a lookup table per query, and the distances between the stored vectors with a table of the
+ * distances between the centroids.
+ */
+final class PqStorage extends VectorStorage {
+
+    private static final int MAX_TRAINING_POINTS = 64;
+    private static final int TRAINING_ITERATIONS = 25;
+
+    private int numSubVectors;
+    private int numCentroids;
+    private int subDimension;
+    private float[][] codebooks;
+    private float[] centroidDistances;
+    private ByteBuffer codes;
+
+    PqStorage(int dimension, Metric metric, int numSubVectors, int numCentroids) {
+        super(dimension, metric);
+        if (numSubVectors <= 0 || dimension % numSubVectors != 0) {
+            throw new IllegalArgumentException(
+                    "The dimension " + dimension + " is not divisible by " + numSubVectors);
+        }
+        if (numCentroids <= 1 || numCentroids > 256) {
+            throw new IllegalArgumentException("The number of centroids must be in [2, 256].");
+        }
+        this.numSubVectors = numSubVectors;
+        this.numCentroids = numCentroids;
+        subDimension = dimension / numSubVectors;
+    }
+
+    int getNumSubVectors() {
+        return numSubVectors;
+    }
+
+    int getNumCentroids() {
+        return numCentroids;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    boolean isTrained() {
+        return codebooks != null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    void train(FloatBuffer vectors, int count) {
+        if (count < numCentroids) {
+            throw new IllegalArgumentException(
+                    "At least " + numCentroids + " vectors are required to train the quantizer.");
+        }
+        // sample the training points, sub-vector by sub-vector
+        int numPoints = Math.min(count, numCentroids * MAX_TRAINING_POINTS);
+        int[] samples = shuffle(count, new Random(count));
+        float[][] points = new float[numSubVectors][numPoints * subDimension];
+        float[] vector = new float[dimension];
+        int base = vectors.position();
+        for (int p = 0; p < numPoints; ++p) {
+            int offset = base + samples[p] * dimension;
+            for (int i = 0; i < dimension; ++i) {
+                vector[i] = vectors.get(offset + i);
+            }
+            if (metric == Metric.COSINE) {
+                normalize(vector);
+            }
+            for (int j = 0; j < numSubVectors; ++j) {
+                System.arraycopy(
+                        vector, j * subDimension, points[j], p * subDimension, subDimension);
+            }
+        }
+        float[][] trained = new float[numSubVectors][];
+        IntStream.range(0, numSubVectors)
+                .parallel()
+                .forEach(j -> trained[j] = kmeans(points[j], numPoints, j));
+        codebooks = trained;
+        computeCentroidDistances();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    void ensureCapacity(int capacity) {
+        long bytes = (long) capacity * numSubVectors;
+        if (codes == null || codes.capacity() < bytes) {
+            codes = grow(codes, bytes);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    void set(int id, float[] vector) {
+        int base = id * numSubVectors;
+        for (int j = 0; j < numSubVectors; ++j) {
+            int code = nearest(codebooks[j], vector, j * subDimension);
+            codes.put(base + j, (byte) code);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    float distance(int a, int b) {
+        ByteBuffer buf = codes;
+        int baseA = a * numSubVectors;
+        int baseB = b * numSubVectors;
+        int tableSize = numCentroids * numCentroids;
+        float sum = 0;
+        for (int j = 0; j < numSubVectors; ++j) {
+            int codeA = buf.get(baseA + j) & 0xFF;
+            int codeB = buf.get(baseB + j) & 0xFF;
+            sum += centroidDistances[j * tableSize + codeA * numCentroids + codeB];
+        }
+        return metric == Metric.L2 ? sum : 1 + sum;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    Query newQuery(float[] vector) {
+        float[] table = new float[numSubVectors * numCentroids];
+        for (int j = 0; j < numSubVectors; ++j) {
+            float[] codebook = codebooks[j];
+            int offset = j * subDimension;
+            for (int c = 0; c < numCentroids; ++c) {
+                table[j * numCentroids + c] =
+                        subDistance(vector, offset, codebook, c * subDimension);
+            }
+        }
+        ByteBuffer buf = codes;
+        float bias = metric == Metric.L2 ? 0 : 1;
+        return id -> {
+            int base = id * numSubVectors;
+            float sum = bias;
+            for (int j = 0; j < numSubVectors; ++j) {
+                sum += table[j * numCentroids + (buf.get(base + j) & 0xFF)];
+            }
+            return sum;
+        };
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    void save(FileChannel channel, int size) throws IOException {
+        // an index without vectors may not be trained yet, it is saved without the codebooks
+        ByteBuffer flag = allocate(Integer.BYTES);
+        flag.putInt(0, isTrained() ? 1 : 0);
+        write(channel, flag, Integer.BYTES);
+        if (!isTrained()) {
+            return;
+        }
+        ByteBuffer buf = allocate((long) dimension * numCentroids * Float.BYTES);
+        FloatBuffer fb = buf.asFloatBuffer();
+        for (float[] codebook : codebooks) {
+            fb.put(codebook);
+        }
+        write(channel, buf, buf.capacity());
+        long bytes = (long) size * numSubVectors;
+        if (bytes > 0) {
+            write(channel, codes, bytes);
+        }
+        int padding = (int) (-bytes & 3);
+        write(channel, allocate(padding), padding);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    long load(FileChannel channel, long offset, int size) throws IOException {
+        boolean trained = map(channel, offset, Integer.BYTES).getInt(0) != 0;
+        offset += Integer.BYTES;
+        if (!trained) {
+            return offset;
+        }
+        long bytes = (long) dimension * numCentroids * Float.BYTES;
+        FloatBuffer fb = map(channel, offset, bytes).asFloatBuffer();
+        codebooks = new float[numSubVectors][numCentroids * subDimension];
+        for (float[] codebook : codebooks) {
+            fb.get(codebook);
+        }
+        computeCentroidDistances();
+        offset += bytes;
+        bytes = (long) size * numSubVectors;
+        codes = map(channel, offset, bytes);
+        return offset + bytes + (-bytes & 3);
+    }
+
+    private float[] kmeans(float[] points, int numPoints, int seed) {
+        Random random = new Random(seed);
+        float[] centroids = new float[numCentroids * subDimension];
+        int[] init = shuffle(numPoints, random);
+        for (int c = 0; c < numCentroids; ++c) {
+            System.arraycopy(
+                    points, init[c] * subDimension, centroids, c * subDimension, subDimension);
+        }
+        int[] assignments = new int[numPoints];
+        float[] sums = new float[centroids.length];
+        int[] counts = new int[numCentroids];
+        for (int iter = 0; iter < TRAINING_ITERATIONS; ++iter) {
+            boolean changed = false;
+            for (int p = 0; p < numPoints; ++p) {
+                int c = nearest(centroids, points, p * subDimension);
+                if (c != assignments[p] || iter == 0) {
+                    assignments[p] = c;
+                    changed = true;
+                }
+            }
+            if (!changed) {
+                break;
+            }
+            Arrays.fill(sums, 0);
+            Arrays.fill(counts, 0);
+            for (int p = 0; p < numPoints; ++p) {
+                int c = assignments[p];
+                ++counts[c];
+                for (int i = 0; i < subDimension; ++i) {
+                    sums[c * subDimension + i] += points[p * subDimension + i];
+                }
+            }
+            for (int c = 0; c < numCentroids; ++c) {
+                if (counts[c] == 0) {
+                    // re-seed an empty cluster with a random point
+                    int p = random.nextInt(numPoints);
+                    System.arraycopy(
+                            points, p * subDimension, centroids, c * subDimension, subDimension);
+                    continue;
+                }
+                for (int i = 0; i < subDimension; ++i) {
+                    centroids[c * subDimension + i] = sums[c * subDimension + i] / counts[c];
+                }
+            }
+        }
+        return centroids;
+    }
+
+    private int nearest(float[] centroids, float[] vector, int offset) {
+        int best = 0;
+        float bestDistance = Float.MAX_VALUE;
+        for (int c = 0; c < numCentroids; ++c) {
+            float sum = 0;
+            int base = c * subDimension;
+            for (int i = 0; i < subDimension; ++i) {
+                float d = vector[offset + i] - centroids[base + i];
+                sum += d * d;
+            }
+            if (sum < bestDistance) {
+                bestDistance = sum;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    private float subDistance(float[] a, int offsetA, float[] b, int offsetB) {
+        float sum = 0;
+        if (metric == Metric.L2) {
+            for (int i = 0; i < subDimension; ++i) {
+                float d = a[offsetA + i] - b[offsetB + i];
+                sum += d * d;
+            }
+            return sum;
+        }
+        for (int i = 0; i < subDimension; ++i) {
+            sum -= a[offsetA + i] * b[offsetB + i];
+        }
+        return sum;
+    }
+
+    private void computeCentroidDistances() {
+        int tableSize = numCentroids * numCentroids;
+        centroidDistances = new float[numSubVectors * tableSize];
+        for (int j = 0; j < numSubVectors; ++j) {
+            float[] codebook = codebooks[j];
+            for (int a = 0; a < numCentroids; ++a) {
+                for (int b = 0; b < numCentroids; ++b) {
+                    centroidDistances[j * tableSize + a * numCentroids + b] =
+                            subDistance(codebook, a * subDimension, codebook, b * subDimension);
+                }
+            }
+        }
+    }
+
+    private static int[] shuffle(int count, Random random) {
+        int[] ret = new int[count];
+        for (int i = 0; i < count; ++i) {
+            ret[i] = i;
+        }
+        for (int i = count - 1; i > 0; --i) {
+            int j = random.nextInt(i + 1);
+            int tmp = ret[i];
+            ret[i] = ret[j];
+            ret[j] = tmp;
+        }
+        return ret;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.ann;
+
+/** The nearest neighbors of a query vector, sorted from the nearest. */
+public class SearchResult {
+
+    private int[] ids;
+    private float[] distances;
+
+    SearchResult(int[] ids, float[] distances) {
+        this.ids = ids;
+        this.distances = distances;
+    }
+
+    /**
+     * Returns the number of neighbors found.
+     *
+     * @return the number of neighbors found
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Returns the ids of the neighbors.
+     *
+     * @return the ids of the neighbors
+     */
+    public int[] getIds() {
+        return ids;
+    }
+
+    /**
+     * Returns the distances to the neighbors.
+     *
+     * @return the distances to the neighbors
+     */
+    public float[] getDistances() {
+        return distances;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.ann;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * The off-heap storage of the vectors of an {@link HnswIndex}.
+ *
+ * <p>The vectors are stored in little-endian direct buffers, which can be memory-mapped from a
+ * saved index without being copied.
+ */
+abstract class VectorStorage {
+
+    protected int dimension;
+    protected Metric metric;
+
+    VectorStorage(int dimension, Metric metric) {
+        this.dimension = dimension;
+        this.metric = metric;
+    }
+
+    /**
+     * Returns whether the storage is ready to store vectors.
+     *
+     * @return whether the storage is ready to store vectors
+     */
+    abstract boolean isTrained();
+
+    /**
+     * Trains the storage with the vectors to be stored.
+     *
+     * @param vectors the vectors, from the current position of the buffer
+     * @param count the number of vectors
+     */
+    abstract void train(FloatBuffer vectors, int count);
+
+    /**
+     * Makes room for at least the number of vectors, keeping the stored ones.
+     *
+     * @param capacity the number of vectors
+     */
+    abstract void ensureCapacity(int capacity);
+
+    /**
+     * Stores a vector.
+     *
+     * @param id the id of the vector
+     * @param vector the vector, already normalized for the {@link Metric#COSINE} metric
+     */
+    abstract void set(int id, float[] vector);
+
+    /**
+     * Returns the distance between two stored vectors.
+     *
+     * @param a the id of the first vector
+     * @param b the id of the second vector
+     * @return the distance between the vectors
+     */
+    abstract float distance(int a, int b);
+
+    /**
+     * Returns a {@link Query} to compute the distances from a vector to the stored vectors.
+     *
+     * @param vector the query vector, already normalized for the {@link Metric#COSINE} metric
+     * @return a {@link Query}
+     */
+    abstract Query newQuery(float[] vector);
+
+    /**
+     * Writes the stored vectors.
+     *
+     * @param channel the channel to write to
+     * @param size the number of vectors to write
+     * @throws IOException if failed to write
+     */
+    abstract void save(FileChannel channel, int size) throws IOException;
+
+    /**
+     * Maps the stored vectors from a saved index.
+     *
+     * @param channel the channel to read from
+     * @param offset the position of the vectors in the channel
+     * @param size the number of vectors
+     * @return the position after the vectors in the channel
+     * @throws IOException if failed to read
+     */
+    abstract long load(FileChannel channel, long offset, int size) throws IOException;
+
+    static ByteBuffer allocate(long bytes) {
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalStateException("The index exceeds 2GB of vectors: " + bytes);
+        }
+        return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    static ByteBuffer grow(ByteBuffer buf, long bytes) {
+        ByteBuffer ret = allocate(bytes);
+        if (buf != null) {
+            ByteBuffer src = buf.duplicate();
+            src.clear();
+            ret.put(src);
+            ret.clear();
+        }
+        return ret;
+    }
+
+    static ByteBuffer map(FileChannel channel, long offset, long bytes) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, bytes)
+                .order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    static void write(FileChannel channel, ByteBuffer buf, long bytes) throws IOException {
+        ByteBuffer src = buf.duplicate();
+        src.clear();
+        src.limit(Math.toIntExact(bytes));
+        while (src.hasRemaining()) {
+            channel.write(src);
+        }
+    }
+
+    static void normalize(float[] vector) {
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        float scale = (float) (1 / Math.max(Math.sqrt(norm), 1e-12));
+        for (int i = 0; i < vector.length; ++i) {
+            vector[i] *= scale;
+        }
+    }
+
+    /** Computes the distances from a query vector to the stored vectors. */
+    interface Query {
+
+        /**
+         * Returns the distance from the query vector to a stored vector.
+         *
+         * @param id the id of the stored vector
+         * @return the distance
+         */
+        float distance(int id);
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.ann;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.util.Utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class HnswIndexTest {
+
+    @Test
+    public void testSearch() {
+        float[][] vectors = randomVectors(2000, 32, 1);
+        float[][] queries = randomVectors(50, 32, 2);
+        try (HnswIndex index = HnswIndex.builder().setDimension(32).optNumThreads(4).build()) {
+            Assert.assertEquals(index.add(vectors), 0);
+            Assert.assertEquals(index.size(), 2000);
+
+            List<SearchResult> results = index.search(queries, 10);
+            Assert.assertTrue(recall(vectors, queries, results, 10) > 0.95);
+            for (SearchResult result : results) {
+                float[] distances = result.getDistances();
+                for (int i = 1; i < distances.length; ++i) {
+                    Assert.assertTrue(distances[i - 1] <= distances[i]);
+                }
+            }
+
+            SearchResult result = index.search(vectors[42], 1);
+            Assert.assertEquals(result.getIds()[0], 42);
+            Assert.assertEquals(result.getDistances()[0], 0f);
+        }
+    }
+
+    @Test
+    public void testConcurrentAddSearch() throws InterruptedException, ExecutionException {
+        float[][] vectors = randomVectors(2100, 16, 5);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (HnswIndex index = HnswIndex.builder().setDimension(16).optNumThreads(2).build()) {
+            index.add(Arrays.copyOf(vectors, 100));
+            Future<?> adds =
+                    executor.submit(
+                            () -> {
+                                for (int i = 100; i < vectors.length; i += 200) {
+                                    index.add(Arrays.copyOfRange(vectors, i, i + 200));
+                                }
+                            });
+            // the searches only see fully linked vectors while the others are added
+            int i = 0;
+            while (!adds.isDone()) {
+                SearchResult result = index.search(vectors[i % 100], 10);
+                Assert.assertEquals(result.size(), 10);
+                Assert.assertEquals(result.getIds()[0], i % 100);
+                ++i;
+            }
+            adds.get();
+            Assert.assertEquals(index.size(), 2100);
+            Assert.assertEquals(index.search(vectors[2099], 1).getIds()[0], 2099);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testProductQuantization() {
+        float[][] vectors = randomVectors(2000, 32, 3);
+        HnswIndex index =
+                HnswIndex.builder()
+                        .setDimension(32)
+                        .optMetric(Metric.COSINE)
+                        .optProductQuantization(8, 64)
+                        .build();
+        index.add(vectors);
+
+        int found = 0;
+        for (int i = 0; i < 100; ++i) {
+            int expected = i;
+            int[] ids = index.search(vectors[i], 10).getIds();
+            if (Arrays.stream(ids).anyMatch(id -> id == expected)) {
+                ++found;
+            }
+        }
+        Assert.assertTrue(found > 90);
+    }
+
+    @Test
+    public void testSaveLoad() throws IOException {
+        float[][] vectors = randomVectors(1500, 16, 4);
+        float[][] queries = randomVectors(20, 16, 5);
+        HnswIndex index = HnswIndex.builder().setDimension(16).optM(8).build();
+        index.add(Arrays.copyOf(vectors, 1000));
+
+        Path dir = Files.createTempDirectory("ann");
+        Path file = dir.resolve("index.bin");
+        index.save(file);
+        HnswIndex loaded;
+        try {
+            loaded = HnswIndex.load(file);
+        } finally {
+            Utils.deleteQuietly(dir);
+        }
+        Assert.assertEquals(loaded.size(), 1000);
+        List<SearchResult> expected = index.search(queries, 5);
+        List<SearchResult> actual = loaded.search(queries, 5);
+        for (int i = 0; i < queries.length; ++i) {
+            Assert.assertEquals(actual.get(i).getIds(), expected.get(i).getIds());
+        }
+
+        // a loaded index can still be extended
+        Assert.assertEquals(loaded.add(Arrays.copyOfRange(vectors, 1000, 1500)), 1000);
+        Assert.assertEquals(loaded.search(vectors[1200], 1).getIds()[0], 1200);
+
+        // an empty product quantization index is saved before its quantizer is trained
+        HnswIndex empty =
+                HnswIndex.builder().setDimension(16).optProductQuantization(4, 16).build();
+        dir = Files.createTempDirectory("ann");
+        file = dir.resolve("empty.bin");
+        empty.save(file);
+        try {
+            loaded = HnswIndex.load(file);
+        } finally {
+            Utils.deleteQuietly(dir);
+        }
+        Assert.assertEquals(loaded.size(), 0);
+        Assert.assertEquals(loaded.add(vectors), 0);
+        Assert.assertEquals(loaded.size(), 1500);
+    }
+
+    @Test
+    public void testNDArray() {
+        try (NDManager manager = NDManager.newBaseManager()) {
+            NDArray vectors = manager.randomNormal(new Shape(500, 8));
+            HnswIndex index =
+                    HnswIndex.builder().setDimension(8).optMetric(Metric.INNER_PRODUCT).build();
+            index.add(vectors.div(vectors.norm(new int[] {1}, true)));
+
+            NDArray queries = vectors.get("10:13");
+            NDList neighbors = index.search(queries, 600);
+            Assert.assertEquals(neighbors.get(0).getShape(), new Shape(3, 600));
+            long[] ids = neighbors.get(0).toLongArray();
+            Assert.assertEquals(ids[599], -1);
+            Assert.assertEquals(neighbors.get(1).getShape(), new Shape(3, 600));
+
+            neighbors = index.search(queries.get(0), 1);
+            Assert.assertEquals(neighbors.get(0).getShape(), new Shape(1));
+            Assert.assertEquals(neighbors.get(0).getLong(0), 10);
+        }
+    }
+
+    private static float[][] randomVectors(int count, int dimension, long seed) {
+        Random random = new Random(seed);
+        float[][] ret = new float[count][dimension];
+        for (float[] vector : ret) {
+            for (int i = 0; i < dimension; ++i) {
+                vector[i] = (float) random.nextGaussian();
+            }
+        }
+        return ret;
+    }
+
+    private static double recall(
+            float[][] vectors, float[][] queries, List<SearchResult> results, int k) {
+        int found = 0;
+        for (int q = 0; q < queries.length; ++q) {
+            float[] distances = new float[vectors.length];
+            for (int i = 0; i < vectors.length; ++i) {
+                for (int j = 0; j < queries[q].length; ++j) {
+                    float d = vectors[i][j] - queries[q][j];
+                    distances[i] += d * d;
+                }
+            }
+            float[] sorted = distances.clone();
+            Arrays.sort(sorted);
+            for (int id : results.get(q).getIds()) {
+                if (distances[id] <= sorted[k - 1]) {
+                    ++found;
+                }
+            }
+        }
+        return (double) found / (queries.length * k);
+    }
+}
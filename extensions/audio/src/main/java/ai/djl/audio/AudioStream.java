@@ -0,0 +1,200 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.audio;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.Shape;
+
+import org.bytedeco.javacv.FFmpegFrameGrabber;
+import org.bytedeco.javacv.Frame;
+import org.bytedeco.javacv.FrameGrabber;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+/**
+ * {@code AudioStream} decodes an audio with FFmpeg and yields its samples in fixed-size frames
+ * while decoding.
+ *
+ * <p>The resampling and the channel mixing are done by FFmpeg as the audio is decoded, so only one
+ * frame of samples is kept in memory at a time. The samples are in the {@code [-1, 1]} range and
+ * interleaved if there is more than one channel.
+ *
+ * <pre>
+ *     try (AudioStream stream = factory.openStream(path, 16000, 1, 16000)) {
+ *         FloatBuffer frame;
+ *         while ((frame = stream.read()) != null) {
+ *             // process one second of mono audio
+ *         }
+ *     }
+ * </pre>
+ */
+public class AudioStream implements AutoCloseable {
+
+    private FFmpegFrameGrabber grabber;
+    private int sampleRate;
+    private int channels;
+    private FloatBuffer frame;
+    private FloatBuffer[] pending;
+
+    AudioStream(FFmpegFrameGrabber grabber, int sampleRate, int channels, int frameSize)
+            throws IOException {
+        this.grabber = grabber;
+        if (sampleRate > 0) {
+            grabber.setSampleRate(sampleRate);
+        }
+        if (channels > 0) {
+            grabber.setAudioChannels(channels);
+        }
+        grabber.setSampleMode(FrameGrabber.SampleMode.FLOAT);
+        try {
+            grabber.start();
+        } catch (FrameGrabber.Exception e) {
+            close();
+            throw new IOException("Unsupported Audio file", e);
+        }
+        this.sampleRate = grabber.getSampleRate();
+        this.channels = grabber.getAudioChannels();
+        frame =
+                ByteBuffer.allocateDirect(frameSize * this.channels * Float.BYTES)
+                        .order(ByteOrder.nativeOrder())
+                        .asFloatBuffer();
+    }
+
+    /**
+     * Returns the sample rate of the samples.
+     *
+     * @return the sample rate of the samples
+     */
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Returns the number of channels of the samples.
+     *
+     * @return the number of channels of the samples
+     */
+    public int getChannels() {
+        return channels;
+    }
+
+    /**
+     * Decodes and returns the next frame of samples.
+     *
+     * <p>All the frames have the same size except the last one, which may be shorter. The returned
+     * direct buffer is reused by the next call, it must be consumed or copied before reading the
+     * next frame.
+     *
+     * @return the next frame of samples, or {@code null} at the end of the audio
+     * @throws IOException if failed to decode the audio
+     */
+    public FloatBuffer read() throws IOException {
+        frame.clear();
+        while (frame.hasRemaining()) {
+            if (pending == null || !pending[0].hasRemaining()) {
+                pending = grab();
+                if (pending == null) {
+                    break;
+                }
+            }
+            if (pending.length == 1) {
+                // packed samples are already interleaved
+                FloatBuffer src = pending[0];
+                int count = Math.min(src.remaining(), frame.remaining());
+                int limit = src.limit();
+                src.limit(src.position() + count);
+                frame.put(src);
+                src.limit(limit);
+            } else {
+                // planar samples, one buffer per channel
+                while (frame.hasRemaining() && pending[0].hasRemaining()) {
+                    for (FloatBuffer channel : pending) {
+                        frame.put(channel.get());
+                    }
+                }
+            }
+        }
+        frame.flip();
+        return frame.hasRemaining() ? frame : null;
+    }
+
+    /**
+     * Decodes and returns the next frame of samples as an {@link NDArray}.
+     *
+     * @param manager the manager to create the array
+     * @return the next frame of samples of shape {@code (samples * channels)}, or {@code null} at
+     *     the end of the audio
+     * @throws IOException if failed to decode the audio
+     */
+    public NDArray read(NDManager manager) throws IOException {
+        FloatBuffer buf = read();
+        if (buf == null) {
+            return null;
+        }
+        return manager.create(buf, new Shape(buf.remaining()));
+    }
+
+    /**
+     * Decodes the rest of the audio into a float array.
+     *
+     * @return the remaining samples
+     * @throws IOException if failed to decode the audio
+     */
+    public float[] readAll() throws IOException {
+        float[] ret = new float[frame.capacity()];
+        int size = 0;
+        FloatBuffer buf;
+        while ((buf = read()) != null) {
+            if (size + buf.remaining() > ret.length) {
+                ret = Arrays.copyOf(ret, Math.max(ret.length * 2, size + buf.remaining()));
+            }
+            int count = buf.remaining();
+            buf.get(ret, size, count);
+            size += count;
+        }
+        return Arrays.copyOf(ret, size);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() throws IOException {
+        try {
+            grabber.close();
+        } catch (FrameGrabber.Exception e) {
+            throw new IOException("Failed to close audio", e);
+        }
+    }
+
+    private FloatBuffer[] grab() throws IOException {
+        try {
+            Frame f;
+            while ((f = grabber.grabSamples()) != null) {
+                if (f.samples != null && f.samples.length > 0 && f.samples[0].hasRemaining()) {
+                    FloatBuffer[] buffers = new FloatBuffer[f.samples.length];
+                    for (int i = 0; i < buffers.length; ++i) {
+                        buffers[i] = (FloatBuffer) f.samples[i];
+                    }
+                    return buffers;
+                }
+            }
+            return null;
+        } catch (FrameGrabber.Exception e) {
+            throw new IOException("Failed to decode audio", e);
+        }
+    }
+}
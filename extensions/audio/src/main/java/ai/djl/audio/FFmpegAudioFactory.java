@@ -24,8 +24,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ShortBuffer;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * {@code FFmpegAudioFactory} is a high performance implementation of {@link AudioFactory} using
@@ -69,6 +68,38 @@ public class FFmpegAudioFactory extends AudioFactory {
         throw new UnsupportedOperationException("Not supported!");
     }
 
+    /**
+     * Opens an {@link AudioStream} that decodes the audio file in fixed-size frames.
+     *
+     * @param path the path to the audio
+     * @param sampleRate the sample rate to resample to, 0 to keep the sample rate of the audio
+     * @param channels the number of channels to mix to, 0 to keep the channels of the audio
+     * @param frameSize the number of samples per channel of a frame
+     * @return a new {@link AudioStream}
+     * @throws IOException if the audio is not found or not supported
+     */
+    public AudioStream openStream(Path path, int sampleRate, int channels, int frameSize)
+            throws IOException {
+        return new AudioStream(
+                new FFmpegFrameGrabber(path.toFile()), sampleRate, channels, frameSize);
+    }
+
+    /**
+     * Opens an {@link AudioStream} that decodes the audio from an {@link InputStream} in fixed-size
+     * frames.
+     *
+     * @param is the {@link InputStream} of the audio
+     * @param sampleRate the sample rate to resample to, 0 to keep the sample rate of the audio
+     * @param channels the number of channels to mix to, 0 to keep the channels of the audio
+     * @param frameSize the number of samples per channel of a frame
+     * @return a new {@link AudioStream}
+     * @throws IOException if the audio is not supported
+     */
+    public AudioStream openStream(InputStream is, int sampleRate, int channels, int frameSize)
+            throws IOException {
+        return new AudioStream(new FFmpegFrameGrabber(is), sampleRate, channels, frameSize);
+    }
+
     /**
      * Grab frames from the audio using {@link FFmpegFrameGrabber}.
      *
@@ -77,18 +108,19 @@ public class FFmpegAudioFactory extends AudioFactory {
      * @throws FFmpegFrameGrabber.Exception if error occurs
      */
     private float[] grab(FFmpegFrameGrabber grabber) throws FFmpegFrameGrabber.Exception {
-        List<Float> list = new ArrayList<>();
+        float[] ret = new float[4096];
+        int size = 0;
         Frame frame;
         while ((frame = grabber.grab()) != null) {
             ShortBuffer buffer = (ShortBuffer) frame.samples[0];
-            for (int i = 0; i < buffer.limit(); i++) {
-                list.add(buffer.get() / (float) Short.MAX_VALUE);
+            int count = buffer.limit();
+            if (size + count > ret.length) {
+                ret = Arrays.copyOf(ret, Math.max(ret.length * 2, size + count));
+            }
+            for (int i = 0; i < count; i++) {
+                ret[size++] = buffer.get() / (float) Short.MAX_VALUE;
             }
         }
-        float[] ret = new float[list.size()];
-        for (int i = 0; i < list.size(); i++) {
-            ret[i] = list.get(i);
-        }
-        return ret;
+        return Arrays.copyOf(ret, size);
     }
 }
@@ -13,6 +13,8 @@
 
 package ai.djl.audio.dataset;
 
+import ai.djl.audio.AudioStream;
+import ai.djl.audio.FFmpegAudioFactory;
 import ai.djl.audio.processor.AudioNormalizer;
 import ai.djl.audio.processor.AudioProcessor;
 import ai.djl.audio.processor.LinearSpecgram;
@@ -20,14 +22,10 @@ import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDManager;
 
 import org.bytedeco.javacv.FFmpegFrameGrabber;
-import org.bytedeco.javacv.Frame;
-import org.bytedeco.javacv.FrameGrabber;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import java.nio.Buffer;
-import java.nio.ShortBuffer;
-import java.util.ArrayList;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
 
@@ -43,7 +41,7 @@ import java.util.List;
  */
 public class AudioData {
 
-    private static final Logger logger = LoggerFactory.getLogger(AudioData.class);
+    private static final FFmpegAudioFactory FACTORY = new FFmpegAudioFactory();
 
     private int sampleRate;
     private int audioChannels;
@@ -85,29 +83,13 @@ public class AudioData {
      * @return A float array.
      */
     private float[] toFloat(String path) {
-        List<Float> list = new ArrayList<>();
-        float scale = (float) 1.0 / (float) (1 << (8 * 2) - 1);
-        try (FFmpegFrameGrabber audioGrabber = new FFmpegFrameGrabber(path)) {
-            audioGrabber.start();
-            audioChannels = audioGrabber.getAudioChannels();
-            audioGrabber.setSampleRate(sampleRate);
-            Frame frame;
-            while ((frame = audioGrabber.grabFrame()) != null) {
-                Buffer[] buffers = frame.samples;
-                ShortBuffer sb = (ShortBuffer) buffers[0];
-                for (int i = 0; i < sb.limit(); i++) {
-                    list.add(sb.get() * scale);
-                }
-            }
-        } catch (FrameGrabber.Exception e) {
-            logger.error(e.getMessage());
-        }
-        float[] floatArray = new float[list.size()];
-        int i = 0;
-        for (Float f : list) {
-            floatArray[i++] = (f != null ? f : Float.NaN);
+        try (AudioStream stream =
+                FACTORY.openStream(Paths.get(path), sampleRate, 0, Math.max(sampleRate, 4096))) {
+            audioChannels = stream.getChannels();
+            return stream.readAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode audio: " + path, e);
         }
-        return floatArray;
     }
 
     /**
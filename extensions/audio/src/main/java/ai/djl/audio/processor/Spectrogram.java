@@ -0,0 +1,494 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.audio.processor;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.Shape;
+
+import org.jtransforms.fft.FloatFFT_1D;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+/**
+ * {@code Spectrogram} is an {@link AudioProcessor} that computes the log power spectrogram, the log
+ * mel spectrogram or the MFCCs of the samples.
+ *
+ * <p>All the frames are computed in a single pass over a primitive float buffer, with an FFT plan
+ * and work buffers that are created once per thread and reused for every frame. Only the output
+ * {@link NDArray} is created. The {@link Type#LINEAR} output is the same as {@link LinearSpecgram},
+ * and the output of all types is of shape {@code (features, frames)}.
+ *
+ * <p>Long or live audio can be processed in chunks with a {@link Stream}, which carries the samples
+ * of incomplete frames over to the next chunk. Since every frame is computed independently, the
+ * concatenation of the chunk outputs is the same as the output of the whole audio.
+ */
+public class Spectrogram implements AudioProcessor {
+
+    private static final float EPS = 1e-14f;
+
+    private Type type;
+    private int windowSize;
+    private int strideSize;
+    private int numBins;
+    private int numFeatures;
+    private float[] window;
+    private float scale;
+    private int[] filterStarts;
+    private float[][] filters;
+    private float[][] dct;
+    private ThreadLocal<Workspace> workspaces;
+
+    Spectrogram(Builder builder) {
+        type = builder.type;
+        float sampleRate = builder.sampleRate;
+        strideSize = (int) (0.001 * sampleRate * builder.strideMs);
+        windowSize = (int) (0.001 * sampleRate * builder.windowMs);
+        if (windowSize < 2 || strideSize < 1) {
+            throw new IllegalArgumentException("The window and the stride are too small.");
+        }
+
+        window = new float[windowSize];
+        double sum = 0;
+        for (int i = 1; i < windowSize; i++) {
+            window[i] = (float) (0.5 * (1 - Math.cos((2 * Math.PI * i) / (windowSize - 1))));
+            float w2 = window[i] * window[i];
+            sum += w2;
+        }
+        scale = (float) sum * sampleRate;
+
+        // the rfft bins, only the bins up to the Nyquist frequency are kept
+        int fftBins = windowSize % 2 == 0 ? windowSize / 2 + 1 : (windowSize + 1) / 2;
+        float binWidth = sampleRate / windowSize;
+        numBins = 0;
+        while (numBins < fftBins && numBins * binWidth <= sampleRate / 2) {
+            numBins++;
+        }
+
+        switch (type) {
+            case LINEAR:
+                numFeatures = numBins;
+                break;
+            case MEL:
+                numFeatures = builder.numMels;
+                createFilters(builder, binWidth);
+                break;
+            case MFCC:
+                numFeatures = builder.numMfcc;
+                createFilters(builder, binWidth);
+                createDct(builder.numMels, builder.numMfcc);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported type: " + type);
+        }
+        workspaces = ThreadLocal.withInitial(this::newWorkspace);
+    }
+
+    /**
+     * Creates a builder to build a {@code Spectrogram}.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the number of features of a frame.
+     *
+     * @return the number of features of a frame
+     */
+    public int getNumFeatures() {
+        return numFeatures;
+    }
+
+    /**
+     * Returns the number of frames of the given number of samples.
+     *
+     * @param numSamples the number of samples
+     * @return the number of frames
+     */
+    public int getNumFrames(long numSamples) {
+        if (numSamples < windowSize) {
+            return 0;
+        }
+        return Math.toIntExact((numSamples - windowSize) / strideSize + 1);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray extractFeatures(NDManager manager, NDArray samples) {
+        return extractFeatures(manager, samples.toFloatArray());
+    }
+
+    /**
+     * Extracts the features of the samples.
+     *
+     * @param manager the manager to create the features
+     * @param samples the samples
+     * @return the features of shape {@code (features, frames)}
+     */
+    public NDArray extractFeatures(NDManager manager, float[] samples) {
+        int numFrames = getNumFrames(samples.length);
+        float[] out = new float[numFeatures * numFrames];
+        Workspace ws = workspaces.get();
+        for (int i = 0; i < numFrames; i++) {
+            computeFrame(samples, i * strideSize, ws, out, i, numFrames);
+        }
+        return manager.create(out, new Shape(numFeatures, numFrames));
+    }
+
+    /**
+     * Creates a new {@link Stream} to process the audio in chunks.
+     *
+     * @return a new {@link Stream}
+     */
+    public Stream newStream() {
+        return new Stream();
+    }
+
+    private void computeFrame(
+            float[] samples, int start, Workspace ws, float[] out, int column, int numFrames) {
+        float[] buf = ws.buf;
+        for (int i = 0; i < windowSize; i++) {
+            buf[i] = samples[start + i] * window[i];
+        }
+        ws.plan.realForward(buf);
+
+        // the power of the bins, the same layout and scaling as LinearSpecgram
+        float[] power = ws.power;
+        int n = windowSize;
+        int fftBins = power.length;
+        for (int i = 0; i < fftBins; i++) {
+            float re;
+            float im;
+            if (i == 0) {
+                re = buf[0];
+                im = 0;
+            } else if (n % 2 == 0 && i == n / 2) {
+                re = buf[1];
+                im = 0;
+            } else if (n % 2 == 1 && i == (n - 1) / 2) {
+                re = 0;
+                im = buf[1];
+            } else {
+                re = buf[2 * i];
+                im = buf[2 * i + 1];
+            }
+            float abs = (float) Math.hypot(re, im);
+            float p = abs * abs;
+            if (i == 0 || i == fftBins - 1) {
+                power[i] = p / scale;
+            } else {
+                power[i] = p * 2 / scale;
+            }
+        }
+
+        if (type == Type.LINEAR) {
+            for (int i = 0; i < numBins; i++) {
+                out[i * numFrames + column] = (float) Math.log(power[i] + EPS);
+            }
+            return;
+        }
+
+        float[] mel = ws.mel;
+        for (int m = 0; m < filters.length; m++) {
+            float[] filter = filters[m];
+            int offset = filterStarts[m];
+            float sum = 0;
+            for (int i = 0; i < filter.length; i++) {
+                sum += filter[i] * power[offset + i];
+            }
+            mel[m] = (float) Math.log(sum + EPS);
+        }
+        if (type == Type.MEL) {
+            for (int m = 0; m < mel.length; m++) {
+                out[m * numFrames + column] = mel[m];
+            }
+            return;
+        }
+        for (int k = 0; k < dct.length; k++) {
+            float[] basis = dct[k];
+            float sum = 0;
+            for (int m = 0; m < mel.length; m++) {
+                sum += basis[m] * mel[m];
+            }
+            out[k * numFrames + column] = sum;
+        }
+    }
+
+    private void createFilters(Builder builder, float binWidth) {
+        int numMels = builder.numMels;
+        float maxFreq = builder.maxFreq > 0 ? builder.maxFreq : builder.sampleRate / 2f;
+        double minMel = hzToMel(builder.minFreq);
+        double maxMel = hzToMel(maxFreq);
+        double[] points = new double[numMels + 2];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = melToHz(minMel + (maxMel - minMel) * i / (numMels + 1));
+        }
+
+        // triangular filters, only the non-zero range of each filter is stored
+        filterStarts = new int[numMels];
+        filters = new float[numMels][];
+        for (int m = 0; m < numMels; m++) {
+            double left = points[m];
+            double center = points[m + 1];
+            double right = points[m + 2];
+            int start = Math.min(numBins, (int) Math.ceil(left / binWidth));
+            int end = Math.min(numBins, (int) Math.floor(right / binWidth) + 1);
+            end = Math.max(start, end);
+            float[] filter = new float[end - start];
+            for (int i = start; i < end; i++) {
+                double freq = i * binWidth;
+                double weight;
+                if (freq <= center) {
+                    weight = center > left ? (freq - left) / (center - left) : 0;
+                } else {
+                    weight = right > center ? (right - freq) / (right - center) : 0;
+                }
+                filter[i - start] = (float) Math.max(0, weight);
+            }
+            filterStarts[m] = start;
+            filters[m] = filter;
+        }
+    }
+
+    private void createDct(int numMels, int numMfcc) {
+        // orthonormal DCT-II basis
+        dct = new float[numMfcc][numMels];
+        for (int k = 0; k < numMfcc; k++) {
+            double norm = k == 0 ? Math.sqrt(1.0 / numMels) : Math.sqrt(2.0 / numMels);
+            for (int m = 0; m < numMels; m++) {
+                dct[k][m] = (float) (norm * Math.cos(Math.PI * k * (m + 0.5) / numMels));
+            }
+        }
+    }
+
+    private Workspace newWorkspace() {
+        int fftBins = windowSize % 2 == 0 ? windowSize / 2 + 1 : (windowSize + 1) / 2;
+        int numMels = filters == null ? 0 : filters.length;
+        return new Workspace(windowSize, fftBins, numMels);
+    }
+
+    private static double hzToMel(double hz) {
+        return 2595 * Math.log10(1 + hz / 700);
+    }
+
+    private static double melToHz(double mel) {
+        return 700 * (Math.pow(10, mel / 2595) - 1);
+    }
+
+    /** The type of features computed by a {@link Spectrogram}. */
+    public enum Type {
+        /** The log power spectrogram, the same as {@link LinearSpecgram}. */
+        LINEAR,
+        /** The log mel spectrogram. */
+        MEL,
+        /** The mel-frequency cepstral coefficients. */
+        MFCC
+    }
+
+    private static final class Workspace {
+
+        FloatFFT_1D plan;
+        float[] buf;
+        float[] power;
+        float[] mel;
+
+        Workspace(int windowSize, int fftBins, int numMels) {
+            plan = new FloatFFT_1D(windowSize);
+            buf = new float[windowSize];
+            power = new float[fftBins];
+            mel = new float[numMels];
+        }
+    }
+
+    /**
+     * A {@code Stream} computes the features of an audio that is received in chunks.
+     *
+     * <p>A {@code Stream} is not thread safe, it should be used by a single thread at a time.
+     */
+    public final class Stream {
+
+        private Workspace ws;
+        private float[] pending;
+        private int numPending;
+
+        Stream() {
+            ws = newWorkspace();
+            pending = new float[windowSize * 2];
+        }
+
+        /**
+         * Appends a chunk of samples and returns the features of the frames that are complete.
+         *
+         * @param manager the manager to create the features
+         * @param chunk the next chunk of samples
+         * @return the features of the new complete frames, of shape {@code (features, frames)}
+         */
+        public NDArray process(NDManager manager, float[] chunk) {
+            float[] out = process(chunk);
+            return manager.create(out, new Shape(numFeatures, out.length / numFeatures));
+        }
+
+        /**
+         * Appends a chunk of samples and returns the features of the frames that are complete.
+         *
+         * @param chunk the next chunk of samples
+         * @return the features of the new complete frames in {@code (features, frames)} order
+         */
+        public float[] process(float[] chunk) {
+            return process(FloatBuffer.wrap(chunk));
+        }
+
+        /**
+         * Appends a chunk of samples and returns the features of the frames that are complete.
+         *
+         * <p>The remaining samples of the buffer are consumed, so the frames of an {@code
+         * ai.djl.audio.AudioStream} can be passed directly.
+         *
+         * @param chunk the next chunk of samples
+         * @return the features of the new complete frames in {@code (features, frames)} order
+         */
+        public float[] process(FloatBuffer chunk) {
+            int length = chunk.remaining();
+            if (numPending + length > pending.length) {
+                pending = Arrays.copyOf(pending, Math.max(pending.length * 2, numPending + length));
+            }
+            chunk.get(pending, numPending, length);
+            numPending += length;
+
+            int numFrames = getNumFrames(numPending);
+            float[] out = new float[numFeatures * numFrames];
+            for (int i = 0; i < numFrames; i++) {
+                computeFrame(pending, i * strideSize, ws, out, i, numFrames);
+            }
+            int consumed = numFrames * strideSize;
+            System.arraycopy(pending, consumed, pending, 0, numPending - consumed);
+            numPending -= consumed;
+            return out;
+        }
+
+        /** Discards the samples of the incomplete frames. */
+        public void reset() {
+            numPending = 0;
+        }
+    }
+
+    /** The builder for a {@link Spectrogram}. */
+    public static final class Builder {
+
+        int sampleRate = 16000;
+        float strideMs = 10;
+        float windowMs = 20;
+        Type type = Type.LINEAR;
+        int numMels = 80;
+        int numMfcc = 13;
+        float minFreq;
+        float maxFreq;
+
+        Builder() {}
+
+        /**
+         * Sets the sample rate of the samples, default is 16000.
+         *
+         * @param sampleRate the sample rate of the samples
+         * @return this builder
+         */
+        public Builder setSampleRate(int sampleRate) {
+            this.sampleRate = sampleRate;
+            return this;
+        }
+
+        /**
+         * Sets the stride between two frames in milliseconds, default is 10.
+         *
+         * @param strideMs the stride between two frames in milliseconds
+         * @return this builder
+         */
+        public Builder optStrideMs(float strideMs) {
+            this.strideMs = strideMs;
+            return this;
+        }
+
+        /**
+         * Sets the size of a frame in milliseconds, default is 20.
+         *
+         * @param windowMs the size of a frame in milliseconds
+         * @return this builder
+         */
+        public Builder optWindowMs(float windowMs) {
+            this.windowMs = windowMs;
+            return this;
+        }
+
+        /**
+         * Sets the type of features to compute, default is {@link Type#LINEAR}.
+         *
+         * @param type the type of features to compute
+         * @return this builder
+         */
+        public Builder optType(Type type) {
+            this.type = type;
+            return this;
+        }
+
+        /**
+         * Sets the number of mel filters, default is 80.
+         *
+         * @param numMels the number of mel filters
+         * @return this builder
+         */
+        public Builder optNumMels(int numMels) {
+            this.numMels = numMels;
+            return this;
+        }
+
+        /**
+         * Sets the number of MFCCs, default is 13.
+         *
+         * @param numMfcc the number of MFCCs
+         * @return this builder
+         */
+        public Builder optNumMfcc(int numMfcc) {
+            this.numMfcc = numMfcc;
+            return this;
+        }
+
+        /**
+         * Sets the frequency range of the mel filters, default is from 0 to the Nyquist frequency.
+         *
+         * @param minFreq the lowest frequency of the mel filters
+         * @param maxFreq the highest frequency of the mel filters
+         * @return this builder
+         */
+        public Builder optFrequencyRange(float minFreq, float maxFreq) {
+            this.minFreq = minFreq;
+            this.maxFreq = maxFreq;
+            return this;
+        }
+
+        /**
+         * Builds a new {@link Spectrogram}.
+         *
+         * @return a new {@link Spectrogram}
+         */
+        public Spectrogram build() {
+            if (type == Type.MFCC && numMfcc > numMels) {
+                throw new IllegalArgumentException("numMfcc must not be greater than numMels.");
+            }
+            return new Spectrogram(this);
+        }
+    }
+}
@@ -25,6 +25,8 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 
 public class FFmpegAudioFactoryTest {
@@ -58,6 +60,32 @@ public class FFmpegAudioFactoryTest {
         Assert.assertEquals(audio.getChannels(), 0);
     }
 
+    @Test
+    public void testStream() throws IOException {
+        FFmpegAudioFactory factory = new FFmpegAudioFactory();
+        Path path = Paths.get("build/test/test_01.wav");
+        int numSamples = factory.fromFile(path).getData().length;
+        try (AudioStream stream = factory.openStream(path, 0, 0, 1600)) {
+            Assert.assertEquals(stream.getSampleRate(), 16000);
+            Assert.assertEquals(stream.getChannels(), 1);
+            int total = 0;
+            FloatBuffer frame;
+            while ((frame = stream.read()) != null) {
+                Assert.assertTrue(frame.isDirect());
+                if (total + 1600 < numSamples) {
+                    Assert.assertEquals(frame.remaining(), 1600);
+                }
+                total += frame.remaining();
+            }
+            Assert.assertEquals(total, numSamples);
+        }
+
+        try (AudioStream stream = factory.openStream(path, 8000, 1, 8000)) {
+            Assert.assertEquals(stream.getSampleRate(), 8000);
+            Assert.assertEquals(stream.readAll().length, numSamples / 2, 64);
+        }
+    }
+
     @Test(expectedExceptions = UnsupportedOperationException.class)
     public void testFromNDArray() {
         try (NDManager manager = NDManager.newBaseManager()) {
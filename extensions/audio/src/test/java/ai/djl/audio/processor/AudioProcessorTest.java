@@ -17,6 +17,8 @@ import ai.djl.Device;
 import ai.djl.audio.dataset.AudioData;
 import ai.djl.audio.util.AudioUtils;
 import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDArrays;
+import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.Shape;
 import ai.djl.testing.TestRequirements;
@@ -68,4 +70,39 @@ public class AudioProcessorTest {
         Assert.assertEquals(new Shape(161, 838), samples.getShape());
         Assert.assertEquals(samples.get("0,0").toFloatArray()[0], -15.4571f, 1e-3f);
     }
+
+    @Test
+    public void testSpectrogram() {
+        try (NDManager manager = NDManager.newBaseManager(Device.cpu())) {
+            float[] data = new float[16000];
+            for (int i = 0; i < data.length; ++i) {
+                data[i] = (float) (Math.sin(i * 0.05) + 0.3 * Math.sin(i * 0.61));
+            }
+            NDArray samples = manager.create(data);
+            NDArray expected = new LinearSpecgram(10, 20, 16000).extractFeatures(manager, samples);
+            Spectrogram spectrogram = Spectrogram.builder().setSampleRate(16000).build();
+            NDArray linear = spectrogram.extractFeatures(manager, samples);
+            Assert.assertEquals(linear.getShape(), expected.getShape());
+            Assert.assertTrue(linear.allClose(expected, 1e-3, 1e-3, false));
+
+            // the chunks of a stream give the same frames as the whole audio
+            Spectrogram.Stream stream = spectrogram.newStream();
+            NDList chunks = new NDList();
+            for (int i = 0; i < data.length; i += 1234) {
+                float[] chunk = Arrays.copyOfRange(data, i, Math.min(data.length, i + 1234));
+                chunks.add(stream.process(manager, chunk));
+            }
+            Assert.assertEquals(NDArrays.concat(chunks, 1), linear);
+
+            Spectrogram mfcc =
+                    Spectrogram.builder()
+                            .setSampleRate(16000)
+                            .optType(Spectrogram.Type.MFCC)
+                            .optNumMels(40)
+                            .optNumMfcc(13)
+                            .build();
+            Assert.assertEquals(
+                    mfcc.extractFeatures(manager, samples).getShape(), new Shape(13, 99));
+        }
+    }
 }
@@ -17,10 +17,13 @@ import ai.djl.nn.AbstractSymbolBlock;
 import ai.djl.nn.ParameterList;
 
 import java.nio.file.Path;
+import java.util.List;
 
 /**
  * A parent class containing shared behavior for {@link ai.djl.nn.SymbolBlock}s based on fasttext
  * models.
+ *
+ * <p>The block is thread-safe, the same loaded model serves concurrent calls without copies.
  */
 public abstract class FtAbstractBlock extends AbstractSymbolBlock implements AutoCloseable {
 
@@ -57,6 +60,22 @@ public abstract class FtAbstractBlock extends AbstractSymbolBlock implements Aut
         return fta.getWordVector(word);
     }
 
+    /**
+     * Embeds a batch of words using fasttext in a single native call.
+     *
+     * @param words the words to embed
+     * @return the embeddings
+     */
+    public float[][] embedWords(List<String> words) {
+        float[] data = fta.getWordVectors(words.toArray(new String[0]));
+        int dimension = words.isEmpty() ? 0 : data.length / words.size();
+        float[][] ret = new float[words.size()][dimension];
+        for (int i = 0; i < ret.length; ++i) {
+            System.arraycopy(data, i * dimension, ret[i], 0, dimension);
+        }
+        return ret;
+    }
+
     /** {@inheritDoc} */
     @Override
     public ParameterList getDirectParameters() {
@@ -44,5 +44,14 @@ final class FastTextLibrary {
 
     native float[] getWordVector(long handle, String word);
 
+    native String[] getLabels(long handle);
+
+    native int getDimension(long handle);
+
+    native void predictProbaBatch(
+            long handle, String[] texts, int topK, int[] counts, int[] labels, float[] probs);
+
+    native float[] getWordVectors(long handle, String[] words);
+
     native int runCmd(String[] args);
 }
@@ -17,13 +17,24 @@ import ai.djl.util.NativeResource;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
-/** A class containing utilities to interact with the fastText JNI layer. */
+/**
+ * A class containing utilities to interact with the fastText JNI layer.
+ *
+ * <p>A loaded model is read-only, so the predictions and the word vector lookups are thread-safe
+ * and can share the same native model. Loading, unloading and closing wait for the running calls to
+ * complete.
+ */
 @SuppressWarnings("MissingJavadocMethod")
 public final class FtWrapper extends NativeResource<Long> {
 
     private static RuntimeException libraryStatus;
 
+    private ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile LabelCache labelCache;
+
     static {
         try {
             LibUtils.loadLibrary();
@@ -44,7 +55,13 @@ public final class FtWrapper extends NativeResource<Long> {
     }
 
     public void loadModel(String modelFilePath) {
-        FastTextLibrary.LIB.loadModel(getHandle(), modelFilePath);
+        lock.writeLock().lock();
+        try {
+            FastTextLibrary.LIB.loadModel(getHandle(), modelFilePath);
+            labelCache = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     public boolean checkModel(String modelFilePath) {
@@ -52,11 +69,31 @@ public final class FtWrapper extends NativeResource<Long> {
     }
 
     public void unloadModel() {
-        FastTextLibrary.LIB.unloadModel(getHandle());
+        lock.writeLock().lock();
+        try {
+            FastTextLibrary.LIB.unloadModel(getHandle());
+            labelCache = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     public String getModelType() {
-        return FastTextLibrary.LIB.getModelType(getHandle());
+        lock.readLock().lock();
+        try {
+            return FastTextLibrary.LIB.getModelType(getHandle());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getDimension() {
+        lock.readLock().lock();
+        try {
+            return FastTextLibrary.LIB.getDimension(getHandle());
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     public Classifications predictProba(String text, int topK, String labelPrefix) {
@@ -64,7 +101,13 @@ public final class FtWrapper extends NativeResource<Long> {
         ArrayList<String> labels = new ArrayList<>(cap);
         ArrayList<Float> probs = new ArrayList<>(cap);
 
-        int size = FastTextLibrary.LIB.predictProba(getHandle(), text, topK, labels, probs);
+        int size;
+        lock.readLock().lock();
+        try {
+            size = FastTextLibrary.LIB.predictProba(getHandle(), text, topK, labels, probs);
+        } finally {
+            lock.readLock().unlock();
+        }
 
         List<String> classes = new ArrayList<>(size);
         List<Double> probabilities = new ArrayList<>(size);
@@ -79,8 +122,61 @@ public final class FtWrapper extends NativeResource<Long> {
         return new Classifications(classes, probabilities);
     }
 
+    /**
+     * Predicts the labels of a batch of texts in a single native call.
+     *
+     * @param texts the texts to classify
+     * @param topK the number of labels to return per text, all the labels if negative
+     * @param labelPrefix the prefix to remove from the labels
+     * @return the classifications of each text
+     */
+    public List<Classifications> predictProba(String[] texts, int topK, String labelPrefix) {
+        List<Classifications> ret = new ArrayList<>(texts.length);
+        lock.readLock().lock();
+        try {
+            String[] allLabels = getLabels(labelPrefix);
+            int stride = topK < 0 ? allLabels.length : Math.min(topK, allLabels.length);
+            int[] counts = new int[texts.length];
+            int[] ids = new int[texts.length * stride];
+            float[] probs = new float[ids.length];
+            FastTextLibrary.LIB.predictProbaBatch(getHandle(), texts, topK, counts, ids, probs);
+            for (int i = 0; i < texts.length; ++i) {
+                List<String> classes = new ArrayList<>(counts[i]);
+                List<Double> probabilities = new ArrayList<>(counts[i]);
+                for (int j = 0; j < counts[i]; ++j) {
+                    classes.add(allLabels[ids[i * stride + j]]);
+                    probabilities.add((double) probs[i * stride + j]);
+                }
+                ret.add(new Classifications(classes, probabilities));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ret;
+    }
+
     public float[] getWordVector(String word) {
-        return FastTextLibrary.LIB.getWordVector(getHandle(), word);
+        lock.readLock().lock();
+        try {
+            return FastTextLibrary.LIB.getWordVector(getHandle(), word);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the vectors of a batch of words in a single native call.
+     *
+     * @param words the words
+     * @return the vectors of the words, one after the other
+     */
+    public float[] getWordVectors(String[] words) {
+        lock.readLock().lock();
+        try {
+            return FastTextLibrary.LIB.getWordVectors(getHandle(), words);
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     public void runCmd(String[] args) {
@@ -90,9 +186,41 @@ public final class FtWrapper extends NativeResource<Long> {
     /** {@inheritDoc} */
     @Override
     public void close() {
-        Long pointer = handle.getAndSet(null);
-        if (pointer != null) {
-            FastTextLibrary.LIB.freeFastText(pointer);
+        lock.writeLock().lock();
+        try {
+            Long pointer = handle.getAndSet(null);
+            if (pointer != null) {
+                FastTextLibrary.LIB.freeFastText(pointer);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private String[] getLabels(String labelPrefix) {
+        LabelCache cache = labelCache;
+        if (cache == null || !cache.prefix.equals(labelPrefix)) {
+            // the labels are fetched once, the batch predictions only return their indices
+            String[] values = FastTextLibrary.LIB.getLabels(getHandle());
+            for (int i = 0; i < values.length; ++i) {
+                if (values[i].startsWith(labelPrefix)) {
+                    values[i] = values[i].substring(labelPrefix.length());
+                }
+            }
+            cache = new LabelCache(labelPrefix, values);
+            labelCache = cache;
+        }
+        return cache.values;
+    }
+
+    private static final class LabelCache {
+
+        String prefix;
+        String[] values;
+
+        LabelCache(String prefix, String[] values) {
+            this.prefix = prefix;
+            this.values = values;
         }
     }
 }
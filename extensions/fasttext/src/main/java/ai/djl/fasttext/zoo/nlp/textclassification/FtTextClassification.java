@@ -27,6 +27,7 @@ import ai.djl.util.passthrough.PassthroughNDArray;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 
 /** A {@link FtAbstractBlock} for {@link ai.djl.Application.NLP#TEXT_CLASSIFICATION}. */
 public class FtTextClassification extends FtAbstractBlock {
@@ -108,8 +109,14 @@ public class FtTextClassification extends FtAbstractBlock {
             boolean training,
             PairList<String, Object> params) {
         PassthroughNDArray inputWrapper = (PassthroughNDArray) inputs.singletonOrThrow();
-        String input = (String) inputWrapper.getObject();
-        Classifications result = fta.predictProba(input, -1, labelPrefix);
+        Object input = inputWrapper.getObject();
+        if (input instanceof List) {
+            // a batch of texts is classified in a single native call
+            @SuppressWarnings("unchecked")
+            List<String> texts = (List<String>) input;
+            return new NDList(new PassthroughNDArray(classify(texts, -1)));
+        }
+        Classifications result = fta.predictProba((String) input, -1, labelPrefix);
         return new NDList(new PassthroughNDArray(result));
     }
 
@@ -142,4 +149,15 @@ public class FtTextClassification extends FtAbstractBlock {
     public Classifications classify(String text, int topK) {
         return fta.predictProba(text, topK, labelPrefix);
     }
+
+    /**
+     * Returns top K classifications of a batch of texts in a single native call.
+     *
+     * @param texts the input texts to be classified
+     * @param topK the value of K, all the classes if negative
+     * @return classifications of each input text
+     */
+    public List<Classifications> classify(List<String> texts, int topK) {
+        return fta.predictProba(texts.toArray(new String[0]), topK, labelPrefix);
+    }
 }
@@ -21,6 +21,9 @@ import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDManager;
 import ai.djl.repository.zoo.ZooModel;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /** An implementation of {@link WordEmbedding} for FastText word embeddings. */
 public class FtWord2VecWordEmbedding implements WordEmbedding {
 
@@ -72,7 +75,18 @@ public class FtWord2VecWordEmbedding implements WordEmbedding {
     /** {@inheritDoc} */
     @Override
     public NDArray embedWord(NDArray index) {
-        return embedWord(index.getManager(), index.toLongArray()[0]);
+        long[] indices = index.toLongArray();
+        if (indices.length == 1) {
+            return embedWord(index.getManager(), indices[0]);
+        }
+        // all the words are embedded in a single native call
+        List<String> words = new ArrayList<>(indices.length);
+        for (long i : indices) {
+            words.add(vocabulary.getToken(i));
+        }
+        float[][] vectors = embedding.embedWords(words);
+        int dimension = vectors.length == 0 ? 0 : vectors[0].length;
+        return index.getManager().create(vectors).reshape(index.getShape().add(dimension));
     }
 
     /** {@inheritDoc} */
@@ -19,6 +19,8 @@ import ai.djl.training.ParameterStore;
 import ai.djl.util.PairList;
 import ai.djl.util.passthrough.PassthroughNDArray;
 
+import java.util.List;
+
 /** A {@link FtAbstractBlock} for {@link ai.djl.Application.NLP#WORD_EMBEDDING}. */
 public class FtWordEmbeddingBlock extends FtAbstractBlock {
 
@@ -38,8 +40,14 @@ public class FtWordEmbeddingBlock extends FtAbstractBlock {
             boolean training,
             PairList<String, Object> params) {
         PassthroughNDArray inputWrapper = (PassthroughNDArray) inputs.singletonOrThrow();
-        String input = (String) inputWrapper.getObject();
-        float[] result = embedWord(input);
+        Object input = inputWrapper.getObject();
+        if (input instanceof List) {
+            // a batch of words is embedded in a single native call
+            @SuppressWarnings("unchecked")
+            List<String> words = (List<String>) input;
+            return new NDList(new PassthroughNDArray(embedWords(words)));
+        }
+        float[] result = embedWord((String) input);
         return new NDList(new PassthroughNDArray(result));
     }
 }
@@ -177,3 +177,70 @@ JNIEXPORT int JNICALL Java_ai_djl_fasttext_jni_FastTextLibrary_runCmd(JNIEnv* en
   }
   return 0;
 }
+
+JNIEXPORT jobjectArray JNICALL Java_ai_djl_fasttext_jni_FastTextLibrary_getLabels(
+    JNIEnv* env, jobject jthis, jlong jhandle) {
+  auto* fasttext_ptr = reinterpret_cast<fasttext::FastText*>(jhandle);
+  auto* privateMembers = (FastTextPrivateMembers*) fasttext_ptr;
+  int32_t size = privateMembers->dict_->nlabels();
+  std::vector<std::string> labels;
+  labels.reserve(size);
+  for (int32_t i = 0; i < size; ++i) {
+    labels.emplace_back(privateMembers->dict_->getLabel(i));
+  }
+  return djl::utils::jni::GetStringArrayFromVec(env, labels);
+}
+
+JNIEXPORT jint JNICALL Java_ai_djl_fasttext_jni_FastTextLibrary_getDimension(
+    JNIEnv* env, jobject jthis, jlong jhandle) {
+  auto* fasttext_ptr = reinterpret_cast<fasttext::FastText*>(jhandle);
+  return fasttext_ptr->getDimension();
+}
+
+JNIEXPORT void JNICALL Java_ai_djl_fasttext_jni_FastTextLibrary_predictProbaBatch(JNIEnv* env, jobject jthis,
+    jlong jhandle, jobjectArray jtexts, jint top_k, jintArray jcounts, jintArray jlabels, jfloatArray jprobs) {
+  auto* fasttext_ptr = reinterpret_cast<fasttext::FastText*>(jhandle);
+  auto* privateMembers = (FastTextPrivateMembers*) fasttext_ptr;
+  jsize size = env->GetArrayLength(jtexts);
+  jsize stride = env->GetArrayLength(jlabels) / std::max(size, 1);
+  std::vector<jint> counts(size);
+  std::vector<jint> labels(env->GetArrayLength(jlabels));
+  std::vector<jfloat> probs(labels.size());
+  std::vector<int32_t> words;
+  std::vector<int32_t> line_labels;
+  fasttext::Predictions predictions;
+  for (jsize i = 0; i < size; ++i) {
+    auto jtext = (jstring) env->GetObjectArrayElement(jtexts, i);
+    std::istringstream in(djl::utils::jni::GetStringFromJString(env, jtext));
+    env->DeleteLocalRef(jtext);
+    words.clear();
+    line_labels.clear();
+    predictions.clear();
+    privateMembers->dict_->getLine(in, words, line_labels);
+    fasttext_ptr->predict(top_k, words, predictions, 0.0);
+    counts[i] = static_cast<jint>(std::min<size_t>(predictions.size(), stride));
+    for (jint j = 0; j < counts[i]; ++j) {
+      probs[i * stride + j] = std::exp(predictions[j].first);
+      labels[i * stride + j] = predictions[j].second;
+    }
+  }
+  env->SetIntArrayRegion(jcounts, 0, size, counts.data());
+  env->SetIntArrayRegion(jlabels, 0, labels.size(), labels.data());
+  env->SetFloatArrayRegion(jprobs, 0, probs.size(), probs.data());
+}
+
+JNIEXPORT jfloatArray JNICALL Java_ai_djl_fasttext_jni_FastTextLibrary_getWordVectors(
+    JNIEnv* env, jobject jthis, jlong jhandle, jobjectArray jwords) {
+  auto* fasttext_ptr = reinterpret_cast<fasttext::FastText*>(jhandle);
+  int dim = fasttext_ptr->getDimension();
+  jsize size = env->GetArrayLength(jwords);
+  jfloatArray array = env->NewFloatArray(static_cast<jsize>(size) * dim);
+  Vector vec(dim);
+  for (jsize i = 0; i < size; ++i) {
+    auto jword = (jstring) env->GetObjectArrayElement(jwords, i);
+    fasttext_ptr->getWordVector(vec, djl::utils::jni::GetStringFromJString(env, jword));
+    env->DeleteLocalRef(jword);
+    env->SetFloatArrayRegion(array, i * dim, dim, vec.data());
+  }
+  return array;
+}
@@ -46,6 +46,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -104,6 +105,39 @@ public class CookingStackExchangeTest {
         }
     }
 
+    @Test
+    public void testBatchTextClassification()
+            throws IOException, MalformedModelException, ModelNotFoundException {
+        Criteria<String, Classifications> criteria =
+                Criteria.builder()
+                        .setTypes(String.class, Classifications.class)
+                        .optArtifactId("ai.djl.fasttext:cooking_stackexchange")
+                        .build();
+        try (ZooModel<String, Classifications> model = criteria.loadModel()) {
+            FtTextClassification block = (FtTextClassification) model.getBlock();
+            List<String> texts =
+                    Arrays.asList(
+                            "Which baking dish is best to bake a banana bread ?",
+                            "How to store fresh herbs ?",
+                            "");
+            List<Classifications> results = block.classify(texts, 3);
+            Assert.assertEquals(results.size(), 3);
+            for (int i = 0; i < 2; ++i) {
+                Classifications expected = block.classify(texts.get(i), 3);
+                Assert.assertEquals(results.get(i).getClassNames(), expected.getClassNames());
+                Assert.assertEquals(
+                        results.get(i).getProbabilities().get(0),
+                        expected.getProbabilities().get(0),
+                        1e-6);
+            }
+            Assert.assertEquals(results.get(2).items().size(), 0);
+
+            float[][] vectors = block.embedWords(Arrays.asList("bread", "banana"));
+            Assert.assertEquals(vectors[0], block.embedWord("bread"));
+            Assert.assertEquals(vectors[1], block.embedWord("banana"));
+        }
+    }
+
     @Test
     public void testWord2Vec() throws IOException, MalformedModelException, ModelNotFoundException {
         Criteria<String, Classifications> criteria =
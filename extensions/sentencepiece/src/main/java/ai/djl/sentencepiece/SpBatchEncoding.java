@@ -0,0 +1,122 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.sentencepiece;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.Shape;
+
+import java.util.Arrays;
+
+/**
+ * The indices of a batch of sentences encoded by {@link SpTokenizer#batchEncode(String[])}.
+ *
+ * <p>The indices of all the sentences are stored one after the other in a single array, the indices
+ * of the sentence {@code i} are in {@code [offsets[i], offsets[i + 1])}.
+ */
+public final class SpBatchEncoding {
+
+    private int[] ids;
+    private int[] offsets;
+
+    SpBatchEncoding(int[] ids, int[] offsets) {
+        this.ids = ids;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Returns the number of sentences.
+     *
+     * @return the number of sentences
+     */
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Returns the indices of all the sentences.
+     *
+     * @return the indices of all the sentences
+     */
+    public int[] getIds() {
+        return ids;
+    }
+
+    /**
+     * Returns the indices of a sentence.
+     *
+     * @param index the index of the sentence
+     * @return the indices of the sentence
+     */
+    public int[] getIds(int index) {
+        return Arrays.copyOfRange(ids, offsets[index], offsets[index + 1]);
+    }
+
+    /**
+     * Returns the offsets of the sentences in the indices, with a last offset for the end.
+     *
+     * @return the offsets of the sentences
+     */
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    /**
+     * Returns the number of indices of the longest sentence.
+     *
+     * @return the number of indices of the longest sentence
+     */
+    public int getMaxLength() {
+        int max = 0;
+        for (int i = 0; i < size(); ++i) {
+            max = Math.max(max, offsets[i + 1] - offsets[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Returns the padded batch of indices.
+     *
+     * <p>The {@code int64} indices are padded to the longest sentence, the same batch as a {@link
+     * ai.djl.translate.PaddingStackBatchifier} stacking the sentences one by one, so it can be
+     * returned by a {@link ai.djl.translate.Translator#processInputBatch} directly.
+     *
+     * @param manager the manager to create the arrays
+     * @param padId the index to pad with
+     * @param includeValidLengths whether to include the lengths of the sentences as a second array
+     * @return the indices of shape {@code (batch, maxLength)}, and the lengths of shape {@code
+     *     (batch)} if included
+     */
+    public NDList toNDList(NDManager manager, int padId, boolean includeValidLengths) {
+        int batchSize = size();
+        int maxLength = getMaxLength();
+        long[] padded = new long[batchSize * maxLength];
+        long[] lengths = new long[batchSize];
+        for (int i = 0; i < batchSize; ++i) {
+            int start = offsets[i];
+            int length = offsets[i + 1] - start;
+            int base = i * maxLength;
+            for (int j = 0; j < length; ++j) {
+                padded[base + j] = ids[start + j];
+            }
+            Arrays.fill(padded, base + length, base + maxLength, padId);
+            lengths[i] = length;
+        }
+        NDArray array = manager.create(padded, new Shape(batchSize, maxLength));
+        if (includeValidLengths) {
+            return new NDList(array, manager.create(lengths));
+        }
+        return new NDList(array);
+    }
+}
@@ -16,6 +16,8 @@ import ai.djl.sentencepiece.jni.LibUtils;
 import ai.djl.sentencepiece.jni.SentencePieceLibrary;
 import ai.djl.util.NativeResource;
 
+import java.util.Arrays;
+
 /** The processor holder for SentencePiece. */
 final class SpProcessor extends NativeResource<Long> {
 
@@ -98,6 +100,31 @@ final class SpProcessor extends NativeResource<Long> {
         return SentencePieceLibrary.LIB.encode(getHandle(), sentence);
     }
 
+    /**
+     * Encodes sentences into indices in a single native call, with as many threads as processors.
+     *
+     * @param sentences input sentences
+     * @return the indices of the sentences
+     */
+    public SpBatchEncoding encode(String[] sentences) {
+        return encode(sentences, 0);
+    }
+
+    /**
+     * Encodes sentences into indices in a single native call, the sentences are encoded in
+     * parallel.
+     *
+     * @param sentences input sentences
+     * @param numThreads the number of native threads, as many as processors if not positive
+     * @return the indices of the sentences
+     */
+    public SpBatchEncoding encode(String[] sentences, int numThreads) {
+        int[] offsets = new int[sentences.length + 1];
+        int[] ids =
+                SentencePieceLibrary.LIB.batchEncode(getHandle(), sentences, offsets, numThreads);
+        return new SpBatchEncoding(ids, offsets);
+    }
+
     /**
      * Decode indices into sentence.
      *
@@ -108,6 +135,41 @@ final class SpProcessor extends NativeResource<Long> {
         return SentencePieceLibrary.LIB.decode(getHandle(), ids);
     }
 
+    /**
+     * Decodes the indices of a batch of sentences in a single native call, with as many threads as
+     * processors.
+     *
+     * @param encoding the indices of the sentences
+     * @return recovered sentences
+     */
+    public String[] decode(SpBatchEncoding encoding) {
+        return decode(encoding.getIds(), encoding.getOffsets(), 0);
+    }
+
+    /**
+     * Decodes the indices of a batch of sentences in a single native call, the sentences are
+     * decoded in parallel.
+     *
+     * @param ids the indices of all the sentences, one after the other
+     * @param offsets the offsets of the sentences in the indices, with a last offset for the end
+     * @param numThreads the number of native threads, as many as processors if not positive
+     * @return recovered sentences
+     * @throws IllegalArgumentException if the offsets are not increasing or out of the indices
+     */
+    public String[] decode(int[] ids, int[] offsets, int numThreads) {
+        if (offsets.length == 0 || offsets[0] < 0 || offsets[offsets.length - 1] > ids.length) {
+            throw new IllegalArgumentException(
+                    "Invalid offsets for " + ids.length + " indices: " + Arrays.toString(offsets));
+        }
+        for (int i = 1; i < offsets.length; ++i) {
+            if (offsets[i] < offsets[i - 1]) {
+                throw new IllegalArgumentException(
+                        "The offsets must not decrease: " + Arrays.toString(offsets));
+            }
+        }
+        return SentencePieceLibrary.LIB.batchDecode(getHandle(), ids, offsets, numThreads);
+    }
+
     /** {@inheritDoc} */
     @Override
     public void close() {
@@ -86,6 +86,56 @@ public class SpTokenizer implements Tokenizer, AutoCloseable {
         return processor.buildSentence(tokens.toArray(new String[0]));
     }
 
+    /**
+     * Encodes sentences into indices in a single native call, with as many threads as processors.
+     *
+     * <p>The returned {@link SpBatchEncoding} can be turned into the padded batch of a {@link
+     * ai.djl.translate.Translator#processInputBatch} with {@link SpBatchEncoding#toNDList}.
+     *
+     * @param sentences input sentences
+     * @return the indices of the sentences
+     */
+    public SpBatchEncoding batchEncode(String[] sentences) {
+        return processor.encode(sentences);
+    }
+
+    /**
+     * Encodes sentences into indices in a single native call, the sentences are encoded in
+     * parallel.
+     *
+     * @param sentences input sentences
+     * @param numThreads the number of native threads, as many as processors if not positive
+     * @return the indices of the sentences
+     */
+    public SpBatchEncoding batchEncode(String[] sentences, int numThreads) {
+        return processor.encode(sentences, numThreads);
+    }
+
+    /**
+     * Decodes the indices of a batch of sentences in a single native call, with as many threads as
+     * processors.
+     *
+     * @param encoding the indices of the sentences
+     * @return recovered sentences
+     */
+    public String[] batchDecode(SpBatchEncoding encoding) {
+        return processor.decode(encoding);
+    }
+
+    /**
+     * Decodes the indices of a batch of sentences in a single native call, the sentences are
+     * decoded in parallel.
+     *
+     * @param ids the indices of all the sentences, one after the other
+     * @param offsets the offsets of the sentences in the indices, with a last offset for the end
+     * @param numThreads the number of native threads, as many as processors if not positive
+     * @return recovered sentences
+     * @throws IllegalArgumentException if the offsets are not increasing or out of the indices
+     */
+    public String[] batchDecode(int[] ids, int[] offsets, int numThreads) {
+        return processor.decode(ids, offsets, numThreads);
+    }
+
     /** {@inheritDoc} */
     @Override
     public void close() {
@@ -36,6 +36,10 @@ public final class SentencePieceLibrary {
 
     public native String decode(long handle, int[] ids);
 
+    public native int[] batchEncode(long handle, String[] texts, int[] offsets, int numThreads);
+
+    public native String[] batchDecode(long handle, int[] ids, int[] offsets, int numThreads);
+
     public native String idToPiece(long handle, int id);
 
     public native int pieceToId(long handle, String piece);
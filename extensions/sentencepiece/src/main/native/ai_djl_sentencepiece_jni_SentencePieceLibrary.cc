@@ -15,6 +15,10 @@
 
 #include <djl/utils.h>
 
+#include <algorithm>
+#include <atomic>
+#include <thread>
+
 #include "sentencepiece_processor.h"
 
 inline void CheckStatus(JNIEnv* env, const sentencepiece::util::Status& status) {
@@ -101,3 +105,97 @@ JNIEXPORT jint JNICALL Java_ai_djl_sentencepiece_jni_SentencePieceLibrary_pieceT
   auto* processor_ptr = reinterpret_cast<sentencepiece::SentencePieceProcessor*>(jhandle);
   return processor_ptr->PieceToId(djl::utils::jni::GetStringFromJString(env, jpiece));
 }
+
+namespace {
+
+// Runs fn(i) for i in [0, size) on up to num_threads threads, the processor is thread-safe.
+template <typename F>
+sentencepiece::util::Status ParallelFor(int size, int num_threads, F fn) {
+  if (num_threads <= 0) {
+    num_threads = static_cast<int>(std::thread::hardware_concurrency());
+  }
+  num_threads = std::max(1, std::min(num_threads, size));
+  std::vector<sentencepiece::util::Status> statuses(num_threads);
+  std::atomic<int> next(0);
+  auto worker = [&](int t) {
+    int i;
+    while ((i = next++) < size) {
+      auto status = fn(i);
+      if (!status.ok()) {
+        statuses[t] = status;
+        return;
+      }
+    }
+  };
+  if (num_threads == 1) {
+    worker(0);
+  } else {
+    std::vector<std::thread> threads;
+    threads.reserve(num_threads);
+    for (int t = 0; t < num_threads; ++t) {
+      threads.emplace_back(worker, t);
+    }
+    for (auto& thread : threads) {
+      thread.join();
+    }
+  }
+  for (const auto& status : statuses) {
+    if (!status.ok()) {
+      return status;
+    }
+  }
+  return sentencepiece::util::Status();
+}
+
+}  // namespace
+
+JNIEXPORT jintArray JNICALL Java_ai_djl_sentencepiece_jni_SentencePieceLibrary_batchEncode(
+    JNIEnv* env, jobject jthis, jlong jhandle, jobjectArray jtexts, jintArray joffsets, jint jnum_threads) {
+  auto* processor_ptr = reinterpret_cast<sentencepiece::SentencePieceProcessor*>(jhandle);
+  // the strings are copied on the calling thread, JNIEnv can not be shared across threads
+  jsize size = env->GetArrayLength(jtexts);
+  std::vector<std::string> texts;
+  texts.reserve(size);
+  for (jsize i = 0; i < size; ++i) {
+    auto jtext = (jstring) env->GetObjectArrayElement(jtexts, i);
+    texts.emplace_back(djl::utils::jni::GetStringFromJString(env, jtext));
+    env->DeleteLocalRef(jtext);
+  }
+
+  std::vector<std::vector<int>> ids(size);
+  auto status = ParallelFor(size, jnum_threads, [&](int i) { return processor_ptr->Encode(texts[i], &ids[i]); });
+  if (!status.ok()) {
+    CheckStatus(env, status);
+    return nullptr;
+  }
+
+  std::vector<jint> offsets(size + 1, 0);
+  for (jsize i = 0; i < size; ++i) {
+    offsets[i + 1] = offsets[i] + static_cast<jint>(ids[i].size());
+  }
+  env->SetIntArrayRegion(joffsets, 0, size + 1, offsets.data());
+  jintArray jids = env->NewIntArray(offsets[size]);
+  for (jsize i = 0; i < size; ++i) {
+    env->SetIntArrayRegion(jids, offsets[i], ids[i].size(), reinterpret_cast<const jint*>(ids[i].data()));
+  }
+  return jids;
+}
+
+JNIEXPORT jobjectArray JNICALL Java_ai_djl_sentencepiece_jni_SentencePieceLibrary_batchDecode(
+    JNIEnv* env, jobject jthis, jlong jhandle, jintArray jids, jintArray joffsets, jint jnum_threads) {
+  auto* processor_ptr = reinterpret_cast<sentencepiece::SentencePieceProcessor*>(jhandle);
+  std::vector<int> ids = djl::utils::jni::GetVecFromJIntArray(env, jids);
+  std::vector<int> offsets = djl::utils::jni::GetVecFromJIntArray(env, joffsets);
+  int size = static_cast<int>(offsets.size()) - 1;
+
+  std::vector<std::string> texts(size);
+  auto status = ParallelFor(size, jnum_threads, [&](int i) {
+    std::vector<int> piece_ids(ids.begin() + offsets[i], ids.begin() + offsets[i + 1]);
+    return processor_ptr->Decode(piece_ids, &texts[i]);
+  });
+  if (!status.ok()) {
+    CheckStatus(env, status);
+    return nullptr;
+  }
+  return djl::utils::jni::GetStringArrayFromVec(env, texts);
+}
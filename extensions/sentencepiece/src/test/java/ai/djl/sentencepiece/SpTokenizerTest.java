@@ -13,6 +13,9 @@
 
 package ai.djl.sentencepiece;
 
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.Shape;
 import ai.djl.testing.TestRequirements;
 import ai.djl.training.util.DownloadUtils;
 
@@ -117,6 +120,46 @@ public class SpTokenizerTest {
         }
     }
 
+    @Test
+    public void testBatchEncodeDecode() throws IOException {
+        TestRequirements.notWindows();
+
+        Path modelPath = Paths.get("build/test/sp_model");
+        try (SpTokenizer tokenizer = new SpTokenizer(modelPath);
+                NDManager manager = NDManager.newBaseManager()) {
+            String[] sentences = {"Hello World", "", "Hello"};
+            SpProcessor processor = tokenizer.getProcessor();
+            SpBatchEncoding encoding = tokenizer.batchEncode(sentences, 2);
+            Assert.assertEquals(encoding.size(), 3);
+            Assert.assertEquals(encoding.getOffsets(), new int[] {0, 8, 8, 11});
+            for (int i = 0; i < sentences.length; ++i) {
+                Assert.assertEquals(encoding.getIds(i), processor.encode(sentences[i]));
+            }
+            Assert.assertEquals(tokenizer.batchDecode(encoding), sentences);
+            Assert.assertEquals(tokenizer.batchEncode(sentences).getIds(), encoding.getIds());
+
+            NDList list = encoding.toNDList(manager, 0, true);
+            Assert.assertEquals(list.get(0).getShape(), new Shape(3, 8));
+            Assert.assertEquals(
+                    list.get(0).get(2).toLongArray(), new long[] {151, 88, 21, 0, 0, 0, 0, 0});
+            Assert.assertEquals(list.get(1).toLongArray(), new long[] {8, 0, 3});
+
+            int[] ids = encoding.getIds();
+            Assert.assertThrows(
+                    IllegalArgumentException.class,
+                    () -> tokenizer.batchDecode(ids, new int[0], 1));
+            Assert.assertThrows(
+                    IllegalArgumentException.class,
+                    () -> tokenizer.batchDecode(ids, new int[] {-1, 8}, 1));
+            Assert.assertThrows(
+                    IllegalArgumentException.class,
+                    () -> tokenizer.batchDecode(ids, new int[] {0, 8, 4, 11}, 1));
+            Assert.assertThrows(
+                    IllegalArgumentException.class,
+                    () -> tokenizer.batchDecode(ids, new int[] {0, 12}, 1));
+        }
+    }
+
     @Test
     public void testModelNotFound() throws IOException {
         TestRequirements.notWindows();
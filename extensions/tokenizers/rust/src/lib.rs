@@ -16,13 +16,15 @@ extern crate tokenizers as tk;
 
 use std::str::FromStr;
 use tk::tokenizer::{EncodeInput, Encoding};
-use tk::utils::padding::{PaddingParams, PaddingStrategy};
+use tk::utils::padding::PaddingStrategy;
 use tk::utils::truncation::{TruncationParams, TruncationStrategy};
 use tk::Tokenizer;
 use tk::{FromPretrainedParameters, Offsets};
 
-use jni::objects::{JClass, JMethodID, JObject, JString, JValue, ReleaseMode};
-use jni::sys::{jboolean, jint, jlong, jlongArray, jobjectArray, jsize, jstring, JNI_TRUE};
+use jni::objects::{JByteBuffer, JClass, JMethodID, JObject, JString, JValue, ReleaseMode};
+use jni::sys::{
+    jboolean, jint, jintArray, jlong, jlongArray, jobjectArray, jsize, jstring, JNI_TRUE,
+};
 use jni::JNIEnv;
 
 #[no_mangle]
@@ -205,6 +207,99 @@ pub extern "system" fn Java_ai_djl_huggingface_tokenizers_jni_TokenizersLibrary_
     ret
 }
 
+#[no_mangle]
+pub extern "system" fn Java_ai_djl_huggingface_tokenizers_jni_TokenizersLibrary_batchEncodeFlat(
+    env: JNIEnv,
+    _: JObject,
+    handle: jlong,
+    inputs: jobjectArray,
+    add_special_tokens: jboolean,
+    buffers: jobjectArray,
+    lengths: jintArray,
+) -> jlongArray {
+    let tokenizer = cast_handle::<Tokenizer>(handle);
+    let len = env.get_array_length(inputs).unwrap();
+    let mut array: Vec<String> = Vec::new();
+    for i in 0..len {
+        let item = env.get_object_array_element(inputs, i).unwrap().into();
+        let value: String = env
+            .get_string(item)
+            .expect("Couldn't get java string!")
+            .into();
+        array.push(value);
+    }
+
+    let encodings = tokenizer
+        .encode_batch_char_offsets(array, add_special_tokens == JNI_TRUE)
+        .unwrap();
+
+    // pads every field to the longest encoding, in row major order
+    let max_length = encodings.iter().map(|e| e.len()).max().unwrap_or(0);
+    let size = encodings.len() * max_length;
+    let pad_id = tokenizer.get_padding().map_or(0, |p| p.pad_id as jlong);
+    let mut ids: Vec<jlong> = vec![pad_id; size];
+    let mut type_ids: Vec<jlong> = vec![0; size];
+    let mut word_ids: Vec<jlong> = vec![-1; size];
+    let mut attention_mask: Vec<jlong> = vec![0; size];
+    let mut special_tokens_mask: Vec<jlong> = vec![1; size];
+    let mut valid_lengths: Vec<jint> = Vec::with_capacity(encodings.len());
+    for (i, encoding) in encodings.iter().enumerate() {
+        let offset = i * max_length;
+        valid_lengths.push(encoding.len() as jint);
+        for (j, id) in encoding.get_ids().iter().enumerate() {
+            ids[offset + j] = *id as jlong;
+        }
+        for (j, id) in encoding.get_type_ids().iter().enumerate() {
+            type_ids[offset + j] = *id as jlong;
+        }
+        for (j, id) in encoding.get_word_ids().iter().enumerate() {
+            if let Some(word_id) = id {
+                word_ids[offset + j] = *word_id as jlong;
+            }
+        }
+        for (j, mask) in encoding.get_attention_mask().iter().enumerate() {
+            attention_mask[offset + j] = *mask as jlong;
+        }
+        for (j, mask) in encoding.get_special_tokens_mask().iter().enumerate() {
+            special_tokens_mask[offset + j] = *mask as jlong;
+        }
+    }
+    env.set_int_array_region(lengths, 0, &valid_lengths).unwrap();
+
+    let fields = [ids, type_ids, word_ids, attention_mask, special_tokens_mask];
+    let capacity = size * std::mem::size_of::<jlong>();
+    for (i, field) in fields.iter().enumerate() {
+        let buffer = env
+            .call_static_method(
+                "java/nio/ByteBuffer",
+                "allocateDirect",
+                "(I)Ljava/nio/ByteBuffer;",
+                &[JValue::Int(capacity as jint)],
+            )
+            .unwrap()
+            .l()
+            .unwrap();
+        if capacity > 0 {
+            let bytes = env
+                .get_direct_buffer_address(JByteBuffer::from(buffer))
+                .unwrap();
+            let src =
+                unsafe { std::slice::from_raw_parts(field.as_ptr() as *const u8, capacity) };
+            bytes.copy_from_slice(src);
+        }
+        env.set_object_array_element(buffers, i as jsize, buffer)
+            .unwrap();
+    }
+
+    let handles = encodings
+        .into_iter()
+        .map(|c| to_handle(c))
+        .collect::<Vec<_>>();
+    let ret = env.new_long_array(handles.len() as jsize).unwrap();
+    env.set_long_array_region(ret, 0, &handles).unwrap();
+    ret
+}
+
 #[no_mangle]
 pub extern "system" fn Java_ai_djl_huggingface_tokenizers_jni_TokenizersLibrary_deleteEncoding(
     _env: JNIEnv,
@@ -528,6 +623,21 @@ pub extern "system" fn Java_ai_djl_huggingface_tokenizers_jni_TokenizersLibrary_
     ret as jint
 }
 
+#[no_mangle]
+pub extern "system" fn Java_ai_djl_huggingface_tokenizers_jni_TokenizersLibrary_getPadTokenId(
+    _env: JNIEnv,
+    _: JObject,
+    handle: jlong,
+) -> jlong {
+    let tokenizer = cast_handle::<Tokenizer>(handle);
+    let padding = tokenizer.get_padding();
+    let ret = match padding {
+        Some(val) => val.pad_id as jlong,
+        None => -1,
+    };
+    ret
+}
+
 #[no_mangle]
 pub extern "system" fn Java_ai_djl_huggingface_tokenizers_jni_TokenizersLibrary_setPadding(
     env: JNIEnv,
@@ -548,10 +658,11 @@ pub extern "system" fn Java_ai_djl_huggingface_tokenizers_jni_TokenizersLibrary_
         _ => Err("strategy must be one of [longest, max_length]"),
     };
 
-    let mut params = PaddingParams::default();
+    let tokenizer = cast_handle::<Tokenizer>(handle);
+    // keeps the pad token of the tokenizer, only the strategy is overridden
+    let mut params = tokenizer.get_padding().cloned().unwrap_or_default();
     params.strategy = res_strategy.unwrap();
     params.pad_to_multiple_of = Some(pad_to_multiple_of as usize);
-    let tokenizer = cast_handle::<Tokenizer>(handle);
     tokenizer.with_padding(Some(params));
 }
 
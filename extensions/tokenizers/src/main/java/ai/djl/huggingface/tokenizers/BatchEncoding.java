@@ -0,0 +1,225 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.huggingface.tokenizers;
+
+import ai.djl.huggingface.tokenizers.jni.CharSpan;
+import ai.djl.huggingface.tokenizers.jni.TokenizersLibrary;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.util.NativeResource;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+/**
+ * A class holds the token encoding information of a batch in flat buffers.
+ *
+ * <p>The numeric fields of all the encodings are transferred from the native tokenizer in a single
+ * call, each field into one direct buffer in native byte order. The encodings are padded to the
+ * longest one of the batch, so a field is a row major {@code (batch, maxLength)} int64 matrix that
+ * can be passed to {@link NDManager#create(java.nio.Buffer, Shape, DataType)} as is. The tokens and
+ * char spans are only materialized on demand, so the native encodings are kept until this object is
+ * closed.
+ */
+public class BatchEncoding extends NativeResource<long[]> {
+
+    private static final int IDS = 0;
+    private static final int TYPE_IDS = 1;
+    private static final int WORD_IDS = 2;
+    private static final int ATTENTION_MASK = 3;
+    private static final int SPECIAL_TOKEN_MASK = 4;
+
+    private ByteBuffer[] buffers;
+    private int[] lengths;
+    private int maxLength;
+
+    BatchEncoding(long[] handles, ByteBuffer[] buffers, int[] lengths) {
+        super(handles);
+        this.buffers = buffers;
+        this.lengths = lengths;
+        for (int length : lengths) {
+            maxLength = Math.max(maxLength, length);
+        }
+    }
+
+    /**
+     * Returns the number of encodings in the batch.
+     *
+     * @return the number of encodings in the batch
+     */
+    public int size() {
+        return lengths.length;
+    }
+
+    /**
+     * Returns the length of the longest encoding, which is the padded length of every encoding.
+     *
+     * @return the length of the longest encoding
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * Returns the length of an encoding without padding.
+     *
+     * @param index the index of the encoding in the batch
+     * @return the length of the encoding without padding
+     */
+    public int getLength(int index) {
+        return lengths[index];
+    }
+
+    /**
+     * Returns the shape of the padded fields.
+     *
+     * @return the shape of the padded fields
+     */
+    public Shape getShape() {
+        return new Shape(lengths.length, maxLength);
+    }
+
+    /**
+     * Returns the padded token ids, the padding is the pad token id.
+     *
+     * @return the padded token ids
+     */
+    public LongBuffer getIds() {
+        return getField(IDS).asLongBuffer();
+    }
+
+    /**
+     * Creates the padded token ids array of shape {@code (batch, maxLength)}.
+     *
+     * @param manager the manager to create the array
+     * @return the padded token ids array
+     */
+    public NDArray getIds(NDManager manager) {
+        return manager.create(getField(IDS), getShape(), DataType.INT64);
+    }
+
+    /**
+     * Returns the padded token type ids, the padding is 0.
+     *
+     * @return the padded token type ids
+     */
+    public LongBuffer getTypeIds() {
+        return getField(TYPE_IDS).asLongBuffer();
+    }
+
+    /**
+     * Creates the padded token type ids array of shape {@code (batch, maxLength)}.
+     *
+     * @param manager the manager to create the array
+     * @return the padded token type ids array
+     */
+    public NDArray getTypeIds(NDManager manager) {
+        return manager.create(getField(TYPE_IDS), getShape(), DataType.INT64);
+    }
+
+    /**
+     * Returns the padded word ids, the padding and the special tokens are -1.
+     *
+     * @return the padded word ids
+     */
+    public LongBuffer getWordIds() {
+        return getField(WORD_IDS).asLongBuffer();
+    }
+
+    /**
+     * Returns the padded attention masks, the padding is 0.
+     *
+     * @return the padded attention masks
+     */
+    public LongBuffer getAttentionMask() {
+        return getField(ATTENTION_MASK).asLongBuffer();
+    }
+
+    /**
+     * Creates the padded attention mask array of shape {@code (batch, maxLength)}.
+     *
+     * @param manager the manager to create the array
+     * @return the padded attention mask array
+     */
+    public NDArray getAttentionMask(NDManager manager) {
+        return manager.create(getField(ATTENTION_MASK), getShape(), DataType.INT64);
+    }
+
+    /**
+     * Returns the padded special token masks, the padding is 1.
+     *
+     * @return the padded special token masks
+     */
+    public LongBuffer getSpecialTokenMask() {
+        return getField(SPECIAL_TOKEN_MASK).asLongBuffer();
+    }
+
+    /**
+     * Returns the tokens of an encoding.
+     *
+     * @param index the index of the encoding in the batch
+     * @return the tokens of the encoding
+     */
+    public String[] getTokens(int index) {
+        return TokenizersLibrary.LIB.getTokens(getHandle()[index]);
+    }
+
+    /**
+     * Returns the char token spans of an encoding.
+     *
+     * @param index the index of the encoding in the batch
+     * @return the char token spans of the encoding
+     */
+    public CharSpan[] getCharTokenSpans(int index) {
+        return TokenizersLibrary.LIB.getTokenCharSpans(getHandle()[index]);
+    }
+
+    /**
+     * Creates the model inputs of the batch.
+     *
+     * @param manager the manager to create the arrays
+     * @param withTokenType whether to include the token types
+     * @return the token ids, the attention mask and optionally the token types of the batch
+     */
+    public NDList toNDList(NDManager manager, boolean withTokenType) {
+        NDList list = new NDList(withTokenType ? 3 : 2);
+        list.add(getIds(manager));
+        list.add(getAttentionMask(manager));
+        if (withTokenType) {
+            list.add(getTypeIds(manager));
+        }
+        return list;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        long[] pointers = handle.getAndSet(null);
+        if (pointers != null) {
+            for (long pointer : pointers) {
+                TokenizersLibrary.LIB.deleteEncoding(pointer);
+            }
+        }
+    }
+
+    private ByteBuffer getField(int field) {
+        ByteBuffer buffer = buffers[field].duplicate();
+        buffer.order(ByteOrder.nativeOrder());
+        buffer.rewind();
+        return buffer;
+    }
+}
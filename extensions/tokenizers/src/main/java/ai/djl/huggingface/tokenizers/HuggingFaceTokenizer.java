@@ -18,6 +18,7 @@ import ai.djl.huggingface.tokenizers.jni.TokenizersLibrary;
 import ai.djl.modality.nlp.preprocess.Tokenizer;
 import ai.djl.ndarray.NDManager;
 import ai.djl.translate.ArgumentsUtil;
+import ai.djl.util.BoundedCache;
 import ai.djl.util.NativeResource;
 import ai.djl.util.Utils;
 
@@ -26,11 +27,13 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -47,7 +50,9 @@ public final class HuggingFaceTokenizer extends NativeResource<Long> implements
     private int maxLength;
     private int stride;
     private int padToMultipleOf;
+    private long padTokenId;
     private int modelMaxLength;
+    private BoundedCache<CacheKey, Encoding> cache;
 
     private HuggingFaceTokenizer(long handle, Map<String, String> options) {
         super(handle);
@@ -58,6 +63,7 @@ public final class HuggingFaceTokenizer extends NativeResource<Long> implements
         maxLength = TokenizersLibrary.LIB.getMaxLength(handle);
         stride = TokenizersLibrary.LIB.getStride(handle);
         padToMultipleOf = TokenizersLibrary.LIB.getPadToMultipleOf(handle);
+        padTokenId = readPadTokenId(handle);
 
         if (options != null) {
             val = options.getOrDefault("addSpecialTokens", "true");
@@ -78,6 +84,19 @@ public final class HuggingFaceTokenizer extends NativeResource<Long> implements
         }
 
         updateTruncationAndPadding();
+
+        if (options != null) {
+            int cacheSize = ArgumentsUtil.intValue(options, "cacheSize", 0);
+            if (cacheSize > 0) {
+                long memoryLimit = ArgumentsUtil.longValue(options, "cacheMemoryLimit", -1);
+                cache =
+                        BoundedCache.<CacheKey, Encoding>builder()
+                                .optMaxSize(cacheSize)
+                                .optMaxWeight(memoryLimit)
+                                .optWeigher(HuggingFaceTokenizer::estimateSize)
+                                .build();
+            }
+        }
     }
 
     /**
@@ -182,6 +201,11 @@ public final class HuggingFaceTokenizer extends NativeResource<Long> implements
      * @return the {@code Encoding} of the input sentence
      */
     public Encoding encode(String text, boolean addSpecialTokens) {
+        if (cache != null) {
+            return cache.get(
+                    new CacheKey(text, null, addSpecialTokens),
+                    k -> toEncoding(TokenizersLibrary.LIB.encode(getHandle(), text, k.special)));
+        }
         long encoding = TokenizersLibrary.LIB.encode(getHandle(), text, addSpecialTokens);
         return toEncoding(encoding);
     }
@@ -206,6 +230,14 @@ public final class HuggingFaceTokenizer extends NativeResource<Long> implements
      * @return the {@code Encoding} of the input sentence
      */
     public Encoding encode(String text, String textPair, boolean addSpecialTokens) {
+        if (cache != null) {
+            return cache.get(
+                    new CacheKey(text, textPair, addSpecialTokens),
+                    k ->
+                            toEncoding(
+                                    TokenizersLibrary.LIB.encodeDual(
+                                            getHandle(), text, textPair, k.special)));
+        }
         long encoding =
                 TokenizersLibrary.LIB.encodeDual(getHandle(), text, textPair, addSpecialTokens);
         return toEncoding(encoding);
@@ -300,6 +332,10 @@ public final class HuggingFaceTokenizer extends NativeResource<Long> implements
      * @return the {@code Encoding} of the input sentence in batch
      */
     public Encoding[] batchEncode(String[] inputs, boolean addSpecialTokens) {
+        if (cache != null && padding != PaddingStrategy.LONGEST) {
+            // without padding to the longest, an encoding does not depend on the rest of the batch
+            return cachedBatchEncode(inputs, addSpecialTokens);
+        }
         long[] encodings = TokenizersLibrary.LIB.batchEncode(getHandle(), inputs, addSpecialTokens);
         Encoding[] ret = new Encoding[encodings.length];
         for (int i = 0; i < encodings.length; ++i) {
@@ -318,6 +354,60 @@ public final class HuggingFaceTokenizer extends NativeResource<Long> implements
         return batchEncode(inputs, addSpecialTokens);
     }
 
+    /**
+     * Returns the cache of the encodings.
+     *
+     * <p>The cache is enabled with {@link Builder#optCacheSize(int)}. Its statistics can be used to
+     * monitor the hit rate of the repeated inputs.
+     *
+     * @return the cache of the encodings, or {@code null} if the cache is disabled
+     */
+    public BoundedCache<?, Encoding> getCache() {
+        return cache;
+    }
+
+    /**
+     * Returns the id of the pad token, the input ids of a batch are padded with it.
+     *
+     * @return the id of the pad token, 0 if the tokenizer does not define a pad token
+     */
+    public long getPadTokenId() {
+        return padTokenId;
+    }
+
+    /**
+     * Returns the {@code BatchEncoding} of the input sentences.
+     *
+     * <p>Unlike {@link #batchEncode(String[], boolean)}, the numeric fields of the whole batch are
+     * transferred into padded direct buffers with a single native call, and the tokens and char
+     * spans are only created on demand. The returned {@code BatchEncoding} must be closed to free
+     * the native encodings.
+     *
+     * @param inputs the batch of input sentence
+     * @param addSpecialTokens whether to encode the sequence with special tokens relative to their
+     *     model
+     * @return the {@code BatchEncoding} of the input sentences
+     */
+    public BatchEncoding batchEncodeFlat(String[] inputs, boolean addSpecialTokens) {
+        ByteBuffer[] buffers = new ByteBuffer[5];
+        int[] lengths = new int[inputs.length];
+        long[] encodings =
+                TokenizersLibrary.LIB.batchEncodeFlat(
+                        getHandle(), inputs, addSpecialTokens, buffers, lengths);
+        return new BatchEncoding(encodings, buffers, lengths);
+    }
+
+    /**
+     * Returns the {@code BatchEncoding} of the input sentences.
+     *
+     * @param inputs the batch of input sentence
+     * @return the {@code BatchEncoding} of the input sentences
+     * @see #batchEncodeFlat(String[], boolean)
+     */
+    public BatchEncoding batchEncodeFlat(List<String> inputs) {
+        return batchEncodeFlat(inputs.toArray(new String[0]), addSpecialTokens);
+    }
+
     /**
      * Returns the decoded String from the input ids.
      *
@@ -361,6 +451,16 @@ public final class HuggingFaceTokenizer extends NativeResource<Long> implements
         return builder;
     }
 
+    // reads the pad token id before the padding is overridden, 0 when the tokenizer has none
+    private static long readPadTokenId(long handle) {
+        try {
+            return Math.max(TokenizersLibrary.LIB.getPadTokenId(handle), 0);
+        } catch (UnsatisfiedLinkError e) {
+            // native library built before getPadTokenId, which pads with 0
+            return 0;
+        }
+    }
+
     /*
      * See: https://huggingface.co/docs/transformers/pad_truncation
      */
@@ -411,6 +511,47 @@ public final class HuggingFaceTokenizer extends NativeResource<Long> implements
         }
     }
 
+    private Encoding[] cachedBatchEncode(String[] inputs, boolean addSpecialTokens) {
+        Encoding[] ret = new Encoding[inputs.length];
+        CacheKey[] keys = new CacheKey[inputs.length];
+        int[] missed = new int[inputs.length];
+        int numMissed = 0;
+        for (int i = 0; i < inputs.length; ++i) {
+            keys[i] = new CacheKey(inputs[i], null, addSpecialTokens);
+            ret[i] = cache.getIfPresent(keys[i]);
+            if (ret[i] == null) {
+                missed[numMissed++] = i;
+            }
+        }
+        if (numMissed > 0) {
+            String[] missedInputs = new String[numMissed];
+            for (int i = 0; i < numMissed; ++i) {
+                missedInputs[i] = inputs[missed[i]];
+            }
+            long[] encodings =
+                    TokenizersLibrary.LIB.batchEncode(getHandle(), missedInputs, addSpecialTokens);
+            for (int i = 0; i < numMissed; ++i) {
+                Encoding encoding = toEncoding(encodings[i]);
+                ret[missed[i]] = encoding;
+                cache.put(keys[missed[i]], encoding);
+            }
+        }
+        return ret;
+    }
+
+    private static long estimateSize(Encoding encoding) {
+        // the numeric fields, plus the token strings and their char spans
+        long size = encoding.getIds().length * 5L * Long.BYTES;
+        for (String token : encoding.getTokens()) {
+            size += 40 + token.length() * 2L;
+        }
+        size += encoding.getCharTokenSpans().length * 24L;
+        for (Encoding overflowing : encoding.getOverflowing()) {
+            size += estimateSize(overflowing);
+        }
+        return size;
+    }
+
     private Encoding toEncoding(long encoding) {
         long[] ids = TokenizersLibrary.LIB.getTokenIds(encoding);
         long[] typeIds = TokenizersLibrary.LIB.getTypeIds(encoding);
@@ -446,6 +587,42 @@ public final class HuggingFaceTokenizer extends NativeResource<Long> implements
         super.finalize();
     }
 
+    private static final class CacheKey {
+
+        String text;
+        String textPair;
+        boolean special;
+        int hash;
+
+        CacheKey(String text, String textPair, boolean special) {
+            this.text = text;
+            this.textPair = textPair;
+            this.special = special;
+            hash = Objects.hash(text, textPair, special);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) o;
+            return special == other.special
+                    && text.equals(other.text)
+                    && Objects.equals(textPair, other.textPair);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
     /** An enum to represent the different available truncation strategies. */
     private enum TruncationStrategy {
         LONGEST_FIRST,
@@ -646,6 +823,33 @@ public final class HuggingFaceTokenizer extends NativeResource<Long> implements
             return this;
         }
 
+        /**
+         * Sets the maximum number of encodings to cache, default is 0 which disables the cache.
+         *
+         * <p>The cache is keyed on the input text and whether to add special tokens, the other
+         * settings are fixed for a tokenizer. The cached encodings are shared and must not be
+         * modified.
+         *
+         * @param cacheSize the maximum number of cached encodings
+         * @return this builder
+         */
+        public Builder optCacheSize(int cacheSize) {
+            options.put("cacheSize", String.valueOf(cacheSize));
+            return this;
+        }
+
+        /**
+         * Sets the approximate maximum number of bytes of the cached encodings, default is
+         * unlimited.
+         *
+         * @param cacheMemoryLimit the maximum number of bytes of the cached encodings
+         * @return this builder
+         */
+        public Builder optCacheMemoryLimit(long cacheMemoryLimit) {
+            options.put("cacheMemoryLimit", String.valueOf(cacheMemoryLimit));
+            return this;
+        }
+
         /**
          * Configures the builder with the arguments.
          *
@@ -12,6 +12,8 @@
  */
 package ai.djl.huggingface.tokenizers.jni;
 
+import java.nio.ByteBuffer;
+
 /** A class containing utilities to interact with the Tokenizer JNI layer. */
 @SuppressWarnings("MissingJavadocMethod")
 public final class TokenizersLibrary {
@@ -35,6 +37,13 @@ public final class TokenizersLibrary {
 
     public native long[] batchEncode(long tokenizer, String[] inputs, boolean addSpecialTokens);
 
+    public native long[] batchEncodeFlat(
+            long tokenizer,
+            String[] inputs,
+            boolean addSpecialTokens,
+            ByteBuffer[] buffers,
+            int[] lengths);
+
     public native void deleteEncoding(long encoding);
 
     public native long[] getTokenIds(long encoding);
@@ -65,6 +74,8 @@ public final class TokenizersLibrary {
 
     public native int getPadToMultipleOf(long tokenizer);
 
+    public native long getPadTokenId(long tokenizer);
+
     public native void disablePadding(long tokenizer);
 
     public native void setPadding(
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.huggingface.translator;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.util.Float16Utils;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * {@code EmbeddingPooler} turns the token embeddings of a batch into sentence embeddings.
+ *
+ * <p>The pooling with the attention mask, the L2 normalization and the optional quantization are
+ * fused in a single pass over the token embeddings, which are read from the model output only once.
+ * The sentence embeddings can be written straight into a caller supplied buffer.
+ */
+public final class EmbeddingPooler {
+
+    private Pooling pooling;
+    private boolean normalize;
+    private Quantization quantization;
+
+    /**
+     * Constructs a new {@code EmbeddingPooler}.
+     *
+     * @param pooling the pooling mode
+     * @param normalize whether to L2-normalize the sentence embeddings
+     * @param quantization the data type of the sentence embeddings written into a buffer
+     */
+    public EmbeddingPooler(Pooling pooling, boolean normalize, Quantization quantization) {
+        this.pooling = pooling;
+        this.normalize = normalize;
+        this.quantization = quantization;
+    }
+
+    /**
+     * Returns the number of bytes of a sentence embedding written into a buffer.
+     *
+     * @param hiddenSize the hidden size of the model
+     * @return the number of bytes of a sentence embedding
+     */
+    public int getEmbeddingBytes(int hiddenSize) {
+        return hiddenSize * quantization.getNumOfBytes();
+    }
+
+    /**
+     * Pools the token embeddings and writes the sentence embeddings into the buffer.
+     *
+     * <p>The sentence embeddings are written one after the other from the current position of the
+     * buffer, in the byte order of the buffer, and the position is advanced.
+     *
+     * @param embeddings the token embeddings of shape {@code (batch, sequence, hidden)}
+     * @param attentionMask the attention mask of shape {@code (batch, sequence)}
+     * @param dst the buffer to write the sentence embeddings into
+     * @return the number of sentence embeddings written
+     */
+    public int pool(NDArray embeddings, NDArray attentionMask, ByteBuffer dst) {
+        Shape shape = embeddings.getShape();
+        int batchSize = shape.dimension() == 3 ? Math.toIntExact(shape.get(0)) : 1;
+        int hiddenSize = Math.toIntExact(shape.tail());
+        long required = (long) batchSize * getEmbeddingBytes(hiddenSize);
+        if (dst.remaining() < required) {
+            throw new IllegalArgumentException(
+                    "The buffer is too small, " + required + " bytes are required.");
+        }
+        pool(embeddings, attentionMask, (vector, index) -> write(vector, dst));
+        return batchSize;
+    }
+
+    /**
+     * Pools the token embeddings into float sentence embeddings, regardless of the quantization.
+     *
+     * @param embeddings the token embeddings of shape {@code (batch, sequence, hidden)}
+     * @param attentionMask the attention mask of shape {@code (batch, sequence)}
+     * @return the sentence embeddings
+     */
+    public List<float[]> pool(NDArray embeddings, NDArray attentionMask) {
+        List<float[]> ret = new ArrayList<>();
+        pool(embeddings, attentionMask, (vector, index) -> ret.add(vector.clone()));
+        return ret;
+    }
+
+    private void pool(NDArray embeddings, NDArray attentionMask, ObjIntConsumer<float[]> sink) {
+        Shape shape = embeddings.getShape();
+        int hiddenSize = Math.toIntExact(shape.tail());
+        int seqLength = Math.toIntExact(shape.get(shape.dimension() - 2));
+        int batchSize = shape.dimension() == 3 ? Math.toIntExact(shape.get(0)) : 1;
+        if (embeddings.getDataType() != DataType.FLOAT32) {
+            embeddings = embeddings.toType(DataType.FLOAT32, false);
+        }
+        FloatBuffer data = embeddings.toByteBuffer().asFloatBuffer();
+        long[] mask = attentionMask.toType(DataType.INT64, false).toLongArray();
+
+        float[] vector = new float[hiddenSize];
+        for (int b = 0; b < batchSize; ++b) {
+            int offset = b * seqLength * hiddenSize;
+            if (pooling == Pooling.CLS) {
+                data.position(offset);
+                data.get(vector);
+            } else {
+                Arrays.fill(vector, 0);
+                float count = 0;
+                for (int s = 0; s < seqLength; ++s) {
+                    long m = mask[b * seqLength + s];
+                    if (m == 0) {
+                        continue;
+                    }
+                    count += m;
+                    int pos = offset + s * hiddenSize;
+                    for (int h = 0; h < hiddenSize; ++h) {
+                        vector[h] += data.get(pos + h) * m;
+                    }
+                }
+                float scale = 1 / Math.max(count, 1e-9f);
+                for (int h = 0; h < hiddenSize; ++h) {
+                    vector[h] *= scale;
+                }
+            }
+            if (normalize) {
+                double norm = 0;
+                for (float v : vector) {
+                    norm += v * v;
+                }
+                float scale = (float) (1 / Math.max(Math.sqrt(norm), 1e-12));
+                for (int h = 0; h < hiddenSize; ++h) {
+                    vector[h] *= scale;
+                }
+            }
+            sink.accept(vector, b);
+        }
+    }
+
+    private void write(float[] vector, ByteBuffer dst) {
+        switch (quantization) {
+            case FLOAT32:
+                for (float v : vector) {
+                    dst.putFloat(v);
+                }
+                break;
+            case FLOAT16:
+                for (float v : vector) {
+                    dst.putShort(Float16Utils.floatToHalf(v));
+                }
+                break;
+            case INT8:
+                // symmetric quantization of the [-1, 1] range of normalized embeddings
+                for (float v : vector) {
+                    float clipped = Math.max(-1f, Math.min(1f, v));
+                    dst.put((byte) Math.round(clipped * 127));
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported quantization: " + quantization);
+        }
+    }
+
+    /** The pooling modes of the token embeddings. */
+    public enum Pooling {
+        /** The mean of the token embeddings weighted by the attention mask. */
+        MEAN,
+        /** The embedding of the first token. */
+        CLS;
+
+        /**
+         * Converts a {@code String} to a {@code Pooling}.
+         *
+         * @param value the {@code String} to convert
+         * @return the {@code Pooling}
+         */
+        public static Pooling fromValue(String value) {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        }
+    }
+
+    /** The data types of the sentence embeddings written into a buffer. */
+    public enum Quantization {
+        /** 32-bit floats. */
+        FLOAT32(4),
+        /** 16-bit floats. */
+        FLOAT16(2),
+        /** 8-bit integers, {@code round(v * 127)} of the values clipped to {@code [-1, 1]}. */
+        INT8(1);
+
+        private int numOfBytes;
+
+        Quantization(int numOfBytes) {
+            this.numOfBytes = numOfBytes;
+        }
+
+        /**
+         * Returns the number of bytes of a value.
+         *
+         * @return the number of bytes of a value
+         */
+        public int getNumOfBytes() {
+            return numOfBytes;
+        }
+
+        /**
+         * Converts a {@code String} to a {@code Quantization}.
+         *
+         * @param value the {@code String} to convert
+         * @return the {@code Quantization}
+         */
+        public static Quantization fromValue(String value) {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.huggingface.translator;
+
+import ai.djl.Model;
+import ai.djl.huggingface.tokenizers.HuggingFaceTokenizer;
+import ai.djl.inference.Predictor;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.translate.Batchifier;
+import ai.djl.translate.TranslateException;
+import ai.djl.translate.Translator;
+import ai.djl.translate.TranslatorContext;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * {@code EmbeddingWriter} embeds batches of texts with a text embedding model and writes the
+ * sentence embeddings straight into a caller supplied buffer.
+ *
+ * <p>Unlike a {@code Predictor<String, float[]>}, no {@code float[]} is created per text: the whole
+ * batch is pooled, normalized and quantized by an {@link EmbeddingPooler} in one pass over the
+ * model output, which makes it suitable to ingest a large number of texts into a vector store.
+ *
+ * <pre>
+ *     try (EmbeddingWriter writer = new EmbeddingWriter(model, tokenizer, pooler)) {
+ *         ByteBuffer buf = ByteBuffer.allocateDirect(texts.size() * pooler.getEmbeddingBytes(384));
+ *         writer.write(texts, buf);
+ *     }
+ * </pre>
+ */
+public class EmbeddingWriter implements AutoCloseable {
+
+    private Predictor<Request, Integer> predictor;
+
+    /**
+     * Constructs a new {@code EmbeddingWriter}.
+     *
+     * @param model the text embedding model
+     * @param tokenizer the tokenizer of the model
+     * @param pooler the pooler to compute the sentence embeddings
+     */
+    public EmbeddingWriter(Model model, HuggingFaceTokenizer tokenizer, EmbeddingPooler pooler) {
+        predictor = model.newPredictor(new WriterTranslator(tokenizer, pooler));
+    }
+
+    /**
+     * Embeds the texts and writes their sentence embeddings into the buffer.
+     *
+     * <p>The sentence embeddings are written in the order of the texts from the current position of
+     * the buffer, and the position is advanced.
+     *
+     * @param texts the texts to embed
+     * @param dst the buffer to write the sentence embeddings into
+     * @return the number of sentence embeddings written
+     * @throws TranslateException if failed to embed the texts
+     */
+    public int write(List<String> texts, ByteBuffer dst) throws TranslateException {
+        if (texts.isEmpty()) {
+            return 0;
+        }
+        return predictor.predict(new Request(texts, dst));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        predictor.close();
+    }
+
+    private static final class Request {
+
+        List<String> texts;
+        ByteBuffer dst;
+
+        Request(List<String> texts, ByteBuffer dst) {
+            this.texts = texts;
+            this.dst = dst;
+        }
+    }
+
+    private static final class WriterTranslator implements Translator<Request, Integer> {
+
+        private HuggingFaceTokenizer tokenizer;
+        private EmbeddingPooler pooler;
+
+        WriterTranslator(HuggingFaceTokenizer tokenizer, EmbeddingPooler pooler) {
+            this.tokenizer = tokenizer;
+            this.pooler = pooler;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public NDList processInput(TranslatorContext ctx, Request input) {
+            NDList ndList =
+                    TranslatorUtils.encodeBatch(tokenizer, ctx.getNDManager(), input.texts, false);
+            ctx.setAttachment("attentionMask", ndList.get(1));
+            ctx.setAttachment("dst", input.dst);
+            return ndList;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Integer processOutput(TranslatorContext ctx, NDList list) {
+            NDArray embeddings = list.get("last_hidden_state");
+            if (embeddings == null) {
+                embeddings = list.get(0);
+            }
+            NDArray attentionMask = (NDArray) ctx.getAttachment("attentionMask");
+            ByteBuffer dst = (ByteBuffer) ctx.getAttachment("dst");
+            return pooler.pool(embeddings, attentionMask, dst);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Batchifier getBatchifier() {
+            // the texts of a request are already batched by the tokenizer
+            return null;
+        }
+    }
+}
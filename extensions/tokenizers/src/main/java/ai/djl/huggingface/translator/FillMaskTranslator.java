@@ -60,6 +60,49 @@ public class FillMaskTranslator implements Translator<String, Classifications> {
     public NDList processInput(TranslatorContext ctx, String input) throws TranslateException {
         NDManager manager = ctx.getNDManager();
         Encoding encoding = tokenizer.encode(input);
+        long[] indices = encoding.getIds();
+        ctx.setAttachment("maskIndex", getMaskIndex(encoding));
+        long[] attentionMask = encoding.getAttentionMask();
+        NDList ndList = new NDList(2);
+        ndList.add(manager.create(indices));
+        ndList.add(manager.create(attentionMask));
+        return ndList;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDList processInputBatch(TranslatorContext ctx, List<String> inputs)
+            throws TranslateException {
+        Encoding[] encodings = tokenizer.batchEncode(inputs);
+        int[] maskIndices = new int[encodings.length];
+        for (int i = 0; i < encodings.length; ++i) {
+            maskIndices[i] = getMaskIndex(encodings[i]);
+        }
+        ctx.setAttachment("maskIndices", maskIndices);
+        return TranslatorUtils.toBatch(
+                ctx.getNDManager(), encodings, tokenizer.getPadTokenId(), false, batchifier);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Classifications processOutput(TranslatorContext ctx, NDList list) {
+        int maskIndex = (int) ctx.getAttachment("maskIndex");
+        return toClassifications(list.get(0), maskIndex);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Classifications> processOutputBatch(TranslatorContext ctx, NDList list) {
+        int[] maskIndices = (int[]) ctx.getAttachment("maskIndices");
+        NDList[] batch = batchifier.unbatchify(list);
+        List<Classifications> ret = new ArrayList<>(batch.length);
+        for (int i = 0; i < batch.length; ++i) {
+            ret.add(toClassifications(batch[i].get(0), maskIndices[i]));
+        }
+        return ret;
+    }
+
+    private int getMaskIndex(Encoding encoding) throws TranslateException {
         long[] indices = encoding.getIds();
         int maskIndex = -1;
         for (int i = 0; i < indices.length; ++i) {
@@ -73,19 +116,11 @@ public class FillMaskTranslator implements Translator<String, Classifications> {
         if (maskIndex == -1) {
             throw new TranslateException("Mask token " + maskToken + " not found.");
         }
-        ctx.setAttachment("maskIndex", maskIndex);
-        long[] attentionMask = encoding.getAttentionMask();
-        NDList ndList = new NDList(2);
-        ndList.add(manager.create(indices));
-        ndList.add(manager.create(attentionMask));
-        return ndList;
+        return maskIndex;
     }
 
-    /** {@inheritDoc} */
-    @Override
-    public Classifications processOutput(TranslatorContext ctx, NDList list) {
-        int maskIndex = (int) ctx.getAttachment("maskIndex");
-        NDArray prob = list.get(0).get(maskIndex).softmax(0);
+    private Classifications toClassifications(NDArray logits, int maskIndex) {
+        NDArray prob = logits.get(maskIndex).softmax(0);
         NDArray array = prob.argSort(0, false);
         long[] classIds = new long[topK];
         List<Double> probabilities = new ArrayList<>(topK);
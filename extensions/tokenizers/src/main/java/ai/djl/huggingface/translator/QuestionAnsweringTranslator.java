@@ -25,6 +25,8 @@ import ai.djl.translate.Translator;
 import ai.djl.translate.TranslatorContext;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /** The translator for Huggingface question answering model. */
@@ -65,12 +67,49 @@ public class QuestionAnsweringTranslator implements Translator<QAInput, String>
         return ndList;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public NDList processInputBatch(TranslatorContext ctx, List<QAInput> inputs) {
+        Encoding[] encodings = new Encoding[inputs.size()];
+        for (int i = 0; i < encodings.length; ++i) {
+            QAInput input = inputs.get(i);
+            encodings[i] = tokenizer.encode(input.getQuestion(), input.getParagraph());
+        }
+        ctx.setAttachment("encodings", encodings);
+        return TranslatorUtils.toBatch(
+                ctx.getNDManager(),
+                encodings,
+                tokenizer.getPadTokenId(),
+                includeTokenTypes,
+                batchifier);
+    }
+
     /** {@inheritDoc} */
     @Override
     public String processOutput(TranslatorContext ctx, NDList list) {
+        Encoding encoding = (Encoding) ctx.getAttachment("encoding");
+        return decodeAnswer(list.get(0), list.get(1), encoding);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<String> processOutputBatch(TranslatorContext ctx, NDList list) {
+        Encoding[] encodings = (Encoding[]) ctx.getAttachment("encodings");
+        NDList[] batch = batchifier.unbatchify(list);
+        List<String> ret = new ArrayList<>(batch.length);
+        for (int i = 0; i < batch.length; ++i) {
+            // exclude the padding of the batch
+            NDIndex index = new NDIndex().addSliceDim(0, encodings[i].getIds().length);
+            NDList item = batch[i];
+            ret.add(decodeAnswer(item.get(0).get(index), item.get(1).get(index), encodings[i]));
+        }
+        return ret;
+    }
+
+    private String decodeAnswer(NDArray start, NDArray end, Encoding encoding) {
         // PyTorch InferenceMode tensor is read only, must clone it
-        NDArray startLogits = list.get(0).duplicate();
-        NDArray endLogits = list.get(1).duplicate();
+        NDArray startLogits = start.duplicate();
+        NDArray endLogits = end.duplicate();
 
         // exclude <CLS>, TODO: exclude impossible ids properly and handle max answer length
         startLogits.set(new NDIndex(0), -100000);
@@ -82,7 +121,6 @@ public class QuestionAnsweringTranslator implements Translator<QAInput, String>
             startIdx = endIdx;
             endIdx = tmp;
         }
-        Encoding encoding = (Encoding) ctx.getAttachment("encoding");
         long[] indices = encoding.getIds();
         int len = endIdx - startIdx + 1;
         long[] ids = new long[len];
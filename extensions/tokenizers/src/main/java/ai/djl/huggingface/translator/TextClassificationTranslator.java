@@ -74,6 +74,13 @@ public class TextClassificationTranslator implements Translator<String, Classifi
         return ndList;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public NDList processInputBatch(TranslatorContext ctx, List<String> inputs) {
+        return TranslatorUtils.encodeBatch(
+                tokenizer, ctx.getNDManager(), inputs, false, batchifier);
+    }
+
     /** {@inheritDoc} */
     @Override
     public Classifications processOutput(TranslatorContext ctx, NDList list) {
@@ -97,6 +104,17 @@ public class TextClassificationTranslator implements Translator<String, Classifi
         return new Classifications(classes, probabilities);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public List<Classifications> processOutputBatch(TranslatorContext ctx, NDList list) {
+        NDList[] batch = batchifier.unbatchify(list);
+        List<Classifications> ret = new ArrayList<>(batch.length);
+        for (NDList item : batch) {
+            ret.add(processOutput(ctx, item));
+        }
+        return ret;
+    }
+
     /**
      * Creates a builder to build a {@code TextClassificationTranslator}.
      *
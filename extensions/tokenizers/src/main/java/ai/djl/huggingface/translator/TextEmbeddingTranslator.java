@@ -12,31 +12,40 @@
  */
 package ai.djl.huggingface.translator;
 
+import ai.djl.Model;
 import ai.djl.huggingface.tokenizers.Encoding;
 import ai.djl.huggingface.tokenizers.HuggingFaceTokenizer;
 import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.NDManager;
-import ai.djl.ndarray.types.DataType;
 import ai.djl.translate.ArgumentsUtil;
 import ai.djl.translate.Batchifier;
 import ai.djl.translate.Translator;
 import ai.djl.translate.TranslatorContext;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
 /** The translator for Huggingface text embedding model. */
 public class TextEmbeddingTranslator implements Translator<String, float[]> {
 
-    private static final int[] AXIS = {0};
-
     private HuggingFaceTokenizer tokenizer;
     private Batchifier batchifier;
-
-    TextEmbeddingTranslator(HuggingFaceTokenizer tokenizer, Batchifier batchifier) {
+    private EmbeddingPooler.Pooling poolingMode;
+    private boolean normalize;
+    private EmbeddingPooler pooler;
+
+    TextEmbeddingTranslator(
+            HuggingFaceTokenizer tokenizer,
+            Batchifier batchifier,
+            EmbeddingPooler.Pooling poolingMode,
+            boolean normalize) {
         this.tokenizer = tokenizer;
         this.batchifier = batchifier;
+        this.poolingMode = poolingMode;
+        this.normalize = normalize;
+        pooler = new EmbeddingPooler(poolingMode, normalize, EmbeddingPooler.Quantization.FLOAT32);
     }
 
     /** {@inheritDoc} */
@@ -59,6 +68,16 @@ public class TextEmbeddingTranslator implements Translator<String, float[]> {
         return ndList;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public NDList processInputBatch(TranslatorContext ctx, List<String> inputs) {
+        NDList ndList =
+                TranslatorUtils.encodeBatch(
+                        tokenizer, ctx.getNDManager(), inputs, false, batchifier);
+        ctx.setAttachment("attentionMask", ndList.get(1));
+        return ndList;
+    }
+
     /** {@inheritDoc} */
     @Override
     public float[] processOutput(TranslatorContext ctx, NDList list) {
@@ -66,16 +85,30 @@ public class TextEmbeddingTranslator implements Translator<String, float[]> {
         Encoding encoding = (Encoding) ctx.getAttachment("encoding");
         long[] attentionMask = encoding.getAttentionMask();
         NDManager manager = ctx.getNDManager();
-        NDArray inputAttentionMask = manager.create(attentionMask).toType(DataType.FLOAT32, true);
-        long[] shape = embeddings.getShape().getShape();
-        inputAttentionMask = inputAttentionMask.expandDims(-1).broadcast(shape);
-        NDArray inputAttentionMaskSum = inputAttentionMask.sum(AXIS);
-        NDArray clamp = inputAttentionMaskSum.clip(1e-9, 1e12);
-        NDArray prod = embeddings.mul(inputAttentionMask);
-        NDArray sum = prod.sum(AXIS);
-        embeddings = sum.div(clamp).normalize(2, 0);
-
-        return embeddings.toFloatArray();
+        NDArray inputAttentionMask = manager.create(attentionMask);
+        return pooler.pool(embeddings, inputAttentionMask).get(0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<float[]> processOutputBatch(TranslatorContext ctx, NDList list) {
+        NDArray embeddings = list.get("last_hidden_state");
+        NDArray attentionMask = (NDArray) ctx.getAttachment("attentionMask");
+        return pooler.pool(embeddings, attentionMask);
+    }
+
+    /**
+     * Creates an {@link EmbeddingWriter} that writes the sentence embeddings of this translator
+     * into caller supplied buffers.
+     *
+     * @param model the text embedding model
+     * @param quantization the data type of the written sentence embeddings
+     * @return a new {@link EmbeddingWriter}
+     */
+    public EmbeddingWriter newEmbeddingWriter(
+            Model model, EmbeddingPooler.Quantization quantization) {
+        return new EmbeddingWriter(
+                model, tokenizer, new EmbeddingPooler(poolingMode, normalize, quantization));
     }
 
     /**
@@ -107,6 +140,8 @@ public class TextEmbeddingTranslator implements Translator<String, float[]> {
 
         private HuggingFaceTokenizer tokenizer;
         private Batchifier batchifier = Batchifier.STACK;
+        private EmbeddingPooler.Pooling poolingMode = EmbeddingPooler.Pooling.MEAN;
+        private boolean normalize = true;
 
         Builder(HuggingFaceTokenizer tokenizer) {
             this.tokenizer = tokenizer;
@@ -123,6 +158,28 @@ public class TextEmbeddingTranslator implements Translator<String, float[]> {
             return this;
         }
 
+        /**
+         * Sets the pooling mode of the token embeddings, "mean" or "cls", default is "mean".
+         *
+         * @param poolingMode the pooling mode
+         * @return this builder
+         */
+        public Builder optPoolingMode(String poolingMode) {
+            this.poolingMode = EmbeddingPooler.Pooling.fromValue(poolingMode);
+            return this;
+        }
+
+        /**
+         * Sets whether to L2-normalize the sentence embeddings, default is true.
+         *
+         * @param normalize true to normalize the sentence embeddings
+         * @return this builder
+         */
+        public Builder optNormalize(boolean normalize) {
+            this.normalize = normalize;
+            return this;
+        }
+
         /**
          * Configures the builder with the model arguments.
          *
@@ -131,6 +188,8 @@ public class TextEmbeddingTranslator implements Translator<String, float[]> {
         public void configure(Map<String, ?> arguments) {
             String batchifierStr = ArgumentsUtil.stringValue(arguments, "batchifier", "stack");
             optBatchifier(Batchifier.fromString(batchifierStr));
+            optPoolingMode(ArgumentsUtil.stringValue(arguments, "pooling", "mean"));
+            optNormalize(ArgumentsUtil.booleanValue(arguments, "normalize", true));
         }
 
         /**
@@ -140,7 +199,7 @@ public class TextEmbeddingTranslator implements Translator<String, float[]> {
          * @throws IOException if I/O error occurs
          */
         public TextEmbeddingTranslator build() throws IOException {
-            return new TextEmbeddingTranslator(tokenizer, batchifier);
+            return new TextEmbeddingTranslator(tokenizer, batchifier, poolingMode, normalize);
         }
     }
 }
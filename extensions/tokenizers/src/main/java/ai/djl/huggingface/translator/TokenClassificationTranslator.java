@@ -75,11 +75,35 @@ public class TokenClassificationTranslator implements Translator<String, NamedEn
         return ndList;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public NDList processInputBatch(TranslatorContext ctx, List<String> inputs) {
+        Encoding[] encodings = tokenizer.batchEncode(inputs);
+        ctx.setAttachment("encodings", encodings);
+        return TranslatorUtils.toBatch(
+                ctx.getNDManager(), encodings, tokenizer.getPadTokenId(), false, batchifier);
+    }
+
     /** {@inheritDoc} */
     @Override
     public NamedEntity[] processOutput(TranslatorContext ctx, NDList list) {
-        NDArray logits = list.get(0);
         Encoding encoding = (Encoding) ctx.getAttachment("encoding");
+        return toNamedEntities(list.get(0), encoding);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<NamedEntity[]> processOutputBatch(TranslatorContext ctx, NDList list) {
+        Encoding[] encodings = (Encoding[]) ctx.getAttachment("encodings");
+        NDList[] batch = batchifier.unbatchify(list);
+        List<NamedEntity[]> ret = new ArrayList<>(batch.length);
+        for (int i = 0; i < batch.length; ++i) {
+            ret.add(toNamedEntities(batch[i].get(0), encodings[i]));
+        }
+        return ret;
+    }
+
+    private NamedEntity[] toNamedEntities(NDArray logits, Encoding encoding) {
         long[] inputIds = encoding.getIds();
         CharSpan[] offsetMapping = encoding.getCharTokenSpans();
         long[] specialTokenMasks = encoding.getSpecialTokenMask();
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.huggingface.translator;
+
+import ai.djl.huggingface.tokenizers.BatchEncoding;
+import ai.djl.huggingface.tokenizers.Encoding;
+import ai.djl.huggingface.tokenizers.HuggingFaceTokenizer;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.translate.Batchifier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/** A utility class for the Huggingface translators to process batches. */
+final class TranslatorUtils {
+
+    private static final Logger logger = LoggerFactory.getLogger(TranslatorUtils.class);
+
+    // cleared once the native library turns out to lack batchEncodeFlat
+    private static volatile boolean flatSupported = true;
+
+    private TranslatorUtils() {}
+
+    /**
+     * Encodes the inputs into batched model inputs, padded to the longest encoding.
+     *
+     * <p>The flat single-call transfer is used, unless the tokenizer caches its encodings, in which
+     * case the cached per-input encodings are batched instead. The per-input encodings are also
+     * used with a native library that predates the flat transfer.
+     *
+     * @param tokenizer the tokenizer
+     * @param manager the manager to create the arrays
+     * @param inputs the inputs of the batch
+     * @param includeTokenTypes whether to include the token types
+     * @return the input ids, the attention mask and optionally the token types of the batch
+     */
+    static NDList encodeBatch(
+            HuggingFaceTokenizer tokenizer,
+            NDManager manager,
+            List<String> inputs,
+            boolean includeTokenTypes) {
+        if (flatSupported && tokenizer.getCache() == null) {
+            try (BatchEncoding encoding = tokenizer.batchEncodeFlat(inputs)) {
+                return encoding.toNDList(manager, includeTokenTypes);
+            } catch (UnsatisfiedLinkError e) {
+                logger.warn("batchEncodeFlat is not supported by the tokenizers library", e);
+                flatSupported = false;
+            }
+        }
+        Encoding[] encodings = tokenizer.batchEncode(inputs);
+        return toBatch(manager, encodings, tokenizer.getPadTokenId(), includeTokenTypes);
+    }
+
+    /**
+     * Encodes the inputs into batched model inputs with the {@link Batchifier} of a translator.
+     *
+     * <p>The {@link Batchifier#STACK} batch is padded and transferred in one step with {@link
+     * #encodeBatch(HuggingFaceTokenizer, NDManager, List, boolean)}. Any other batchifier batches
+     * the model inputs of each encoding, the same way as the single input path.
+     *
+     * @param tokenizer the tokenizer
+     * @param manager the manager to create the arrays
+     * @param inputs the inputs of the batch
+     * @param includeTokenTypes whether to include the token types
+     * @param batchifier the batchifier of the translator
+     * @return the input ids, the attention mask and optionally the token types of the batch
+     */
+    static NDList encodeBatch(
+            HuggingFaceTokenizer tokenizer,
+            NDManager manager,
+            List<String> inputs,
+            boolean includeTokenTypes,
+            Batchifier batchifier) {
+        if (batchifier == Batchifier.STACK) {
+            return encodeBatch(tokenizer, manager, inputs, includeTokenTypes);
+        }
+        Encoding[] encodings = tokenizer.batchEncode(inputs);
+        return batchify(manager, encodings, includeTokenTypes, batchifier);
+    }
+
+    /**
+     * Creates the batched model inputs of the encodings with the {@link Batchifier} of a
+     * translator.
+     *
+     * <p>The {@link Batchifier#STACK} batch is padded to the longest encoding in one step, any
+     * other batchifier batches the model inputs of each encoding.
+     *
+     * @param manager the manager to create the arrays
+     * @param encodings the encodings of the batch
+     * @param padTokenId the id of the pad token
+     * @param includeTokenTypes whether to include the token types
+     * @param batchifier the batchifier of the translator
+     * @return the input ids, the attention mask and optionally the token types of the batch
+     */
+    static NDList toBatch(
+            NDManager manager,
+            Encoding[] encodings,
+            long padTokenId,
+            boolean includeTokenTypes,
+            Batchifier batchifier) {
+        if (batchifier == Batchifier.STACK) {
+            return toBatch(manager, encodings, padTokenId, includeTokenTypes);
+        }
+        return batchify(manager, encodings, includeTokenTypes, batchifier);
+    }
+
+    /**
+     * Creates the batched model inputs of the encodings, padded to the longest encoding.
+     *
+     * <p>The input ids are padded with the pad token id, the token types and the attention mask are
+     * padded with 0, so the padding is ignored by the model.
+     *
+     * @param manager the manager to create the arrays
+     * @param encodings the encodings of the batch
+     * @param padTokenId the id of the pad token
+     * @param includeTokenTypes whether to include the token types
+     * @return the input ids, the attention mask and optionally the token types of the batch
+     */
+    static NDList toBatch(
+            NDManager manager, Encoding[] encodings, long padTokenId, boolean includeTokenTypes) {
+        int maxLength = getMaxLength(encodings);
+        NDList ndList = new NDList(includeTokenTypes ? 3 : 2);
+        ndList.add(pad(manager, encodings, maxLength, padTokenId, Encoding::getIds));
+        ndList.add(pad(manager, encodings, maxLength, 0, Encoding::getAttentionMask));
+        if (includeTokenTypes) {
+            ndList.add(pad(manager, encodings, maxLength, 0, Encoding::getTypeIds));
+        }
+        return ndList;
+    }
+
+    // the model inputs of each encoding as created by processInput, batched by the batchifier
+    private static NDList batchify(
+            NDManager manager,
+            Encoding[] encodings,
+            boolean includeTokenTypes,
+            Batchifier batchifier) {
+        NDList[] items = new NDList[encodings.length];
+        for (int i = 0; i < encodings.length; ++i) {
+            Encoding encoding = encodings[i];
+            NDList ndList = new NDList(includeTokenTypes ? 3 : 2);
+            ndList.add(manager.create(encoding.getIds()));
+            ndList.add(manager.create(encoding.getAttentionMask()));
+            if (includeTokenTypes) {
+                ndList.add(manager.create(encoding.getTypeIds()));
+            }
+            items[i] = ndList;
+        }
+        return batchifier.batchify(items);
+    }
+
+    private static int getMaxLength(Encoding[] encodings) {
+        int maxLength = 0;
+        for (Encoding encoding : encodings) {
+            maxLength = Math.max(maxLength, encoding.getIds().length);
+        }
+        return maxLength;
+    }
+
+    private static NDArray pad(
+            NDManager manager,
+            Encoding[] encodings,
+            int maxLength,
+            long padValue,
+            Function<Encoding, long[]> getter) {
+        long[] data = new long[encodings.length * maxLength];
+        if (padValue != 0) {
+            Arrays.fill(data, padValue);
+        }
+        for (int i = 0; i < encodings.length; ++i) {
+            long[] values = getter.apply(encodings[i]);
+            System.arraycopy(values, 0, data, i * maxLength, values.length);
+        }
+        return manager.create(data, new Shape(encodings.length, maxLength));
+    }
+}
@@ -15,11 +15,13 @@ package ai.djl.huggingface.tokenizers;
 
 import ai.djl.huggingface.tokenizers.jni.CharSpan;
 import ai.djl.training.util.DownloadUtils;
+import ai.djl.util.BoundedCache;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.io.IOException;
+import java.nio.LongBuffer;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
@@ -111,6 +113,54 @@ public class HuggingFaceTokenizerTest {
         }
     }
 
+    @Test
+    public void testBatchEncodeFlat() throws IOException {
+        List<String> inputs = Arrays.asList("Hello, y'all!", "How are you 😁 ?", "Hi");
+        try (HuggingFaceTokenizer tokenizer = HuggingFaceTokenizer.newInstance("bert-base-cased");
+                BatchEncoding batch = tokenizer.batchEncodeFlat(inputs)) {
+            Encoding[] encodings = tokenizer.batchEncode(inputs);
+            Assert.assertEquals(batch.size(), encodings.length);
+            Assert.assertEquals(batch.getMaxLength(), 13);
+
+            LongBuffer ids = batch.getIds();
+            LongBuffer mask = batch.getAttentionMask();
+            LongBuffer wordIds = batch.getWordIds();
+            for (int i = 0; i < encodings.length; ++i) {
+                long[] expectedIds = encodings[i].getIds();
+                long[] expectedWordIds = encodings[i].getWordIds();
+                Assert.assertEquals(batch.getLength(i), expectedIds.length);
+                Assert.assertEquals(batch.getTokens(i), encodings[i].getTokens());
+                for (int j = 0; j < batch.getMaxLength(); ++j) {
+                    int pos = i * batch.getMaxLength() + j;
+                    boolean valid = j < expectedIds.length;
+                    Assert.assertEquals(ids.get(pos), valid ? expectedIds[j] : 0);
+                    Assert.assertEquals(mask.get(pos), valid ? 1 : 0);
+                    Assert.assertEquals(wordIds.get(pos), valid ? expectedWordIds[j] : -1);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testEncodingCache() throws IOException {
+        try (HuggingFaceTokenizer tokenizer =
+                HuggingFaceTokenizer.builder()
+                        .optTokenizerName("bert-base-cased")
+                        .optCacheSize(100)
+                        .build()) {
+            Encoding first = tokenizer.encode("Hello, y'all!");
+            Assert.assertSame(tokenizer.encode("Hello, y'all!"), first);
+
+            Encoding[] encodings = tokenizer.batchEncode(new String[] {"Hello, y'all!", "Hi"});
+            Assert.assertSame(encodings[0], first);
+            Assert.assertEquals(encodings[1].getTokens(), tokenizer.encode("Hi").getTokens());
+
+            BoundedCache<?, Encoding> cache = tokenizer.getCache();
+            Assert.assertEquals(cache.getHitCount(), 3);
+            Assert.assertEquals(cache.getMissCount(), 2);
+        }
+    }
+
     @Test
     public void testTokenizerDecoding() throws IOException {
         long[][] testIds = {
@@ -14,9 +14,12 @@ package ai.djl.huggingface.tokenizers;
 
 import ai.djl.Model;
 import ai.djl.ModelException;
+import ai.djl.huggingface.translator.EmbeddingPooler;
+import ai.djl.huggingface.translator.EmbeddingWriter;
 import ai.djl.huggingface.translator.FillMaskTranslatorFactory;
 import ai.djl.huggingface.translator.QuestionAnsweringTranslatorFactory;
 import ai.djl.huggingface.translator.TextClassificationTranslatorFactory;
+import ai.djl.huggingface.translator.TextEmbeddingTranslator;
 import ai.djl.huggingface.translator.TextEmbeddingTranslatorFactory;
 import ai.djl.huggingface.translator.TokenClassificationTranslatorFactory;
 import ai.djl.inference.Predictor;
@@ -34,6 +37,7 @@ import ai.djl.nn.LambdaBlock;
 import ai.djl.repository.zoo.Criteria;
 import ai.djl.repository.zoo.ZooModel;
 import ai.djl.testing.Assertions;
+import ai.djl.translate.Batchifier;
 import ai.djl.translate.TranslateException;
 import ai.djl.util.JsonUtils;
 import ai.djl.util.Utils;
@@ -44,11 +48,15 @@ import org.testng.annotations.Test;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class TranslatorTest {
 
@@ -331,7 +339,8 @@ public class TranslatorTest {
                 new LambdaBlock(
                         a -> {
                             NDManager manager = a.getManager();
-                            NDArray arr = manager.ones(new Shape(1, 7, 384));
+                            Shape shape = a.get(0).getShape();
+                            NDArray arr = manager.ones(shape.add(384));
                             arr.setName("last_hidden_state");
                             return new NDList(arr);
                         },
@@ -355,6 +364,20 @@ public class TranslatorTest {
             float[] res = predictor.predict(text);
             Assert.assertEquals(res.length, 384);
             Assertions.assertAlmostEquals(res[0], 0.05103);
+
+            List<float[]> batch = predictor.batchPredict(Arrays.asList(text, "Hello"));
+            Assert.assertEquals(batch.size(), 2);
+            Assertions.assertAlmostEquals(batch.get(0)[0], 0.05103);
+
+            TextEmbeddingTranslator translator = (TextEmbeddingTranslator) model.getTranslator();
+            try (EmbeddingWriter writer =
+                    translator.newEmbeddingWriter(model, EmbeddingPooler.Quantization.INT8)) {
+                ByteBuffer buf = ByteBuffer.allocateDirect(2 * 384);
+                Assert.assertEquals(writer.write(Arrays.asList(text, "Hello"), buf), 2);
+                Assert.assertEquals(buf.position(), 2 * 384);
+                Assert.assertEquals(buf.get(0), (byte) 6);
+            }
+            Assertions.assertAlmostEquals(batch.get(1)[0], 0.05103);
         }
 
         Criteria<Input, Output> criteria2 =
@@ -399,6 +422,63 @@ public class TranslatorTest {
         }
     }
 
+    @Test
+    public void testCustomBatchifier() throws ModelException, IOException, TranslateException {
+        Block block =
+                new LambdaBlock(
+                        a -> {
+                            NDManager manager = a.getManager();
+                            Shape shape = a.get(0).getShape();
+                            NDArray arr = manager.ones(shape.add(384));
+                            arr.setName("last_hidden_state");
+                            return new NDList(arr);
+                        },
+                        "model");
+        Path modelDir = Paths.get("build/model");
+        Files.createDirectories(modelDir);
+
+        AtomicInteger batchified = new AtomicInteger();
+        Batchifier batchifier =
+                new Batchifier() {
+
+                    /** {@inheritDoc} */
+                    @Override
+                    public NDList batchify(NDList[] inputs) {
+                        batchified.incrementAndGet();
+                        return Batchifier.STACK.batchify(inputs);
+                    }
+
+                    /** {@inheritDoc} */
+                    @Override
+                    public NDList[] unbatchify(NDList inputs) {
+                        return Batchifier.STACK.unbatchify(inputs);
+                    }
+                };
+        try (HuggingFaceTokenizer tokenizer =
+                HuggingFaceTokenizer.newInstance("bert-base-uncased")) {
+            TextEmbeddingTranslator translator =
+                    TextEmbeddingTranslator.builder(tokenizer).optBatchifier(batchifier).build();
+            Criteria<String, float[]> criteria =
+                    Criteria.builder()
+                            .setTypes(String.class, float[].class)
+                            .optModelPath(modelDir)
+                            .optBlock(block)
+                            .optEngine("PyTorch")
+                            .optOption("hasParameter", "false")
+                            .optTranslator(translator)
+                            .build();
+
+            try (ZooModel<String, float[]> model = criteria.loadModel();
+                    Predictor<String, float[]> predictor = model.newPredictor()) {
+                List<float[]> batch = predictor.batchPredict(Arrays.asList("Hello", "World"));
+                Assert.assertEquals(batch.size(), 2);
+                Assert.assertEquals(batch.get(1).length, 384);
+                // the configured batchifier batches the inputs instead of the flat transfer
+                Assert.assertEquals(batchified.get(), 1);
+            }
+        }
+    }
+
     @Test
     public void testTextClassificationTranslator()
             throws ModelException, IOException, TranslateException {
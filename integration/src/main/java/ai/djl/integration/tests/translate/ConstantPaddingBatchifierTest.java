@@ -0,0 +1,84 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.integration.tests.translate;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.translate.Batchifier;
+import ai.djl.translate.ConstantPaddingBatchifier;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ConstantPaddingBatchifierTest {
+
+    @Test
+    public void testBatchify() {
+        try (NDManager manager = NDManager.newBaseManager()) {
+            NDList[] input = new NDList[3];
+            for (int i = 0; i < 3; i++) {
+                NDArray array1 = manager.arange(1, i + 2, 1, DataType.INT64);
+                NDArray array2 = manager.ones(new Shape(2, i + 1));
+                NDArray array3 = manager.create(i);
+                array1.setName("array1");
+                input[i] = new NDList(array1, array2, array3);
+            }
+            Batchifier batchifier =
+                    ConstantPaddingBatchifier.builder()
+                            .optIncludeValidLengths(true)
+                            .addPad(0, 0, 0)
+                            .addPad(1, 1, -1f)
+                            .build();
+            NDList actual = batchifier.batchify(input);
+
+            Assert.assertEquals(actual.size(), 5);
+            NDArray expected =
+                    manager.create(new long[] {1, 0, 0, 1, 2, 0, 1, 2, 3}, new Shape(3, 3));
+            Assert.assertEquals(actual.get(0), expected);
+            Assert.assertEquals(actual.get(0).getName(), "array1");
+            Assert.assertEquals(actual.get(1).getShape(), new Shape(3, 2, 3));
+            Assert.assertEquals(actual.get(1).sum().getFloat(), 12f - 6f);
+            Assert.assertEquals(actual.get(2).getShape(), new Shape(3));
+            Assert.assertEquals(actual.get(3), manager.create(new long[] {1, 2, 3}));
+            Assert.assertEquals(actual.get(4), manager.create(new long[] {1, 2, 3}));
+
+            NDList[] unbatchified = batchifier.unbatchify(actual);
+            Assert.assertEquals(unbatchified.length, 3);
+            Assert.assertEquals(unbatchified[1].get(0), manager.create(new long[] {1, 2}));
+            Assert.assertEquals(unbatchified[1].get(1).getShape(), new Shape(2, 2));
+        }
+    }
+
+    @Test
+    public void testBatchifyWithPaddingSize() {
+        try (NDManager manager = NDManager.newBaseManager()) {
+            NDList[] input = new NDList[5];
+            for (int i = 0; i < 5; i++) {
+                input[i] = new NDList(manager.zeros(new Shape(10, i + 1)));
+            }
+            Batchifier batchifier =
+                    ConstantPaddingBatchifier.builder()
+                            .optIncludeValidLengths(false)
+                            .addPad(0, 1, 1f, 13)
+                            .build();
+            NDList actual = batchifier.batchify(input);
+
+            Assert.assertEquals(actual.size(), 1);
+            Assert.assertEquals(actual.get(0).getShape(), new Shape(5, 10, 13));
+            Assert.assertEquals(actual.get(0).sum().getFloat(), 5 * 10 * 13 - 10 * 15f);
+        }
+    }
+}
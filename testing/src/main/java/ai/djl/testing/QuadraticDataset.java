@@ -0,0 +1,79 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.testing;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.training.dataset.RandomAccessDataset;
+import ai.djl.training.dataset.Record;
+import ai.djl.util.Progress;
+
+/**
+ * A dataset of {@code y = x0 * x0 + x1} on a grid, to test the training of regression models.
+ *
+ * <p>Each record has the two features {@code x0} and {@code x1} in {@code [0, 1)}, and a single
+ * label.
+ */
+public final class QuadraticDataset extends RandomAccessDataset {
+
+    private int size;
+    private int offset;
+
+    /**
+     * Constructs a {@code QuadraticDataset}.
+     *
+     * @param size the number of records
+     * @param offset the position of the first record on the grid, to build a distinct validation
+     *     dataset
+     */
+    public QuadraticDataset(int size, int offset) {
+        super(new Builder());
+        this.size = size;
+        this.offset = offset;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Record get(NDManager manager, long index) {
+        long i = index + offset;
+        float x0 = (i % 37) / 37f;
+        float x1 = (i % 11) / 11f;
+        NDArray data = manager.create(new float[] {x0, x1});
+        NDArray label = manager.create(new float[] {x0 * x0 + x1});
+        return new Record(new NDList(data), new NDList(label));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected long availableSize() {
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void prepare(Progress progress) {}
+
+    private static final class Builder extends BaseBuilder<Builder> {
+
+        Builder() {
+            setSampling(32, false);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected Builder self() {
+            return this;
+        }
+    }
+}